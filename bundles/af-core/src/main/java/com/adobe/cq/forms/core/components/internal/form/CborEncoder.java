@@ -0,0 +1,242 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.form;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Encodes the JSON-like values of a form definition (maps, lists, strings, numbers, booleans and {@code null}) as CBOR
+ * (RFC 8949).
+ *
+ * The whole value is wrapped in a stringref namespace (tags 256 and 25 of the
+ * <a href="http://cbor.schmorp.de/stringref">stringref extension</a>), so every string which occurs more than once, like
+ * the keys {@code fieldType}, {@code :type}, {@code properties} and {@code fd:path} or the resource types, is written
+ * once and referenced by its index afterwards.
+ */
+public final class CborEncoder {
+
+    public static final String MEDIA_TYPE = "application/cbor";
+
+    private static final int MAJOR_UNSIGNED = 0;
+    private static final int MAJOR_NEGATIVE = 1;
+    private static final int MAJOR_BYTES = 2;
+    private static final int MAJOR_TEXT = 3;
+    private static final int MAJOR_ARRAY = 4;
+    private static final int MAJOR_MAP = 5;
+    private static final int MAJOR_TAG = 6;
+
+    private static final int TAG_POSITIVE_BIGNUM = 2;
+    private static final int TAG_NEGATIVE_BIGNUM = 3;
+    private static final int TAG_STRINGREF = 25;
+    private static final int TAG_STRINGREF_NAMESPACE = 256;
+
+    private static final int FALSE = 0xf4;
+    private static final int TRUE = 0xf5;
+    private static final int NULL = 0xf6;
+    private static final int FLOAT_32 = 0xfa;
+    private static final int FLOAT_64 = 0xfb;
+
+    private final OutputStream out;
+    private final Map<String, Integer> stringRefs = new HashMap<>();
+    // byte strings take a place in the table as well, but are never referenced
+    private int stringRefCount;
+
+    private CborEncoder(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes a value to a stream
+     *
+     * @param value the value to encode
+     * @param out the stream to write to, it is neither flushed nor closed
+     * @throws IOException if the value could not be written
+     * @throws IllegalArgumentException if the value contains objects other than maps, collections, arrays, strings, numbers
+     *             and booleans
+     */
+    public static void encode(Object value, OutputStream out) throws IOException {
+        CborEncoder encoder = new CborEncoder(out);
+        encoder.writeHead(MAJOR_TAG, TAG_STRINGREF_NAMESPACE);
+        encoder.write(value);
+    }
+
+    /**
+     * @param value the value to encode
+     * @return the encoded value
+     * @see #encode(Object, OutputStream)
+     */
+    public static byte[] encode(Object value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            encode(value, out);
+        } catch (IOException e) {
+            // not thrown by a ByteArrayOutputStream
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private void write(Object value) throws IOException {
+        if (value == null) {
+            out.write(NULL);
+        } else if (value instanceof CharSequence) {
+            writeString(value.toString());
+        } else if (value instanceof Boolean) {
+            out.write((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Number) {
+            writeNumber((Number) value);
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            writeHead(MAJOR_MAP, map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeString(String.valueOf(entry.getKey()));
+                write(entry.getValue());
+            }
+        } else if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            writeHead(MAJOR_ARRAY, collection.size());
+            for (Object item : collection) {
+                write(item);
+            }
+        } else if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            if (bytes.length >= getMinimumRefLength(stringRefCount)) {
+                stringRefCount++;
+            }
+            writeHead(MAJOR_BYTES, bytes.length);
+            out.write(bytes);
+        } else if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            writeHead(MAJOR_ARRAY, length);
+            for (int i = 0; i < length; i++) {
+                write(Array.get(value, i));
+            }
+        } else if (value instanceof Character || value instanceof Enum) {
+            writeString(value.toString());
+        } else {
+            throw new IllegalArgumentException("Cannot encode " + value.getClass().getName() + " as CBOR");
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        Integer ref = stringRefs.get(value);
+        if (ref != null) {
+            writeHead(MAJOR_TAG, TAG_STRINGREF);
+            writeHead(MAJOR_UNSIGNED, ref);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        // only strings longer than a reference to them are worth a place in the table
+        if (bytes.length >= getMinimumRefLength(stringRefCount)) {
+            stringRefs.put(value, stringRefCount++);
+        }
+        writeHead(MAJOR_TEXT, bytes.length);
+        out.write(bytes);
+    }
+
+    private static int getMinimumRefLength(long index) {
+        if (index < 24) {
+            return 3;
+        } else if (index < 0x100) {
+            return 4;
+        } else if (index < 0x10000) {
+            return 5;
+        } else if (index < 0x100000000L) {
+            return 7;
+        }
+        return 11;
+    }
+
+    private void writeNumber(Number value) throws IOException {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            writeLong(value.longValue());
+        } else if (value instanceof BigInteger) {
+            BigInteger bigInteger = (BigInteger) value;
+            if (bigInteger.bitLength() < 64) {
+                writeLong(bigInteger.longValue());
+            } else {
+                boolean negative = bigInteger.signum() < 0;
+                byte[] magnitude = (negative ? bigInteger.negate().subtract(BigInteger.ONE) : bigInteger).toByteArray();
+                writeHead(MAJOR_TAG, negative ? TAG_NEGATIVE_BIGNUM : TAG_POSITIVE_BIGNUM);
+                write(magnitude);
+            }
+        } else if (value instanceof Float) {
+            writeFloat(value.floatValue());
+        } else {
+            // decimals are doubles for the runtime, like in JSON
+            writeDouble(value.doubleValue());
+        }
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value < 0) {
+            writeHead(MAJOR_NEGATIVE, -1 - value);
+        } else {
+            writeHead(MAJOR_UNSIGNED, value);
+        }
+    }
+
+    private void writeDouble(double value) throws IOException {
+        float single = (float) value;
+        if (single == value || Double.isNaN(value)) {
+            writeFloat(single);
+            return;
+        }
+        out.write(FLOAT_64);
+        writeBytes(Double.doubleToLongBits(value), 8);
+    }
+
+    private void writeFloat(float value) throws IOException {
+        out.write(FLOAT_32);
+        writeBytes(Float.floatToIntBits(value), 4);
+    }
+
+    /**
+     * Writes the initial byte of a data item with its argument, in the shortest form
+     */
+    private void writeHead(int majorType, long argument) throws IOException {
+        int major = majorType << 5;
+        if (argument < 24) {
+            out.write(major | (int) argument);
+        } else if (argument <= 0xff) {
+            out.write(major | 24);
+            writeBytes(argument, 1);
+        } else if (argument <= 0xffff) {
+            out.write(major | 25);
+            writeBytes(argument, 2);
+        } else if (argument <= 0xffffffffL) {
+            out.write(major | 26);
+            writeBytes(argument, 4);
+        } else {
+            out.write(major | 27);
+            writeBytes(argument, 8);
+        }
+    }
+
+    private void writeBytes(long value, int count) throws IOException {
+        for (int shift = (count - 1) * 8; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift) & 0xff);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.form;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apache.sling.api.resource.observation.ExternalResourceChangeListener;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.api.resource.observation.ResourceChangeListener;
+import org.jetbrains.annotations.NotNull;
+import org.osgi.service.component.annotations.Component;
+
+import com.adobe.cq.forms.core.components.models.form.ConstraintType;
+
+/**
+ * Translated constraint messages of form fields, shared by all fields and requests with the same messages.
+ *
+ * The key has to contain everything the translation depends on: the configured messages, the language and the
+ * dictionary of the form. Cached messages are kept until a dictionary of a form changes; changes to the messages of a
+ * field produce a new key. Equal message maps are interned, so fields with different keys but the same messages, e.g.
+ * in different forms, share one immutable instance.
+ */
+@Component(
+    service = ResourceChangeListener.class,
+    immediate = true,
+    property = {
+        ResourceChangeListener.PATHS + "=" + ConstraintMessagesCache.DICTIONARIES,
+        ResourceChangeListener.PATHS + "=" + ConstraintMessagesCache.DICTIONARY_ENTRIES,
+        ResourceChangeListener.CHANGES + "=ADDED",
+        ResourceChangeListener.CHANGES + "=CHANGED",
+        ResourceChangeListener.CHANGES + "=REMOVED"
+    })
+public final class ConstraintMessagesCache implements ResourceChangeListener, ExternalResourceChangeListener {
+
+    /**
+     * The dictionaries of a form, one per language, are stored below {@code <form>/jcr:content/dictionary}
+     */
+    static final String DICTIONARIES = "glob:/content/**/jcr:content/dictionary";
+
+    static final String DICTIONARY_ENTRIES = DICTIONARIES + "/**";
+
+    /**
+     * Maximum number of cached message sets, a full cache is cleared
+     */
+    static final int MAX_SIZE = 10000;
+
+    private static final Map<List<?>, Map<ConstraintType, String>> CACHE = new ConcurrentHashMap<>();
+
+    // counts the changes of dictionaries, translations started before a change are not cached
+    private static final AtomicLong GENERATION = new AtomicLong();
+
+    // keyed by the entries in iteration order, the order of the messages is part of the exported json
+    private static final Map<List<Map.Entry<ConstraintType, String>>, Map<ConstraintType, String>> INTERNED = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the constraint messages for a key, translating them with the loader if they are not cached.
+     *
+     * @param key everything the translated messages depend on
+     * @param loader translates the messages into a new map
+     * @return the shared, unmodifiable messages
+     */
+    @NotNull
+    public static Map<ConstraintType, String> get(@NotNull List<?> key, @NotNull Supplier<Map<ConstraintType, String>> loader) {
+        Map<ConstraintType, String> messages = CACHE.get(key);
+        if (messages != null) {
+            return messages;
+        }
+        long generation = GENERATION.get();
+        messages = intern(loader.get());
+        if (CACHE.size() >= MAX_SIZE) {
+            CACHE.clear();
+        }
+        CACHE.put(key, messages);
+        if (GENERATION.get() != generation) {
+            CACHE.remove(key, messages);
+        }
+        return messages;
+    }
+
+    /**
+     * Drops all translated messages, the interned maps only hold messages and stay valid.
+     */
+    public static void clear() {
+        GENERATION.incrementAndGet();
+        CACHE.clear();
+    }
+
+    @Override
+    public void onChange(@NotNull List<ResourceChange> changes) {
+        if (!changes.isEmpty()) {
+            // the keys hold the path of the form, not the path of its dictionary, which may be stored elsewhere
+            clear();
+        }
+    }
+
+    /**
+     * Returns the shared, unmodifiable instance of the given messages
+     *
+     * @param messages the messages, not modified afterwards
+     * @return unmodifiable map with the same messages in the same order
+     */
+    @NotNull
+    static Map<ConstraintType, String> intern(@NotNull Map<ConstraintType, String> messages) {
+        if (messages.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Map.Entry<ConstraintType, String>> entries = new ArrayList<>(messages.size());
+        for (Map.Entry<ConstraintType, String> message : messages.entrySet()) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(message));
+        }
+        Map<ConstraintType, String> interned = INTERNED.get(entries);
+        if (interned != null) {
+            return interned;
+        }
+        if (INTERNED.size() >= MAX_SIZE) {
+            INTERNED.clear();
+        }
+        Map<ConstraintType, String> shared = Collections.unmodifiableMap(messages);
+        interned = INTERNED.putIfAbsent(entries, shared);
+        return interned != null ? interned : shared;
+    }
+}
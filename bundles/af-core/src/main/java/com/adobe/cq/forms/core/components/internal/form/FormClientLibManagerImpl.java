@@ -16,30 +16,69 @@
 package com.adobe.cq.forms.core.components.internal.form;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
 import org.apache.sling.models.annotations.Model;
 import org.apache.sling.models.annotations.injectorspecific.InjectionStrategy;
+import org.apache.sling.models.annotations.injectorspecific.OSGiService;
 import org.apache.sling.models.annotations.injectorspecific.SlingObject;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.adobe.cq.forms.core.components.models.form.FormClientLibManager;
+import com.adobe.cq.forms.core.components.util.ComponentUtils;
+import com.adobe.granite.ui.clientlibs.ClientLibrary;
+import com.adobe.granite.ui.clientlibs.HtmlLibraryManager;
+import com.day.cq.wcm.api.Page;
+import com.day.cq.wcm.api.PageManager;
 
 @Model(
     adaptables = { SlingHttpServletRequest.class },
     adapters = FormClientLibManager.class)
 public class FormClientLibManagerImpl implements FormClientLibManager {
 
+    private static final Logger logger = LoggerFactory.getLogger(FormClientLibManagerImpl.class);
+
     @SlingObject(injectionStrategy = InjectionStrategy.OPTIONAL)
     @Nullable
     private SlingHttpServletRequest request;
 
+    @OSGiService(injectionStrategy = InjectionStrategy.OPTIONAL)
+    @Nullable
+    private HtmlLibraryManager htmlLibraryManager;
+
+    @OSGiService(injectionStrategy = InjectionStrategy.OPTIONAL)
+    @Nullable
+    private FormContainerLocator formContainerLocator;
+
     public static final String REQ_ATTR_CLIENT_LIBS = "clientLibs";
 
+    static final String RUNTIME_BASE_CATEGORY = "core.forms.components.runtime.base";
+
+    private static final int MAX_CACHE_SIZE = 1000;
+
+    /**
+     * Runtime usage of the analysed forms, keyed by the path of their container
+     */
+    private static final Map<String, RuntimeUsage> RUNTIME_USAGE_CACHE = new ConcurrentHashMap<>();
+
     @Override
     public void addClientLibRef(@NotNull String clientLibRef) {
         if (request == null) {
@@ -61,4 +100,230 @@ public class FormClientLibManagerImpl implements FormClientLibManager {
         }
         return new ArrayList<>();
     }
+
+    @Override
+    public List<String> getRuntimeClientLibRefList() {
+        List<String> categories = null;
+        try {
+            categories = getUsedRuntimeCategories();
+        } catch (RuntimeException e) {
+            logger.warn("Could not determine the runtime client libraries of {}, loading the complete runtime",
+                request != null ? request.getResource().getPath() : null, e);
+        }
+        return categories != null ? categories : Collections.singletonList(RUNTIME_ALL_CATEGORY);
+    }
+
+    /**
+     * @return the runtime categories used by the forms of the current page, in the order of the complete runtime, or
+     *         {@code null} if the complete runtime has to be loaded
+     */
+    @Nullable
+    private List<String> getUsedRuntimeCategories() {
+        if (request == null || htmlLibraryManager == null) {
+            return null;
+        }
+        Map<String, ClientLibrary> libraries = htmlLibraryManager.getLibraries();
+        String[] embedded = getRuntimeEmbeddedCategories(libraries.values());
+        if (embedded == null) {
+            return null;
+        }
+        List<Resource> containers = new ArrayList<>();
+        if (formContainerLocator != null) {
+            containers.addAll(formContainerLocator.findFormContainers(request.getResource()));
+        } else {
+            FormContainerLocator.collectFormContainers(request.getResource(), containers);
+        }
+        if (containers.isEmpty()) {
+            // e.g. forms embedded by reference, which are not analysed
+            return null;
+        }
+        Set<String> used = new HashSet<>();
+        used.add(RUNTIME_BASE_CATEGORY);
+        for (Resource container : containers) {
+            RuntimeUsage usage = getRuntimeUsage(container, libraries, embedded);
+            if (usage == null || usage.categories == null) {
+                return null;
+            }
+            used.addAll(usage.categories);
+        }
+        // the order of the complete runtime satisfies the dependencies between its libraries
+        Set<String> result = new LinkedHashSet<>();
+        for (String category : embedded) {
+            if (used.contains(category)) {
+                result.add(category);
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Returns the categories embedded by the complete runtime. Other libraries contributing to the complete runtime, e.g.
+     * additional locales, cannot be loaded on their own, pages then always get the complete runtime.
+     */
+    @Nullable
+    private static String[] getRuntimeEmbeddedCategories(Collection<ClientLibrary> libraries) {
+        String[] embedded = null;
+        for (ClientLibrary library : libraries) {
+            if (ArrayUtils.contains(library.getCategories(), RUNTIME_ALL_CATEGORY)) {
+                if (embedded != null) {
+                    return null;
+                }
+                embedded = library.getEmbeddedCategories();
+                if (ArrayUtils.isEmpty(embedded)) {
+                    return null;
+                }
+            }
+        }
+        return embedded == null ? null : Arrays.stream(embedded).map(StringUtils::trim).toArray(String[]::new);
+    }
+
+    @Nullable
+    private static RuntimeUsage getRuntimeUsage(Resource container, Map<String, ClientLibrary> libraries, String[] embedded) {
+        PageManager pageManager = container.getResourceResolver().adaptTo(PageManager.class);
+        if (pageManager == null) {
+            return null;
+        }
+        RuntimeUsage usage = RUNTIME_USAGE_CACHE.get(container.getPath());
+        if (usage != null && usage.isCurrent(pageManager, embedded)) {
+            return usage;
+        }
+        usage = RuntimeUsage.analyse(container, pageManager, libraries, embedded);
+        if (usage != null) {
+            if (RUNTIME_USAGE_CACHE.size() >= MAX_CACHE_SIZE) {
+                RUNTIME_USAGE_CACHE.clear();
+            }
+            RUNTIME_USAGE_CACHE.put(container.getPath(), usage);
+        }
+        return usage;
+    }
+
+    static void clearRuntimeUsageCache() {
+        RUNTIME_USAGE_CACHE.clear();
+    }
+
+    /**
+     * Runtime categories used by a form, including its fragments, together with the versions of the pages they were
+     * computed from.
+     */
+    private static final class RuntimeUsage {
+        private final Map<String, Long> versions;
+        private final String[] embedded;
+        // null if the form uses components whose runtime cannot be determined
+        @Nullable
+        private final Set<String> categories;
+
+        private RuntimeUsage(Map<String, Long> versions, String[] embedded, @Nullable Set<String> categories) {
+            this.versions = versions;
+            this.embedded = embedded;
+            this.categories = categories;
+        }
+
+        private boolean isCurrent(PageManager pageManager, String[] currentEmbedded) {
+            if (!Arrays.equals(embedded, currentEmbedded)) {
+                return false;
+            }
+            for (Map.Entry<String, Long> version : versions.entrySet()) {
+                Page page = pageManager.getPage(version.getKey());
+                if (page == null || getVersion(page) != version.getValue()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Nullable
+        private static RuntimeUsage analyse(Resource container, PageManager pageManager, Map<String, ClientLibrary> libraries,
+            String[] embedded) {
+            Map<String, Long> versions = new HashMap<>();
+            Set<String> resourceTypes = new HashSet<>();
+            if (!collectPage(container, pageManager, versions, resourceTypes, new HashSet<>())) {
+                return null;
+            }
+            Set<String> runtimeCategories = new HashSet<>(Arrays.asList(embedded));
+            Set<String> categories = new HashSet<>();
+            ResourceResolver resolver = container.getResourceResolver();
+            for (String resourceType : resourceTypes) {
+                Set<String> used = getRuntimeCategories(resolver, resourceType, libraries, runtimeCategories);
+                if (used == null) {
+                    logger.debug("Runtime of {} used in {} is unknown", resourceType, container.getPath());
+                    categories = null;
+                    break;
+                }
+                categories.addAll(used);
+            }
+            return new RuntimeUsage(versions, embedded, categories);
+        }
+
+        /**
+         * Collects the resource types used by a form and the fragments it includes
+         *
+         * @return {@code false} if the form is not part of a page, its version could then not be tracked
+         */
+        private static boolean collectPage(Resource resource, PageManager pageManager, Map<String, Long> versions,
+            Set<String> resourceTypes, Set<String> visitedFragments) {
+            Page page = pageManager.getContainingPage(resource);
+            if (page == null) {
+                return false;
+            }
+            versions.put(page.getPath(), getVersion(page));
+            collectResourceTypes(resource, resourceTypes, pageManager, versions, visitedFragments);
+            return true;
+        }
+
+        private static void collectResourceTypes(Resource resource, Set<String> resourceTypes, PageManager pageManager,
+            Map<String, Long> versions, Set<String> visitedFragments) {
+            // nodes without a resource type only hold properties, e.g. rules and events
+            String resourceType = resource.getValueMap().get(ResourceResolver.PROPERTY_RESOURCE_TYPE, String.class);
+            if (StringUtils.isNotEmpty(resourceType)) {
+                resourceTypes.add(resourceType);
+            }
+            if (ComponentUtils.isFragmentComponent(resource)) {
+                String fragmentPath = resource.getValueMap().get(FormConstants.PROP_FRAGMENT_PATH, String.class);
+                Resource fragmentContainer = ComponentUtils.getFragmentContainer(resource.getResourceResolver(), fragmentPath);
+                if (fragmentContainer != null && visitedFragments.add(fragmentContainer.getPath())) {
+                    collectPage(fragmentContainer, pageManager, versions, resourceTypes, visitedFragments);
+                }
+            }
+            for (Resource child : resource.getChildren()) {
+                collectResourceTypes(child, resourceTypes, pageManager, versions, visitedFragments);
+            }
+        }
+
+        /**
+         * Returns the runtime categories of a component, i.e. those of the client libraries of the component or the
+         * component it inherits from which are part of the complete runtime.
+         *
+         * @return the categories, or {@code null} if the component definition is not readable
+         */
+        @Nullable
+        private static Set<String> getRuntimeCategories(ResourceResolver resolver, String resourceType,
+            Map<String, ClientLibrary> libraries, Set<String> runtimeCategories) {
+            Set<String> categories = new HashSet<>();
+            Set<String> visited = new HashSet<>();
+            String type = resourceType;
+            while (type != null && visited.add(type)) {
+                Resource component = resolver.getResource(type);
+                if (component == null) {
+                    return null;
+                }
+                String prefix = component.getPath() + "/";
+                for (ClientLibrary library : libraries.values()) {
+                    if (library.getPath().startsWith(prefix)) {
+                        for (String category : library.getCategories()) {
+                            if (runtimeCategories.contains(category)) {
+                                categories.add(category);
+                            }
+                        }
+                    }
+                }
+                type = resolver.getParentResourceType(type);
+            }
+            return categories;
+        }
+
+        private static long getVersion(Page page) {
+            Calendar lastModified = page.getLastModified();
+            return lastModified != null ? lastModified.getTimeInMillis() : 0;
+        }
+    }
 }
@@ -0,0 +1,136 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.form;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.observation.ExternalResourceChangeListener;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.api.resource.observation.ResourceChangeListener;
+import org.apache.sling.caconfig.resource.ConfigurationResourceResolver;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * Snapshots of the context-aware and cloud configurations used while rendering forms, per configuration context.
+ *
+ * All forms below the same context path (the closest resource with a {@code sling:configRef}) share one snapshot, which
+ * holds the already resolved configuration values by name. Values are resolved on first use and kept until anything
+ * below {@code /conf} changes. Only plain values must be cached, never resources or models bound to a resolver.
+ */
+@Component(
+    service = { FormConfigurationCache.class, ResourceChangeListener.class },
+    immediate = true,
+    property = {
+        ResourceChangeListener.PATHS + "=" + FormConfigurationCache.CONF_ROOT,
+        ResourceChangeListener.CHANGES + "=ADDED",
+        ResourceChangeListener.CHANGES + "=CHANGED",
+        ResourceChangeListener.CHANGES + "=REMOVED"
+    })
+public class FormConfigurationCache implements ResourceChangeListener, ExternalResourceChangeListener {
+
+    static final String CONF_ROOT = "/conf";
+
+    private static final String PN_CONFIG_REF = "sling:configRef";
+
+    /**
+     * Maximum number of cached configuration contexts
+     */
+    private static final int MAX_SNAPSHOTS = 1000;
+
+    @Reference
+    private ConfigurationResourceResolver configurationResourceResolver;
+
+    private final Map<String, Map<String, Optional<Object>>> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * Resolves a configuration value for a resource.
+     *
+     * @param <T> type of the value
+     * @param <E> exception thrown by the loader, e.g. by cloud configuration lookups
+     */
+    @FunctionalInterface
+    public interface Loader<T, E extends Exception> {
+        @Nullable
+        T load(@NotNull Resource resource) throws E;
+    }
+
+    /**
+     * Returns a configuration value from the snapshot of the configuration context of the given resource, resolving it
+     * with the loader if it is not part of the snapshot yet.
+     *
+     * @param resource resource to resolve the configuration for
+     * @param name name of the value, unique for everything the loader depends on besides the configuration context
+     * @param loader resolves the value for the given resource, may return {@code null}
+     * @param <T> type of the value
+     * @param <E> exception thrown by the loader
+     * @return the configuration value
+     * @throws E if the loader fails, nothing is cached then
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T, E extends Exception> T get(@NotNull Resource resource, @NotNull String name, @NotNull Loader<T, E> loader) throws E {
+        String contextKey = getContextKey(resource);
+        Map<String, Optional<Object>> snapshot = snapshots.get(contextKey);
+        if (snapshot == null) {
+            if (snapshots.size() >= MAX_SNAPSHOTS) {
+                snapshots.clear();
+            }
+            snapshot = snapshots.computeIfAbsent(contextKey, key -> new ConcurrentHashMap<>());
+        }
+        Optional<Object> value = snapshot.get(name);
+        if (value == null) {
+            // resolved outside of the map, loaders may take a while
+            value = Optional.ofNullable(loader.load(resource));
+            snapshot.putIfAbsent(name, value);
+        }
+        return (T) value.orElse(null);
+    }
+
+    /**
+     * Drops all snapshots.
+     */
+    public void clear() {
+        snapshots.clear();
+    }
+
+    @Override
+    public void onChange(@NotNull List<ResourceChange> changes) {
+        if (!changes.isEmpty()) {
+            // configurations are inherited along the /conf hierarchy, a change may affect any context
+            clear();
+        }
+    }
+
+    private String getContextKey(Resource resource) {
+        String contextPath = configurationResourceResolver.getContextPath(resource);
+        if (contextPath == null) {
+            // global configuration
+            return StringUtils.EMPTY;
+        }
+        // the context keeps its path if its configuration reference changes
+        Resource context = resource.getResourceResolver().getResource(contextPath);
+        String configRef = context != null ? context.getValueMap().get(PN_CONFIG_REF, StringUtils.EMPTY) : StringUtils.EMPTY;
+        return contextPath + "\n" + configRef;
+    }
+}
@@ -47,8 +47,18 @@ public class FormConfigurationProviderImpl implements FormConfigurationProvider
     @ValueMapValue(injectionStrategy = InjectionStrategy.OPTIONAL)
     private ConfigurationResourceResolver configurationResourceResolver;
 
+    @OSGiService(injectionStrategy = InjectionStrategy.OPTIONAL)
+    private FormConfigurationCache configurationCache;
+
     @Override
     public String getCustomFunctionModuleUrl() {
+        if (resource != null && configurationResourceResolver != null && configurationCache != null) {
+            return configurationCache.get(resource, CUSTOM_FUNCTION_CONFIG_NAME, this::resolveCustomFunctionModuleUrl);
+        }
+        return resolveCustomFunctionModuleUrl(resource);
+    }
+
+    private String resolveCustomFunctionModuleUrl(Resource resource) {
         String customFunctionUrl = "";
         if (resource != null && configurationResourceResolver != null) {
             Resource configResource = configurationResourceResolver.getResource(resource, CUSTOM_FUNCTION_CONFIG_BUCKET_NAME,
@@ -0,0 +1,340 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.form;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.sling.api.resource.LoginException;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.ResourceResolverFactory;
+import org.apache.sling.api.resource.observation.ExternalResourceChangeListener;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.api.resource.observation.ResourceChangeListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.adobe.cq.forms.core.components.util.ComponentUtils;
+
+/**
+ * Locates form containers by path instead of walking the content tree.
+ *
+ * The content tree is walked once per path below {@value #CONTENT_ROOT}, on first use, and the result is shared until a
+ * resource change at, above or below that path drops it. Change events only drop lookups by path, they never read the
+ * repository, and there is no query over the whole content tree. Descendants are collected with a service resolver (sub
+ * service {@value #SUBSERVICE_NAME}), so that the shared results don't depend on the permissions of the first caller;
+ * located containers are always resolved with the resolver of the caller, and whenever the service resolver is not
+ * available or a result is not conclusive the content tree is walked as before.
+ */
+@Component(
+    service = { FormContainerLocator.class, ResourceChangeListener.class },
+    immediate = true,
+    property = {
+        ResourceChangeListener.PATHS + "=" + FormContainerLocator.CONTENT_ROOT,
+        ResourceChangeListener.CHANGES + "=ADDED",
+        ResourceChangeListener.CHANGES + "=CHANGED",
+        ResourceChangeListener.CHANGES + "=REMOVED"
+    })
+public class FormContainerLocator implements ResourceChangeListener, ExternalResourceChangeListener {
+
+    static final String CONTENT_ROOT = "/content";
+
+    static final String SUBSERVICE_NAME = "forms-container-locator";
+
+    /**
+     * Maximum number of lookups memoized per resolver
+     */
+    static final int MAX_MEMO_SIZE = 1000;
+
+    /**
+     * Maximum number of shared lookups per direction, all of them are dropped once it is reached
+     */
+    static final int MAX_LOOKUPS = 10000;
+
+    /**
+     * Time after which the service resolver is requested again, once it was not available
+     */
+    static final long RETRY_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FormContainerLocator.class);
+
+    /**
+     * Resource resolver property holding the containers located during the current request
+     */
+    private static final String MEMO_PROPERTY = FormContainerLocator.class.getName() + ".memo";
+
+    private static final Map<String, Object> AUTH;
+
+    static {
+        AUTH = new HashMap<>();
+        AUTH.put(ResourceResolverFactory.SUBSERVICE, SUBSERVICE_NAME);
+    }
+
+    @Reference
+    private ResourceResolverFactory resourceResolverFactory;
+
+    // path of a resource -> path of the closest form container at or above it
+    private final ConcurrentSkipListMap<String, Optional<String>> ancestors = new ConcurrentSkipListMap<>();
+
+    // path of a resource -> paths of the form containers at or below it, in document order
+    private final ConcurrentSkipListMap<String, List<String>> descendants = new ConcurrentSkipListMap<>();
+
+    // incremented for every batch of changes, lookups which overlap with a change are not kept
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile long unavailableUntil;
+
+    /**
+     * Returns the form container the given resource belongs to, i.e. the closest form container at or above it.
+     *
+     * @param resource the resource
+     * @return the form container or {@code null} if there is none
+     */
+    @Nullable
+    public Resource getFormContainer(@Nullable Resource resource) {
+        if (resource == null) {
+            return null;
+        }
+        String path = resource.getPath();
+        if (!isBelowContentRoot(path)) {
+            return ComponentUtils.getFormContainer(resource);
+        }
+        ResourceResolver resolver = resource.getResourceResolver();
+        Map<String, Optional<String>> memo = getMemo(resolver);
+        Optional<String> memoized = memo.get(path);
+        if (memoized != null) {
+            if (!memoized.isPresent()) {
+                return null;
+            }
+            Resource container = resolver.getResource(memoized.get());
+            if (container != null && ComponentUtils.isAFContainer(container)) {
+                return container;
+            }
+        }
+        Resource container = null;
+        Optional<String> containerPath = ancestors.get(path);
+        if (containerPath != null) {
+            if (!containerPath.isPresent()) {
+                memo.put(path, containerPath);
+                return null;
+            }
+            container = resolver.getResource(containerPath.get());
+            if (container != null && !ComponentUtils.isAFContainer(container)) {
+                container = null;
+            }
+        }
+        if (container == null) {
+            // walking the ancestors is cheap enough to be done with the resolver of the caller
+            long start = generation.get();
+            container = ComponentUtils.getFormContainer(resource);
+            containerPath = Optional.ofNullable(container).map(Resource::getPath);
+            store(ancestors, path, containerPath, start);
+        }
+        memo.put(path, containerPath);
+        return container;
+    }
+
+    /**
+     * Returns the first form container at or below the given resource.
+     *
+     * @param resource the resource, e.g. a page content resource
+     * @return the form container or {@code null} if there is none
+     */
+    @Nullable
+    public Resource findFormContainer(@NotNull Resource resource) {
+        List<String> paths = getDescendants(resource.getPath());
+        if (paths == null) {
+            return findDescendant(resource);
+        }
+        if (paths.isEmpty()) {
+            return null;
+        }
+        Resource container = resource.getResourceResolver().getResource(paths.get(0));
+        if (container != null && ComponentUtils.isAFContainer(container)) {
+            return container;
+        }
+        // the first container is not visible to the caller
+        return findDescendant(resource);
+    }
+
+    /**
+     * Returns all form containers at or below the given resource.
+     *
+     * @param resource the resource, e.g. a page content resource
+     * @return the form containers, empty if there are none
+     */
+    @NotNull
+    public List<Resource> findFormContainers(@NotNull Resource resource) {
+        List<Resource> result = new ArrayList<>();
+        List<String> paths = getDescendants(resource.getPath());
+        if (paths == null) {
+            collectFormContainers(resource, result);
+            return result;
+        }
+        ResourceResolver resolver = resource.getResourceResolver();
+        for (String path : paths) {
+            Resource container = resolver.getResource(path);
+            if (container != null && ComponentUtils.isAFContainer(container)) {
+                result.add(container);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param resource the resource
+     * @return whether there is a form container at or below the given resource
+     */
+    public boolean containsFormContainer(@NotNull Resource resource) {
+        return findFormContainer(resource) != null;
+    }
+
+    @Override
+    public void onChange(@NotNull List<ResourceChange> changes) {
+        // lookups running meanwhile may have read the content before the change
+        generation.incrementAndGet();
+        for (ResourceChange change : changes) {
+            String path = change.getPath();
+            // the resource itself and everything below it, e.g. a removed, moved or retyped container and its fields
+            ancestors.remove(path);
+            ancestors.subMap(path + "/", true, path + "0", false).clear();
+            descendants.remove(path);
+            descendants.subMap(path + "/", true, path + "0", false).clear();
+            // a form container may have been added or removed below the parents of the resource
+            for (String parent = getParent(path); parent != null; parent = getParent(parent)) {
+                descendants.remove(parent);
+            }
+        }
+    }
+
+    /**
+     * Returns the paths of the form containers at or below the given path, walking the content tree with the service
+     * resolver if they were not looked up yet.
+     *
+     * @return the paths or {@code null} if the resource is not visible to the service resolver or it is not available
+     */
+    @Nullable
+    private List<String> getDescendants(String path) {
+        if (!isBelowContentRoot(path)) {
+            return null;
+        }
+        List<String> paths = descendants.get(path);
+        if (paths != null || System.currentTimeMillis() < unavailableUntil) {
+            return paths;
+        }
+        long start = generation.get();
+        try (ResourceResolver resolver = resourceResolverFactory.getServiceResourceResolver(AUTH)) {
+            Resource resource = resolver.getResource(path);
+            if (resource == null) {
+                return null;
+            }
+            List<Resource> containers = new ArrayList<>();
+            collectFormContainers(resource, containers);
+            paths = new ArrayList<>(containers.size());
+            for (Resource container : containers) {
+                paths.add(container.getPath());
+            }
+        } catch (LoginException e) {
+            // do not retry for every lookup
+            unavailableUntil = System.currentTimeMillis() + RETRY_INTERVAL;
+            LOGGER.warn("Could not locate form containers, service user mapping for {} is missing, falling back to content traversal",
+                SUBSERVICE_NAME, e);
+            return null;
+        }
+        paths = Collections.unmodifiableList(paths);
+        store(descendants, path, paths, start);
+        return paths;
+    }
+
+    private <T> void store(Map<String, T> lookups, String path, T value, long start) {
+        if (lookups.size() >= MAX_LOOKUPS) {
+            lookups.clear();
+        }
+        lookups.put(path, value);
+        if (generation.get() != start) {
+            // the content changed while it was walked
+            lookups.remove(path, value);
+        }
+    }
+
+    private static boolean isBelowContentRoot(String path) {
+        return path.startsWith(CONTENT_ROOT + "/");
+    }
+
+    @Nullable
+    private static String getParent(String path) {
+        int index = path.lastIndexOf('/');
+        return index > 0 ? path.substring(0, index) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Optional<String>> getMemo(ResourceResolver resolver) {
+        Map<String, Object> properties = resolver.getPropertyMap();
+        return (Map<String, Optional<String>>) properties.computeIfAbsent(MEMO_PROPERTY, key -> new BoundedMemo());
+    }
+
+    static void collectFormContainers(Resource resource, List<Resource> result) {
+        if (ComponentUtils.isAFContainer(resource)) {
+            result.add(resource);
+        }
+        for (Resource child : resource.getChildren()) {
+            collectFormContainers(child, result);
+        }
+    }
+
+    private static Resource findDescendant(Resource resource) {
+        if (ComponentUtils.isAFContainer(resource)) {
+            return resource;
+        }
+        for (Resource child : resource.getChildren()) {
+            Resource container = findDescendant(child);
+            if (container != null) {
+                return container;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Memo of a resolver, dropping the least recently used lookups of long running resolvers
+     */
+    private static final class BoundedMemo extends LinkedHashMap<String, Optional<String>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private BoundedMemo() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Optional<String>> eldest) {
+            return size() > MAX_MEMO_SIZE;
+        }
+    }
+}
@@ -17,11 +17,13 @@ package com.adobe.cq.forms.core.components.internal.form;
 
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.Map;
 
 import org.apache.sling.api.SlingHttpServletRequest;
 import org.apache.sling.api.resource.Resource;
 import org.apache.sling.models.annotations.Model;
 import org.apache.sling.models.annotations.injectorspecific.InjectionStrategy;
+import org.apache.sling.models.annotations.injectorspecific.OSGiService;
 import org.apache.sling.models.annotations.injectorspecific.SlingObject;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -50,6 +52,10 @@ public class FormStructureParserImpl implements FormStructureParser {
     @SlingObject
     private Resource resource;
 
+    @OSGiService(injectionStrategy = InjectionStrategy.OPTIONAL)
+    @Nullable
+    private FormContainerLocator formContainerLocator;
+
     @Override
     public String getFormContainerPath() {
         return getFormContainerPath(resource);
@@ -69,6 +75,9 @@ public class FormStructureParserImpl implements FormStructureParser {
         if (resource == null) {
             return false;
         }
+        if (formContainerLocator != null) {
+            return formContainerLocator.containsFormContainer(resource);
+        }
         if (ComponentUtils.isAFContainer(resource)) {
             return true;
         }
@@ -84,6 +93,24 @@ public class FormStructureParserImpl implements FormStructureParser {
         if (resource == null) {
             return null;
         }
+        if (formContainerLocator != null) {
+            Resource container = formContainerLocator.findFormContainer(resource);
+            if (container == null) {
+                return null;
+            }
+            FormContainer formContainer = container.adaptTo(FormContainer.class);
+            if (formContainer != null && formContainer.getClientLibRef() != null) {
+                return formContainer.getClientLibRef();
+            }
+            // the first container has no client library, look further
+        }
+        return findPropertyFromFormContainer(resource, propertyName);
+    }
+
+    private String findPropertyFromFormContainer(@Nullable Resource resource, @NotNull String propertyName) {
+        if (resource == null) {
+            return null;
+        }
 
         if (ComponentUtils.isAFContainer(resource)) {
             FormContainer formContainer = resource.adaptTo(FormContainer.class);
@@ -93,7 +120,7 @@ public class FormStructureParserImpl implements FormStructureParser {
         }
 
         for (Resource child : resource.getChildren()) {
-            String clientLibRef = getPropertyFromFormContainer(child, propertyName);
+            String clientLibRef = findPropertyFromFormContainer(child, propertyName);
             if (clientLibRef != null) {
                 return clientLibRef;
             }
@@ -108,6 +135,10 @@ public class FormStructureParserImpl implements FormStructureParser {
         if (resource == null) {
             return null;
         }
+        if (formContainerLocator != null) {
+            Resource container = formContainerLocator.getFormContainer(resource);
+            return container != null ? container.getPath() : null;
+        }
 
         if (ComponentUtils.isAFContainer(resource)) {
             return resource.getPath();
@@ -124,16 +155,7 @@ public class FormStructureParserImpl implements FormStructureParser {
             ObjectMapper mapper = new ObjectMapper();
             Writer writer = new StringWriter();
             ObjectWriter objectWriter;
-            boolean isSubmissionView = false;
-            if (request != null) {
-                HtlUtil htlUtil = request.adaptTo(HtlUtil.class);
-                isSubmissionView = (htlUtil != null && htlUtil.isEdgeDeliveryRequest())
-                    || ComponentUtils.shouldIncludeSubmitProperties(request);
-            }
-
-            if (isSubmissionView) {
-                request.setAttribute(FormConstants.X_ADOBE_FORM_DEFINITION, FormConstants.FORM_DEFINITION_SUBMISSION);
-            }
+            setSubmissionView();
             objectWriter = mapper.writerWithView(Views.Publish.class);
             objectWriter.getFactory().setCharacterEscapes(htmlCharacterEscapes);
             objectWriter.writeValue(writer, formContainer);
@@ -144,6 +166,36 @@ public class FormStructureParserImpl implements FormStructureParser {
         return result;
     }
 
+    @Override
+    @Nullable
+    public byte[] getBinaryFormDefinition() {
+        byte[] result = null;
+        FormContainer formContainer = resource.adaptTo(FormContainer.class);
+        try {
+            ObjectMapper mapper = new ObjectMapper();
+            mapper.setConfig(mapper.getSerializationConfig().withView(Views.Publish.class));
+            setSubmissionView();
+            // no escaping, the binary definition is never embedded in markup
+            result = CborEncoder.encode(mapper.convertValue(formContainer, Map.class));
+        } catch (Exception e) {
+            logger.error("Unable to generate binary form definition from resource", e);
+        }
+        return result;
+    }
+
+    private void setSubmissionView() {
+        boolean isSubmissionView = false;
+        if (request != null) {
+            HtlUtil htlUtil = request.adaptTo(HtlUtil.class);
+            isSubmissionView = (htlUtil != null && htlUtil.isEdgeDeliveryRequest())
+                || ComponentUtils.shouldIncludeSubmitProperties(request);
+        }
+
+        if (isSubmissionView) {
+            request.setAttribute(FormConstants.X_ADOBE_FORM_DEFINITION, FormConstants.FORM_DEFINITION_SUBMISSION);
+        }
+    }
+
     private static final class HTMLCharacterEscapes extends CharacterEscapes {
         private final int[] asciiEscapes;
 
@@ -0,0 +1,141 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.form;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Strips the markup of rich text in a single pass, without regular expressions.
+ *
+ * Text without markup is returned as is, otherwise the text between the tags is copied into one builder. The results
+ * are cached by the (translated) rich text, since the same labels and options are rendered by every request.
+ */
+public final class HtmlStripper {
+
+    /**
+     * Maximum number of cached texts of each kind, a full cache is cleared
+     */
+    static final int MAX_CACHE_SIZE = 10000;
+
+    /**
+     * Longer texts, like long descriptions, are stripped on every call instead of being kept in memory
+     */
+    static final int MAX_CACHED_LENGTH = 1024;
+
+    private static final String NBSP = "&nbsp;";
+
+    private static final Map<String, String> TAGS_STRIPPED = new ConcurrentHashMap<>();
+
+    private static final Map<String, String> PLAIN_TEXTS = new ConcurrentHashMap<>();
+
+    private static final int STATE_TEXT = 0;
+    private static final int STATE_TAG = 1;
+
+    private HtmlStripper() {
+        // NOOP
+    }
+
+    /**
+     * Removes all complete tags, the same as {@code html.replaceAll("<[^>]*>", "")}. A {@code <} without a closing
+     * {@code >} is kept as text.
+     *
+     * @param html the rich text
+     * @return the text without tags
+     */
+    @NotNull
+    public static String stripTags(@NotNull String html) {
+        if (html.indexOf('<') < 0) {
+            return html;
+        }
+        return strip(TAGS_STRIPPED, html, false);
+    }
+
+    /**
+     * Removes all tags and non-breaking space entities, the same as
+     * {@code html.replaceAll("<\\/?[^>]+(>|$)|&nbsp;", "")}. A tag without a closing {@code >} removes the rest of the
+     * text, an empty {@code <>} is kept.
+     *
+     * @param html the rich text
+     * @return the plain text
+     */
+    @NotNull
+    public static String toPlainText(@NotNull String html) {
+        if (html.indexOf('<') < 0 && !html.contains(NBSP)) {
+            return html;
+        }
+        return strip(PLAIN_TEXTS, html, true);
+    }
+
+    private static String strip(Map<String, String> cache, String html, boolean plainText) {
+        if (html.length() > MAX_CACHED_LENGTH) {
+            return strip(html, plainText);
+        }
+        String text = cache.get(html);
+        if (text == null) {
+            text = strip(html, plainText);
+            if (cache.size() >= MAX_CACHE_SIZE) {
+                cache.clear();
+            }
+            cache.put(html, text);
+        }
+        return text;
+    }
+
+    private static String strip(String html, boolean plainText) {
+        int length = html.length();
+        StringBuilder text = null;
+        // start of the text which is not copied yet, and of the current tag
+        int start = 0;
+        int tagStart = 0;
+        int state = STATE_TEXT;
+        for (int i = 0; i < length; i++) {
+            char c = html.charAt(i);
+            if (state == STATE_TAG) {
+                if (c == '>') {
+                    text = append(text, html, start, tagStart);
+                    start = i + 1;
+                    state = STATE_TEXT;
+                }
+            } else if (c == '<') {
+                // the plain text variant needs at least one character in the tag
+                if (!plainText || (i + 1 < length && html.charAt(i + 1) != '>')) {
+                    tagStart = i;
+                    state = STATE_TAG;
+                }
+            } else if (c == '&' && plainText && html.startsWith(NBSP, i)) {
+                text = append(text, html, start, i);
+                i += NBSP.length() - 1;
+                start = i + 1;
+            }
+        }
+        if (state == STATE_TAG && plainText) {
+            text = append(text, html, start, tagStart);
+            start = length;
+        }
+        if (text == null) {
+            return html;
+        }
+        return text.append(html, start, length).toString();
+    }
+
+    private static StringBuilder append(StringBuilder text, String html, int from, int to) {
+        StringBuilder builder = text != null ? text : new StringBuilder(html.length());
+        return builder.append(html, from, to);
+    }
+}
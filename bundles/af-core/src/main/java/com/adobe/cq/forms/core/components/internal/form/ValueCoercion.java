@@ -0,0 +1,292 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.form;
+
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.adobe.cq.forms.core.components.models.form.Base;
+import com.adobe.cq.forms.core.components.models.form.BaseConstraint;
+
+/**
+ * Converts the string values of field properties into typed values, with the same results as the conversions of the
+ * JDK but without using exceptions for control flow.
+ *
+ * Numbers are scanned once to pick {@link Long} or {@link Float}. The typed values are immutable and cached by the
+ * property value, so every render of a field shares them; a changed property of a new resource version is a new key.
+ */
+public final class ValueCoercion {
+
+    /**
+     * Maximum number of cached values of each kind, a full cache is cleared
+     */
+    static final int MAX_CACHE_SIZE = 10000;
+
+    /**
+     * Longer values are converted on every call instead of being kept in memory
+     */
+    static final int MAX_CACHED_LENGTH = 64;
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(Base.DATE_FORMATTER);
+
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+
+    // java.text uses the julian calendar before the gregorian cutover (1582-10-15) and java.time prints years after 9999
+    // with a sign, both limits with a day of margin for the time zone
+    private static final long GREGORIAN_CUTOVER = -12219292800000L + DAY;
+    private static final long YEAR_10000 = 253402300800000L - DAY;
+
+    private static final Map<String, Number> NUMBERS = new ConcurrentHashMap<>();
+
+    private static final Map<String, String> DATE_TIMES = new ConcurrentHashMap<>();
+
+    private ValueCoercion() {
+        // NOOP
+    }
+
+    /**
+     * Parses a value into a {@link Long}, or into a {@link Float} if it is not a long, the same as
+     * {@link Long#parseLong(String)} with a fallback to {@link Float#parseFloat(String)}.
+     *
+     * @param value the value to parse, can be null
+     * @return the parsed number, or null if the value is not a number
+     */
+    @Nullable
+    public static Number parseNumber(@Nullable String value) {
+        if (value == null) {
+            return null;
+        }
+        Number number = NUMBERS.get(value);
+        if (number == null) {
+            number = scanLong(value);
+            if (number == null) {
+                number = scanFloat(value);
+            }
+            if (number != null && value.length() <= MAX_CACHED_LENGTH) {
+                cache(NUMBERS, value, number);
+            }
+        }
+        return number;
+    }
+
+    /**
+     * Converts the values of an enum or default into the given type. Null values are dropped, numbers become
+     * {@link Long} and booleans {@link Boolean}, other types are copied as is.
+     *
+     * @param type the type of the field
+     * @param values the values to convert
+     * @return new array with the converted values
+     * @throws NumberFormatException if a value of a number field is not a long
+     */
+    @NotNull
+    public static Object[] coerce(@NotNull BaseConstraint.Type type, @NotNull Object[] values) {
+        if (type == BaseConstraint.Type.NUMBER || type == BaseConstraint.Type.NUMBER_ARRAY) {
+            Long[] numbers = new Long[countNonNull(values)];
+            int i = 0;
+            for (Object value : values) {
+                if (value != null) {
+                    numbers[i++] = toLong(value.toString());
+                }
+            }
+            return numbers;
+        } else if (type == BaseConstraint.Type.BOOLEAN || type == BaseConstraint.Type.BOOLEAN_ARRAY) {
+            Boolean[] booleans = new Boolean[countNonNull(values)];
+            int i = 0;
+            for (Object value : values) {
+                if (value != null) {
+                    booleans[i++] = Boolean.parseBoolean(value.toString());
+                }
+            }
+            return booleans;
+        }
+        return values.clone();
+    }
+
+    /**
+     * Formats an ISO date time with offset, e.g. {@code 2023-01-01T10:30:00+05:30}, to minutes in its local time.
+     *
+     * @param dateTime the ISO date time
+     * @return the date time as {@code yyyy-MM-dd'T'HH:mm}
+     * @throws java.time.format.DateTimeParseException if the value is not an ISO date time with offset
+     */
+    @NotNull
+    public static String formatDateTime(@NotNull String dateTime) {
+        String formatted = DATE_TIMES.get(dateTime);
+        if (formatted == null) {
+            formatted = OffsetDateTime.parse(dateTime).format(DATE_TIME_FORMATTER);
+            if (dateTime.length() <= MAX_CACHED_LENGTH) {
+                cache(DATE_TIMES, dateTime, formatted);
+            }
+        }
+        return formatted;
+    }
+
+    /**
+     * Formats a date as {@link Base#DATE_FORMATTER} in the default time zone, the same as a {@link SimpleDateFormat} of
+     * that pattern but safe to share between threads.
+     *
+     * @param date the date to format
+     * @return the formatted date
+     */
+    @NotNull
+    public static String formatDate(@NotNull Date date) {
+        long time = date.getTime();
+        if (time < GREGORIAN_CUTOVER || time > YEAR_10000) {
+            return new SimpleDateFormat(Base.DATE_FORMATTER).format(date);
+        }
+        return DATE_FORMATTER.format(Instant.ofEpochMilli(time).atZone(ZoneId.systemDefault()));
+    }
+
+    private static <T> void cache(Map<String, T> cache, String key, T value) {
+        if (cache.size() >= MAX_CACHE_SIZE) {
+            cache.clear();
+        }
+        cache.put(key, value);
+    }
+
+    private static int countNonNull(Object[] values) {
+        int count = 0;
+        for (Object value : values) {
+            if (value != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static Long toLong(String value) {
+        Number cached = NUMBERS.get(value);
+        if (cached instanceof Long) {
+            return (Long) cached;
+        }
+        Long number = scanLong(value);
+        if (number == null) {
+            throw new NumberFormatException("For input string: \"" + value + "\"");
+        }
+        if (value.length() <= MAX_CACHED_LENGTH) {
+            cache(NUMBERS, value, number);
+        }
+        return number;
+    }
+
+    /**
+     * Parses the value like {@link Long#parseLong(String)}, returning null where it would throw
+     */
+    @Nullable
+    static Long scanLong(@NotNull String value) {
+        int length = value.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            negative = value.charAt(0) == '-';
+            i = 1;
+        }
+        if (i == length) {
+            return null;
+        }
+        // accumulated negatively, since the range of negative longs is the larger one
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; i < length; i++) {
+            int digit = Character.digit(value.charAt(i), 10);
+            if (digit < 0 || result < multiplyLimit) {
+                return null;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return null;
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Parses the value like {@link Float#parseFloat(String)}, returning null where it would throw
+     */
+    @Nullable
+    static Float scanFloat(@NotNull String value) {
+        String trimmed = value.trim();
+        if (isDecimal(trimmed)) {
+            return Float.parseFloat(trimmed);
+        }
+        // NaN, Infinity and hexadecimal numbers are rare enough to be left to the JDK
+        if (trimmed.indexOf('N') >= 0 || trimmed.indexOf('I') >= 0 || trimmed.indexOf('x') >= 0 || trimmed.indexOf('X') >= 0) {
+            try {
+                return Float.parseFloat(trimmed);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks for {@code [+-]?digits[.digits]([eE][+-]?digits)?[fFdD]?} with at least one digit before the exponent
+     */
+    private static boolean isDecimal(String value) {
+        int length = value.length();
+        int i = 0;
+        if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+            i++;
+        }
+        int digits = 0;
+        for (; i < length && isAsciiDigit(value.charAt(i)); i++) {
+            digits++;
+        }
+        if (i < length && value.charAt(i) == '.') {
+            for (i++; i < length && isAsciiDigit(value.charAt(i)); i++) {
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (i < length && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+                i++;
+            }
+            int exponentStart = i;
+            for (; i < length && isAsciiDigit(value.charAt(i)); i++) {
+                // NOOP
+            }
+            if (i == exponentStart) {
+                return false;
+            }
+        }
+        if (i < length && "fFdD".indexOf(value.charAt(i)) >= 0) {
+            i++;
+        }
+        return i == length;
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -16,7 +16,6 @@
 package com.adobe.cq.forms.core.components.internal.models.v1.form;
 
 import java.util.Date;
-import java.util.Map;
 
 import javax.annotation.PostConstruct;
 
@@ -28,13 +27,11 @@ import org.apache.sling.models.annotations.Model;
 import org.apache.sling.models.annotations.injectorspecific.InjectionStrategy;
 import org.apache.sling.models.annotations.injectorspecific.SlingObject;
 import org.apache.sling.models.annotations.injectorspecific.ValueMapValue;
-import org.jetbrains.annotations.NotNull;
 
 import com.adobe.cq.export.json.ComponentExporter;
 import com.adobe.cq.export.json.ExporterConstants;
 import com.adobe.cq.forms.core.components.internal.form.FormConstants;
 import com.adobe.cq.forms.core.components.internal.form.ReservedProperties;
-import com.adobe.cq.forms.core.components.models.form.ConstraintType;
 import com.adobe.cq.forms.core.components.models.form.DatePicker;
 import com.adobe.cq.forms.core.components.models.form.FieldType;
 import com.adobe.cq.forms.core.components.util.AbstractFieldImpl;
@@ -89,17 +86,9 @@ public class DatePickerImpl extends AbstractFieldImpl implements DatePicker {
         return super.getFieldType(FieldType.DATE_INPUT);
     }
 
-    public @NotNull Map<ConstraintType, String> getConstraintMessages() {
-        Map<ConstraintType, String> res = super.getConstraintMessages();
-        String msg = getConstraintMessage(ConstraintType.MINIMUM);
-        if (msg != null) {
-            res.put(ConstraintType.MINIMUM, msg);
-        }
-        msg = getConstraintMessage(ConstraintType.MAXIMUM);
-        if (msg != null) {
-            res.put(ConstraintType.MAXIMUM, msg);
-        }
-        return res;
+    @Override
+    protected boolean hasRangeConstraintMessages() {
+        return true;
     }
 
     @PostConstruct
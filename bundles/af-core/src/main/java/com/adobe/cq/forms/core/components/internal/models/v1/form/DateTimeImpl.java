@@ -16,10 +16,6 @@
 
 package com.adobe.cq.forms.core.components.internal.models.v1.form;
 
-import java.time.OffsetDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Map;
-
 import javax.annotation.Nullable;
 
 import org.apache.sling.api.SlingHttpServletRequest;
@@ -28,11 +24,11 @@ import org.apache.sling.models.annotations.Exporter;
 import org.apache.sling.models.annotations.Model;
 import org.apache.sling.models.annotations.injectorspecific.InjectionStrategy;
 import org.apache.sling.models.annotations.injectorspecific.ValueMapValue;
-import org.jetbrains.annotations.NotNull;
 
 import com.adobe.cq.export.json.ComponentExporter;
 import com.adobe.cq.export.json.ExporterConstants;
 import com.adobe.cq.forms.core.components.internal.form.FormConstants;
+import com.adobe.cq.forms.core.components.internal.form.ValueCoercion;
 import com.adobe.cq.forms.core.components.models.form.*;
 import com.adobe.cq.forms.core.components.util.AbstractFieldImpl;
 import com.adobe.xfa.ut.StringUtils;
@@ -67,24 +63,15 @@ public class DateTimeImpl extends AbstractFieldImpl implements DateTime {
 
     private String getFormattedDate(String dateTime) {
         if (!StringUtils.isEmpty(dateTime)) {
-            OffsetDateTime formattedTime = OffsetDateTime.parse(dateTime);
-            return formattedTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm"));
+            return ValueCoercion.formatDateTime(dateTime);
         }
         return dateTime;
 
     }
 
-    public @NotNull Map<ConstraintType, String> getConstraintMessages() {
-        Map<ConstraintType, String> res = super.getConstraintMessages();
-        String msg = getConstraintMessage(ConstraintType.MINIMUM);
-        if (msg != null) {
-            res.put(ConstraintType.MINIMUM, msg);
-        }
-        msg = getConstraintMessage(ConstraintType.MAXIMUM);
-        if (msg != null) {
-            res.put(ConstraintType.MAXIMUM, msg);
-        }
-        return res;
+    @Override
+    protected boolean hasRangeConstraintMessages() {
+        return true;
     }
 
     @Override
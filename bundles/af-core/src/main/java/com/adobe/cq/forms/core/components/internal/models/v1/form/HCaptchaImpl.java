@@ -21,6 +21,7 @@ import java.util.Map;
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.sling.api.SlingHttpServletRequest;
 import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.resource.ResourceResolver;
@@ -38,6 +39,7 @@ import com.adobe.aemds.guide.service.CloudConfigurationProvider;
 import com.adobe.aemds.guide.service.GuideException;
 import com.adobe.cq.export.json.ComponentExporter;
 import com.adobe.cq.export.json.ExporterConstants;
+import com.adobe.cq.forms.core.components.internal.form.FormConfigurationCache;
 import com.adobe.cq.forms.core.components.internal.form.FormConstants;
 import com.adobe.cq.forms.core.components.internal.form.ReservedProperties;
 import com.adobe.cq.forms.core.components.models.form.HCaptcha;
@@ -66,6 +68,9 @@ public class HCaptchaImpl extends AbstractCaptchaImpl implements HCaptcha {
     @ValueMapValue(injectionStrategy = InjectionStrategy.OPTIONAL)
     private CloudConfigurationProvider cloudConfigurationProvider;
 
+    @OSGiService(injectionStrategy = InjectionStrategy.OPTIONAL)
+    private FormConfigurationCache configurationCache;
+
     @ValueMapValue(injectionStrategy = InjectionStrategy.OPTIONAL)
     @Named(ReservedProperties.PN_CLOUD_SERVICE_PATH)
     protected String cloudServicePath;
@@ -100,10 +105,13 @@ public class HCaptchaImpl extends AbstractCaptchaImpl implements HCaptcha {
         }
         try {
             if (resource != null && cloudConfigurationProvider != null) {
-                hCaptchaConfiguration = cloudConfigurationProvider.getHCaptchaCloudConfiguration(resource);
-                if (hCaptchaConfiguration != null) {
-                    siteKey = hCaptchaConfiguration.getSiteKey();
-                    uri = hCaptchaConfiguration.getClientSideJsUrl();
+                String[] configuration = configurationCache != null
+                    ? configurationCache.get(resource, getProvider() + "\n" + StringUtils.defaultString(cloudServicePath),
+                        this::resolveCloudConfiguration)
+                    : resolveCloudConfiguration(resource);
+                if (configuration != null) {
+                    siteKey = configuration[0];
+                    uri = configuration[1];
                 }
             }
         } catch (GuideException e) {
@@ -119,4 +127,12 @@ public class HCaptchaImpl extends AbstractCaptchaImpl implements HCaptcha {
 
     }
 
+    private String[] resolveCloudConfiguration(Resource resource) throws GuideException {
+        hCaptchaConfiguration = cloudConfigurationProvider.getHCaptchaCloudConfiguration(resource);
+        if (hCaptchaConfiguration == null) {
+            return null;
+        }
+        return new String[] { hCaptchaConfiguration.getSiteKey(), hCaptchaConfiguration.getClientSideJsUrl() };
+    }
+
 }
@@ -33,4 +33,8 @@ import com.adobe.cq.forms.core.components.models.form.Panel;
 @Exporter(name = ExporterConstants.SLING_MODEL_EXPORTER_NAME, extensions = ExporterConstants.SLING_MODEL_EXTENSION)
 public class PanelContainerImpl extends PanelImpl {
 
+    @Override
+    protected boolean supportsLazyLoading() {
+        return true;
+    }
 }
@@ -22,6 +22,7 @@ import javax.annotation.Nullable;
 
 import org.apache.sling.api.SlingHttpServletRequest;
 import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
 import org.apache.sling.models.annotations.Exporter;
 import org.apache.sling.models.annotations.Model;
 import org.apache.sling.models.annotations.injectorspecific.InjectionStrategy;
@@ -35,6 +36,8 @@ import com.adobe.cq.forms.core.components.internal.form.ReservedProperties;
 import com.adobe.cq.forms.core.components.models.form.FieldType;
 import com.adobe.cq.forms.core.components.models.form.Panel;
 import com.adobe.cq.forms.core.components.util.AbstractContainerImpl;
+import com.adobe.cq.forms.core.components.util.ComponentUtils;
+import com.day.cq.wcm.api.WCMMode;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 
@@ -93,6 +96,8 @@ public class PanelImpl extends AbstractContainerImpl implements Panel {
     @Nullable
     protected Boolean readOnly;
 
+    private Boolean lazy;
+
     @JsonIgnore
     @Override
     public Boolean isRequired() {
@@ -120,6 +125,57 @@ public class PanelImpl extends AbstractContainerImpl implements Panel {
         return readOnly;
     }
 
+    /**
+     * The markup of the items of a panel is deferred (deferred panel markup) if its container has {@value ReservedProperties#PN_LAZY_ITEMS}
+     * set and the panel is not the first one, as long as the whole form is not needed at once (authoring, print,
+     * submission) and the panel is not requested on its own, which is how the client loads the markup. The model json
+     * is not reduced and always holds the items, so that rules, validations and data of the form cover the fields of
+     * every panel.
+     */
+    @Override
+    @JsonIgnore
+    public boolean isLazy() {
+        if (lazy == null) {
+            lazy = supportsLazyLoading()
+                && request != null
+                && !Boolean.TRUE.equals(isRepeatable())
+                && !FormConstants.CHANNEL_PRINT.equals(channel)
+                && WCMMode.fromRequest(request) == WCMMode.DISABLED
+                && !ComponentUtils.shouldIncludeSubmitProperties(request)
+                && isDeferredByContainer()
+                && !isRequested();
+        }
+        return lazy;
+    }
+
+    /**
+     * @return {@code true} if the markup of the panel can be rendered without its items
+     */
+    protected boolean supportsLazyLoading() {
+        return false;
+    }
+
+    private boolean isDeferredByContainer() {
+        Resource parent = resource.getParent();
+        if (parent == null || !parent.getValueMap().get(ReservedProperties.PN_LAZY_ITEMS, false)) {
+            return false;
+        }
+        for (Resource sibling : parent.getChildren()) {
+            if (!sibling.getName().startsWith("fd:") && sibling.getValueMap().containsKey(ResourceResolver.PROPERTY_RESOURCE_TYPE)) {
+                // the first panel is always shown
+                return !sibling.getPath().equals(resource.getPath());
+            }
+        }
+        return false;
+    }
+
+    private boolean isRequested() {
+        // the URI of the client request, includes do not change it
+        String uri = request.getRequestURI();
+        String path = request.getContextPath() + resource.getPath();
+        return uri != null && (uri.equals(path) || uri.startsWith(path + "."));
+    }
+
     @Override
     @JsonIgnore
     @NotNull
@@ -37,6 +37,7 @@ import com.adobe.aemds.guide.service.CloudConfigurationProvider;
 import com.adobe.aemds.guide.service.GuideException;
 import com.adobe.cq.export.json.ComponentExporter;
 import com.adobe.cq.export.json.ExporterConstants;
+import com.adobe.cq.forms.core.components.internal.form.FormConfigurationCache;
 import com.adobe.cq.forms.core.components.internal.form.FormConstants;
 import com.adobe.cq.forms.core.components.internal.form.ReservedProperties;
 import com.adobe.cq.forms.core.components.models.form.Captcha;
@@ -63,6 +64,9 @@ public class RecaptchaImpl extends AbstractCaptchaImpl implements Captcha {
     @ValueMapValue(injectionStrategy = InjectionStrategy.OPTIONAL)
     private CloudConfigurationProvider cloudConfigurationProvider;
 
+    @OSGiService(injectionStrategy = InjectionStrategy.OPTIONAL)
+    private FormConfigurationCache configurationCache;
+
     @ValueMapValue(injectionStrategy = InjectionStrategy.OPTIONAL)
     @Named(ReservedProperties.PN_RECAPTCHA_CLOUD_SERVICE_PATH)
     protected String cloudServicePath;
@@ -101,11 +105,14 @@ public class RecaptchaImpl extends AbstractCaptchaImpl implements Captcha {
         String keyType = null;
         resource = resourceResolver.getResource(this.getPath());
         if (resource != null && cloudConfigurationProvider != null) {
-            reCaptchaConfiguration = cloudConfigurationProvider.getRecaptchaCloudConfiguration(resource);
-            if (reCaptchaConfiguration != null) {
-                siteKey = reCaptchaConfiguration.siteKey();
-                version = reCaptchaConfiguration.version();
-                keyType = reCaptchaConfiguration.keyType();
+            String[] configuration = configurationCache != null
+                ? configurationCache.get(resource, getProvider() + "\n" + StringUtils.defaultString(cloudServicePath),
+                    this::resolveCloudConfiguration)
+                : resolveCloudConfiguration(resource);
+            if (configuration != null) {
+                siteKey = configuration[0];
+                version = configuration[1];
+                keyType = configuration[2];
             }
         }
         customCaptchaProperties.put(CAPTCHA_SITE_KEY, siteKey);
@@ -123,4 +130,12 @@ public class RecaptchaImpl extends AbstractCaptchaImpl implements Captcha {
         return customCaptchaProperties;
 
     }
+
+    private String[] resolveCloudConfiguration(Resource resource) throws GuideException {
+        reCaptchaConfiguration = cloudConfigurationProvider.getRecaptchaCloudConfiguration(resource);
+        if (reCaptchaConfiguration == null) {
+            return null;
+        }
+        return new String[] { reCaptchaConfiguration.siteKey(), reCaptchaConfiguration.version(), reCaptchaConfiguration.keyType() };
+    }
 }
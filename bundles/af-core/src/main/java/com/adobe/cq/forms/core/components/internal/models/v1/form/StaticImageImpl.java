@@ -53,6 +53,8 @@ public class StaticImageImpl extends AbstractFormComponentImpl implements Static
 
     private Image image;
 
+    private String renderedImageSrc;
+
     @SlingObject
     private Resource resource;
 
@@ -79,14 +81,16 @@ public class StaticImageImpl extends AbstractFormComponentImpl implements Static
      */
     @Override
     public String getImageSrc() throws RepositoryException, IOException {
-        image = new Image(this.resource);
-        boolean containsData = (image.getData() != null);
-        if (containsData) {
-            image.setSelector(".img");
-            return image.getSrc();
-        } else {
-            return null;
+        // the source is requested several times per render (value, link url), build it only once
+        if (image == null) {
+            image = new Image(this.resource);
+            boolean containsData = (image.getData() != null);
+            if (containsData) {
+                image.setSelector(".img");
+                renderedImageSrc = image.getSrc();
+            }
         }
+        return renderedImageSrc;
     }
 
     @Override
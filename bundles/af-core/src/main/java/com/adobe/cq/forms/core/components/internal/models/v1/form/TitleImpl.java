@@ -31,6 +31,7 @@ import com.adobe.cq.export.json.ComponentExporter;
 import com.adobe.cq.export.json.ExporterConstants;
 import com.adobe.cq.forms.core.components.internal.Heading;
 import com.adobe.cq.forms.core.components.internal.form.FormConstants;
+import com.adobe.cq.forms.core.components.internal.form.FormContainerLocator;
 import com.adobe.cq.forms.core.components.internal.form.ReservedProperties;
 import com.adobe.cq.forms.core.components.util.AbstractComponentImpl;
 import com.adobe.cq.forms.core.components.util.ComponentUtils;
@@ -71,6 +72,9 @@ public class TitleImpl extends AbstractComponentImpl implements Title {
 
     private Heading heading;
 
+    @OSGiService(injectionStrategy = InjectionStrategy.OPTIONAL)
+    private FormContainerLocator formContainerLocator;
+
     /**
      * Translation of the title property
      */
@@ -81,7 +85,8 @@ public class TitleImpl extends AbstractComponentImpl implements Title {
             i18n = GuideUtils.getI18n(request, resource);
         }
         if (StringUtils.isBlank(title)) {
-            Resource formContainerResource = ComponentUtils.getFormContainer(resource);
+            Resource formContainerResource = formContainerLocator != null ? formContainerLocator.getFormContainer(resource)
+                : ComponentUtils.getFormContainer(resource);
             if (formContainerResource != null) {
                 title = formContainerResource.getValueMap().get(ReservedProperties.PN_TITLE, String.class);
             }
@@ -19,10 +19,10 @@ package com.adobe.cq.forms.core.components.internal.models.v1.form;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
-import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.sling.api.SlingHttpServletRequest;
 import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.resource.ResourceResolver;
@@ -40,6 +40,7 @@ import com.adobe.aemds.guide.service.CloudConfigurationProvider;
 import com.adobe.aemds.guide.service.GuideException;
 import com.adobe.cq.export.json.ComponentExporter;
 import com.adobe.cq.export.json.ExporterConstants;
+import com.adobe.cq.forms.core.components.internal.form.FormConfigurationCache;
 import com.adobe.cq.forms.core.components.internal.form.FormConstants;
 import com.adobe.cq.forms.core.components.models.form.Turnstile;
 import com.adobe.cq.forms.core.components.util.AbstractCaptchaImplV2;
@@ -58,6 +59,10 @@ public class TurnstileImpl extends AbstractCaptchaImplV2 implements Turnstile {
 
     private Resource resource;
     private String captchaSiteKey;
+    private String clientSideJsUrl;
+    private String widgetType;
+    private boolean configurationResolved;
+    private boolean configured;
 
     @Reference
     @ValueMapValue(injectionStrategy = InjectionStrategy.OPTIONAL)
@@ -67,6 +72,9 @@ public class TurnstileImpl extends AbstractCaptchaImplV2 implements Turnstile {
     @ValueMapValue(injectionStrategy = InjectionStrategy.OPTIONAL)
     private CloudConfigurationProvider cloudConfigurationProvider;
 
+    @OSGiService(injectionStrategy = InjectionStrategy.OPTIONAL)
+    private FormConfigurationCache configurationCache;
+
     @ValueMapValue(injectionStrategy = InjectionStrategy.OPTIONAL)
     @Named("cloudServicePath")
     protected String cloudServicePath;
@@ -95,13 +103,23 @@ public class TurnstileImpl extends AbstractCaptchaImplV2 implements Turnstile {
      * Also sets the captchaSiteKey.
      */
     private void setTurnstileConfiguration() {
+        if (configurationResolved) {
+            return;
+        }
+        configurationResolved = true;
         LOGGER.debug("[AF] [Captcha] [TURNSTILE] Fetching cloud configuration for turnstile.");
         if (cloudConfigurationProvider != null) {
             try {
                 resource = resourceResolver.getResource(this.getPath());
-                turnstileConfiguration = cloudConfigurationProvider.getTurnstileCloudConfiguration(resource);
-                if (turnstileConfiguration != null) {
-                    captchaSiteKey = turnstileConfiguration.getSiteKey();
+                String[] configuration = configurationCache != null && resource != null
+                    ? configurationCache.get(resource, getProvider() + "\n" + StringUtils.defaultString(cloudServicePath),
+                        this::resolveCloudConfiguration)
+                    : resolveCloudConfiguration(resource);
+                if (configuration != null) {
+                    captchaSiteKey = configuration[0];
+                    clientSideJsUrl = configuration[1];
+                    widgetType = configuration[2];
+                    configured = true;
                 } else {
                     LOGGER.debug("[AF] [Captcha] [TURNSTILE] Cloud configuration for turnstile is not available for " + this.getPath());
                 }
@@ -115,42 +133,41 @@ public class TurnstileImpl extends AbstractCaptchaImplV2 implements Turnstile {
         }
     }
 
-    @PostConstruct
+    private String[] resolveCloudConfiguration(Resource resource) throws GuideException {
+        turnstileConfiguration = cloudConfigurationProvider.getTurnstileCloudConfiguration(resource);
+        if (turnstileConfiguration == null) {
+            return null;
+        }
+        return new String[] { turnstileConfiguration.getSiteKey(), turnstileConfiguration.getClientSideJsUrl(),
+            turnstileConfiguration.getWidgetType() };
+    }
+
     @Override
     public Map<String, Object> getCaptchaProperties() {
         Map<String, Object> customCaptchaProperties = new LinkedHashMap<>();
-        String siteKey = null, uri = null, widgetType = null;
-        if (turnstileConfiguration == null) {
-            setTurnstileConfiguration();
-        }
-        if (turnstileConfiguration != null) {
-            customCaptchaProperties.put(CAPTCHA_URI, turnstileConfiguration.getClientSideJsUrl());
-            customCaptchaProperties.put(CAPTCHA_WIDGET_TYPE, turnstileConfiguration.getWidgetType());
+        setTurnstileConfiguration();
+        if (configured) {
+            customCaptchaProperties.put(CAPTCHA_URI, clientSideJsUrl);
+            customCaptchaProperties.put(CAPTCHA_WIDGET_TYPE, widgetType);
         }
         customCaptchaProperties.put(CAPTCHA_SIZE, getSize());
         customCaptchaProperties.put(CAPTCHA_THEME, CAPTCHA_THEME_LIGHT);
         return customCaptchaProperties;
     }
 
-    @PostConstruct
     @Override
     public String getCaptchaDisplayMode() {
         CaptchaDisplayMode captchaDisplayMode = CaptchaDisplayMode.VISIBLE;
-        if (turnstileConfiguration == null) {
-            setTurnstileConfiguration();
-        }
-        if (turnstileConfiguration != null && CaptchaDisplayMode.INVISIBLE.getValue().equals(turnstileConfiguration.getWidgetType())) {
+        setTurnstileConfiguration();
+        if (configured && CaptchaDisplayMode.INVISIBLE.getValue().equals(widgetType)) {
             captchaDisplayMode = CaptchaDisplayMode.INVISIBLE;
         }
         return captchaDisplayMode.getValue();
     }
 
-    @PostConstruct
     @Override
     public String getCaptchaSiteKey() {
-        if (turnstileConfiguration == null) {
-            setTurnstileConfiguration();
-        }
+        setTurnstileConfiguration();
         return this.captchaSiteKey;
     }
 }
@@ -34,6 +34,7 @@ import com.adobe.cq.export.json.ExporterConstants;
 import com.adobe.cq.forms.core.components.datalayer.FormComponentData;
 import com.adobe.cq.forms.core.components.internal.Heading;
 import com.adobe.cq.forms.core.components.internal.form.FormConstants;
+import com.adobe.cq.forms.core.components.internal.form.FormContainerLocator;
 import com.adobe.cq.forms.core.components.internal.form.ReservedProperties;
 import com.adobe.cq.forms.core.components.models.form.FieldType;
 import com.adobe.cq.forms.core.components.models.form.FormTitle;
@@ -75,6 +76,9 @@ public class TitleImplV2 extends AbstractFormComponentImpl implements FormTitle
         return super.getFieldType(FieldType.PLAIN_TEXT);
     }
 
+    @OSGiService(injectionStrategy = InjectionStrategy.OPTIONAL)
+    private FormContainerLocator formContainerLocator;
+
     /**
      * Translation of the title property
      */
@@ -85,7 +89,8 @@ public class TitleImplV2 extends AbstractFormComponentImpl implements FormTitle
             i18n = GuideUtils.getI18n(request, resource);
         }
         if (StringUtils.isBlank(title)) {
-            Resource formContainerResource = ComponentUtils.getFormContainer(resource);
+            Resource formContainerResource = formContainerLocator != null ? formContainerLocator.getFormContainer(resource)
+                : ComponentUtils.getFormContainer(resource);
             if (formContainerResource != null) {
                 title = formContainerResource.getValueMap().get("title", String.class);
             }
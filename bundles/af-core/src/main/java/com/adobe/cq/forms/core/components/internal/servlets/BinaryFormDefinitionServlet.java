@@ -0,0 +1,91 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.servlets;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+import javax.servlet.Servlet;
+
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.SlingHttpServletResponse;
+import org.apache.sling.api.servlets.HttpConstants;
+import org.apache.sling.api.servlets.ServletResolverConstants;
+import org.apache.sling.api.servlets.SlingSafeMethodsServlet;
+import org.apache.sling.models.factory.ExportException;
+import org.apache.sling.models.factory.MissingExporterException;
+import org.apache.sling.models.factory.ModelFactory;
+import org.jetbrains.annotations.NotNull;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.adobe.cq.export.json.ComponentExporter;
+import com.adobe.cq.export.json.ExporterConstants;
+import com.adobe.cq.forms.core.components.internal.form.CborEncoder;
+import com.adobe.cq.forms.core.components.internal.form.FormConstants;
+
+/**
+ * Serves the form definition of the model json ({@code <form>.model[.<lang>].json}) encoded as CBOR, at
+ * {@code <form>.model[.<lang>].cbor}. Strings which occur more than once, e.g. the keys of every field, are sent once.
+ *
+ * The definition is rendered by the same exporter as the model json, so both always have the same content. The
+ * encoding is chosen by the URL alone, never by request headers, so that caches keyed on the URL (dispatcher, CDN)
+ * always hold the right format.
+ */
+@Component(
+    service = { Servlet.class },
+    property = {
+        ServletResolverConstants.SLING_SERVLET_RESOURCE_TYPES + "=" + FormConstants.RT_FD_FORM_CONTAINER_V2,
+        ServletResolverConstants.SLING_SERVLET_METHODS + "=" + HttpConstants.METHOD_GET,
+        ServletResolverConstants.SLING_SERVLET_SELECTORS + "=" + ExporterConstants.SLING_MODEL_SELECTOR,
+        ServletResolverConstants.SLING_SERVLET_EXTENSIONS + "=" + BinaryFormDefinitionServlet.EXTENSION
+    })
+public class BinaryFormDefinitionServlet extends SlingSafeMethodsServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger logger = LoggerFactory.getLogger(BinaryFormDefinitionServlet.class);
+
+    static final String EXTENSION = "cbor";
+
+    @Reference
+    private transient ModelFactory modelFactory;
+
+    @Override
+    protected void doGet(@NotNull SlingHttpServletRequest request, @NotNull SlingHttpServletResponse response) throws IOException {
+        ComponentExporter model = modelFactory.getModelFromWrappedRequest(request, request.getResource(), ComponentExporter.class);
+        if (model == null) {
+            response.sendError(SlingHttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Map<?, ?> definition;
+        try {
+            definition = modelFactory.exportModel(model, ExporterConstants.SLING_MODEL_EXPORTER_NAME, Map.class,
+                Collections.emptyMap());
+        } catch (ExportException | MissingExporterException e) {
+            logger.error("Unable to export the definition of {}", request.getResource().getPath(), e);
+            response.sendError(SlingHttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            return;
+        }
+        byte[] body = CborEncoder.encode(definition);
+        response.setContentType(CborEncoder.MEDIA_TYPE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
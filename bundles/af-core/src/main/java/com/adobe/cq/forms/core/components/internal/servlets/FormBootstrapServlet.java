@@ -0,0 +1,341 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.servlets;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.servlet.RequestDispatcher;
+import javax.servlet.Servlet;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.SlingHttpServletResponse;
+import org.apache.sling.api.servlets.HttpConstants;
+import org.apache.sling.api.servlets.ServletResolverConstants;
+import org.apache.sling.api.servlets.SlingSafeMethodsServlet;
+import org.apache.sling.api.wrappers.SlingHttpServletResponseWrapper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.osgi.service.component.annotations.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.adobe.cq.forms.core.components.internal.form.FormConstants;
+import com.adobe.cq.forms.core.components.internal.models.v2.form.FormContainerImpl;
+import com.adobe.cq.forms.core.components.models.form.FormContainer;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Serves everything the runtime needs to start a form in a single response: the form definition, the custom function
+ * configuration, the prefill data and the runtime dictionary of the form language.
+ *
+ * Every part is rendered by an internal include of the URL the runtime would otherwise request and written as one line
+ * of JSON ({@code application/x-ndjson}) as soon as it is available, so the client can start with the definition while
+ * the other parts are still being rendered. Each part carries a strong ETag; parts whose ETag the client lists in
+ * {@code If-None-Match} are sent as references to its cached copy, without a body. Parts which cannot be rendered are
+ * left out and fetched by the client on their own.
+ *
+ * The language is taken from the selector following {@value #SELECTOR}, like for the model json.
+ */
+@Component(
+    service = { Servlet.class },
+    property = {
+        ServletResolverConstants.SLING_SERVLET_RESOURCE_TYPES + "=" + FormConstants.RT_FD_FORM_CONTAINER_V2,
+        ServletResolverConstants.SLING_SERVLET_METHODS + "=" + HttpConstants.METHOD_GET,
+        ServletResolverConstants.SLING_SERVLET_SELECTORS + "=" + FormBootstrapServlet.SELECTOR,
+        ServletResolverConstants.SLING_SERVLET_EXTENSIONS + "=json"
+    })
+public class FormBootstrapServlet extends SlingSafeMethodsServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger logger = LoggerFactory.getLogger(FormBootstrapServlet.class);
+
+    static final String SELECTOR = "bootstrap";
+    static final String PART_DEFINITION = "definition";
+    static final String PART_CUSTOM_FUNCTIONS = "customFunctions";
+    static final String PART_DATA = "data";
+    static final String PART_I18N = "i18n";
+
+    static final String I18N_ROOT = "/etc.clientlibs/core/fd/af-clientlibs/core-forms-components-runtime-all/resources/i18n/";
+
+    private static final String CONTENT_TYPE = "application/x-ndjson";
+    private static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory().setRootValueSeparator("\n");
+
+    @Override
+    protected void doGet(@NotNull SlingHttpServletRequest request, @NotNull SlingHttpServletResponse response)
+        throws ServletException, IOException {
+        FormContainer formContainer = request.adaptTo(FormContainer.class);
+        if (formContainer == null) {
+            response.sendError(SlingHttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String[] selectors = request.getRequestPathInfo().getSelectors();
+        String lang = selectors.length > 1 ? selectors[1] : null;
+        Set<String> cached = getCachedETags(request);
+
+        response.setContentType(CONTENT_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        // the prefill data is specific to the request
+        response.setHeader("Cache-Control", "private, no-cache");
+
+        String path = request.getResource().getPath();
+        String apiRoot = FormContainer.ADOBE_GLOBAL_API_ROOT + FormContainer.FORMS_RUNTIME_API_GLOBAL_ROOT;
+        Writer writer = response.getWriter();
+        writePart(request, response, writer, cached, PART_DEFINITION, null,
+            path + ".model." + (StringUtils.isNotBlank(lang) ? lang + "." : "") + "json");
+        writePart(request, response, writer, cached, PART_CUSTOM_FUNCTIONS, formContainer.getCustomFunctionUrl(),
+            apiRoot + "/customfunctions/" + formContainer.getId());
+        if (Boolean.TRUE.equals(formContainer.getProperties().get(FormContainerImpl.FD_FORM_DATA_ENABLED))) {
+            writePart(request, response, writer, cached, PART_DATA, formContainer.getDataUrl(),
+                apiRoot + "/data/" + formContainer.getId());
+        }
+        String dictionary = I18N_ROOT + StringUtils.defaultIfBlank(lang, formContainer.getLang()) + ".json";
+        writePart(request, response, writer, cached, PART_I18N, dictionary, dictionary);
+    }
+
+    private void writePart(SlingHttpServletRequest request, SlingHttpServletResponse response, Writer writer, Set<String> cached,
+        String part, @Nullable String url, String includePath) throws IOException {
+        byte[] body = include(request, response, includePath);
+        if (body == null) {
+            return;
+        }
+        String etag = getETag(body);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            // one line per part, the writer stays open for the next one
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeStringField("part", part);
+            if (url != null) {
+                generator.writeStringField("url", withoutContextPath(request, url));
+            }
+            generator.writeStringField("etag", etag);
+            if (cached.contains(etag)) {
+                generator.writeBooleanField("cached", true);
+            } else {
+                generator.writeFieldName("body");
+                generator.writeRawValue(new String(body, StandardCharsets.UTF_8));
+            }
+            generator.writeEndObject();
+        }
+        writer.write('\n');
+        writer.flush();
+    }
+
+    /**
+     * Renders a URL with an internal include.
+     *
+     * @return the rendered JSON, or {@code null} if the URL could not be rendered as JSON
+     */
+    @Nullable
+    private byte[] include(SlingHttpServletRequest request, SlingHttpServletResponse response, String path) {
+        RequestDispatcher dispatcher = request.getRequestDispatcher(path);
+        if (dispatcher == null) {
+            return null;
+        }
+        BufferedResponse buffered = new BufferedResponse(response);
+        try {
+            dispatcher.include(request, buffered);
+        } catch (ServletException | IOException | RuntimeException e) {
+            logger.warn("Could not render {} for the bootstrap of {}", path, request.getResource().getPath(), e);
+            return null;
+        }
+        byte[] body = buffered.toByteArray();
+        if (buffered.getStatus() != SlingHttpServletResponse.SC_OK || !isJson(body)) {
+            logger.debug("Leaving {} out of the bootstrap, status {}", path, buffered.getStatus());
+            return null;
+        }
+        return body;
+    }
+
+    /**
+     * The URLs of the form container include the context path, the client looks the parts up without it
+     */
+    static String withoutContextPath(SlingHttpServletRequest request, String url) {
+        String contextPath = request.getContextPath();
+        if (StringUtils.isNotEmpty(contextPath) && url.startsWith(contextPath + "/")) {
+            return url.substring(contextPath.length());
+        }
+        return url;
+    }
+
+    private static boolean isJson(byte[] body) {
+        for (byte b : body) {
+            if (!Character.isWhitespace(b)) {
+                return b == '{' || b == '[';
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> getCachedETags(SlingHttpServletRequest request) {
+        Set<String> etags = new HashSet<>();
+        String header = request.getHeader(HEADER_IF_NONE_MATCH);
+        if (header != null) {
+            for (String etag : StringUtils.split(header, ',')) {
+                etags.add(etag.trim());
+            }
+        }
+        return etags;
+    }
+
+    static String getETag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            // 128 bits are plenty to tell versions of a part apart
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is mandatory for every JRE
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Collects the output of an include
+     */
+    static final class BufferedResponse extends SlingHttpServletResponseWrapper {
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+        private int status = SC_OK;
+
+        BufferedResponse(SlingHttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (outputStream == null) {
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) {
+                        buffer.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) {
+                        buffer.write(b, off, len);
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        // writes never block
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), StandardCharsets.UTF_8));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setStatus(int sc) {
+            status = sc;
+        }
+
+        @Override
+        public void sendError(int sc) {
+            status = sc;
+        }
+
+        @Override
+        public void sendError(int sc, String msg) {
+            status = sc;
+        }
+
+        // headers and content type of the part must not leak into the bootstrap response
+        @Override
+        public void setContentType(String type) {}
+
+        @Override
+        public void setCharacterEncoding(String charset) {}
+
+        @Override
+        public void setContentLength(int len) {}
+
+        @Override
+        public void setContentLengthLong(long len) {}
+
+        @Override
+        public void setHeader(String name, String value) {}
+
+        @Override
+        public void addHeader(String name, String value) {}
+
+        @Override
+        public void setDateHeader(String name, long date) {}
+
+        @Override
+        public void addDateHeader(String name, long date) {}
+
+        @Override
+        public void setIntHeader(String name, int value) {}
+
+        @Override
+        public void addIntHeader(String name, int value) {}
+
+        @Override
+        public void flushBuffer() {}
+
+        @Override
+        public void resetBuffer() {
+            buffer.reset();
+        }
+
+        @Override
+        public void reset() {
+            buffer.reset();
+        }
+
+        int getStatus() {
+            return status;
+        }
+
+        byte[] toByteArray() {
+            if (writer != null) {
+                writer.flush();
+            }
+            return buffer.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,319 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.servlets;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded local disk cache of encoded image renditions.
+ *
+ * Entries are keyed by a digest of everything that influences the encoded bytes (asset path, modification time,
+ * requested size and quality), so a key never has to be invalidated: a modified image simply produces a new key and the
+ * stale rendition ages out of the cache. The key doubles as a strong ETag for the rendition.
+ */
+public class ImageRenditionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageRenditionCache.class);
+
+    /**
+     * Default upper bound of the bytes kept on disk (256 MB)
+     */
+    public static final long DEFAULT_MAX_SIZE = 256L * 1024 * 1024;
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File directory;
+
+    private final long maxSize;
+
+    private long currentSize;
+
+    // access ordered, so that iteration starts at the least recently served rendition
+    private final LinkedHashMap<String, Rendition> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // keys which are being rendered, so that concurrent misses for the same key wait for a single rendering
+    private final ConcurrentHashMap<String, Object> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Writes the rendition bytes to the given stream.
+     */
+    @FunctionalInterface
+    public interface RenditionWriter {
+        /**
+         * @param out stream backed by the cache file
+         * @return the content type of the written rendition or {@code null} if nothing could be rendered
+         */
+        @Nullable
+        String write(@NotNull OutputStream out) throws Exception;
+    }
+
+    /**
+     * A rendition stored on disk
+     */
+    public static final class Rendition {
+        private final String key;
+        private final File file;
+        private final String contentType;
+        private final long length;
+
+        Rendition(String key, File file, String contentType, long length) {
+            this.key = key;
+            this.file = file;
+            this.contentType = contentType;
+            this.length = length;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        /**
+         * @return the strong entity tag of this rendition
+         */
+        public String getETag() {
+            return toETag(key);
+        }
+    }
+
+    /**
+     * Creates a cache in the given directory. The directory must not be shared with other caches, since all files it
+     * contains are removed.
+     *
+     * @param directory private directory of the cache
+     * @param maxSize upper bound of the bytes kept on disk
+     */
+    public ImageRenditionCache(@NotNull File directory, long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+        clear();
+    }
+
+    /**
+     * Computes the cache key for the given rendition parameters. Null parameters are allowed.
+     *
+     * @param parts all values that influence the encoded bytes
+     * @return a hex encoded SHA-256 digest of the parameters
+     */
+    public static String computeKey(Object... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                // separator, so that ("ab", "c") and ("a", "bc") produce different keys
+                digest.update((byte) 0);
+            }
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : digest.digest()) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is mandatory for every JRE
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param key the cache key
+     * @return the strong entity tag for the given key
+     */
+    public static String toETag(@NotNull String key) {
+        return "\"" + key + "\"";
+    }
+
+    /**
+     * Returns the rendition stored under the given key.
+     *
+     * @param key the cache key
+     * @return the rendition or {@code null} if it is not cached
+     */
+    @Nullable
+    public synchronized Rendition get(@NotNull String key) {
+        Rendition rendition = entries.get(key);
+        if (rendition != null && !rendition.file.exists()) {
+            // removed from the outside, forget about it
+            remove(key);
+            return null;
+        }
+        return rendition;
+    }
+
+    /**
+     * Returns the rendition stored under the given key, rendering it if it is not cached. Concurrent calls for the same
+     * key render the rendition only once; the others wait and return the rendition rendered by the first one.
+     *
+     * @param key the cache key
+     * @param writer writes the rendition bytes
+     * @return the cached rendition or {@code null} if the writer did not produce anything
+     * @throws IOException if the rendition could not be written
+     */
+    @Nullable
+    public Rendition computeIfAbsent(@NotNull String key, @NotNull RenditionWriter writer) throws IOException {
+        Object lock = pending.computeIfAbsent(key, k -> new Object());
+        synchronized (lock) {
+            try {
+                Rendition rendition = get(key);
+                return rendition != null ? rendition : put(key, writer);
+            } finally {
+                pending.remove(key, lock);
+            }
+        }
+    }
+
+    /**
+     * Renders a rendition into the cache. The bytes are written to a temporary file first and moved in place
+     * afterwards, so concurrent readers never observe a partially written rendition.
+     *
+     * @param key the cache key
+     * @param writer writes the rendition bytes
+     * @return the cached rendition or {@code null} if the writer did not produce anything
+     * @throws IOException if the rendition could not be written
+     */
+    @Nullable
+    public Rendition put(@NotNull String key, @NotNull RenditionWriter writer) throws IOException {
+        ensureDirectory();
+        Path temp = Files.createTempFile(directory.toPath(), key, TEMP_SUFFIX);
+        String contentType;
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            contentType = writer.write(out);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        } catch (Exception e) {
+            Files.deleteIfExists(temp);
+            throw new IOException("Unable to render image rendition " + key, e);
+        }
+        if (contentType == null) {
+            Files.deleteIfExists(temp);
+            return null;
+        }
+        File target = new File(directory, key);
+        Files.move(temp, target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Rendition rendition = new Rendition(key, target, contentType, target.length());
+        synchronized (this) {
+            Rendition previous = entries.put(key, rendition);
+            if (previous != null) {
+                currentSize -= previous.length;
+            }
+            currentSize += rendition.length;
+            evict(key);
+        }
+        return rendition;
+    }
+
+    /**
+     * Opens a rendition for reading. The channel is opened while holding the cache lock, so the file can't be evicted in
+     * between; a rendition which is evicted afterwards stays readable through the open channel until it is closed.
+     *
+     * @param rendition the rendition to open
+     * @return the open channel or {@code null} if the rendition has been evicted already
+     * @throws IOException if the rendition could not be opened
+     */
+    @Nullable
+    public synchronized FileChannel open(@NotNull Rendition rendition) throws IOException {
+        try {
+            return FileChannel.open(rendition.file.toPath(), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            if (entries.get(rendition.key) == rendition) {
+                // removed from the outside, forget about it
+                remove(rendition.key);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * @return the number of bytes currently held by the cache
+     */
+    public synchronized long getSize() {
+        return currentSize;
+    }
+
+    /**
+     * Removes all renditions from the cache and from the disk.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        currentSize = 0;
+        if (directory.isDirectory()) {
+            try (Stream<Path> files = Files.list(directory.toPath())) {
+                files.forEach(file -> file.toFile().delete());
+            } catch (IOException e) {
+                logger.warn("Unable to clear image rendition cache at {}", directory, e);
+            }
+        }
+    }
+
+    private void ensureDirectory() throws IOException {
+        if (!directory.isDirectory()) {
+            Files.createDirectories(directory.toPath());
+        }
+    }
+
+    private void remove(String key) {
+        Rendition rendition = entries.remove(key);
+        if (rendition != null) {
+            currentSize -= rendition.length;
+            if (!rendition.file.delete() && rendition.file.exists()) {
+                logger.debug("Unable to delete image rendition {}", rendition.file);
+            }
+        }
+    }
+
+    private void evict(String retainedKey) {
+        Iterator<Map.Entry<String, Rendition>> iterator = entries.entrySet().iterator();
+        while (currentSize > maxSize && iterator.hasNext()) {
+            Map.Entry<String, Rendition> entry = iterator.next();
+            if (entry.getKey().equals(retainedKey)) {
+                // never evict the rendition which is about to be served
+                continue;
+            }
+            iterator.remove();
+            Rendition rendition = entry.getValue();
+            currentSize -= rendition.length;
+            rendition.file.delete();
+        }
+    }
+}
@@ -15,8 +15,15 @@
  ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
 package com.adobe.cq.forms.core.components.internal.servlets;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.util.Calendar;
 
 import javax.jcr.Property;
 import javax.jcr.RepositoryException;
@@ -26,9 +33,15 @@ import javax.servlet.http.HttpServletResponse;
 import org.apache.commons.io.IOUtils;
 import org.apache.sling.api.SlingHttpServletRequest;
 import org.apache.sling.api.SlingHttpServletResponse;
+import org.apache.sling.api.request.RequestPathInfo;
 import org.apache.sling.api.resource.Resource;
 import org.jetbrains.annotations.Nullable;
+import org.osgi.framework.BundleContext;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.adobe.cq.forms.core.components.internal.form.FormConstants;
 import com.day.cq.commons.ImageHelper;
@@ -53,6 +66,44 @@ import com.day.image.Layer;
     })
 public class StaticImageGETServlet extends AbstractImageServlet {
 
+    private static final Logger logger = LoggerFactory.getLogger(StaticImageGETServlet.class);
+
+    private static final String HEADER_ETAG = "ETag";
+    private static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+    private static final String HEADER_IF_RANGE = "If-Range";
+    private static final String HEADER_RANGE = "Range";
+    private static final String HEADER_ACCEPT_RANGES = "Accept-Ranges";
+    private static final String HEADER_CONTENT_RANGE = "Content-Range";
+    private static final String HEADER_CACHE_CONTROL = "Cache-Control";
+    private static final String BYTES_UNIT = "bytes";
+
+    /**
+     * Sent for URLs which carry the modification time of the image as suffix, since their content never changes
+     */
+    private static final String CACHE_CONTROL_IMMUTABLE = "public, max-age=31536000, immutable";
+
+    private static final String RENDITION_CACHE_DIRECTORY = "image-renditions";
+
+    private ImageRenditionCache renditionCache;
+
+    @Activate
+    protected void activate(BundleContext bundleContext) throws IOException {
+        File directory = bundleContext.getDataFile(RENDITION_CACHE_DIRECTORY);
+        if (directory == null) {
+            // the framework has no file system support, use a directory private to this instance instead
+            directory = Files.createTempDirectory(RENDITION_CACHE_DIRECTORY).toFile();
+        }
+        renditionCache = new ImageRenditionCache(directory, ImageRenditionCache.DEFAULT_MAX_SIZE);
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        if (renditionCache != null) {
+            renditionCache.clear();
+            renditionCache = null;
+        }
+    }
+
     @Override
     protected Layer createLayer(ImageContext c)
         throws RepositoryException, IOException {
@@ -81,24 +132,223 @@ public class StaticImageGETServlet extends AbstractImageServlet {
         if (image == null)
             return;
 
-        layer = getLayer(imageContext, image);
-        boolean modified = false;
+        String key = getRenditionKey(req, imageContext, image);
+        String etag = ImageRenditionCache.toETag(key);
+        boolean versioned = isVersioned(req, image);
+        if (matchesETag(req.getHeader(HEADER_IF_NONE_MATCH), etag)) {
+            setCacheHeaders(req, resp, image.getMimeType(), etag, versioned);
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        final Image source = image;
+        ImageRenditionCache.Rendition rendition = renditionCache.get(key);
+        FileChannel channel = rendition != null ? renditionCache.open(rendition) : null;
+        if (channel == null) {
+            // not cached or evicted since, render it again unless a concurrent request does already
+            rendition = renditionCache.computeIfAbsent(key, out -> render(req, resp, imageContext, source, out));
+            channel = rendition != null ? renditionCache.open(rendition) : null;
+        }
+        if (channel == null) {
+            // nothing to render, e.g. an image without binary data
+            return;
+        }
+        try {
+            setCacheHeaders(req, resp, rendition.getContentType(), etag, versioned);
+            spool(req, resp, rendition, channel);
+        } finally {
+            channel.close();
+        }
+        resp.flushBuffer();
+    }
+
+    /**
+     * Computes the rendition cache key, which covers everything the encoded bytes depend on: the asset, its modification
+     * time, the requested size and transformations and the output quality.
+     */
+    protected String getRenditionKey(SlingHttpServletRequest req, ImageContext imageContext, Image image) throws RepositoryException {
+        Calendar lastModified = image.getLastModified();
+        RequestPathInfo pathInfo = req.getRequestPathInfo();
+        return ImageRenditionCache.computeKey(
+            image.getPath(),
+            image.getFileReference(),
+            lastModified != null ? lastModified.getTimeInMillis() : null,
+            image.get(Image.PN_WIDTH),
+            image.get(Image.PN_HEIGHT),
+            image.get(Image.PN_IMAGE_CROP),
+            image.get(Image.PN_IMAGE_ROTATE),
+            imageContext.style != null ? imageContext.style.getPath() : null,
+            image.getMimeType(),
+            pathInfo.getSelectorString(),
+            pathInfo.getExtension());
+    }
 
-        modified = isModified(req, resp, imageContext, layer, image, modified);
+    /**
+     * Checks whether the request URL carries the modification time of the image as suffix, as the image source of the
+     * component does (e.g. {@code image.img.png/1700000000000.png}). Only such URLs change whenever the image changes.
+     */
+    static boolean isVersioned(SlingHttpServletRequest req, Image image) {
+        String suffix = req.getRequestPathInfo().getSuffix();
+        Calendar lastModified = image.getLastModified();
+        if (suffix == null || lastModified == null) {
+            return false;
+        }
+        String name = suffix.substring(suffix.lastIndexOf('/') + 1);
+        int dot = name.indexOf('.');
+        if (dot >= 0) {
+            name = name.substring(0, dot);
+        }
+        return name.equals(String.valueOf(lastModified.getTimeInMillis()));
+    }
+
+    /**
+     * Renders the image into the given stream, re-encoding the layer only if it was modified.
+     *
+     * @return the content type of the rendition or {@code null} if there was nothing to render
+     */
+    @Nullable
+    protected String render(SlingHttpServletRequest req, SlingHttpServletResponse resp, ImageContext imageContext, Image image,
+        OutputStream out) throws IOException, RepositoryException {
+        Layer layer = getLayer(imageContext, image);
+        boolean modified = isModified(req, resp, imageContext, layer, image, false);
         if (modified) {
             String mimeType = image.getMimeType();
             if (ImageHelper.getExtensionFromType(mimeType) == null) {
                 // get default mime type
                 mimeType = "image/png";
             }
-            resp.setContentType(mimeType);
-            layer.write(mimeType, mimeType.equals("image/gif") ? 255 : 1.0, resp.getOutputStream());
-        } else {
-            // do not re-encode layer, just spool
+            layer.write(mimeType, mimeType.equals("image/gif") ? 255 : 1.0, out);
+            return mimeType;
+        }
+        // do not re-encode layer, just spool
+        Property data = image.getData();
+        if (data == null) {
+            return null;
+        }
+        try (InputStream in = data.getStream()) {
+            IOUtils.copy(in, out);
+        }
+        return image.getMimeType();
+    }
 
-            extracted(resp, image);
+    /**
+     * Sets the validators and caching headers of a rendition. Renditions served from a URL without the modification time
+     * suffix keep the default caching, since the same URL serves new content once the image is replaced.
+     */
+    protected void setCacheHeaders(SlingHttpServletRequest req, SlingHttpServletResponse resp, String mimeType, String etag,
+        boolean versioned) {
+        resp.setHeader(HEADER_ETAG, etag);
+        resp.setHeader(HEADER_ACCEPT_RANGES, BYTES_UNIT);
+        if (!WCMMode.DISABLED.equals(WCMMode.fromRequest(req))) {
+            // see isModified, authoring instances always revalidate
+            resp.setHeader(HEADER_CACHE_CONTROL, "no-cache");
+        } else if (versioned) {
+            resp.setHeader(HEADER_CACHE_CONTROL, CACHE_CONTROL_IMMUTABLE);
+        }
+        if ("image/svg+xml".equals(mimeType)) {
+            resp.setHeader("Content-Disposition", "attachment");
         }
-        resp.flushBuffer();
+    }
+
+    /**
+     * Writes the cached rendition to the response, honouring a single byte range if one was requested. The bytes are
+     * transferred from the open channel of the rendition without copying them through the heap, so evicting the rendition
+     * meanwhile doesn't affect the response.
+     */
+    protected void spool(SlingHttpServletRequest req, SlingHttpServletResponse resp, ImageRenditionCache.Rendition rendition,
+        FileChannel channel) throws IOException {
+        long length = rendition.getLength();
+        long start = 0;
+        long end = length - 1;
+        String range = req.getHeader(HEADER_RANGE);
+        String ifRange = req.getHeader(HEADER_IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(rendition.getETag()))) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                resp.setHeader(HEADER_CONTENT_RANGE, BYTES_UNIT + " */" + length);
+                resp.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                resp.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                resp.setHeader(HEADER_CONTENT_RANGE, BYTES_UNIT + " " + start + "-" + end + "/" + length);
+            }
+        }
+        long count = end - start + 1;
+        resp.setContentType(rendition.getContentType());
+        resp.setContentLengthLong(count);
+        if (count <= 0) {
+            return;
+        }
+        WritableByteChannel out = Channels.newChannel(resp.getOutputStream());
+        long position = start;
+        while (count > 0) {
+            long transferred = channel.transferTo(position, count, out);
+            if (transferred <= 0) {
+                break;
+            }
+            position += transferred;
+            count -= transferred;
+        }
+    }
+
+    /**
+     * Parses a {@code Range} header. Only single ranges are served partially, everything else falls back to the full
+     * entity as permitted by RFC 7233.
+     *
+     * @return {@code {start, end}} for a satisfiable single range, an empty array if the full entity should be served and
+     *         {@code null} if the range is not satisfiable
+     */
+    @Nullable
+    static long[] parseRange(String header, long length) {
+        String prefix = BYTES_UNIT + "=";
+        if (!header.startsWith(prefix) || header.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = header.substring(prefix.length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        String first = spec.substring(0, dash).trim();
+        String last = spec.substring(dash + 1).trim();
+        try {
+            if (first.isEmpty()) {
+                // suffix range, i.e. the last n bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || length == 0) {
+                    return null;
+                }
+                return new long[] { Math.max(0, length - suffix), length - 1 };
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            if (start >= length || start > end) {
+                return null;
+            }
+            return new long[] { start, end };
+        } catch (NumberFormatException e) {
+            // syntactically invalid ranges are ignored
+            return new long[0];
+        }
+    }
+
+    private static boolean matchesETag(@Nullable String header, String etag) {
+        if (header == null) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if ("*".equals(value) || etag.equals(value)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     protected boolean isModified(SlingHttpServletRequest req, SlingHttpServletResponse resp, ImageContext imageContext, Layer layer,
@@ -142,7 +392,7 @@ public class StaticImageGETServlet extends AbstractImageServlet {
                 layer = image.getLayer(false, false, false);
             }
         } catch (Exception e) {
-            System.out.println("Exception occured while rendering image " + e);
+            logger.error("Exception occurred while rendering image", e);
         }
         return layer;
     }
@@ -163,15 +413,4 @@ public class StaticImageGETServlet extends AbstractImageServlet {
         }
         return image;
     }
-
-    protected void extracted(SlingHttpServletResponse resp, Image image) throws RepositoryException, IOException {
-        Property data = image.getData();
-        if (data != null) {
-            InputStream in = data.getStream();
-            resp.setContentLength((int) data.getLength());
-            resp.setContentType(image.getMimeType());
-            IOUtils.copy(in, resp.getOutputStream());
-            in.close();
-        }
-    }
 }
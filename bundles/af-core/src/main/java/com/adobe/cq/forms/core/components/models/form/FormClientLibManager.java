@@ -15,6 +15,7 @@
  ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
 package com.adobe.cq.forms.core.components.models.form;
 
+import java.util.Collections;
 import java.util.List;
 
 import org.jetbrains.annotations.NotNull;
@@ -28,6 +29,13 @@ import org.osgi.annotation.versioning.ProviderType;
 @ProviderType
 public interface FormClientLibManager {
 
+    /**
+     * Client library category of the complete form runtime, embedding the runtime libraries of all components.
+     *
+     * @since com.adobe.cq.forms.core.components.models.form 5.13.0
+     */
+    String RUNTIME_ALL_CATEGORY = "core.forms.components.runtime.all";
+
     /**
      * Adds a client library associated with form or fragment for a request, that can be consumed later within the scope of request.
      *
@@ -41,4 +49,18 @@ public interface FormClientLibManager {
      * @return client libs
      */
     List<String> getClientLibRefList();
+
+    /**
+     * Returns the client library categories of the form runtime needed by the forms on the current page. If the components
+     * used by the forms are known, these are the runtime libraries of those components only, otherwise the complete
+     * runtime ({@value #RUNTIME_ALL_CATEGORY}).
+     *
+     * The categories are returned in load order and have to be loaded in that order, e.g. with {@code defer}.
+     *
+     * @return runtime client library categories
+     * @since com.adobe.cq.forms.core.components.models.form 5.13.0
+     */
+    default List<String> getRuntimeClientLibRefList() {
+        return Collections.singletonList(RUNTIME_ALL_CATEGORY);
+    }
 }
@@ -15,6 +15,7 @@
  ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
 package com.adobe.cq.forms.core.components.models.form;
 
+import org.jetbrains.annotations.Nullable;
 import org.osgi.annotation.versioning.ProviderType;
 
 /**
@@ -50,4 +51,15 @@ public interface FormStructureParser {
      * @return form definition json in Publish view
      */
     String getFormDefinition();
+
+    /**
+     * @since com.adobe.cq.forms.core.components.models.form 5.13.0
+     *
+     * @return form definition in Publish view, encoded as CBOR with shared strings, or {@code null} if it could not be
+     *         generated
+     */
+    @Nullable
+    default byte[] getBinaryFormDefinition() {
+        return null;
+    }
 }
@@ -19,6 +19,8 @@ import javax.annotation.Nullable;
 
 import org.osgi.annotation.versioning.ConsumerType;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * Defines the form {@code panel} Sling Model used for the {@code /apps/core/fd/components/form/panel/v1/panel} component.
  *
@@ -36,4 +38,17 @@ public interface Panel extends Container, ContainerConstraint {
     default Boolean isReadOnly() {
         return null;
     }
+
+    /**
+     * Checks if the panel uses deferred panel markup, i.e. the markup of its items is left out of the rendering, to be
+     * loaded by the client when the panel is shown. Only the markup is deferred: the model json of the panel is not
+     * reduced and still holds its items.
+     *
+     * @return {@code true} if the markup of the items of the panel is deferred, {@code false} otherwise
+     * @since com.adobe.cq.forms.core.components.models.form 5.13.0
+     */
+    @JsonIgnore
+    default boolean isLazy() {
+        return false;
+    }
 }
@@ -15,7 +15,12 @@
  ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
 package com.adobe.cq.forms.core.components.util;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.annotation.PostConstruct;
@@ -31,12 +36,16 @@ import org.apache.sling.models.annotations.injectorspecific.ValueMapValue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import com.adobe.aemds.guide.utils.GuideUtils;
+import com.adobe.cq.forms.core.components.internal.form.ConstraintMessagesCache;
+import com.adobe.cq.forms.core.components.internal.form.HtmlStripper;
 import com.adobe.cq.forms.core.components.internal.form.ReservedProperties;
 import com.adobe.cq.forms.core.components.models.form.AssistPriority;
 import com.adobe.cq.forms.core.components.models.form.Base;
 import com.adobe.cq.forms.core.components.models.form.BaseConstraint;
 import com.adobe.cq.forms.core.components.models.form.ConstraintType;
 import com.adobe.cq.forms.core.components.models.form.Label;
+import com.day.cq.commons.jcr.JcrConstants;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -46,6 +55,37 @@ import com.fasterxml.jackson.annotation.JsonProperty;
  */
 public abstract class AbstractBaseImpl extends AbstractFormComponentImpl implements Base, BaseConstraint {
 
+    private static final String PN_TRANSLATION_IDS = "fd:translationIds";
+
+    /**
+     * Properties holding the message of each constraint
+     */
+    private static final Map<ConstraintType, String> CONSTRAINT_MESSAGE_PROPERTIES = new EnumMap<>(ConstraintType.class);
+
+    static {
+        CONSTRAINT_MESSAGE_PROPERTIES.put(ConstraintType.TYPE, ReservedProperties.PN_TYPE_MESSAGE);
+        CONSTRAINT_MESSAGE_PROPERTIES.put(ConstraintType.REQUIRED, ReservedProperties.PN_REQUIRED_MESSAGE);
+        CONSTRAINT_MESSAGE_PROPERTIES.put(ConstraintType.MINIMUM, ReservedProperties.PN_MINIMUM_MESSAGE);
+        CONSTRAINT_MESSAGE_PROPERTIES.put(ConstraintType.MAXIMUM, ReservedProperties.PN_MAXIMUM_MESSAGE);
+        CONSTRAINT_MESSAGE_PROPERTIES.put(ConstraintType.MIN_LENGTH, ReservedProperties.PN_MINLENGTH_MESSAGE);
+        CONSTRAINT_MESSAGE_PROPERTIES.put(ConstraintType.MAX_LENGTH, ReservedProperties.PN_MAXLENGTH_MESSAGE);
+        CONSTRAINT_MESSAGE_PROPERTIES.put(ConstraintType.MAXFILE_SIZE, ReservedProperties.PN_MAX_FILE_SIZE_MESSAGE);
+        CONSTRAINT_MESSAGE_PROPERTIES.put(ConstraintType.ACCEPT, ReservedProperties.PN_ACCEPT_MESSAGE);
+        CONSTRAINT_MESSAGE_PROPERTIES.put(ConstraintType.STEP, ReservedProperties.PN_STEP_MESSAGE);
+        CONSTRAINT_MESSAGE_PROPERTIES.put(ConstraintType.FORMAT, ReservedProperties.PN_FORMAT_MESSAGE);
+        CONSTRAINT_MESSAGE_PROPERTIES.put(ConstraintType.PATTERN, ReservedProperties.PN_PATTERN_MESSAGE);
+        CONSTRAINT_MESSAGE_PROPERTIES.put(ConstraintType.MIN_ITEMS, ReservedProperties.PN_MINITEMS_MESSAGE);
+        CONSTRAINT_MESSAGE_PROPERTIES.put(ConstraintType.MAX_ITEMS, ReservedProperties.PN_MAXITEMS_MESSAGE);
+        CONSTRAINT_MESSAGE_PROPERTIES.put(ConstraintType.UNIQUE_ITEMS, ReservedProperties.PN_UNIQUE_ITEMS_MESSAGE);
+        CONSTRAINT_MESSAGE_PROPERTIES.put(ConstraintType.ENFORCE_ENUM, ReservedProperties.PN_ENFORCE_ENUM_MESSAGE);
+        CONSTRAINT_MESSAGE_PROPERTIES.put(ConstraintType.VALIDATION_EXPRESSION, ReservedProperties.PN_VALIDATION_EXPRESSION_MESSAGE);
+    }
+
+    private static final List<ConstraintType> CONSTRAINT_MESSAGE_TYPES = createConstraintMessageTypes(null, false);
+    private static final List<ConstraintType> CONSTRAINT_MESSAGE_TYPES_WITH_RANGE = createConstraintMessageTypes(null, true);
+    private static final Map<Type, List<ConstraintType>> CONSTRAINT_MESSAGE_TYPES_BY_TYPE = createConstraintMessageTypes(false);
+    private static final Map<Type, List<ConstraintType>> CONSTRAINT_MESSAGE_TYPES_WITH_RANGE_BY_TYPE = createConstraintMessageTypes(true);
+
     @ValueMapValue(injectionStrategy = InjectionStrategy.OPTIONAL, name = ReservedProperties.PN_DOR_TEMPLATE_REF)
     @Nullable
     protected String dorTemplateRef;
@@ -120,7 +160,7 @@ public abstract class AbstractBaseImpl extends AbstractFormComponentImpl impleme
     private Resource resource;
 
     /**
-     * Holds the constraint messages
+     * Holds the translated constraint messages, shared with all fields with the same messages
      */
     private Map<ConstraintType, String> constraintMessages = null;
 
@@ -238,8 +278,7 @@ public abstract class AbstractBaseImpl extends AbstractFormComponentImpl impleme
     public String getTooltipText() {
         String tooltip = getTooltip();
         if (StringUtils.isNotEmpty(tooltip)) {
-            tooltip = tooltip.replaceAll("<\\/?[^>]+(>|$)|&nbsp;", "");
-            return tooltip;
+            return HtmlStripper.toPlainText(tooltip);
         }
         return "";
     }
@@ -253,190 +292,84 @@ public abstract class AbstractBaseImpl extends AbstractFormComponentImpl impleme
     @Override
     public @NotNull Map<ConstraintType, String> getConstraintMessages() {
         if (constraintMessages == null) {
-            constraintMessages = new LinkedHashMap<>();
-            ConstraintMessages msgs = new ConstraintMessagesProvider();
-            putConstraintMessage(ConstraintType.TYPE, msgs.getTypeConstraintMessage());
-            putConstraintMessage(ConstraintType.REQUIRED, msgs.getRequiredConstraintMessage());
-            Type type = this.getType();
-            if (type != null) {
-                if (type.equals(Type.STRING)) {
-                    putConstraintMessage(ConstraintType.MIN_LENGTH, msgs.getMinLengthConstraintMessage());
-                    putConstraintMessage(ConstraintType.MAX_LENGTH, msgs.getMaxLengthConstraintMessage());
-                    putConstraintMessage(ConstraintType.PATTERN, msgs.getPatternConstraintMessage());
-                    putConstraintMessage(ConstraintType.FORMAT, msgs.getFormatConstraintMessage());
-                }
-
-                if (type.equals(Type.NUMBER) || type.equals(Type.INTEGER)) {
-                    putConstraintMessage(ConstraintType.MINIMUM, msgs.getMinimumConstraintMessage());
-                    putConstraintMessage(ConstraintType.MAXIMUM, msgs.getMaximumConstraintMessage());
-                }
+            List<ConstraintType> types = getConstraintMessageTypes();
+            ValueMap properties = resource.getValueMap();
+            List<String> messages = new ArrayList<>(types.size());
+            boolean empty = true;
+            for (ConstraintType constraintType : types) {
+                String message = properties.get(CONSTRAINT_MESSAGE_PROPERTIES.get(constraintType), String.class);
+                messages.add(message);
+                empty &= StringUtils.isBlank(message);
+            }
+            if (empty) {
+                constraintMessages = Collections.emptyMap();
+            } else {
+                // the translation depends on the dictionary of the form, the language and the translation ids of the field
+                List<Object> key = i18n == null ? Arrays.asList(types, messages)
+                    : Arrays.asList(types, messages, StringUtils.substringBefore(resource.getPath(), "/" + JcrConstants.JCR_CONTENT),
+                        request != null ? GuideUtils.getAcceptLang(request) : lang, properties.get(PN_TRANSLATION_IDS, String.class));
+                constraintMessages = ConstraintMessagesCache.get(key, () -> translateConstraintMessages(types));
             }
-            putConstraintMessage(ConstraintType.MAXFILE_SIZE, msgs.getMaxFileSizeConstraintMessage());
-            putConstraintMessage(ConstraintType.ACCEPT, msgs.getAcceptConstraintMessage());
-
-            // todo: add the following conditionally
-            putConstraintMessage(ConstraintType.STEP, msgs.getStepConstraintMessage());
-            putConstraintMessage(ConstraintType.MIN_ITEMS, msgs.getMinItemsConstraintMessage());
-            putConstraintMessage(ConstraintType.MAX_ITEMS, msgs.getMaxItemsConstraintMessage());
-            putConstraintMessage(ConstraintType.ENFORCE_ENUM, msgs.getEnforceEnumConstraintMessage());
-            putConstraintMessage(ConstraintType.VALIDATION_EXPRESSION, msgs.getValidationExpressionConstraintMessage());
-            putConstraintMessage(ConstraintType.UNIQUE_ITEMS, msgs.getUniqueItemsConstraintMessage());
         }
+        // subclasses may add messages to the returned map, only the translated messages are shared
         return new LinkedHashMap<>(constraintMessages);
     }
 
     /**
-     * Put non-blank named values in constraint messages map.
+     * Returns the constraints whose messages are exported, in the order of the exported messages
      */
-    private void putConstraintMessage(ConstraintType name, String value) {
-        if (StringUtils.isNotBlank(value)) {
-            constraintMessages.put(name, value);
+    private List<ConstraintType> getConstraintMessageTypes() {
+        Type type = getType();
+        boolean range = hasRangeConstraintMessages();
+        if (type == null) {
+            return range ? CONSTRAINT_MESSAGE_TYPES_WITH_RANGE : CONSTRAINT_MESSAGE_TYPES;
         }
+        return (range ? CONSTRAINT_MESSAGE_TYPES_WITH_RANGE_BY_TYPE : CONSTRAINT_MESSAGE_TYPES_BY_TYPE).get(type);
     }
 
     /**
-     * Provides constraint messages configured for a form field
+     * Returns {@code true} if the minimum and maximum messages are exported regardless of the type, like for dates
      */
-    private interface ConstraintMessages {
-
-        String getTypeConstraintMessage();
-
-        String getRequiredConstraintMessage();
-
-        String getMinimumConstraintMessage();
-
-        String getMaximumConstraintMessage();
-
-        String getMinLengthConstraintMessage();
-
-        String getMaxLengthConstraintMessage();
-
-        String getMaxFileSizeConstraintMessage();
-
-        String getAcceptConstraintMessage();
-
-        String getStepConstraintMessage();
-
-        String getFormatConstraintMessage();
-
-        String getPatternConstraintMessage();
-
-        String getMinItemsConstraintMessage();
-
-        String getMaxItemsConstraintMessage();
-
-        String getUniqueItemsConstraintMessage();
-
-        String getEnforceEnumConstraintMessage();
-
-        String getValidationExpressionConstraintMessage();
+    protected boolean hasRangeConstraintMessages() {
+        return false;
     }
 
-    private class ConstraintMessagesProvider implements ConstraintMessages {
-
-        private ValueMap properties = resource.getValueMap();
-
-        @Override
-        @Nullable
-        public String getTypeConstraintMessage() {
-            return translate(ReservedProperties.PN_TYPE_MESSAGE, properties.get(ReservedProperties.PN_TYPE_MESSAGE, String.class));
-        }
-
-        @Override
-        @Nullable
-        public String getRequiredConstraintMessage() {
-            return translate(ReservedProperties.PN_REQUIRED_MESSAGE, properties.get(ReservedProperties.PN_REQUIRED_MESSAGE, String.class));
-        }
-
-        @Override
-        @Nullable
-        public String getMinimumConstraintMessage() {
-            return translate(ReservedProperties.PN_MINIMUM_MESSAGE, properties.get(ReservedProperties.PN_MINIMUM_MESSAGE, String.class));
-        }
-
-        @Override
-        @Nullable
-        public String getMaximumConstraintMessage() {
-            return translate(ReservedProperties.PN_MAXIMUM_MESSAGE, properties.get(ReservedProperties.PN_MAXIMUM_MESSAGE, String.class));
-        }
-
-        @Override
-        @Nullable
-        public String getMinLengthConstraintMessage() {
-            return translate(ReservedProperties.PN_MINLENGTH_MESSAGE, properties.get(ReservedProperties.PN_MINLENGTH_MESSAGE,
-                String.class));
-        }
-
-        @Override
-        @Nullable
-        public String getMaxLengthConstraintMessage() {
-            return translate(ReservedProperties.PN_MAXLENGTH_MESSAGE, properties.get(ReservedProperties.PN_MAXLENGTH_MESSAGE,
-                String.class));
-        }
-
-        @Override
-        @Nullable
-        public String getMaxFileSizeConstraintMessage() {
-            return translate(ReservedProperties.PN_MAX_FILE_SIZE_MESSAGE, properties.get(ReservedProperties.PN_MAX_FILE_SIZE_MESSAGE,
-                String.class));
-        }
-
-        @Override
-        @Nullable
-        public String getAcceptConstraintMessage() {
-            return translate(ReservedProperties.PN_ACCEPT_MESSAGE, properties.get(ReservedProperties.PN_ACCEPT_MESSAGE, String.class));
-        }
-
-        @Override
-        @Nullable
-        public String getStepConstraintMessage() {
-            return translate(ReservedProperties.PN_STEP_MESSAGE, properties.get(ReservedProperties.PN_STEP_MESSAGE, String.class));
-        }
-
-        @Override
-        @Nullable
-        public String getFormatConstraintMessage() {
-            return translate(ReservedProperties.PN_FORMAT_MESSAGE, properties.get(ReservedProperties.PN_FORMAT_MESSAGE, String.class));
-        }
-
-        @Override
-        @Nullable
-        public String getPatternConstraintMessage() {
-            return translate(ReservedProperties.PN_PATTERN_MESSAGE, properties.get(ReservedProperties.PN_PATTERN_MESSAGE, String.class));
-        }
-
-        @Override
-        @Nullable
-        public String getMinItemsConstraintMessage() {
-            return translate(ReservedProperties.PN_MINITEMS_MESSAGE, properties.get(ReservedProperties.PN_MINITEMS_MESSAGE, String.class));
+    private Map<ConstraintType, String> translateConstraintMessages(List<ConstraintType> types) {
+        Map<ConstraintType, String> messages = new LinkedHashMap<>();
+        for (ConstraintType constraintType : types) {
+            String propName = CONSTRAINT_MESSAGE_PROPERTIES.get(constraintType);
+            String message = translate(propName, resource.getValueMap().get(propName, String.class));
+            if (StringUtils.isNotBlank(message)) {
+                messages.put(constraintType, message);
+            }
         }
+        return messages;
+    }
 
-        @Override
-        @Nullable
-        public String getMaxItemsConstraintMessage() {
-            return translate(ReservedProperties.PN_MAXITEMS_MESSAGE, properties.get(ReservedProperties.PN_MAXITEMS_MESSAGE, String.class));
+    private static List<ConstraintType> createConstraintMessageTypes(@Nullable Type type, boolean range) {
+        List<ConstraintType> types = new ArrayList<>(Arrays.asList(ConstraintType.TYPE, ConstraintType.REQUIRED));
+        if (Type.STRING.equals(type)) {
+            types.addAll(Arrays.asList(ConstraintType.MIN_LENGTH, ConstraintType.MAX_LENGTH, ConstraintType.PATTERN,
+                ConstraintType.FORMAT));
         }
-
-        @Override
-        @Nullable
-        public String getUniqueItemsConstraintMessage() {
-            return translate(ReservedProperties.PN_UNIQUE_ITEMS_MESSAGE, properties.get(ReservedProperties.PN_UNIQUE_ITEMS_MESSAGE,
-                String.class));
+        if (Type.NUMBER.equals(type) || Type.INTEGER.equals(type)) {
+            types.addAll(Arrays.asList(ConstraintType.MINIMUM, ConstraintType.MAXIMUM));
         }
-
-        @Override
-        @Nullable
-        public String getEnforceEnumConstraintMessage() {
-            return translate(ReservedProperties.PN_ENFORCE_ENUM_MESSAGE, properties.get(ReservedProperties.PN_ENFORCE_ENUM_MESSAGE,
-                String.class));
+        // todo: add the following conditionally
+        types.addAll(Arrays.asList(ConstraintType.MAXFILE_SIZE, ConstraintType.ACCEPT, ConstraintType.STEP, ConstraintType.MIN_ITEMS,
+            ConstraintType.MAX_ITEMS, ConstraintType.ENFORCE_ENUM, ConstraintType.VALIDATION_EXPRESSION, ConstraintType.UNIQUE_ITEMS));
+        if (range && !types.contains(ConstraintType.MINIMUM)) {
+            types.addAll(Arrays.asList(ConstraintType.MINIMUM, ConstraintType.MAXIMUM));
         }
+        return Collections.unmodifiableList(types);
+    }
 
-        @Override
-        @Nullable
-        public String getValidationExpressionConstraintMessage() {
-            return translate(ReservedProperties.PN_VALIDATION_EXPRESSION_MESSAGE, properties.get(
-                ReservedProperties.PN_VALIDATION_EXPRESSION_MESSAGE, String.class));
+    private static Map<Type, List<ConstraintType>> createConstraintMessageTypes(boolean range) {
+        Map<Type, List<ConstraintType>> types = new EnumMap<>(Type.class);
+        for (Type type : Type.values()) {
+            types.put(type, createConstraintMessageTypes(type, range));
         }
+        return types;
     }
 
     @Override
@@ -56,8 +56,10 @@ public abstract class AbstractCaptchaImpl extends AbstractFieldImpl implements C
 
         try {
             captchaConfig.put("provider", getProvider());
-            if (getCaptchaProperties() != null && getCaptchaProperties().size() > 0) {
-                captchaConfig.put("config", getCaptchaProperties());
+            // resolves the cloud configuration, only once
+            Map<String, Object> captchaProperties = getCaptchaProperties();
+            if (captchaProperties != null && captchaProperties.size() > 0) {
+                captchaConfig.put("config", captchaProperties);
             }
             properties.put(CUSTOM_RECAPTCHA_PROPERTY_WRAPPER, captchaConfig);
         } catch (GuideException e) {
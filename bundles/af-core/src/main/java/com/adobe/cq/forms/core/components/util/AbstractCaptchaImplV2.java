@@ -18,8 +18,6 @@ package com.adobe.cq.forms.core.components.util;
 import java.util.HashMap;
 import java.util.Map;
 
-import javax.annotation.PostConstruct;
-
 import com.adobe.cq.forms.core.components.models.form.Captcha;
 import com.adobe.cq.forms.core.components.models.form.FieldType;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -58,7 +56,7 @@ public abstract class AbstractCaptchaImplV2 extends AbstractCaptchaImpl implemen
 
     public abstract Map<String, Object> getCaptchaProperties();
 
-    @PostConstruct
+    @Override
     public Map<String, Object> getProperties() {
         Map<String, Object> properties = super.getProperties();
         Map<String, Object> captchaConfig = new HashMap<>();
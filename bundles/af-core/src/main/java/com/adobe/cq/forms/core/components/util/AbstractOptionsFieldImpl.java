@@ -28,6 +28,7 @@ import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.adobe.cq.forms.core.components.internal.form.HtmlStripper;
 import com.adobe.cq.forms.core.components.internal.form.ReservedProperties;
 import com.adobe.cq.forms.core.components.models.form.Field;
 import com.adobe.cq.forms.core.components.models.form.Label;
@@ -150,12 +151,12 @@ public abstract class AbstractOptionsFieldImpl extends AbstractFieldImpl impleme
         boolean hasRichTextLabel = label != null && label.isRichText() != null && label.isRichText();
 
         // Strip HTML from label once if needed
-        String cleanLabel = hasRichTextLabel ? labelValue.replaceAll("<[^>]*>", "") : labelValue;
+        String cleanLabel = hasRichTextLabel ? HtmlStripper.stripTags(labelValue) : labelValue;
 
         String[] ariaLabels = new String[enumNames.length];
         for (int i = 0; i < enumNames.length; i++) {
             // Strip HTML from enum name for screen readers
-            String cleanEnumName = enumNames[i].replaceAll("<[^>]*>", "");
+            String cleanEnumName = HtmlStripper.stripTags(enumNames[i]);
             ariaLabels[i] = cleanLabel + ": " + cleanEnumName;
         }
 
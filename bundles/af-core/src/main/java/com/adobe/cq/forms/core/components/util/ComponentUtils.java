@@ -21,10 +21,8 @@ import java.util.Arrays;
 import java.util.Base64;
 import java.util.Date;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
@@ -44,6 +42,7 @@ import org.slf4j.LoggerFactory;
 
 import com.adobe.aemds.guide.utils.GuideUtils;
 import com.adobe.cq.forms.core.components.internal.form.FormConstants;
+import com.adobe.cq.forms.core.components.internal.form.ValueCoercion;
 import com.adobe.cq.forms.core.components.models.form.BaseConstraint;
 import com.day.cq.i18n.I18n;
 import com.day.cq.wcm.api.policies.ContentPolicy;
@@ -100,13 +99,11 @@ public class ComponentUtils {
      * @return form container resource, null if no form container found
      */
     public static Resource getFormContainer(Resource resource) {
-        if (resource == null) {
-            return null;
-        }
-        if (isAFContainer(resource)) {
-            return resource;
+        Resource current = resource;
+        while (current != null && !isAFContainer(current)) {
+            current = current.getParent();
         }
-        return getFormContainer(resource.getParent());
+        return current;
     }
 
     /**
@@ -200,34 +197,19 @@ public class ComponentUtils {
      * @return the parsed Number (Long or Float), or null if the value cannot be parsed
      */
     public static Number parseNumber(@Nullable String value) {
-        try {
-            return value != null ? Long.parseLong(value) : null;
-        } catch (NumberFormatException e) {
-            try {
-                return Float.parseFloat(value);
-            } catch (NumberFormatException ex) {
-                return null;
-            }
-        }
+        return ValueCoercion.parseNumber(value);
     }
 
+    /**
+     * Converts the values of an enum or default into the type of the field, see {@link ValueCoercion#coerce}.
+     *
+     * @param type the type of the field
+     * @param objArr the values to convert
+     * @return new array with the converted values
+     */
     @NotNull
     public static Object[] coerce(@NotNull BaseConstraint.Type type, @NotNull Object[] objArr) {
-        if (type.equals(type.NUMBER) || type.equals(type.NUMBER_ARRAY)) {
-            return Arrays.stream(objArr)
-                .filter(Objects::nonNull)
-                .map(Object::toString)
-                .map(Long::parseLong)
-                .toArray(Long[]::new);
-        } else if (type.equals(type.BOOLEAN) || type.equals(type.BOOLEAN_ARRAY)) {
-            return Arrays.stream(objArr)
-                .filter(Objects::nonNull)
-                .map(Object::toString)
-                .map(Boolean::parseBoolean)
-                .toArray(Boolean[]::new);
-        } else {
-            return ArrayUtils.clone(objArr);
-        }
+        return ValueCoercion.coerce(type, objArr);
     }
 
     public static ContentPolicy getPolicy(String contentPath, ResourceResolver resourceResolver) {
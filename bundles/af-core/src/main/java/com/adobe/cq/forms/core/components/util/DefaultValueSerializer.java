@@ -16,11 +16,10 @@
 package com.adobe.cq.forms.core.components.util;
 
 import java.io.IOException;
-import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
 
-import com.adobe.cq.forms.core.components.models.form.Base;
+import com.adobe.cq.forms.core.components.internal.form.ValueCoercion;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.SerializerProvider;
@@ -31,8 +30,6 @@ import com.fasterxml.jackson.databind.ser.std.StdSerializer;
  */
 public class DefaultValueSerializer extends StdSerializer<Object[]> {
 
-    private SimpleDateFormat formatter = new SimpleDateFormat(Base.DATE_FORMATTER);
-
     public DefaultValueSerializer() {
         this(null);
     }
@@ -53,9 +50,9 @@ public class DefaultValueSerializer extends StdSerializer<Object[]> {
         } else if (value instanceof String) {
             gen.writeString((String) value);
         } else if (value instanceof Date) {
-            gen.writeString(formatter.format(value));
+            gen.writeString(ValueCoercion.formatDate((Date) value));
         } else if (value instanceof Calendar) {
-            gen.writeString(formatter.format(((Calendar) value).getTime()));
+            gen.writeString(ValueCoercion.formatDate(((Calendar) value).getTime()));
         }
     }
 
@@ -0,0 +1,85 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.form;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class CborEncoderTest {
+
+    private static String hex(byte[] bytes) {
+        StringBuilder builder = new StringBuilder();
+        for (byte b : bytes) {
+            builder.append(String.format("%02x", b));
+        }
+        return builder.toString();
+    }
+
+    @Test
+    void testMap() {
+        Assertions.assertEquals("d90100a1616101", hex(CborEncoder.encode(Collections.singletonMap("a", 1))));
+    }
+
+    @Test
+    void testRepeatedStringsAreReferenced() {
+        byte[] encoded = CborEncoder.encode(Arrays.asList("fieldType", "fieldType", "ab", "ab"));
+        // the short string is cheaper to repeat than to reference
+        Assertions.assertEquals("d9010084" + "696669656c6454797065" + "d81900" + "626162" + "626162", hex(encoded));
+    }
+
+    @Test
+    void testScalars() {
+        byte[] encoded = CborEncoder.encode(Arrays.asList(-1, 24, 1.5, 0.1, true, null));
+        Assertions.assertEquals("d9010086" + "20" + "1818" + "fa3fc00000" + "fb3fb999999999999a" + "f5" + "f6", hex(encoded));
+    }
+
+    @Test
+    void testUnsupportedValue() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CborEncoder.encode(new Object()));
+    }
+
+    @Test
+    void testSmallerThanJson() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        try (InputStream json = getClass().getResourceAsStream("/form/formcontainer/exporter-formcontainerv2-with-fragment.json")) {
+            Map<?, ?> definition = mapper.readValue(json, Map.class);
+            Assertions.assertTrue(CborEncoder.encode(definition).length < mapper.writeValueAsBytes(definition).length);
+        }
+
+        Map<String, Object> items = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            Map<String, Object> field = new LinkedHashMap<>();
+            field.put("id", "textinput-" + i);
+            field.put("fieldType", "text-input");
+            field.put("name", "field" + i);
+            field.put("visible", true);
+            field.put("properties", Collections.singletonMap("fd:path", "/content/forms/af/form/jcr:content/guideContainer/textinput_" + i));
+            field.put(":type", "core/fd/components/form/textinput/v1/textinput");
+            items.put("textinput_" + i, field);
+        }
+        Map<String, Object> form = Collections.singletonMap(":items", items);
+        // the keys and resource types of the fields are sent once, the paths remain
+        Assertions.assertTrue(CborEncoder.encode(form).length * 3 < mapper.writeValueAsBytes(form).length * 2);
+    }
+}
@@ -0,0 +1,94 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.form;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.adobe.cq.forms.core.components.models.form.ConstraintType;
+
+public class ConstraintMessagesCacheTest {
+
+    private static final String DICTIONARY = "/content/dam/formsanddocuments/demo/jcr:content/dictionary/de";
+
+    private final AtomicInteger translations = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        ConstraintMessagesCache.clear();
+    }
+
+    @Test
+    void testMessagesAreTranslatedOnce() {
+        List<?> key = key("required");
+        Map<ConstraintType, String> messages = ConstraintMessagesCache.get(key, () -> translate("Pflichtfeld"));
+        Assertions.assertEquals("Pflichtfeld", messages.get(ConstraintType.REQUIRED));
+        Assertions.assertSame(messages, ConstraintMessagesCache.get(key, () -> translate("Pflichtfeld")));
+        Assertions.assertEquals(1, translations.get());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> messages.put(ConstraintType.TYPE, "changed"));
+    }
+
+    @Test
+    void testEqualMessagesAreShared() {
+        Map<ConstraintType, String> messages = ConstraintMessagesCache.get(key("required"), () -> translate("Pflichtfeld"));
+        Assertions.assertSame(messages, ConstraintMessagesCache.get(key("other"), () -> translate("Pflichtfeld")));
+        Assertions.assertEquals(2, translations.get());
+    }
+
+    @Test
+    void testDictionaryChangeTranslatesAgain() {
+        List<?> key = key("required");
+        ConstraintMessagesCache.get(key, () -> translate("Pflichtfeld"));
+        new ConstraintMessagesCache().onChange(Collections.singletonList(
+            new ResourceChange(ResourceChange.ChangeType.CHANGED, DICTIONARY, false)));
+        Map<ConstraintType, String> messages = ConstraintMessagesCache.get(key, () -> translate("Erforderlich"));
+        Assertions.assertEquals("Erforderlich", messages.get(ConstraintType.REQUIRED));
+        Assertions.assertEquals(2, translations.get());
+    }
+
+    @Test
+    void testTranslationDuringChangeIsNotCached() {
+        List<?> key = key("required");
+        Map<ConstraintType, String> messages = ConstraintMessagesCache.get(key, () -> {
+            // the dictionary changes while the messages are translated with its previous content
+            ConstraintMessagesCache.clear();
+            return translate("Pflichtfeld");
+        });
+        Assertions.assertEquals("Pflichtfeld", messages.get(ConstraintType.REQUIRED));
+        ConstraintMessagesCache.get(key, () -> translate("Erforderlich"));
+        Assertions.assertEquals(2, translations.get());
+    }
+
+    private static List<?> key(String message) {
+        return Arrays.asList(Collections.singletonList(ConstraintType.REQUIRED), Collections.singletonList(message), "de");
+    }
+
+    private Map<ConstraintType, String> translate(String message) {
+        translations.incrementAndGet();
+        Map<ConstraintType, String> messages = new LinkedHashMap<>();
+        messages.put(ConstraintType.REQUIRED, message);
+        return messages;
+    }
+}
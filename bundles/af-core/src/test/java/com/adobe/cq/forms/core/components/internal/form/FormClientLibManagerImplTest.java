@@ -15,8 +15,15 @@
  ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
 package com.adobe.cq.forms.core.components.internal.form;
 
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.apache.sling.api.resource.ModifiableValueMap;
+import org.apache.sling.api.resource.PersistenceException;
 import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletRequest;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,9 +32,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 
 import com.adobe.cq.forms.core.components.models.form.FormClientLibManager;
 import com.adobe.cq.forms.core.context.FormsCoreComponentTestContext;
+import com.adobe.granite.ui.clientlibs.ClientLibrary;
+import com.adobe.granite.ui.clientlibs.HtmlLibraryManager;
 import io.wcm.testing.mock.aem.junit5.AemContext;
 import io.wcm.testing.mock.aem.junit5.AemContextExtension;
 
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
 @ExtendWith(AemContextExtension.class)
 public class FormClientLibManagerImplTest {
     private static final String BASE = "/form/formclientlibmanager";
@@ -35,12 +47,44 @@ public class FormClientLibManagerImplTest {
     private static final String JCR_CONTENT_PATH = CONTENT_ROOT + "/myTestPage/jcr:content";
 
     private static final String FORM_CONTAINER_PATH = JCR_CONTENT_PATH + "/formcontainer";
+    private static final String COMPONENTS = "/apps/core/fd/components/form";
+    private static final String CONTAINER_RUNTIME = "core.forms.components.container.v2.runtime";
+    private static final String DATEPICKER_RUNTIME = "core.forms.components.datePicker.v1.runtime";
+    private static final String TEXTINPUT_RUNTIME = "core.forms.components.textinput.v1.runtime";
+
+    private final Map<String, ClientLibrary> libraries = new HashMap<>();
 
     private final AemContext context = FormsCoreComponentTestContext.newAemContext();
 
     @BeforeEach
     void setUp() {
         context.load().json(BASE + FormsCoreComponentTestContext.TEST_CONTENT_JSON, CONTENT_ROOT);
+        FormClientLibManagerImpl.clearRuntimeUsageCache();
+    }
+
+    private void setUpRuntimeLibraries() {
+        context.create().resource(COMPONENTS + "/container/v2/container");
+        context.create().resource(COMPONENTS + "/datepicker/v1/datepicker");
+        context.create().resource(COMPONENTS + "/textinput/v1/textinput");
+        addLibrary("/apps/core/fd/af-clientlibs/core-forms-components-runtime-all", FormClientLibManager.RUNTIME_ALL_CATEGORY,
+            FormClientLibManagerImpl.RUNTIME_BASE_CATEGORY, CONTAINER_RUNTIME, " " + DATEPICKER_RUNTIME, TEXTINPUT_RUNTIME);
+        addLibrary("/apps/core/fd/af-clientlibs/core-forms-components-runtime-base", FormClientLibManagerImpl.RUNTIME_BASE_CATEGORY);
+        addLibrary(COMPONENTS + "/container/v2/container/clientlibs/site", CONTAINER_RUNTIME);
+        addLibrary(COMPONENTS + "/container/v2/container/clientlibs/editor", "core.forms.components.container.v2.editor");
+        addLibrary(COMPONENTS + "/datepicker/v1/datepicker/clientlibs/site", DATEPICKER_RUNTIME);
+        addLibrary(COMPONENTS + "/textinput/v1/textinput/clientlibs/site", TEXTINPUT_RUNTIME);
+        HtmlLibraryManager htmlLibraryManager = mock(HtmlLibraryManager.class);
+        when(htmlLibraryManager.getLibraries()).thenReturn(libraries);
+        context.registerService(HtmlLibraryManager.class, htmlLibraryManager);
+        context.currentResource(JCR_CONTENT_PATH);
+    }
+
+    private void addLibrary(String path, String category, String... embedded) {
+        ClientLibrary library = mock(ClientLibrary.class);
+        when(library.getPath()).thenReturn(path);
+        when(library.getCategories()).thenReturn(new String[] { category });
+        when(library.getEmbeddedCategories()).thenReturn(embedded);
+        libraries.put(path, library);
     }
 
     @Test
@@ -62,6 +106,66 @@ public class FormClientLibManagerImplTest {
         Assertions.assertEquals(0, clientLibs.size());
     }
 
+    @Test
+    public void testGetRuntimeClientLibRefList() {
+        setUpRuntimeLibraries();
+        Assertions.assertEquals(Arrays.asList(FormClientLibManagerImpl.RUNTIME_BASE_CATEGORY, CONTAINER_RUNTIME, DATEPICKER_RUNTIME),
+            getFormClientLibManagerUnderTest().getRuntimeClientLibRefList());
+    }
+
+    @Test
+    public void testGetRuntimeClientLibRefListFollowsChanges() throws PersistenceException {
+        setUpRuntimeLibraries();
+        Assertions.assertFalse(getFormClientLibManagerUnderTest().getRuntimeClientLibRefList().contains(TEXTINPUT_RUNTIME));
+        context.create().resource(FORM_CONTAINER_PATH + "/textinput", "sling:resourceType",
+            "core/fd/components/form/textinput/v1/textinput");
+        context.resourceResolver().getResource(JCR_CONTENT_PATH).adaptTo(ModifiableValueMap.class).put("cq:lastModified",
+            Calendar.getInstance());
+        context.resourceResolver().commit();
+        Assertions.assertTrue(getFormClientLibManagerUnderTest().getRuntimeClientLibRefList().contains(TEXTINPUT_RUNTIME));
+    }
+
+    @Test
+    public void testGetRuntimeClientLibRefListWithFragment() {
+        setUpRuntimeLibraries();
+        context.create().page("/content/forms/af/fragment");
+        context.create().resource("/content/forms/af/fragment/jcr:content/guideContainer", "sling:resourceType",
+            "core/fd/components/form/container/v2/container");
+        context.create().resource("/content/forms/af/fragment/jcr:content/guideContainer/textinput", "sling:resourceType",
+            "core/fd/components/form/textinput/v1/textinput");
+        context.create().resource(FORM_CONTAINER_PATH + "/fragment", "sling:resourceType",
+            "core/fd/components/form/fragment/v1/fragment", "fragmentPath", "/content/forms/af/fragment");
+        context.create().resource(COMPONENTS + "/fragment/v1/fragment");
+        Assertions.assertTrue(getFormClientLibManagerUnderTest().getRuntimeClientLibRefList().contains(TEXTINPUT_RUNTIME));
+    }
+
+    @Test
+    public void testGetRuntimeClientLibRefListWithoutClientLibraryManager() {
+        Assertions.assertEquals(Collections.singletonList(FormClientLibManager.RUNTIME_ALL_CATEGORY),
+            getFormClientLibManagerUnderTest(JCR_CONTENT_PATH).getRuntimeClientLibRefList());
+    }
+
+    @Test
+    public void testGetRuntimeClientLibRefListFallsBackToCompleteRuntime() {
+        setUpRuntimeLibraries();
+        // unknown component
+        context.create().resource(FORM_CONTAINER_PATH + "/custom", "sling:resourceType", "mysite/components/custom");
+        Assertions.assertEquals(Collections.singletonList(FormClientLibManager.RUNTIME_ALL_CATEGORY),
+            getFormClientLibManagerUnderTest().getRuntimeClientLibRefList());
+        // other libraries adding to the complete runtime
+        context.create().resource("/apps/mysite/components/custom");
+        // the page did not change, the previous result would be kept
+        FormClientLibManagerImpl.clearRuntimeUsageCache();
+        Assertions.assertEquals(3, getFormClientLibManagerUnderTest().getRuntimeClientLibRefList().size());
+        addLibrary("/apps/mysite/clientlibs/locale", FormClientLibManager.RUNTIME_ALL_CATEGORY);
+        Assertions.assertEquals(Collections.singletonList(FormClientLibManager.RUNTIME_ALL_CATEGORY),
+            getFormClientLibManagerUnderTest().getRuntimeClientLibRefList());
+        // no form on the page
+        context.create().page("/content/empty");
+        Assertions.assertEquals(Collections.singletonList(FormClientLibManager.RUNTIME_ALL_CATEGORY),
+            getFormClientLibManagerUnderTest("/content/empty/jcr:content").getRuntimeClientLibRefList());
+    }
+
     private FormClientLibManager getFormClientLibManagerUnderTest() {
         MockSlingHttpServletRequest request = context.request();
         return request.adaptTo(FormClientLibManager.class);
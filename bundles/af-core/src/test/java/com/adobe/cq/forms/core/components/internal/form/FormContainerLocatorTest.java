@@ -0,0 +1,178 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.form;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.apache.sling.api.resource.LoginException;
+import org.apache.sling.api.resource.PersistenceException;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.ResourceResolverFactory;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.osgi.framework.Constants;
+
+import com.adobe.cq.forms.core.context.FormsCoreComponentTestContext;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+
+@ExtendWith(AemContextExtension.class)
+public class FormContainerLocatorTest {
+
+    private static final String BASE = "/form/formstructparser";
+    private static final String CONTENT_ROOT = "/content";
+    private static final String JCR_CONTENT_PATH = CONTENT_ROOT + "/myTestPage/jcr:content";
+    private static final String FORM_CONTAINER_PATH = JCR_CONTENT_PATH + "/formcontainerv2";
+
+    private final AemContext context = FormsCoreComponentTestContext.newAemContext();
+
+    private ResourceResolver serviceResolver;
+
+    private ResourceResolverFactory resourceResolverFactory;
+
+    private FormContainerLocator locator;
+
+    @BeforeEach
+    void setUp() throws LoginException {
+        context.load().json(BASE + FormsCoreComponentTestContext.TEST_CONTENT_JSON, CONTENT_ROOT);
+        serviceResolver = Mockito.mock(ResourceResolver.class);
+        Mockito.when(serviceResolver.getResource(Mockito.anyString()))
+            .thenAnswer(invocation -> context.resourceResolver().getResource((String) invocation.getArgument(0)));
+        resourceResolverFactory = Mockito.mock(ResourceResolverFactory.class);
+        Mockito.when(resourceResolverFactory.getServiceResourceResolver(Mockito.any())).thenReturn(serviceResolver);
+        context.registerService(ResourceResolverFactory.class, resourceResolverFactory, Constants.SERVICE_RANKING, Integer.MAX_VALUE);
+        locator = context.registerInjectActivateService(new FormContainerLocator());
+    }
+
+    @Test
+    void testGetFormContainer() {
+        Resource field = context.resourceResolver().getResource(FORM_CONTAINER_PATH + "/datepicker");
+        Assertions.assertEquals(FORM_CONTAINER_PATH, locator.getFormContainer(field).getPath());
+        Assertions.assertEquals(FORM_CONTAINER_PATH, locator.getFormContainer(field).getPath());
+        Assertions.assertNull(locator.getFormContainer(context.resourceResolver().getResource(JCR_CONTENT_PATH)));
+        Assertions.assertNull(locator.getFormContainer(null));
+        // ancestors are walked with the resolver of the caller, and the content tree is never queried
+        Mockito.verify(serviceResolver, Mockito.never()).findResources(Mockito.anyString(), Mockito.anyString());
+    }
+
+    @Test
+    void testLookupsAreShared() throws LoginException {
+        Resource page = context.resourceResolver().getResource(JCR_CONTENT_PATH);
+        Assertions.assertEquals(FORM_CONTAINER_PATH, locator.findFormContainer(page).getPath());
+        Assertions.assertEquals(1, locator.findFormContainers(page).size());
+        Assertions.assertTrue(locator.containsFormContainer(page));
+        // the descendants of the page are walked once
+        Mockito.verify(resourceResolverFactory, Mockito.times(1)).getServiceResourceResolver(Mockito.any());
+        Mockito.verify(serviceResolver, Mockito.times(1)).close();
+    }
+
+    @Test
+    void testFindFormContainer() {
+        Resource page = context.resourceResolver().getResource(JCR_CONTENT_PATH);
+        Assertions.assertTrue(locator.containsFormContainer(page));
+        Assertions.assertEquals(FORM_CONTAINER_PATH, locator.findFormContainer(page).getPath());
+        Resource container = context.resourceResolver().getResource(FORM_CONTAINER_PATH);
+        Assertions.assertEquals(FORM_CONTAINER_PATH, locator.findFormContainer(container).getPath());
+        Assertions.assertFalse(locator.containsFormContainer(context.resourceResolver().getResource(FORM_CONTAINER_PATH
+            + "/datepicker")));
+    }
+
+    @Test
+    void testChanges() throws PersistenceException {
+        Resource page = context.resourceResolver().getResource(JCR_CONTENT_PATH);
+        Assertions.assertTrue(locator.containsFormContainer(page));
+        context.resourceResolver().delete(context.resourceResolver().getResource(FORM_CONTAINER_PATH));
+        locator.onChange(Collections.singletonList(new ResourceChange(ResourceChange.ChangeType.REMOVED, FORM_CONTAINER_PATH, false)));
+        Assertions.assertFalse(locator.containsFormContainer(page));
+
+        // lookups are kept until a change below them is reported
+        String addedPath = JCR_CONTENT_PATH + "/added";
+        context.create().resource(addedPath, "fieldType", FormConstants.FORM_FIELD_TYPE);
+        Assertions.assertFalse(locator.containsFormContainer(page));
+        locator.onChange(Collections.singletonList(new ResourceChange(ResourceChange.ChangeType.ADDED, addedPath, false)));
+        Assertions.assertEquals(addedPath, locator.findFormContainer(page).getPath());
+
+        // changes of unrelated content don't drop lookups
+        locator.onChange(Collections.singletonList(new ResourceChange(ResourceChange.ChangeType.CHANGED, CONTENT_ROOT + "/other", false)));
+        Assertions.assertTrue(locator.containsFormContainer(page));
+        Mockito.verify(resourceResolverFactory, Mockito.times(3)).getServiceResourceResolver(Mockito.any());
+    }
+
+    @Test
+    void testMove() throws PersistenceException {
+        String movedPage = CONTENT_ROOT + "/moved/myTestPage";
+        Resource page = context.resourceResolver().getResource(JCR_CONTENT_PATH);
+        Assertions.assertTrue(locator.containsFormContainer(page));
+
+        context.load().json(BASE + FormsCoreComponentTestContext.TEST_CONTENT_JSON, CONTENT_ROOT + "/moved");
+        context.resourceResolver().delete(context.resourceResolver().getResource(CONTENT_ROOT + "/myTestPage"));
+        // a move is reported for its source and target only
+        locator.onChange(Arrays.asList(new ResourceChange(ResourceChange.ChangeType.REMOVED, CONTENT_ROOT + "/myTestPage", false),
+            new ResourceChange(ResourceChange.ChangeType.ADDED, movedPage, false)));
+        Resource moved = context.resourceResolver().getResource(movedPage + "/jcr:content");
+        Assertions.assertEquals(movedPage + "/jcr:content/formcontainerv2", locator.findFormContainer(moved).getPath());
+        Resource field = context.resourceResolver().getResource(movedPage + "/jcr:content/formcontainerv2/datepicker");
+        Assertions.assertEquals(movedPage + "/jcr:content/formcontainerv2", locator.getFormContainer(field).getPath());
+        Assertions.assertEquals(1, locator.findFormContainers(context.resourceResolver().getResource(CONTENT_ROOT + "/moved")).size());
+    }
+
+    @Test
+    void testNotVisibleToServiceResolver() {
+        Mockito.when(serviceResolver.getResource(Mockito.anyString())).thenReturn(null);
+        Resource page = context.resourceResolver().getResource(JCR_CONTENT_PATH);
+        // the content tree is walked with the resolver of the caller instead
+        Assertions.assertEquals(FORM_CONTAINER_PATH, locator.findFormContainer(page).getPath());
+        Assertions.assertEquals(1, locator.findFormContainers(page).size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testMemoIsBounded() {
+        Resource container = context.resourceResolver().getResource(FORM_CONTAINER_PATH);
+        for (int i = 0; i < FormContainerLocator.MAX_MEMO_SIZE + 10; i++) {
+            Resource field = context.create().resource(FORM_CONTAINER_PATH + "/field" + i);
+            Assertions.assertEquals(container.getPath(), locator.getFormContainer(field).getPath());
+        }
+        Map<String, Object> memo = (Map<String, Object>) context.resourceResolver().getPropertyMap()
+            .get(FormContainerLocator.class.getName() + ".memo");
+        Assertions.assertEquals(FormContainerLocator.MAX_MEMO_SIZE, memo.size());
+    }
+
+    @Test
+    void testMissingServiceUserIsRetried() throws Exception {
+        Mockito.when(resourceResolverFactory.getServiceResourceResolver(Mockito.any()))
+            .thenThrow(new LoginException("no service user"))
+            .thenReturn(serviceResolver);
+        Resource page = context.resourceResolver().getResource(JCR_CONTENT_PATH);
+        Assertions.assertEquals(FORM_CONTAINER_PATH, locator.findFormContainer(page).getPath());
+        Assertions.assertEquals(FORM_CONTAINER_PATH, locator.findFormContainer(page).getPath());
+        Mockito.verify(resourceResolverFactory, Mockito.times(1)).getServiceResourceResolver(Mockito.any());
+
+        // but after the retry interval
+        FieldUtils.writeField(locator, "unavailableUntil", 0L, true);
+        Assertions.assertEquals(FORM_CONTAINER_PATH, locator.findFormContainer(page).getPath());
+        Mockito.verify(resourceResolverFactory, Mockito.times(2)).getServiceResourceResolver(Mockito.any());
+        Mockito.verify(serviceResolver, Mockito.times(1)).getResource(JCR_CONTENT_PATH);
+    }
+}
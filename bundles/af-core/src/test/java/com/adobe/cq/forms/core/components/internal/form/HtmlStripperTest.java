@@ -0,0 +1,71 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.form;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class HtmlStripperTest {
+
+    // characters which make up markup, with some text in between
+    private static final String ALPHABET = "<>/&nbsp;a \n";
+
+    @Test
+    void testStripTags() {
+        Assertions.assertEquals("Yes, really", HtmlStripper.stripTags("<p>Yes, <b>really</b></p>"));
+        Assertions.assertEquals("a < b", HtmlStripper.stripTags("a < b"));
+        Assertions.assertEquals("ab", HtmlStripper.stripTags("a<>b"));
+        Assertions.assertEquals("a&nbsp;b", HtmlStripper.stripTags("a&nbsp;b"));
+    }
+
+    @Test
+    void testToPlainText() {
+        Assertions.assertEquals("Enteryour name", HtmlStripper.toPlainText("<p>Enter&nbsp;your <br/>name</p>"));
+        Assertions.assertEquals("a<>b", HtmlStripper.toPlainText("a<>b"));
+        Assertions.assertEquals("a ", HtmlStripper.toPlainText("a <b unclosed"));
+    }
+
+    @Test
+    void testTextWithoutMarkupIsNotCopied() {
+        String text = "Plain & simple";
+        Assertions.assertSame(text, HtmlStripper.stripTags(text));
+        Assertions.assertSame(text, HtmlStripper.toPlainText(text));
+    }
+
+    @Test
+    void testResultsAreCached() {
+        String html = "<p>Cached</p>";
+        Assertions.assertSame(HtmlStripper.stripTags(html), HtmlStripper.stripTags(new String(html)));
+        Assertions.assertSame(HtmlStripper.toPlainText(html), HtmlStripper.toPlainText(new String(html)));
+    }
+
+    @Test
+    void testSameAsRegularExpressions() {
+        Random random = new Random(42);
+        for (int run = 0; run < 20000; run++) {
+            StringBuilder html = new StringBuilder();
+            int length = random.nextInt(16);
+            for (int i = 0; i < length; i++) {
+                html.append(random.nextInt(8) == 0 ? "&nbsp;" : String.valueOf(ALPHABET.charAt(random.nextInt(ALPHABET.length()))));
+            }
+            String value = html.toString();
+            Assertions.assertEquals(value.replaceAll("<[^>]*>", ""), HtmlStripper.stripTags(value), value);
+            Assertions.assertEquals(value.replaceAll("<\\/?[^>]+(>|$)|&nbsp;", ""), HtmlStripper.toPlainText(value), value);
+        }
+    }
+}
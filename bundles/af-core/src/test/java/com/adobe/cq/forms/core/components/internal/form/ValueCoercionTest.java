@@ -0,0 +1,150 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.form;
+
+import java.text.SimpleDateFormat;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Objects;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.adobe.cq.forms.core.components.models.form.Base;
+import com.adobe.cq.forms.core.components.models.form.BaseConstraint;
+
+public class ValueCoercionTest {
+
+    private static final int RUNS = 20000;
+
+    // characters which make up numbers, including the special forms and a non ascii digit
+    private static final String ALPHABET = "0123456789+-.eEfFdDxXpNaIny \t\u0663";
+
+    @Test
+    void testParseNumber() {
+        Assertions.assertEquals(123L, ValueCoercion.parseNumber("123"));
+        Assertions.assertEquals(-123L, ValueCoercion.parseNumber("-123"));
+        Assertions.assertEquals(123.45f, ValueCoercion.parseNumber("123.45"));
+        Assertions.assertEquals(1.0E20f, ValueCoercion.parseNumber("100000000000000000000"));
+        Assertions.assertEquals(Float.NaN, ValueCoercion.parseNumber(" NaN "));
+        Assertions.assertNull(ValueCoercion.parseNumber("abc"));
+        Assertions.assertNull(ValueCoercion.parseNumber("1e"));
+        Assertions.assertNull(ValueCoercion.parseNumber(""));
+        Assertions.assertNull(ValueCoercion.parseNumber(null));
+    }
+
+    @Test
+    void testNumbersAreCached() {
+        Assertions.assertSame(ValueCoercion.parseNumber("4711"), ValueCoercion.parseNumber(new String("4711")));
+        Assertions.assertSame(ValueCoercion.parseNumber("47.11"), ValueCoercion.parseNumber(new String("47.11")));
+    }
+
+    @Test
+    void testParseNumberSameAsJdk() {
+        Random random = new Random(42);
+        for (int run = 0; run < RUNS; run++) {
+            String value = randomNumber(random);
+            Assertions.assertEquals(parseNumberWithExceptions(value), ValueCoercion.parseNumber(value), value);
+        }
+    }
+
+    @Test
+    void testCoerce() {
+        Assertions.assertArrayEquals(new Long[] { 1L, 2L }, ValueCoercion.coerce(BaseConstraint.Type.NUMBER_ARRAY,
+            new Object[] { "1", null, 2L }));
+        Assertions.assertArrayEquals(new Boolean[] { true, false }, ValueCoercion.coerce(BaseConstraint.Type.BOOLEAN,
+            new Object[] { "true", "no" }));
+        Object[] strings = new Object[] { "a", null };
+        Object[] copy = ValueCoercion.coerce(BaseConstraint.Type.STRING, strings);
+        Assertions.assertNotSame(strings, copy);
+        Assertions.assertArrayEquals(strings, copy);
+        Assertions.assertThrows(NumberFormatException.class, () -> ValueCoercion.coerce(BaseConstraint.Type.NUMBER,
+            new Object[] { "1.5" }));
+    }
+
+    @Test
+    void testCoerceSameAsStreams() {
+        Random random = new Random(42);
+        for (int run = 0; run < RUNS; run++) {
+            Object[] values = new Object[random.nextInt(4)];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextInt(8) == 0 ? null : randomNumber(random);
+            }
+            String message = Arrays.toString(values);
+            Object[] expected;
+            try {
+                expected = Arrays.stream(values).filter(Objects::nonNull).map(Object::toString).map(Long::parseLong)
+                    .toArray(Long[]::new);
+            } catch (NumberFormatException e) {
+                Assertions.assertThrows(NumberFormatException.class, () -> ValueCoercion.coerce(BaseConstraint.Type.NUMBER, values),
+                    message);
+                continue;
+            }
+            Assertions.assertArrayEquals(expected, ValueCoercion.coerce(BaseConstraint.Type.NUMBER, values), message);
+        }
+    }
+
+    @Test
+    void testFormatDateTime() {
+        Assertions.assertEquals("2023-01-01T10:30", ValueCoercion.formatDateTime("2023-01-01T10:30:45+05:30"));
+        Assertions.assertSame(ValueCoercion.formatDateTime("2023-01-01T10:30:45Z"),
+            ValueCoercion.formatDateTime(new String("2023-01-01T10:30:45Z")));
+        Assertions.assertEquals(OffsetDateTime.parse("2023-01-01T10:30Z").format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm")),
+            ValueCoercion.formatDateTime("2023-01-01T10:30Z"));
+    }
+
+    @Test
+    void testFormatDateSameAsSimpleDateFormat() {
+        Random random = new Random(42);
+        SimpleDateFormat format = new SimpleDateFormat(Base.DATE_FORMATTER);
+        for (int run = 0; run < RUNS; run++) {
+            // between the years 0 and 12000 or so
+            Date date = new Date(-62167219200000L + (long) (random.nextDouble() * 440000000000000L));
+            Assertions.assertEquals(format.format(date), ValueCoercion.formatDate(date), String.valueOf(date.getTime()));
+        }
+    }
+
+    private static String randomNumber(Random random) {
+        switch (random.nextInt(4)) {
+            case 0:
+                return Long.toString(random.nextLong());
+            case 1:
+                return Float.toString(Float.intBitsToFloat(random.nextInt()));
+            default:
+                StringBuilder value = new StringBuilder();
+                int length = random.nextInt(12);
+                for (int i = 0; i < length; i++) {
+                    value.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+                }
+                return value.toString();
+        }
+    }
+
+    private static Number parseNumberWithExceptions(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            try {
+                return Float.parseFloat(value);
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+    }
+}
@@ -15,6 +15,7 @@
  ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
 package com.adobe.cq.forms.core.components.internal.models.v1.form;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -22,13 +23,16 @@ import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.observation.ResourceChange;
 import org.apache.sling.caconfig.resource.ConfigurationResourceResolver;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 
+import com.adobe.aemds.guide.service.GuideException;
 import com.adobe.cq.export.json.SlingModelFilter;
+import com.adobe.cq.forms.core.components.internal.form.FormConfigurationCache;
 import com.adobe.cq.forms.core.components.models.form.FormConfigurationProvider;
 import com.adobe.cq.forms.core.context.FormsCoreComponentTestContext;
 import com.day.cq.wcm.api.NameConstants;
@@ -37,6 +41,8 @@ import io.wcm.testing.mock.aem.junit5.AemContext;
 import io.wcm.testing.mock.aem.junit5.AemContextExtension;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
 
 @ExtendWith(AemContextExtension.class)
 public class FormConfigurationProviderImplTest {
@@ -130,6 +136,44 @@ public class FormConfigurationProviderImplTest {
             .getCustomFunctionModuleUrl());
     }
 
+    @Test
+    void testCachedCustomFunctionModuleUrl() {
+        context.load().json(BASE + TEST_CONTENT_CONF_JSON, CONF_PATH);
+        FormConfigurationCache configurationCache = context.registerInjectActivateService(new FormConfigurationCache());
+        String path = "/content/formcontainerv2";
+        Mockito.when(configurationResourceResolverMock.getResource(Mockito.any(), Mockito.eq(CUSTOM_FUNCTION_CONFIG_BUCKET_NAME),
+            Mockito.eq(CUSTOM_FUNCTION_CONFIG_NAME))).thenReturn(context.resourceResolver().resolve(CONF_PATH));
+        assertEquals("https://main--test-repo--testOwner.hlx.live/blocks/form/functions.js", getFormConfigProviderUnderTest(path)
+            .getCustomFunctionModuleUrl());
+        assertEquals("https://main--test-repo--testOwner.hlx.live/blocks/form/functions.js", getFormConfigProviderUnderTest(path)
+            .getCustomFunctionModuleUrl());
+        Mockito.verify(configurationResourceResolverMock, Mockito.times(1)).getResource(Mockito.any(), Mockito.eq(
+            CUSTOM_FUNCTION_CONFIG_BUCKET_NAME), Mockito.eq(CUSTOM_FUNCTION_CONFIG_NAME));
+
+        // any change below /conf drops the snapshots
+        configurationCache.onChange(Collections.singletonList(new ResourceChange(ResourceChange.ChangeType.CHANGED, CONF_PATH,
+            false)));
+        getFormConfigProviderUnderTest(path).getCustomFunctionModuleUrl();
+        Mockito.verify(configurationResourceResolverMock, Mockito.times(2)).getResource(Mockito.any(), Mockito.eq(
+            CUSTOM_FUNCTION_CONFIG_BUCKET_NAME), Mockito.eq(CUSTOM_FUNCTION_CONFIG_NAME));
+    }
+
+    @Test
+    void testFailedLoaderIsNotCached() throws Exception {
+        FormConfigurationCache configurationCache = context.registerInjectActivateService(new FormConfigurationCache());
+        Resource resource = context.currentResource("/content/formcontainerv2");
+        GuideException failure = new GuideException("unavailable");
+        // cloud configuration lookups throw a checked exception, which reaches the caller
+        GuideException thrown = assertThrows(GuideException.class, () -> configurationCache.get(resource, "captcha", r -> {
+            throw failure;
+        }));
+        assertSame(failure, thrown);
+        assertEquals("site-key", configurationCache.get(resource, "captcha", r -> "site-key"));
+        assertEquals("site-key", configurationCache.<String, GuideException>get(resource, "captcha", r -> {
+            throw failure;
+        }));
+    }
+
     private FormConfigurationProvider getFormConfigProviderUnderTest(String resourcePath) {
         Resource resource = context.currentResource(resourcePath);
         FormConfigurationProvider formConfigurationProvider = resource.adaptTo(FormConfigurationProvider.class);
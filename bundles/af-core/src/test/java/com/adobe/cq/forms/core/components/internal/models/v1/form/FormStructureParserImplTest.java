@@ -15,6 +15,7 @@
  ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
 package com.adobe.cq.forms.core.components.internal.models.v1.form;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -98,6 +99,19 @@ public class FormStructureParserImplTest {
         assertEquals(formJson.get("fieldType"), "form");
     }
 
+    @Test
+    void testBinaryFormDefinition() {
+        FormStructureParser formStructureParser = getFormStructureParserUnderTest(FORM_CONTAINER_PATH);
+        byte[] formDef = formStructureParser.getBinaryFormDefinition();
+        assertNotNull(formDef);
+        // stringref namespace around the definition
+        assertEquals((byte) 0xd9, formDef[0]);
+        String text = new String(formDef, StandardCharsets.ISO_8859_1);
+        // repeated keys are sent once
+        assertEquals(1, StringUtils.countMatches(text, "fieldType"));
+        assertTrue(formStructureParser.getFormDefinition().length() > formDef.length);
+    }
+
     @Test
     void testFormDefinitionWithHTMLEncoding() throws JsonProcessingException {
         String path = FORM_CONTAINER_PATH;
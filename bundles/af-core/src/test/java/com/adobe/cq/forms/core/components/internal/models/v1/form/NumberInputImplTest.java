@@ -268,6 +268,23 @@ public class NumberInputImplTest {
         assertEquals(constraintsMessages.get(ConstraintType.MINIMUM), "Please enter a valid Number");
     }
 
+    @Test
+    void testConstraintMessagesAreShared() {
+        NumberInput numberInput = Utils.getComponentUnderTest(PATH_NUMBER_INPUT_CUSTOMIZED, NumberInput.class, context);
+        NumberInput other = Utils.getComponentUnderTest(PATH_NUMBER_INPUT_CUSTOMIZED, NumberInput.class, context);
+        Map<ConstraintType, String> constraintsMessages = numberInput.getConstraintMessages();
+        assertNotSame(numberInput, other);
+        // the translated messages are shared, the returned maps are not
+        assertSame(constraintsMessages.get(ConstraintType.TYPE), other.getConstraintMessages().get(ConstraintType.TYPE));
+        constraintsMessages.put(ConstraintType.TYPE, "changed");
+        assertEquals("incorrect type", numberInput.getConstraintMessages().get(ConstraintType.TYPE));
+        assertEquals("incorrect type", other.getConstraintMessages().get(ConstraintType.TYPE));
+        NumberInput withoutMessages = Utils.getComponentUnderTest(PATH_NUMBER_INPUT, NumberInput.class, context);
+        assertEquals(Collections.emptyMap(), withoutMessages.getConstraintMessages());
+        withoutMessages.getConstraintMessages().put(ConstraintType.TYPE, "added");
+        assertEquals(Collections.emptyMap(), withoutMessages.getConstraintMessages());
+    }
+
     @Test
     void testJSONExportForCustomized() throws Exception {
         NumberInput numberInput = Utils.getComponentUnderTest(PATH_NUMBER_INPUT_CUSTOMIZED, NumberInput.class, context);
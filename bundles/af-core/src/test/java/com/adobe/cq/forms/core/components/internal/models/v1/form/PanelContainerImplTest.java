@@ -36,12 +36,16 @@ import com.adobe.cq.forms.core.components.internal.form.FormConstants;
 import com.adobe.cq.forms.core.components.models.form.Panel;
 import com.adobe.cq.forms.core.context.FormsCoreComponentTestContext;
 import com.day.cq.wcm.api.NameConstants;
+import com.day.cq.wcm.api.WCMMode;
 import com.day.cq.wcm.msm.api.MSMNameConstants;
 import io.wcm.testing.mock.aem.junit5.AemContext;
 import io.wcm.testing.mock.aem.junit5.AemContextExtension;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 @ExtendWith(AemContextExtension.class)
 public class PanelContainerImplTest {
@@ -52,6 +56,7 @@ public class PanelContainerImplTest {
     private static final String PATH_PANEL_CUSTOMIZED = CONTENT_ROOT + "/panelcontainer-customized";
     private static final String PATH_ARRAY_PANEL = CONTENT_ROOT + "/array-panelcontainer";
     private static final String PATH_RULES_PANEL = CONTENT_ROOT + "/rules-panelcontainer";
+    private static final String PATH_LAZY_WIZARD = CONTENT_ROOT + "/lazy-wizard";
     private final AemContext context = FormsCoreComponentTestContext.newAemContext();
 
     @BeforeEach
@@ -172,4 +177,35 @@ public class PanelContainerImplTest {
         Utils.testJSONExport(panel, Utils.getTestExporterJSONPath(BASE, PATH_PANEL_DATALAYER));
     }
 
+    @Test
+    void testLazyItems() throws Exception {
+        Panel wizard = Utils.getComponentUnderTest(PATH_LAZY_WIZARD, Panel.class, context);
+        assertFalse(wizard.isLazy());
+        assertEquals(2, wizard.getExportedItems().size());
+        Panel step1 = (Panel) wizard.getExportedItems().get("step1");
+        assertFalse(step1.isLazy());
+        assertEquals(1, step1.getExportedItems().size());
+        assertNull(step1.getProperties().get("fd:lazy"));
+
+        Panel step2 = (Panel) wizard.getExportedItems().get("step2");
+        assertTrue(step2.isLazy());
+        // only the markup is loaded on demand, the model keeps the items
+        assertEquals(1, step2.getExportedItems().size());
+        assertEquals(1, step2.getItems().size());
+        assertNull(step2.getProperties().get("fd:lazy"));
+    }
+
+    @Test
+    void testLazyItemsOfRequestedPanel() throws Exception {
+        context.request().setPathInfo(PATH_LAZY_WIZARD + "/step2.model.json");
+        Panel step2 = Utils.getComponentUnderTest(PATH_LAZY_WIZARD + "/step2", Panel.class, context);
+        assertFalse(step2.isLazy());
+    }
+
+    @Test
+    void testLazyItemsInEditMode() throws Exception {
+        context.request().setAttribute(WCMMode.REQUEST_ATTRIBUTE_NAME, WCMMode.EDIT);
+        Panel step2 = Utils.getComponentUnderTest(PATH_LAZY_WIZARD + "/step2", Panel.class, context);
+        assertFalse(step2.isLazy());
+    }
 }
@@ -0,0 +1,87 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.servlets;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.apache.sling.api.SlingHttpServletResponse;
+import org.apache.sling.models.factory.ModelFactory;
+import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.adobe.cq.export.json.ComponentExporter;
+import com.adobe.cq.export.json.ExporterConstants;
+import com.adobe.cq.forms.core.components.internal.form.CborEncoder;
+import com.adobe.cq.forms.core.components.internal.form.FormConstants;
+import com.adobe.cq.forms.core.context.FormsCoreComponentTestContext;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(AemContextExtension.class)
+public class BinaryFormDefinitionServletTest {
+
+    private static final String FORM_PATH = "/content/forms/af/binary";
+
+    private final AemContext context = FormsCoreComponentTestContext.newAemContext();
+
+    private final ModelFactory modelFactory = mock(ModelFactory.class);
+    private final Map<String, Object> definition = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        context.create().resource(FORM_PATH, "sling:resourceType", FormConstants.RT_FD_FORM_CONTAINER_V2);
+        context.currentResource(FORM_PATH);
+        ComponentExporter model = mock(ComponentExporter.class);
+        when(modelFactory.getModelFromWrappedRequest(any(), any(), eq(ComponentExporter.class))).thenReturn(model);
+        when(modelFactory.exportModel(eq(model), eq(ExporterConstants.SLING_MODEL_EXPORTER_NAME), eq(Map.class), anyMap()))
+            .thenReturn(definition);
+        definition.put("fieldType", "form");
+        definition.put(":items", Collections.emptyMap());
+    }
+
+    @Test
+    void testDefinition() throws Exception {
+        BinaryFormDefinitionServlet servlet = new BinaryFormDefinitionServlet();
+        FieldUtils.writeField(servlet, "modelFactory", modelFactory, true);
+        MockSlingHttpServletResponse response = context.response();
+        servlet.doGet(context.request(), response);
+
+        Assertions.assertEquals(CborEncoder.MEDIA_TYPE, response.getContentType());
+        Assertions.assertArrayEquals(CborEncoder.encode(definition), response.getOutput());
+    }
+
+    @Test
+    void testNoModel() throws Exception {
+        when(modelFactory.getModelFromWrappedRequest(any(), any(), eq(ComponentExporter.class))).thenReturn(null);
+        BinaryFormDefinitionServlet servlet = new BinaryFormDefinitionServlet();
+        FieldUtils.writeField(servlet, "modelFactory", modelFactory, true);
+        servlet.doGet(context.request(), context.response());
+
+        Assertions.assertEquals(SlingHttpServletResponse.SC_NOT_FOUND, context.response().getStatus());
+    }
+}
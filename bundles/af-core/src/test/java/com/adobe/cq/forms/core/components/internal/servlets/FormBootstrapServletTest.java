@@ -0,0 +1,217 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.servlets;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import javax.servlet.RequestDispatcher;
+
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.SlingHttpServletResponse;
+import org.apache.sling.api.request.RequestDispatcherOptions;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.servlethelpers.MockRequestDispatcherFactory;
+import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+
+import com.adobe.cq.forms.core.components.internal.form.FormConstants;
+import com.adobe.cq.forms.core.components.internal.models.v2.form.FormContainerImpl;
+import com.adobe.cq.forms.core.components.models.form.FormContainer;
+import com.adobe.cq.forms.core.context.FormsCoreComponentTestContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(AemContextExtension.class)
+public class FormBootstrapServletTest {
+
+    private static final String FORM_PATH = "/content/forms/af/bootstrap";
+    private static final String I18N_PATH = FormBootstrapServlet.I18N_ROOT + "de.json";
+
+    private final AemContext context = FormsCoreComponentTestContext.newAemContext();
+
+    private final Map<String, String> responses = new HashMap<>();
+    private final List<String> included = new ArrayList<>();
+    private final Map<String, Object> properties = new HashMap<>();
+    private FormBootstrapServlet servlet;
+
+    @BeforeEach
+    void setUp() {
+        context.create().resource(FORM_PATH, "sling:resourceType", FormConstants.RT_FD_FORM_CONTAINER_V2);
+        context.currentResource(FORM_PATH);
+        FormContainer formContainer = mock(FormContainer.class);
+        Mockito.when(formContainer.getId()).thenReturn("L2NvbnRlbnQ");
+        Mockito.when(formContainer.getLang()).thenReturn("de");
+        Mockito.when(formContainer.getCustomFunctionUrl()).thenReturn("/adobe/forms/af/customfunctions/L2NvbnRlbnQ");
+        Mockito.when(formContainer.getDataUrl()).thenReturn("/adobe/forms/af/data/L2NvbnRlbnQ");
+        Mockito.when(formContainer.getProperties()).thenReturn(properties);
+        context.registerAdapter(SlingHttpServletRequest.class, FormContainer.class,
+            (Function<SlingHttpServletRequest, FormContainer>) input -> FORM_PATH.equals(input.getResource().getPath())
+                ? formContainer
+                : null);
+        context.request().setRequestDispatcherFactory(new MockRequestDispatcherFactory() {
+            @Override
+            public RequestDispatcher getRequestDispatcher(String path, RequestDispatcherOptions options) {
+                return dispatcher(path);
+            }
+
+            @Override
+            public RequestDispatcher getRequestDispatcher(Resource resource, RequestDispatcherOptions options) {
+                return dispatcher(resource.getPath());
+            }
+        });
+        responses.put(FORM_PATH + ".model.json", "{\"id\":\"L2NvbnRlbnQ\",\"items\":{}}");
+        responses.put("/adobe/forms/af/customfunctions/L2NvbnRlbnQ", "{\"customFunction\":[]}");
+        responses.put("/adobe/forms/af/data/L2NvbnRlbnQ", "{\"data\":{\"name\":\"x\"}}");
+        responses.put(I18N_PATH, "{\"required\":\"Pflichtfeld\"}");
+        servlet = new FormBootstrapServlet();
+    }
+
+    private RequestDispatcher dispatcher(String path) {
+        RequestDispatcher dispatcher = mock(RequestDispatcher.class);
+        try {
+            doAnswer(invocation -> {
+                included.add(path);
+                SlingHttpServletResponse response = invocation.getArgument(1);
+                String body = responses.get(path);
+                if (body == null) {
+                    response.sendError(SlingHttpServletResponse.SC_NOT_FOUND);
+                } else {
+                    response.setContentType("application/json");
+                    response.getWriter().write(body);
+                }
+                return null;
+            }).when(dispatcher).include(any(), any());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return dispatcher;
+    }
+
+    private List<JsonNode> parts(MockSlingHttpServletResponse response) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        List<JsonNode> parts = new ArrayList<>();
+        for (String line : response.getOutputAsString().split("\n")) {
+            if (!line.isEmpty()) {
+                parts.add(mapper.readTree(line));
+            }
+        }
+        return parts;
+    }
+
+    @Test
+    void testBundlesAllParts() throws Exception {
+        properties.put(FormContainerImpl.FD_FORM_DATA_ENABLED, true);
+        MockSlingHttpServletResponse response = context.response();
+        servlet.doGet(context.request(), response);
+
+        Assertions.assertEquals("application/x-ndjson;charset=UTF-8", response.getContentType());
+        Assertions.assertEquals("private, no-cache", response.getHeader("Cache-Control"));
+        List<JsonNode> parts = parts(response);
+        Assertions.assertEquals(4, parts.size());
+        Assertions.assertEquals("definition", parts.get(0).get("part").asText());
+        Assertions.assertEquals("L2NvbnRlbnQ", parts.get(0).get("body").get("id").asText());
+        Assertions.assertEquals("customFunctions", parts.get(1).get("part").asText());
+        Assertions.assertEquals("/adobe/forms/af/customfunctions/L2NvbnRlbnQ", parts.get(1).get("url").asText());
+        Assertions.assertEquals("data", parts.get(2).get("part").asText());
+        Assertions.assertEquals("x", parts.get(2).get("body").get("data").get("name").asText());
+        Assertions.assertEquals("i18n", parts.get(3).get("part").asText());
+        Assertions.assertEquals(I18N_PATH, parts.get(3).get("url").asText());
+        Assertions.assertEquals(
+            FormBootstrapServlet.getETag("{\"required\":\"Pflichtfeld\"}".getBytes(StandardCharsets.UTF_8)),
+            parts.get(3).get("etag").asText());
+    }
+
+    @Test
+    void testUrlsWithoutContextPath() throws Exception {
+        context.request().setContextPath("/ctx");
+        Mockito.when(context.request().adaptTo(FormContainer.class).getCustomFunctionUrl())
+            .thenReturn("/ctx/adobe/forms/af/customfunctions/L2NvbnRlbnQ");
+        MockSlingHttpServletResponse response = context.response();
+        servlet.doGet(context.request(), response);
+        List<JsonNode> parts = parts(response);
+        Assertions.assertEquals("/adobe/forms/af/customfunctions/L2NvbnRlbnQ", parts.get(1).get("url").asText());
+        Assertions.assertEquals("/ctxpath/x", FormBootstrapServlet.withoutContextPath(context.request(), "/ctxpath/x"));
+    }
+
+    @Test
+    void testLeavesOutDataIfNotEnabled() throws Exception {
+        servlet.doGet(context.request(), context.response());
+
+        Assertions.assertFalse(included.contains("/adobe/forms/af/data/L2NvbnRlbnQ"));
+        Assertions.assertEquals(3, parts(context.response()).size());
+    }
+
+    @Test
+    void testLanguageSelector() throws Exception {
+        context.requestPathInfo().setSelectorString("bootstrap.fr");
+        responses.put(FORM_PATH + ".model.fr.json", "{\"lang\":\"fr\"}");
+        responses.put(FormBootstrapServlet.I18N_ROOT + "fr.json", "{}");
+        servlet.doGet(context.request(), context.response());
+
+        List<JsonNode> parts = parts(context.response());
+        Assertions.assertEquals("fr", parts.get(0).get("body").get("lang").asText());
+        Assertions.assertEquals(FormBootstrapServlet.I18N_ROOT + "fr.json", parts.get(2).get("url").asText());
+    }
+
+    @Test
+    void testCachedPartsAreSentWithoutBody() throws Exception {
+        String etag = FormBootstrapServlet.getETag(responses.get(FORM_PATH + ".model.json").getBytes(StandardCharsets.UTF_8));
+        context.request().setHeader("If-None-Match", "\"other\", " + etag);
+        servlet.doGet(context.request(), context.response());
+
+        JsonNode definition = parts(context.response()).get(0);
+        Assertions.assertTrue(definition.get("cached").asBoolean());
+        Assertions.assertNull(definition.get("body"));
+        Assertions.assertEquals(etag, definition.get("etag").asText());
+    }
+
+    @Test
+    void testFailedPartsAreLeftOut() throws Exception {
+        responses.remove("/adobe/forms/af/customfunctions/L2NvbnRlbnQ");
+        responses.put(I18N_PATH, "<html>not found</html>");
+        servlet.doGet(context.request(), context.response());
+
+        List<JsonNode> parts = parts(context.response());
+        Assertions.assertEquals(1, parts.size());
+        Assertions.assertEquals("definition", parts.get(0).get("part").asText());
+    }
+
+    @Test
+    void testNotAForm() throws Exception {
+        context.create().resource("/content/page", "sling:resourceType", "wcm/foundation/components/page");
+        context.currentResource("/content/page");
+        MockSlingHttpServletResponse response = context.response();
+        servlet.doGet(context.request(), response);
+
+        Assertions.assertEquals(SlingHttpServletResponse.SC_NOT_FOUND, response.getStatus());
+        Assertions.assertTrue(included.isEmpty());
+    }
+}
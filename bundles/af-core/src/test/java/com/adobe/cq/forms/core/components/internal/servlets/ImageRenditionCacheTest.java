@@ -0,0 +1,188 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.servlets;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ImageRenditionCacheTest {
+
+    @TempDir
+    File directory;
+
+    @Test
+    void testComputeKey() {
+        String key = ImageRenditionCache.computeKey("/content/image", 1L, null, "png");
+        assertEquals(64, key.length());
+        assertEquals(key, ImageRenditionCache.computeKey("/content/image", 1L, null, "png"));
+        // a different modification time produces a different rendition
+        assertNotEquals(key, ImageRenditionCache.computeKey("/content/image", 2L, null, "png"));
+        assertNotEquals(ImageRenditionCache.computeKey("ab", "c"), ImageRenditionCache.computeKey("a", "bc"));
+        assertEquals("\"" + key + "\"", ImageRenditionCache.toETag(key));
+    }
+
+    @Test
+    void testPutAndGet() throws IOException {
+        ImageRenditionCache cache = new ImageRenditionCache(directory, 1024);
+        assertNull(cache.get("key"));
+        ImageRenditionCache.Rendition rendition = cache.put("key", out -> {
+            out.write("image data".getBytes(StandardCharsets.UTF_8));
+            return "image/png";
+        });
+        assertNotNull(rendition);
+        assertEquals("image/png", rendition.getContentType());
+        assertEquals(10, rendition.getLength());
+        assertEquals(10, cache.getSize());
+        assertArrayEquals("image data".getBytes(StandardCharsets.UTF_8), Files.readAllBytes(rendition.getFile().toPath()));
+        assertEquals(rendition, cache.get("key"));
+    }
+
+    @Test
+    void testConcurrentMissesRenderOnce() throws Exception {
+        ImageRenditionCache cache = new ImageRenditionCache(directory, 1024);
+        AtomicInteger renders = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<ImageRenditionCache.Rendition>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> cache.computeIfAbsent("key", out -> {
+                    renders.incrementAndGet();
+                    started.countDown();
+                    // keep rendering until the other requests are waiting for the same key
+                    release.await(5, TimeUnit.SECONDS);
+                    out.write(new byte[10]);
+                    return "image/png";
+                })));
+            }
+            started.await(5, TimeUnit.SECONDS);
+            Thread.sleep(100);
+            release.countDown();
+            ImageRenditionCache.Rendition rendition = results.get(0).get(5, TimeUnit.SECONDS);
+            assertNotNull(rendition);
+            for (Future<ImageRenditionCache.Rendition> result : results) {
+                assertEquals(rendition, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, renders.get());
+        assertEquals(10, cache.getSize());
+    }
+
+    @Test
+    void testNothingRendered() throws IOException {
+        ImageRenditionCache cache = new ImageRenditionCache(directory, 1024);
+        assertNull(cache.put("key", out -> null));
+        assertNull(cache.get("key"));
+        // no temporary files are left behind
+        assertEquals(0, directory.listFiles().length);
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() throws IOException {
+        ImageRenditionCache cache = new ImageRenditionCache(directory, 20);
+        cache.put("first", out -> {
+            out.write(new byte[10]);
+            return "image/png";
+        });
+        cache.put("second", out -> {
+            out.write(new byte[10]);
+            return "image/png";
+        });
+        // touch the first rendition, so that the second one is evicted
+        assertNotNull(cache.get("first"));
+        cache.put("third", out -> {
+            out.write(new byte[10]);
+            return "image/png";
+        });
+        assertNotNull(cache.get("first"));
+        assertNull(cache.get("second"));
+        assertNotNull(cache.get("third"));
+        assertEquals(20, cache.getSize());
+        assertEquals(2, directory.listFiles().length);
+    }
+
+    @Test
+    void testEvictedRenditionStaysReadableWhileOpen() throws IOException {
+        ImageRenditionCache cache = new ImageRenditionCache(directory, 10);
+        ImageRenditionCache.Rendition first = cache.put("first", out -> {
+            out.write("first data".getBytes(StandardCharsets.UTF_8));
+            return "image/png";
+        });
+        try (FileChannel channel = cache.open(first)) {
+            assertNotNull(channel);
+            // evicts the first rendition, which is still being served
+            cache.put("second", out -> {
+                out.write(new byte[10]);
+                return "image/png";
+            });
+            assertNull(cache.get("first"));
+            ByteBuffer data = ByteBuffer.allocate(10);
+            while (data.hasRemaining() && channel.read(data) >= 0) {
+                // read all
+            }
+            assertArrayEquals("first data".getBytes(StandardCharsets.UTF_8), data.array());
+        }
+        // an evicted rendition can't be opened anymore
+        assertNull(cache.open(first));
+    }
+
+    @Test
+    void testRenditionLargerThanCacheIsServed() throws IOException {
+        ImageRenditionCache cache = new ImageRenditionCache(directory, 5);
+        ImageRenditionCache.Rendition rendition = cache.put("key", out -> {
+            out.write(new byte[10]);
+            return "image/png";
+        });
+        assertNotNull(rendition);
+        assertEquals(10, rendition.getFile().length());
+    }
+
+    @Test
+    void testClearedOnCreation() throws IOException {
+        ImageRenditionCache cache = new ImageRenditionCache(directory, 1024);
+        cache.put("key", out -> {
+            out.write(new byte[10]);
+            return "image/png";
+        });
+        ImageRenditionCache restarted = new ImageRenditionCache(directory, 1024);
+        assertNull(restarted.get("key"));
+        assertEquals(0, directory.listFiles().length);
+    }
+}
@@ -15,12 +15,12 @@
  ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
 package com.adobe.cq.forms.core.components.internal.servlets;
 
-import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.util.Calendar;
 import java.util.HashMap;
 import java.util.function.Function;
 
-import javax.jcr.Property;
 import javax.jcr.RepositoryException;
 import javax.servlet.ServletException;
 
@@ -31,15 +31,18 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.osgi.framework.BundleContext;
 
 import com.adobe.cq.forms.core.components.models.form.StaticImage;
 import com.adobe.cq.forms.core.context.FormsCoreComponentTestContext;
 import com.adobe.fd.fp.api.exception.FormsPortalException;
+import com.day.cq.wcm.api.WCMMode;
 import com.day.cq.wcm.commons.AbstractImageServlet;
 import com.day.cq.wcm.foundation.Image;
 import com.day.image.Layer;
@@ -79,9 +82,15 @@ public class StaticImageGETServletTest {
     @Mock
     private ResourceResolver resourceResolver;
 
+    @TempDir
+    File dataDirectory;
+
     @BeforeEach
-    void setUp() throws FormsPortalException {
+    void setUp() throws FormsPortalException, IOException {
         MockitoAnnotations.initMocks(this);
+        BundleContext bundleContext = mock(BundleContext.class);
+        Mockito.when(bundleContext.getDataFile("image-renditions")).thenReturn(new File(dataDirectory, "image-renditions"));
+        staticImageGETServlet.activate(bundleContext);
         context.load().json(BASE + FormsCoreComponentTestContext.TEST_CONTENT_JSON, CONTENT_ROOT);
         context.currentResource(PATH_IMAGE);
         registerFormMetadataAdapter();
@@ -112,17 +121,6 @@ public class StaticImageGETServletTest {
         staticImageGETServlet.writeLayer(request, response, imageContext, layer);
     }
 
-    @Test
-    void testExtracted() throws ServletException, IOException, RepositoryException {
-        MockSlingHttpServletResponse response = context.response();
-        Image image = mock(Image.class);
-        Property property = mock(Property.class);
-        Mockito.when(image.getData()).thenReturn(property);
-        Mockito.when(property.getStream()).thenReturn(new ByteArrayInputStream("test data".getBytes()));
-        Mockito.when(property.getLength()).thenReturn(120l);
-        staticImageGETServlet.extracted(response, image);
-    }
-
     @Test
     void testGetImage() throws ServletException, IOException {
         MockSlingHttpServletResponse response = context.response();
@@ -169,6 +167,47 @@ public class StaticImageGETServletTest {
         Assertions.assertNull(tempImage);
     }
 
+    @Test
+    void testIsVersioned() {
+        Image image = mock(Image.class);
+        Calendar lastModified = Calendar.getInstance();
+        lastModified.setTimeInMillis(1700000000000L);
+        Mockito.when(image.getLastModified()).thenReturn(lastModified);
+        MockSlingHttpServletRequest request = context.request();
+        Assertions.assertFalse(StaticImageGETServlet.isVersioned(request, image));
+        context.requestPathInfo().setSuffix("/1700000000000.png");
+        Assertions.assertTrue(StaticImageGETServlet.isVersioned(request, image));
+        context.requestPathInfo().setSuffix("/1600000000000.png");
+        Assertions.assertFalse(StaticImageGETServlet.isVersioned(request, image));
+    }
+
+    @Test
+    void testImmutableOnlyForVersionedUrls() {
+        MockSlingHttpServletRequest request = context.request();
+        request.setAttribute(WCMMode.REQUEST_ATTRIBUTE_NAME, WCMMode.DISABLED);
+        MockSlingHttpServletResponse response = context.response();
+        staticImageGETServlet.setCacheHeaders(request, response, "image/png", "\"etag\"", false);
+        Assertions.assertNull(response.getHeader("Cache-Control"));
+        Assertions.assertEquals("\"etag\"", response.getHeader("ETag"));
+        staticImageGETServlet.setCacheHeaders(request, response, "image/png", "\"etag\"", true);
+        Assertions.assertEquals("public, max-age=31536000, immutable", response.getHeader("Cache-Control"));
+    }
+
+    @Test
+    void testParseRange() {
+        Assertions.assertArrayEquals(new long[] { 0, 9 }, StaticImageGETServlet.parseRange("bytes=0-9", 100));
+        Assertions.assertArrayEquals(new long[] { 90, 99 }, StaticImageGETServlet.parseRange("bytes=90-", 100));
+        Assertions.assertArrayEquals(new long[] { 80, 99 }, StaticImageGETServlet.parseRange("bytes=-20", 100));
+        Assertions.assertArrayEquals(new long[] { 50, 99 }, StaticImageGETServlet.parseRange("bytes=50-500", 100));
+        // multiple ranges and unknown units are served in full
+        Assertions.assertEquals(0, StaticImageGETServlet.parseRange("bytes=0-1,5-6", 100).length);
+        Assertions.assertEquals(0, StaticImageGETServlet.parseRange("items=0-1", 100).length);
+        Assertions.assertEquals(0, StaticImageGETServlet.parseRange("bytes=a-b", 100).length);
+        // unsatisfiable
+        Assertions.assertNull(StaticImageGETServlet.parseRange("bytes=100-", 100));
+        Assertions.assertNull(StaticImageGETServlet.parseRange("bytes=9-1", 100));
+    }
+
     private void registerFormMetadataAdapter() {
         context.registerAdapter(ResourceResolver.class, AbstractImageServlet.ImageContext.class,
             (Function<ResourceResolver, AbstractImageServlet.ImageContext>) input -> imageContext);
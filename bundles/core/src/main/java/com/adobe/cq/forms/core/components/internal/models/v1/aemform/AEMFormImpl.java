@@ -27,6 +27,7 @@ import org.apache.sling.models.annotations.Exporter;
 import org.apache.sling.models.annotations.Model;
 import org.apache.sling.models.annotations.Optional;
 import org.apache.sling.models.annotations.injectorspecific.InjectionStrategy;
+import org.apache.sling.models.annotations.injectorspecific.OSGiService;
 import org.apache.sling.models.annotations.injectorspecific.ScriptVariable;
 import org.apache.sling.models.annotations.injectorspecific.ValueMapValue;
 import org.slf4j.Logger;
@@ -37,6 +38,7 @@ import com.adobe.aemds.guide.utils.GuideUtils;
 import com.adobe.cq.export.json.ComponentExporter;
 import com.adobe.cq.export.json.ExporterConstants;
 import com.adobe.cq.forms.core.components.internal.models.v1.AbstractComponentImpl;
+import com.adobe.cq.forms.core.components.internal.services.aemform.EmbeddedFormMetadataCache;
 import com.adobe.cq.forms.core.components.models.aemform.AEMForm;
 import com.day.cq.commons.LanguageUtil;
 import com.day.cq.wcm.api.Page;
@@ -127,13 +129,25 @@ public class AEMFormImpl extends AbstractComponentImpl implements AEMForm {
     @Nullable
     private String roleAttribute;
 
+    @OSGiService(injectionStrategy = InjectionStrategy.OPTIONAL)
+    private EmbeddedFormMetadataCache metadataCache;
+
+    private EmbeddedFormMetadataCache.FormMetadata formMetadata;
+
     protected String getClientLibCategory(String themePath) {
         String clientLibCategory = "";
         if (StringUtils.isNotBlank(themePath)) {
+            String cached = metadataCache != null ? metadataCache.getThemeCategory(themePath) : null;
+            if (cached != null) {
+                return cached;
+            }
             Resource themeResource = request.getResourceResolver().getResource(themePath + "/jcr:content/metadata");
             if (themeResource != null) {
                 ValueMap themeProps = themeResource.getValueMap();
                 clientLibCategory = themeProps.get("clientlibCategory", "");
+                if (metadataCache != null) {
+                    metadataCache.putThemeCategory(themePath, clientLibCategory);
+                }
             }
         }
         return clientLibCategory;
@@ -227,11 +241,48 @@ public class AEMFormImpl extends AbstractComponentImpl implements AEMForm {
 
     @Override
     public FormType getFormType() {
+        return getFormMetadata().getFormType();
+    }
+
+    /**
+     * Resolves the type and version of the embedded form once per model, or from the shared cache as long as the form
+     * is unchanged.
+     *
+     * @return the metadata of the embedded form
+     */
+    protected EmbeddedFormMetadataCache.FormMetadata getFormMetadata() {
+        if (formMetadata == null) {
+            String formPath = getFormPath();
+            long lastModified = -1;
+            if (metadataCache != null && StringUtils.isNotEmpty(formPath)) {
+                ResourceResolver resolver = request.getResourceResolver();
+                Resource formResource = resolver.getResource(GuideUtils.convertFMAssetPathToFormPagePath(formPath));
+                if (formResource == null) {
+                    formResource = resolver.getResource(formPath);
+                }
+                // only forms visible to the current user are served from the cache
+                if (formResource != null) {
+                    lastModified = EmbeddedFormMetadataCache.getLastModified(formResource);
+                    formMetadata = metadataCache.getForm(formPath, lastModified);
+                }
+            }
+            if (formMetadata == null) {
+                String version = computeFormVersion();
+                formMetadata = new EmbeddedFormMetadataCache.FormMetadata(lastModified, computeFormType(version), version);
+                if (metadataCache != null && lastModified >= 0) {
+                    metadataCache.putForm(formPath, formMetadata);
+                }
+            }
+        }
+        return formMetadata;
+    }
+
+    private FormType computeFormType(String version) {
         FormType formType = FormType.NO_FORM_SELECTED;
         String formPath = getFormPath();
         if (!("".equals(formPath))) {
             ResourceResolver resolver = request.getResourceResolver();
-            if (getFormVersion().equals("2.1") || GuideUtils.isValidFormResource(resolver, formPath, GuideConstants.ADAPTIVE_FORM)) {
+            if (version.equals("2.1") || GuideUtils.isValidFormResource(resolver, formPath, GuideConstants.ADAPTIVE_FORM)) {
                 formType = FormType.ADAPTIVE_FORM;
             } else if (GuideUtils.isValidFormResource(resolver, formPath, GuideConstants.MC_DOCUMENT)) {
                 formType = FormType.MC_DOCUMENT;
@@ -301,6 +352,10 @@ public class AEMFormImpl extends AbstractComponentImpl implements AEMForm {
     }
 
     public String getFormVersion() {
+        return getFormMetadata().getFormVersion();
+    }
+
+    private String computeFormVersion() {
         String version = "";
         String formPath = getFormPath();
         ResourceResolver resourceResolver = request.getResourceResolver();
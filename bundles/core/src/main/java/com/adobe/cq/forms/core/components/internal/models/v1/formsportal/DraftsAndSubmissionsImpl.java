@@ -17,9 +17,9 @@ package com.adobe.cq.forms.core.components.internal.models.v1.formsportal;
 
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -27,7 +27,6 @@ import javax.inject.Inject;
 
 import org.apache.http.client.utils.URIBuilder;
 import org.apache.sling.api.SlingHttpServletRequest;
-import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.resource.ResourceResolver;
 import org.apache.sling.models.annotations.Default;
 import org.apache.sling.models.annotations.DefaultInjectionStrategy;
@@ -42,7 +41,6 @@ import org.apache.sling.models.annotations.injectorspecific.ValueMapValue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.adobe.aem.formsndocuments.assets.models.AdaptiveFormAsset;
 import com.adobe.aemds.guide.utils.GuideUtils;
 import com.adobe.cq.export.json.ComponentExporter;
 import com.adobe.cq.export.json.ExporterConstants;
@@ -75,8 +73,6 @@ public class DraftsAndSubmissionsImpl extends PortalListerImpl implements Drafts
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DraftsAndSubmissionsImpl.class);
 
-    private SimpleDateFormat dateFormatter = new SimpleDateFormat("hh:mm:ss dd-M-yy");
-
     @Self
     @Required
     private SlingHttpServletRequest request;
@@ -111,22 +107,19 @@ public class DraftsAndSubmissionsImpl extends PortalListerImpl implements Drafts
         return type;
     }
 
-    private PortalLister.Item getItem(final String formPath, final TypeEnum typeEnum, final String id, final String timeInfo) {
+    private PortalLister.Item getItem(final FormAssetMetadataResolver.Metadata metadata, final TypeEnum typeEnum, final String id,
+        final String timeInfo) {
         String title = "Item not available";
         String description = "The item is not available. Contact your administrator for more information.";
         String thubmnail = null;
         String formLink = null;
 
-        ResourceResolver resourceResolver = request.getResourceResolver();
-        String formAssetPath = GuideUtils.convertGuideContainerPathToFMAssetPath(formPath);
-        Resource formAssetResource = resourceResolver.getResource(formAssetPath);
-        if (formAssetResource != null) {
-            AdaptiveFormAsset asset = formAssetResource.adaptTo(AdaptiveFormAsset.class);
-            if (asset != null) {
-                title = asset.getTitle();
-                description = asset.getDescription();
-                thubmnail = asset.getThumbnailPath();
-                formLink = asset.getRenderLink();
+        if (metadata != null) {
+            if (metadata.isFormAsset()) {
+                title = metadata.getTitle();
+                description = metadata.getDescription();
+                thubmnail = metadata.getThumbnailPath();
+                formLink = metadata.getRenderLink();
             }
             if (TypeEnum.DRAFT == typeEnum) {
                 try {
@@ -152,7 +145,6 @@ public class DraftsAndSubmissionsImpl extends PortalListerImpl implements Drafts
 
     @Override
     protected List<PortalLister.Item> getItemList() {
-        List<PortalLister.Item> itemList = new ArrayList<>();
         TypeEnum typeEnum = TypeEnum.valueOf(getType());
 
         QueryImpl query = new QueryImpl();
@@ -168,14 +160,13 @@ public class DraftsAndSubmissionsImpl extends PortalListerImpl implements Drafts
         stmtGroup.addStatement(currentUserStatement);
         query.setStatementGroup(stmtGroup);
 
+        List<ListedModel> models = new ArrayList<>();
         switch (typeEnum) {
             case DRAFT:
                 try {
-                    List<DraftModel> list = draftService.getAllDraft(query);
-                    for (DraftModel draftModel : list) {
-                        PortalLister.Item item = getItem(draftModel.getFormPath(), typeEnum, draftModel.getId(),
-                            draftModel.getLastModifiedTime().getTimeInMillis() + "");
-                        itemList.add(item);
+                    for (DraftModel draftModel : draftService.getAllDraft(query)) {
+                        models.add(new ListedModel(draftModel.getFormPath(), draftModel.getId(),
+                            draftModel.getLastModifiedTime().getTimeInMillis() + ""));
                     }
                 } catch (FormsPortalException e) {
                     LOGGER.error("Failed to fetch Form Drafts.", e);
@@ -183,11 +174,9 @@ public class DraftsAndSubmissionsImpl extends PortalListerImpl implements Drafts
                 break;
             case SUBMISSION:
                 try {
-                    List<SubmitModel> list = submitService.getAllSubmission(query);
-                    for (SubmitModel submitModel : list) {
-                        PortalLister.Item item = getItem(submitModel.getFormPath(), typeEnum, submitModel.getId(),
-                            submitModel.getLastModifiedTime().getTimeInMillis() + "");
-                        itemList.add(item);
+                    for (SubmitModel submitModel : submitService.getAllSubmission(query)) {
+                        models.add(new ListedModel(submitModel.getFormPath(), submitModel.getId(),
+                            submitModel.getLastModifiedTime().getTimeInMillis() + ""));
                     }
                 } catch (FormsPortalException e) {
                     LOGGER.error("Failed to fetch Form Submissions.", e);
@@ -195,14 +184,35 @@ public class DraftsAndSubmissionsImpl extends PortalListerImpl implements Drafts
                 break;
         }
 
+        // most drafts and submissions share a handful of forms, resolve each of them only once
+        FormAssetMetadataResolver metadataResolver = new FormAssetMetadataResolver(request.getResourceResolver());
+        Map<String, FormAssetMetadataResolver.Metadata> metadata = metadataResolver.resolve(models.stream()
+            .map(model -> model.assetPath)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList()));
+
+        List<PortalLister.Item> itemList = new ArrayList<>(models.size());
+        for (ListedModel model : models) {
+            itemList.add(getItem(model.assetPath != null ? metadata.get(model.assetPath) : null, typeEnum, model.id, model.timeInfo));
+        }
+
         // might create holes during pagination
         return itemList.stream().filter(Objects::nonNull).collect(Collectors.toList());
     }
 
-    @Override
-    protected Integer getNextOffset(Integer resultLength) {
-        // Pagination not supported in drafts and submissions
-        return -1;
+    /**
+     * A draft or submission as returned by the forms portal services
+     */
+    private static class ListedModel {
+        private final String assetPath;
+        private final String id;
+        private final String timeInfo;
+
+        ListedModel(String formPath, String id, String timeInfo) {
+            this.assetPath = formPath != null ? GuideUtils.convertGuideContainerPathToFMAssetPath(formPath) : null;
+            this.id = id;
+            this.timeInfo = timeInfo;
+        }
     }
 
     private static class QueryImpl implements Query {
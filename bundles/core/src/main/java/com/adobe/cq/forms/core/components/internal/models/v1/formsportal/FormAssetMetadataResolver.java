@@ -0,0 +1,168 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.models.v1.formsportal;
+
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.adobe.aem.formsndocuments.assets.models.AdaptiveFormAsset;
+
+/**
+ * Resolves the metadata of form assets listed by the portal components.
+ *
+ * Every distinct asset path is resolved once per request, no matter how many drafts or submissions reference it. The
+ * metadata itself is additionally shared across requests, keyed by asset path and modification time, so that adapting
+ * the asset to {@link AdaptiveFormAsset} only happens after the asset changed. The resource is always looked up with the
+ * resolver of the current request, which keeps access control in place.
+ */
+class FormAssetMetadataResolver {
+
+    private static final String PN_CONTENT_LAST_MODIFIED = "jcr:content/jcr:lastModified";
+
+    private static final int MAX_SHARED_ENTRIES = 1000;
+
+    private static final Map<String, Metadata> SHARED_METADATA = Collections.synchronizedMap(
+        new LinkedHashMap<String, Metadata>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Metadata> eldest) {
+                return size() > MAX_SHARED_ENTRIES;
+            }
+        });
+
+    private final ResourceResolver resourceResolver;
+
+    // per request memo, null values mark assets which are not available to the current user
+    private final Map<String, Metadata> memo = new HashMap<>();
+
+    FormAssetMetadataResolver(@NotNull ResourceResolver resourceResolver) {
+        this.resourceResolver = resourceResolver;
+    }
+
+    /**
+     * Resolves the metadata of all given asset paths in one go.
+     *
+     * @param assetPaths asset paths, duplicates are resolved only once
+     * @return map of asset path to metadata, assets which are not available map to {@code null}
+     */
+    Map<String, Metadata> resolve(@NotNull Collection<String> assetPaths) {
+        Set<String> distinctPaths = new LinkedHashSet<>(assetPaths);
+        Map<String, Metadata> result = new HashMap<>(distinctPaths.size() * 2);
+        for (String assetPath : distinctPaths) {
+            result.put(assetPath, get(assetPath));
+        }
+        return result;
+    }
+
+    /**
+     * @param assetPath path of the form asset
+     * @return the metadata of the asset or {@code null} if the asset is not available
+     */
+    @Nullable
+    Metadata get(@Nullable String assetPath) {
+        if (assetPath == null) {
+            return null;
+        }
+        if (memo.containsKey(assetPath)) {
+            return memo.get(assetPath);
+        }
+        Metadata metadata = load(assetPath);
+        memo.put(assetPath, metadata);
+        return metadata;
+    }
+
+    private Metadata load(String assetPath) {
+        Resource assetResource = resourceResolver.getResource(assetPath);
+        if (assetResource == null) {
+            return null;
+        }
+        Calendar lastModified = assetResource.getValueMap().get(PN_CONTENT_LAST_MODIFIED, Calendar.class);
+        String sharedKey = lastModified != null ? assetPath + "@" + lastModified.getTimeInMillis() : null;
+        if (sharedKey != null) {
+            Metadata shared = SHARED_METADATA.get(sharedKey);
+            if (shared != null) {
+                return shared;
+            }
+        }
+        Metadata metadata = Metadata.EMPTY;
+        AdaptiveFormAsset asset = assetResource.adaptTo(AdaptiveFormAsset.class);
+        if (asset != null) {
+            metadata = new Metadata(asset.getTitle(), asset.getDescription(), asset.getThumbnailPath(), asset.getRenderLink());
+        }
+        // without a modification time there is no way to detect changes, such metadata is only kept for this request
+        if (sharedKey != null) {
+            SHARED_METADATA.put(sharedKey, metadata);
+        }
+        return metadata;
+    }
+
+    static void clearSharedMetadata() {
+        SHARED_METADATA.clear();
+    }
+
+    /**
+     * Immutable metadata of a form asset
+     */
+    static final class Metadata {
+
+        /**
+         * Metadata of an asset which exists but could not be adapted to a form asset
+         */
+        static final Metadata EMPTY = new Metadata(null, null, null, null);
+
+        private final String title;
+        private final String description;
+        private final String thumbnailPath;
+        private final String renderLink;
+
+        Metadata(String title, String description, String thumbnailPath, String renderLink) {
+            this.title = title;
+            this.description = description;
+            this.thumbnailPath = thumbnailPath;
+            this.renderLink = renderLink;
+        }
+
+        boolean isFormAsset() {
+            return this != EMPTY;
+        }
+
+        String getTitle() {
+            return title;
+        }
+
+        String getDescription() {
+            return description;
+        }
+
+        String getThumbnailPath() {
+            return thumbnailPath;
+        }
+
+        String getRenderLink() {
+            return renderLink;
+        }
+    }
+}
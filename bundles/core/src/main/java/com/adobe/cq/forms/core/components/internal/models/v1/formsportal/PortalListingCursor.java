@@ -0,0 +1,88 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.models.v1.formsportal;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Opaque keyset cursor of the portal listing, holding the sort key and the path of the last listed asset.
+ *
+ * Resuming a listing from a cursor seeks directly behind the last listed asset instead of skipping an offset, so every
+ * page costs the same no matter how deep into the listing it is.
+ */
+public final class PortalListingCursor {
+
+    private static final char SEPARATOR = '\n';
+
+    private final String sortKey;
+    private final String path;
+
+    public PortalListingCursor(@Nullable String sortKey, @NotNull String path) {
+        this.sortKey = sortKey;
+        this.path = path;
+    }
+
+    /**
+     * @return the sort key of the last listed asset, {@code null} when listing by path only
+     */
+    @Nullable
+    public String getSortKey() {
+        return sortKey;
+    }
+
+    @NotNull
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return the url safe token representing this cursor
+     */
+    public String encode() {
+        String raw = StringUtils.defaultString(sortKey) + SEPARATOR + path;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor token.
+     *
+     * @param token token created by {@link #encode()}
+     * @return the cursor or {@code null} if the token is empty or malformed
+     */
+    @Nullable
+    public static PortalListingCursor decode(@Nullable String token) {
+        if (StringUtils.isBlank(token)) {
+            return null;
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        int separator = raw.lastIndexOf(SEPARATOR);
+        if (separator < 0 || separator == raw.length() - 1) {
+            return null;
+        }
+        String sortKey = separator > 0 ? raw.substring(0, separator) : null;
+        return new PortalListingCursor(sortKey, raw.substring(separator + 1));
+    }
+}
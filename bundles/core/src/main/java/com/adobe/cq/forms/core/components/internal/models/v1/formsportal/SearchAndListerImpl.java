@@ -16,21 +16,29 @@
 
 package com.adobe.cq.forms.core.components.internal.models.v1.formsportal;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.TreeMap;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.inject.Named;
+import javax.jcr.query.Query;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.jackrabbit.JcrConstants;
+import org.apache.jackrabbit.util.ISO8601;
 import org.apache.sling.api.SlingHttpServletRequest;
 import org.apache.sling.api.request.RequestParameter;
 import org.apache.sling.api.request.RequestParameterMap;
+import org.apache.sling.api.resource.QuerySyntaxException;
 import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.resource.ResourceMetadata;
 import org.apache.sling.api.resource.ResourceResolver;
@@ -48,6 +56,10 @@ import org.apache.sling.models.annotations.injectorspecific.InjectionStrategy;
 import org.apache.sling.models.annotations.injectorspecific.OSGiService;
 import org.apache.sling.models.annotations.injectorspecific.Self;
 import org.apache.sling.models.annotations.injectorspecific.ValueMapValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.adobe.aem.formsndocuments.assets.models.AdaptiveFormAsset;
 import com.adobe.aem.formsndocuments.assets.models.FDAsset;
@@ -56,6 +68,7 @@ import com.adobe.aem.formsndocuments.assets.models.FormAsset;
 import com.adobe.aem.formsndocuments.assets.service.FMAssetSearch;
 import com.adobe.cq.export.json.ComponentExporter;
 import com.adobe.cq.export.json.ExporterConstants;
+import com.adobe.cq.forms.core.components.internal.services.formsportal.PortalSearchResultCache;
 import com.adobe.cq.forms.core.components.models.formsportal.PortalLister;
 import com.adobe.cq.forms.core.components.models.formsportal.SearchAndLister;
 import com.adobe.cq.forms.core.components.models.services.formsportal.Operation;
@@ -73,13 +86,24 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 public class SearchAndListerImpl extends PortalListerImpl implements SearchAndLister {
     public static final String RESOURCE_TYPE = "core/fd/components/formsportal/searchlister/v1/searchlister";
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(SearchAndListerImpl.class);
     private static final String PN_CHILD_ASSETFOLDERS = "assetFolders";
     private static final String PN_CHILD_ASSETSOURCES = "assetSource";
     private static final String DEFAULT_TOOLTIP = "Click to open";
     private static final Map<String, QueryStrategy> queryStrategies = new HashMap<>();
+    private static final Map<String, SortProperty> sortProperties = new HashMap<>();
+    private static final String DEFAULT_ASSET_ROOT = "/content/dam/formsanddocuments";
+    private static final String PARAM_SEARCH_TEXT = "searchText";
+    private static final String PARAM_ORDER_BY = "orderby";
+    private static final String PARAM_SORT = "sort";
 
     static {
-        queryStrategies.put("searchText", new QueryStrategy() {
+        sortProperties.put("title", SortProperty.TITLE);
+        sortProperties.put("description", SortProperty.DESCRIPTION);
+        sortProperties.put("lastModifiedDate", SortProperty.LAST_MODIFIED);
+        sortProperties.put("lastModified", SortProperty.LAST_MODIFIED);
+
+        queryStrategies.put(PARAM_SEARCH_TEXT, new QueryStrategy() {
             public void buildQuery(RequestParameter[] params, FMSearchCriteria.Builder builder) {
                 int counter = 0;
                 int paramCount = params.length;
@@ -107,14 +131,14 @@ public class SearchAndListerImpl extends PortalListerImpl implements SearchAndLi
             }
         });
 
-        queryStrategies.put("orderby", new QueryStrategy() {
+        queryStrategies.put(PARAM_ORDER_BY, new QueryStrategy() {
             public void buildQuery(RequestParameter[] params, FMSearchCriteria.Builder builder) {
                 String orderByValue = params[0].getString();
                 builder.sortBy(FMSearchCriteria.Property.getEnum(orderByValue));
             }
         });
 
-        queryStrategies.put("sort", new QueryStrategy() {
+        queryStrategies.put(PARAM_SORT, new QueryStrategy() {
             public void buildQuery(RequestParameter[] params, FMSearchCriteria.Builder builder) {
                 builder.sortBy(FMSearchCriteria.SortCriteria.getEnum(params[0].getString()));
             }
@@ -133,6 +157,9 @@ public class SearchAndListerImpl extends PortalListerImpl implements SearchAndLi
     @OSGiService
     private FMSearchCriteria.BuilderProvider searchBuilderProvider;
 
+    @OSGiService(injectionStrategy = InjectionStrategy.OPTIONAL)
+    private PortalSearchResultCache resultCache;
+
     @Self
     @Required
     private SlingHttpServletRequest request;
@@ -159,6 +186,8 @@ public class SearchAndListerImpl extends PortalListerImpl implements SearchAndLi
 
     private List<Resource> defaultAssetSources;
 
+    private I18n i18n;
+
     @ValueMapValue(injectionStrategy = InjectionStrategy.OPTIONAL)
     @Default(values = DEFAULT_TOOLTIP)
     private String htmlTooltip;
@@ -223,8 +252,51 @@ public class SearchAndListerImpl extends PortalListerImpl implements SearchAndLi
         }
     }
 
+    /**
+     * Builds the result cache key from the normalized query parameters, the component and the effective principals of
+     * the current user.
+     *
+     * @return the key or {@code null} if the result must not be cached
+     */
+    private String getResultCacheKey(ResourceResolver resourceResolver, RequestParameterMap parameterMap) {
+        String principalsKey = resultCache.getPrincipalsKey(resourceResolver);
+        if (principalsKey == null) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(resource.getPath())
+            .append('|').append(getLimit())
+            .append('|').append(request.getLocale())
+            .append('|').append(principalsKey);
+        // only parameters contributing to the query, in a stable order
+        Map<String, RequestParameter[]> queryParameters = new TreeMap<>(parameterMap);
+        for (Map.Entry<String, RequestParameter[]> entry : queryParameters.entrySet()) {
+            if (queryStrategies.containsKey(entry.getKey())) {
+                key.append('|').append(entry.getKey());
+                for (RequestParameter parameter : entry.getValue()) {
+                    key.append('=').append(parameter.getString());
+                }
+            }
+        }
+        return key.toString();
+    }
+
+    private I18n getI18n() {
+        // shared by all items of the request
+        if (i18n == null) {
+            i18n = new I18n(request);
+        }
+        return i18n;
+    }
+
     protected List<PortalLister.Item> fetchViaQueryBuilder(ResourceResolver resourceResolver) {
         RequestParameterMap parameterMap = request.getRequestParameterMap();
+        String cacheKey = resultCache != null ? getResultCacheKey(resourceResolver, parameterMap) : null;
+        if (cacheKey != null) {
+            List<PortalLister.Item> cached = resultCache.get(cacheKey);
+            if (cached != null) {
+                return cached;
+            }
+        }
         List<PortalLister.Item> resultMap = new ArrayList<>();
 
         FMSearchCriteria.Builder searchBuilder = searchBuilderProvider.createBuilder();
@@ -246,6 +318,9 @@ public class SearchAndListerImpl extends PortalListerImpl implements SearchAndLi
             resultMap.add(fetchResourceProperties(fmA, resourceResolver));
         }
 
+        if (cacheKey != null) {
+            return resultCache.put(cacheKey, resultMap);
+        }
         return resultMap;
     }
 
@@ -255,7 +330,6 @@ public class SearchAndListerImpl extends PortalListerImpl implements SearchAndLi
         String path = "";
         String tooltip = "";
         String thubmnail = "";
-        I18n i18n = new I18n(request);
         if (fmAsset.getAssetType().equals(FDAsset.AssetType.ADAPTIVE_FORM)) {
             Resource afAssetResource = resolver.getResource(fmAsset.getDamPath());
             if (afAssetResource != null) {
@@ -265,13 +339,135 @@ public class SearchAndListerImpl extends PortalListerImpl implements SearchAndLi
                     description = asset.getDescription();
                     path = asset.getRenderLink();
                     thubmnail = asset.getThumbnailPath();
-                    tooltip = i18n.get(htmlTooltip);
+                    tooltip = getI18n().get(htmlTooltip);
                 }
             }
         }
         return new SearchAndListerItem(title, description, tooltip, path, thubmnail, null);
     }
 
+    /**
+     * Writes the items following the given cursor, in keyset order. The assets are read lazily from the query result and
+     * handed to the writer one by one, so a page never has to be buffered.
+     *
+     * @param cursor cursor of the last item of the previous page, {@code null} to start from the beginning
+     * @param writer receives the items
+     * @return the cursor of the next page or {@code null} if there are no more items
+     * @throws IOException if the writer fails
+     */
+    @Nullable
+    public PortalListingCursor writeItems(@Nullable PortalListingCursor cursor, @NotNull ItemWriter writer) throws IOException {
+        ResourceResolver resourceResolver = request.getResourceResolver();
+        SortProperty sortProperty = sortProperties.getOrDefault(request.getParameter(PARAM_ORDER_BY), SortProperty.CREATED);
+        boolean descending = "desc".equalsIgnoreCase(request.getParameter(PARAM_SORT));
+        String statement = buildListingQuery(sortProperty, descending, cursor);
+
+        // resource resolver has logged-in user level access, only forms accessible by current user will be listed
+        Iterator<Resource> assets;
+        try {
+            assets = resourceResolver.findResources(statement, Query.JCR_SQL2);
+        } catch (QuerySyntaxException e) {
+            LOGGER.warn("[FP] Invalid portal listing query {}", statement, e);
+            return null;
+        }
+        FormAssetMetadataResolver metadataResolver = new FormAssetMetadataResolver(resourceResolver);
+        String tooltip = getI18n().get(htmlTooltip);
+        int limit = getLimit();
+        int written = 0;
+        PortalListingCursor last = null;
+        while (assets.hasNext()) {
+            Resource asset = assets.next();
+            if (written >= limit) {
+                // there is at least one more item
+                return last;
+            }
+            FormAssetMetadataResolver.Metadata metadata = metadataResolver.get(asset.getPath());
+            if (metadata != null && metadata.isFormAsset()) {
+                writer.write(new SearchAndListerItem(metadata.getTitle(), metadata.getDescription(), tooltip, metadata.getRenderLink(),
+                    metadata.getThumbnailPath(), null));
+                written++;
+            }
+            last = new PortalListingCursor(sortProperty.keyOf(asset), asset.getPath());
+        }
+        return null;
+    }
+
+    /**
+     * Builds the JCR-SQL2 query of the keyset listing. The assets are ordered by the requested property, by default their
+     * creation date, and by path, which makes the order total. The cursor condition seeks behind the last listed asset on
+     * the ordered property of the asset index, the path only breaks ties between assets with the same sort key. Assets
+     * without the sort property are ordered first by the query engine, hence the additional {@code IS NULL} handling.
+     */
+    String buildListingQuery(@NotNull SortProperty sortProperty, boolean descending, @Nullable PortalListingCursor cursor) {
+        List<String> conditions = new ArrayList<>();
+
+        List<String> folderConditions = new ArrayList<>();
+        if (assetFolders != null) {
+            for (Resource source : assetFolders) {
+                String folderPath = source.getValueMap().get("folder", String.class);
+                if (StringUtils.isNotBlank(folderPath)) {
+                    folderConditions.add("ISDESCENDANTNODE(s, " + literal(folderPath) + ")");
+                }
+            }
+        }
+        if (folderConditions.isEmpty()) {
+            folderConditions.add("ISDESCENDANTNODE(s, " + literal(DEFAULT_ASSET_ROOT) + ")");
+        }
+        conditions.add("(" + StringUtils.join(folderConditions, " OR ") + ")");
+
+        for (Resource source : getAssetSources()) {
+            if ("Adaptive Forms".equals(source.getValueMap().get("type", String.class))) {
+                conditions.add("s.[jcr:content/type] = 'guide'");
+                break;
+            }
+        }
+
+        String[] searchTexts = request.getParameterValues(PARAM_SEARCH_TEXT);
+        if (searchTexts != null) {
+            for (String text : searchTexts) {
+                String terms = toFullTextTerms(text);
+                if (StringUtils.isNotBlank(terms)) {
+                    conditions.add("CONTAINS(s.*, " + literal(terms) + ")");
+                }
+            }
+        }
+
+        if (cursor != null) {
+            String afterPath = "s.[jcr:path] > " + literal(cursor.getPath());
+            String property = "s.[" + sortProperty.property + "]";
+            if (cursor.getSortKey() == null) {
+                conditions.add(descending
+                    ? "(" + property + " IS NULL AND " + afterPath + ")"
+                    : "(" + property + " IS NOT NULL OR " + afterPath + ")");
+            } else {
+                String key = sortProperty.literalOf(cursor.getSortKey());
+                conditions.add("(" + property + (descending ? " < " : " > ") + key
+                    + " OR (" + property + " = " + key + " AND " + afterPath + ")"
+                    + (descending ? " OR " + property + " IS NULL" : "") + ")");
+            }
+        }
+
+        return "SELECT * FROM [dam:Asset] AS s WHERE " + StringUtils.join(conditions, " AND ")
+            + " ORDER BY s.[" + sortProperty.property + (descending ? "] DESC, " : "] ASC, ") + "s.[jcr:path] ASC";
+    }
+
+    private static String literal(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+
+    /**
+     * Reduces user input to plain search terms. Quotes, escapes, a leading minus or a dangling {@code OR} are full-text
+     * syntax, which makes the query fail if used wrongly; the analyzer of the index splits words at punctuation anyway.
+     */
+    static String toFullTextTerms(String text) {
+        StringBuilder terms = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            terms.append(Character.isLetterOrDigit(c) ? c : ' ');
+        }
+        return StringUtils.normalizeSpace(terms.toString().toLowerCase(Locale.ROOT));
+    }
+
     @JsonIgnore
     @Override
     public boolean getSearchDisabled() {
@@ -284,6 +480,44 @@ public class SearchAndListerImpl extends PortalListerImpl implements SearchAndLi
         return disableSorting;
     }
 
+    /**
+     * Receives the items of a keyset listing
+     */
+    @FunctionalInterface
+    public interface ItemWriter {
+        void write(PortalLister.Item item) throws IOException;
+    }
+
+    /**
+     * Asset properties a keyset listing can be ordered by
+     */
+    enum SortProperty {
+        CREATED("jcr:created", true),
+        TITLE("jcr:content/metadata/title", false),
+        DESCRIPTION("jcr:content/metadata/description", false),
+        LAST_MODIFIED("jcr:content/jcr:lastModified", true);
+
+        private final String property;
+        private final boolean date;
+
+        SortProperty(String property, boolean date) {
+            this.property = property;
+            this.date = date;
+        }
+
+        String keyOf(Resource asset) {
+            if (date) {
+                Calendar value = asset.getValueMap().get(property, Calendar.class);
+                return value != null ? ISO8601.format(value) : null;
+            }
+            return asset.getValueMap().get(property, String.class);
+        }
+
+        String literalOf(String key) {
+            return date ? "CAST(" + literal(key) + " AS DATE)" : literal(key);
+        }
+    }
+
     private interface QueryStrategy {
         void buildQuery(RequestParameter[] params, FMSearchCriteria.Builder builder);
     }
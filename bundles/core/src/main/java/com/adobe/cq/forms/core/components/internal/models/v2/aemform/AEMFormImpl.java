@@ -40,6 +40,7 @@ import com.adobe.aemds.guide.utils.GuideUtils;
 import com.adobe.cq.export.json.ComponentExporter;
 import com.adobe.cq.export.json.ExporterConstants;
 import com.adobe.cq.forms.core.components.internal.models.v2.HtmlPageItemImpl;
+import com.adobe.cq.forms.core.components.internal.services.aemform.EmbeddedFormMetadataCache;
 import com.adobe.cq.forms.core.components.models.aemform.AEMForm;
 import com.adobe.cq.wcm.core.components.config.HtmlPageItemConfig;
 import com.adobe.cq.wcm.core.components.config.HtmlPageItemsConfig;
@@ -82,14 +83,22 @@ public class AEMFormImpl extends com.adobe.cq.forms.core.components.internal.mod
     public @Nullable List<HtmlPageItem> getHtmlPageItems() {
         Resource formResource = request.getResourceResolver().getResource(getFormPagePath());
         if (htmlPageItems == null && formResource != null) {
-            htmlPageItems = new LinkedList<>();
-            ConfigurationBuilder configurationBuilder = configurationResolver.get(formResource);
-            HtmlPageItemsConfig config = configurationBuilder.as(HtmlPageItemsConfig.class);
-            for (HtmlPageItemConfig itemConfig : config.items()) {
-                HtmlPageItem item = new HtmlPageItemImpl(StringUtils.defaultString(config.prefixPath()), itemConfig);
-                if (item.getElement() != null) {
-                    htmlPageItems.add(item);
+            EmbeddedFormMetadataCache.FormMetadata formMetadata = getFormMetadata();
+            htmlPageItems = formMetadata.getHtmlPageItems();
+            if (htmlPageItems == null) {
+                htmlPageItems = new LinkedList<>();
+                ConfigurationBuilder configurationBuilder = configurationResolver.get(formResource);
+                HtmlPageItemsConfig config = configurationBuilder.as(HtmlPageItemsConfig.class);
+                for (HtmlPageItemConfig itemConfig : config.items()) {
+                    HtmlPageItem item = new HtmlPageItemImpl(StringUtils.defaultString(config.prefixPath()), itemConfig);
+                    if (item.getElement() != null) {
+                        // resolve everything up front, the items are shared between requests
+                        item.getLocation();
+                        item.getAttributes();
+                        htmlPageItems.add(item);
+                    }
                 }
+                formMetadata.setHtmlPageItems(htmlPageItems);
             }
         }
         return htmlPageItems != null ? new LinkedList<>(htmlPageItems) : null;
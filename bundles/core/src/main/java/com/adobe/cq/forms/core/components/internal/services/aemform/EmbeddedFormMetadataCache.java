@@ -0,0 +1,197 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.services.aemform;
+
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ValueMap;
+import org.apache.sling.api.resource.observation.ExternalResourceChangeListener;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.api.resource.observation.ResourceChangeListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.osgi.service.component.annotations.Component;
+
+import com.adobe.cq.forms.core.components.models.aemform.AEMForm;
+import com.adobe.cq.wcm.core.components.models.HtmlPageItem;
+import com.day.cq.wcm.api.NameConstants;
+
+/**
+ * Caches what the AEM Form embed component resolves about the form it embeds: the form type and version, the page items
+ * of its context-aware configuration and the client library category of its theme.
+ *
+ * Form metadata is keyed by the form path and only served as long as the modification time of the form is unchanged.
+ * Changes to forms, themes or configurations below the observed roots drop the affected entries, so that also changes
+ * not reflected in the modification time (e.g. to the theme or the configuration) are picked up.
+ */
+@Component(
+    service = { EmbeddedFormMetadataCache.class, ResourceChangeListener.class },
+    immediate = true,
+    property = {
+        ResourceChangeListener.PATHS + "=/content/forms/af",
+        ResourceChangeListener.PATHS + "=/content/dam/formsanddocuments",
+        ResourceChangeListener.PATHS + "=/content/dam/formsanddocuments-themes",
+        ResourceChangeListener.PATHS + "=/conf",
+        ResourceChangeListener.CHANGES + "=ADDED",
+        ResourceChangeListener.CHANGES + "=CHANGED",
+        ResourceChangeListener.CHANGES + "=REMOVED"
+    })
+public class EmbeddedFormMetadataCache implements ResourceChangeListener, ExternalResourceChangeListener {
+
+    /**
+     * Maximum number of cached forms, respectively themes
+     */
+    private static final int MAX_ENTRIES = 1000;
+
+    private static final String CONF_ROOT = "/conf/";
+
+    private static final String FORMS_ROOT = "/content/forms/af";
+
+    private static final String ASSET_ROOT = "/content/dam/formsanddocuments";
+
+    private final Map<String, FormMetadata> forms = new ConcurrentHashMap<>();
+
+    private final Map<String, String> themes = new ConcurrentHashMap<>();
+
+    /**
+     * Metadata of an embedded form, shared between requests
+     */
+    public static final class FormMetadata {
+        private final long lastModified;
+        private final AEMForm.FormType formType;
+        private final String formVersion;
+        private volatile List<HtmlPageItem> htmlPageItems;
+
+        public FormMetadata(long lastModified, @NotNull AEMForm.FormType formType, @NotNull String formVersion) {
+            this.lastModified = lastModified;
+            this.formType = formType;
+            this.formVersion = formVersion;
+        }
+
+        public AEMForm.FormType getFormType() {
+            return formType;
+        }
+
+        public String getFormVersion() {
+            return formVersion;
+        }
+
+        /**
+         * @return the page items or {@code null} if they were not resolved yet
+         */
+        @Nullable
+        public List<HtmlPageItem> getHtmlPageItems() {
+            return htmlPageItems;
+        }
+
+        /**
+         * @param htmlPageItems page items, which must not be modified afterwards
+         */
+        public void setHtmlPageItems(@NotNull List<HtmlPageItem> htmlPageItems) {
+            this.htmlPageItems = Collections.unmodifiableList(htmlPageItems);
+        }
+    }
+
+    /**
+     * @param formPath path of the embedded form
+     * @param lastModified current modification time of the form, see {@link #getLastModified(Resource)}
+     * @return the cached metadata or {@code null} if there is none for this modification time
+     */
+    @Nullable
+    public FormMetadata getForm(@NotNull String formPath, long lastModified) {
+        FormMetadata metadata = forms.get(formPath);
+        return metadata != null && metadata.lastModified == lastModified ? metadata : null;
+    }
+
+    public void putForm(@NotNull String formPath, @NotNull FormMetadata metadata) {
+        if (forms.size() >= MAX_ENTRIES) {
+            forms.clear();
+        }
+        forms.put(formPath, metadata);
+    }
+
+    /**
+     * @param themePath path of the theme
+     * @return the cached client library category of the theme or {@code null} if there is none
+     */
+    @Nullable
+    public String getThemeCategory(@NotNull String themePath) {
+        return themes.get(themePath);
+    }
+
+    public void putThemeCategory(@NotNull String themePath, @NotNull String category) {
+        if (themes.size() >= MAX_ENTRIES) {
+            themes.clear();
+        }
+        themes.put(themePath, category);
+    }
+
+    /**
+     * Drops all cached metadata.
+     */
+    public void clear() {
+        forms.clear();
+        themes.clear();
+    }
+
+    @Override
+    public void onChange(@NotNull List<ResourceChange> changes) {
+        for (ResourceChange change : changes) {
+            String path = change.getPath();
+            if (path.startsWith(CONF_ROOT)) {
+                // configurations may apply to any form, the page items have to be resolved again
+                forms.clear();
+            } else {
+                String formPath = normalize(path);
+                forms.keySet().removeIf(key -> isRelated(key, formPath));
+                themes.keySet().removeIf(key -> isRelated(key, path));
+            }
+        }
+    }
+
+    /**
+     * Computes the modification time of a form or theme used to validate cached metadata.
+     *
+     * @param resource the page or asset of the form
+     * @return the modification time or {@code -1} if it is unknown
+     */
+    public static long getLastModified(@NotNull Resource resource) {
+        Resource content = resource.getChild("jcr:content");
+        ValueMap properties = content != null ? content.getValueMap() : resource.getValueMap();
+        Calendar lastModified = properties.get(NameConstants.PN_PAGE_LAST_MOD, Calendar.class);
+        if (lastModified == null) {
+            lastModified = properties.get("jcr:lastModified", Calendar.class);
+        }
+        return lastModified != null ? lastModified.getTimeInMillis() : -1;
+    }
+
+    private static boolean isRelated(String key, String changedPath) {
+        String path = normalize(key);
+        return path.equals(changedPath) || changedPath.startsWith(path + "/") || path.startsWith(changedPath + "/");
+    }
+
+    /**
+     * Forms may be referenced by their asset or by their page, both map to the same form
+     */
+    private static String normalize(String path) {
+        return path.startsWith(ASSET_ROOT + "/") ? FORMS_ROOT + path.substring(ASSET_ROOT.length()) : path;
+    }
+}
@@ -0,0 +1,236 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.services.formsportal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.jcr.query.Query;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.resource.LoginException;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.ResourceResolverFactory;
+import org.apache.sling.api.resource.ValueMap;
+import org.apache.sling.api.resource.observation.ExternalResourceChangeListener;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.api.resource.observation.ResourceChangeListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the {@link TypeaheadIndex} of all forms below the forms and documents root current.
+ *
+ * The index is warmed with a single query on first use and maintained through resource change events afterwards; changes
+ * reported while the warm up query runs are applied once it has finished. A failed warm up is retried after
+ * {@link #RETRY_INTERVAL}. The index is built with a service resolver (sub service {@value #SUBSERVICE_NAME}) and holds
+ * forms regardless of the permissions of the requesting user, so suggestions have to be filtered with the resolver of
+ * the current request.
+ */
+@Component(
+    service = { FormsTypeaheadService.class, ResourceChangeListener.class },
+    immediate = true,
+    property = {
+        ResourceChangeListener.PATHS + "=" + FormsTypeaheadService.ASSET_ROOT,
+        ResourceChangeListener.CHANGES + "=ADDED",
+        ResourceChangeListener.CHANGES + "=CHANGED",
+        ResourceChangeListener.CHANGES + "=REMOVED"
+    })
+public class FormsTypeaheadService implements ResourceChangeListener, ExternalResourceChangeListener {
+
+    static final String ASSET_ROOT = "/content/dam/formsanddocuments";
+
+    static final String SUBSERVICE_NAME = "forms-portal-typeahead";
+
+    /**
+     * Time after which a failed warm up is retried
+     */
+    static final long RETRY_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FormsTypeaheadService.class);
+
+    private static final String DAM_ASSET = "dam:Asset";
+    private static final String JCR_CONTENT = "/jcr:content";
+    private static final String METADATA = "jcr:content/metadata";
+    private static final String WARM_UP_QUERY = "SELECT * FROM [" + DAM_ASSET + "] AS s WHERE ISDESCENDANTNODE(s, '" + ASSET_ROOT + "')";
+
+    private static final Map<String, Object> AUTH;
+
+    static {
+        AUTH = new HashMap<>();
+        AUTH.put(ResourceResolverFactory.SUBSERVICE, SUBSERVICE_NAME);
+    }
+
+    @Reference
+    private ResourceResolverFactory resourceResolverFactory;
+
+    private final TypeaheadIndex index = new TypeaheadIndex();
+
+    private volatile boolean warm;
+
+    private volatile long nextWarmUp;
+
+    // changes reported during the warm up, null while no warm up is running
+    private List<ResourceChange> pendingChanges;
+
+    private final Object pendingLock = new Object();
+
+    /**
+     * Suggests forms visible to the user of the given resolver.
+     *
+     * @param text text typed so far
+     * @param limit maximum number of suggestions
+     * @param resourceResolver resolver of the current request, used for filtering the suggestions
+     * @return the suggestions
+     */
+    public List<TypeaheadIndex.Entry> suggest(@Nullable String text, int limit, @NotNull ResourceResolver resourceResolver) {
+        if (StringUtils.isBlank(text)) {
+            return Collections.emptyList();
+        }
+        ensureWarm();
+        return index.suggest(text, limit, entry -> resourceResolver.getResource(entry.getPath()) != null);
+    }
+
+    @Override
+    public void onChange(@NotNull List<ResourceChange> changes) {
+        synchronized (pendingLock) {
+            if (pendingChanges != null) {
+                // applied as soon as the warm up query has finished
+                pendingChanges.addAll(changes);
+                return;
+            }
+        }
+        if (!warm) {
+            // the warm up query picks up every change made so far
+            return;
+        }
+        apply(changes);
+    }
+
+    private void apply(List<ResourceChange> changes) {
+        try (ResourceResolver resolver = resourceResolverFactory.getServiceResourceResolver(AUTH)) {
+            for (ResourceChange change : changes) {
+                String assetPath = getAssetPath(change.getPath());
+                if (change.getType() == ResourceChange.ChangeType.REMOVED && assetPath.equals(change.getPath())) {
+                    // an asset or a whole folder
+                    index.remove(assetPath);
+                } else {
+                    update(resolver, assetPath, change.getType() == ResourceChange.ChangeType.ADDED);
+                }
+            }
+        } catch (LoginException e) {
+            LOGGER.warn("[FP] Could not update typeahead index, service user mapping for {} is missing", SUBSERVICE_NAME, e);
+        }
+    }
+
+    private void ensureWarm() {
+        if (warm || System.currentTimeMillis() < nextWarmUp) {
+            return;
+        }
+        synchronized (this) {
+            if (warm || System.currentTimeMillis() < nextWarmUp) {
+                return;
+            }
+            synchronized (pendingLock) {
+                pendingChanges = new ArrayList<>();
+            }
+            boolean success = false;
+            try (ResourceResolver resolver = resourceResolverFactory.getServiceResourceResolver(AUTH)) {
+                long start = System.currentTimeMillis();
+                Iterator<Resource> assets = resolver.findResources(WARM_UP_QUERY, Query.JCR_SQL2);
+                while (assets.hasNext()) {
+                    index(assets.next());
+                }
+                success = true;
+                LOGGER.info("[FP] Indexed {} forms for typeahead in {} ms", index.size(), System.currentTimeMillis() - start);
+            } catch (LoginException e) {
+                LOGGER.warn("[FP] Could not build typeahead index, service user mapping for {} is missing", SUBSERVICE_NAME, e);
+            } catch (RuntimeException e) {
+                LOGGER.warn("[FP] Could not build typeahead index", e);
+            }
+            while (true) {
+                List<ResourceChange> missed;
+                synchronized (pendingLock) {
+                    if (!success || pendingChanges.isEmpty()) {
+                        // a failed warm up is repeated in full, including the changes made meanwhile
+                        pendingChanges = null;
+                        warm = success;
+                        break;
+                    }
+                    missed = pendingChanges;
+                    pendingChanges = new ArrayList<>();
+                }
+                apply(missed);
+            }
+            if (!success) {
+                // do not retry on every keystroke
+                nextWarmUp = System.currentTimeMillis() + RETRY_INTERVAL;
+            }
+        }
+    }
+
+    private void update(ResourceResolver resolver, String assetPath, boolean added) {
+        Resource asset = resolver.getResource(assetPath);
+        if (asset == null) {
+            index.remove(assetPath);
+        } else if (asset.isResourceType(DAM_ASSET)) {
+            index(asset);
+        } else if (added) {
+            // a folder moved into the root, only its top most node is reported
+            indexTree(asset);
+        }
+    }
+
+    private void indexTree(Resource folder) {
+        for (Resource child : folder.getChildren()) {
+            if (child.isResourceType(DAM_ASSET)) {
+                index(child);
+            } else {
+                indexTree(child);
+            }
+        }
+    }
+
+    private void index(Resource asset) {
+        Resource metadata = asset.getChild(METADATA);
+        ValueMap properties = metadata != null ? metadata.getValueMap() : ValueMap.EMPTY;
+        String[] tags = properties.get("cq:tags", String[].class);
+        index.index(asset.getPath(), properties.get("title", String.class), properties.get("description", String.class),
+            tags != null ? Arrays.asList(tags) : null);
+    }
+
+    /**
+     * Maps the path of a changed resource to the path of the asset it belongs to
+     */
+    static String getAssetPath(String path) {
+        int content = path.indexOf(JCR_CONTENT + "/");
+        if (content < 0 && path.endsWith(JCR_CONTENT)) {
+            content = path.length() - JCR_CONTENT.length();
+        }
+        return content >= 0 ? path.substring(0, content) : path;
+    }
+}
@@ -17,14 +17,10 @@
 package com.adobe.cq.forms.core.components.internal.services.formsportal;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
@@ -43,7 +39,9 @@ public class OperationManagerImpl implements OperationManager {
 
     private volatile Map<String, Operation> operations = new ConcurrentHashMap<String, Operation>();
 
-    private Map<DraftsAndSubmissions.TypeEnum, List<Operation>> operationLists = new ConcurrentHashMap<>();
+    private static final Operation[] NO_OPERATIONS = new Operation[0];
+
+    private Map<DraftsAndSubmissions.TypeEnum, Operation[]> operationLists = new ConcurrentHashMap<>();
 
     private void refreshOperationLists() {
         List<Operation> draftOperations = new ArrayList<>();
@@ -59,9 +57,9 @@ public class OperationManagerImpl implements OperationManager {
                     break;
             }
         }
-        operationLists.put(DraftsAndSubmissions.TypeEnum.DRAFT, draftOperations.stream().sorted(Comparator.comparing(
-            Operation::getTitle).reversed()).collect(Collectors.toList()));
-        operationLists.put(DraftsAndSubmissions.TypeEnum.SUBMISSION, submitOperations);
+        draftOperations.sort(Comparator.comparing(Operation::getTitle).reversed());
+        operationLists.put(DraftsAndSubmissions.TypeEnum.DRAFT, draftOperations.toArray(NO_OPERATIONS));
+        operationLists.put(DraftsAndSubmissions.TypeEnum.SUBMISSION, submitOperations.toArray(NO_OPERATIONS));
     }
 
     @Reference(
@@ -89,13 +87,17 @@ public class OperationManagerImpl implements OperationManager {
     }
 
     public List<Operation> getOperationList(DraftsAndSubmissions.TypeEnum typeEnum, PortalLister.Item item, String requestURI) {
-        List<Operation> ops = Optional.ofNullable(operationLists.get(typeEnum))
-            .orElse(Collections.emptyList())
-            .stream().map(x -> x.makeOperation(item, requestURI))
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
-        if (ops.isEmpty()) {
-            return null;
+        // called for every listed item, the action URLs are stamped from templates cached per request URI
+        Operation[] operationList = operationLists.getOrDefault(typeEnum, NO_OPERATIONS);
+        List<Operation> ops = null;
+        for (Operation operation : operationList) {
+            Operation op = operation.makeOperation(item, requestURI);
+            if (op != null) {
+                if (ops == null) {
+                    ops = new ArrayList<>(operationList.length);
+                }
+                ops.add(op);
+            }
         }
         return ops;
     }
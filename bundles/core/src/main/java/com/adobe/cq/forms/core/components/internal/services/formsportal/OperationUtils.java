@@ -16,6 +16,8 @@
 package com.adobe.cq.forms.core.components.internal.services.formsportal;
 
 import java.net.URISyntaxException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.http.client.utils.URIBuilder;
 import org.slf4j.Logger;
@@ -27,9 +29,28 @@ public class OperationUtils {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OperationUtils.class);
 
+    /**
+     * Maximum number of cached action URL templates, there is one per lister page and operation
+     */
+    private static final int MAX_TEMPLATES = 256;
+
+    private static final Map<String, ActionURLTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
     private OperationUtils() {}
 
     public static String generateActionURL(String modelID, String opName, String requestURI) {
+        ActionURLTemplate template = TEMPLATES.get(requestURI + '\n' + opName);
+        if (template == null) {
+            if (TEMPLATES.size() >= MAX_TEMPLATES) {
+                TEMPLATES.clear();
+            }
+            template = new ActionURLTemplate(opName, requestURI);
+            TEMPLATES.put(requestURI + '\n' + opName, template);
+        }
+        return template.stamp(modelID);
+    }
+
+    private static String buildActionURL(String modelID, String opName, String requestURI) {
         String actionURL = null;
         try {
             URIBuilder uriBuilder = new URIBuilder(requestURI.replace(".model.json", ".fp.operation"));
@@ -41,4 +62,48 @@ public class OperationUtils {
         }
         return actionURL;
     }
+
+    /**
+     * Action URL of an operation for a lister page, built once with a placeholder for the model id. Model ids are
+     * stamped in verbatim as long as they do not need encoding, anything else takes the full build.
+     */
+    static final class ActionURLTemplate {
+        private static final String PLACEHOLDER = "__operation_model_id__";
+
+        private final String opName;
+        private final String requestURI;
+        private final String prefix;
+        private final String suffix;
+
+        ActionURLTemplate(String opName, String requestURI) {
+            this.opName = opName;
+            this.requestURI = requestURI;
+            String url = buildActionURL(PLACEHOLDER, opName, requestURI);
+            int index = url != null ? url.lastIndexOf(PLACEHOLDER) : -1;
+            this.prefix = index >= 0 ? url.substring(0, index) : null;
+            this.suffix = index >= 0 ? url.substring(index + PLACEHOLDER.length()) : null;
+        }
+
+        String stamp(String modelID) {
+            if (prefix == null || !isUnreserved(modelID)) {
+                return buildActionURL(modelID, opName, requestURI);
+            }
+            return prefix + modelID + suffix;
+        }
+
+        private static boolean isUnreserved(String value) {
+            if (value == null || value.isEmpty()) {
+                return false;
+            }
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                boolean unreserved = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.';
+                if (!unreserved) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
@@ -0,0 +1,189 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.services.formsportal;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.jcr.RepositoryException;
+
+import org.apache.jackrabbit.api.security.user.Authorizable;
+import org.apache.jackrabbit.api.security.user.Group;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.observation.ExternalResourceChangeListener;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.api.resource.observation.ResourceChangeListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.osgi.service.component.annotations.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.adobe.cq.forms.core.components.models.formsportal.PortalLister;
+
+/**
+ * Short lived cache of forms portal search results.
+ *
+ * Results are only shared between users with the same effective principals, since the asset search runs with the
+ * permissions of the requesting user. Any change below the forms and documents root drops all cached results.
+ */
+@Component(
+    service = { PortalSearchResultCache.class, ResourceChangeListener.class },
+    immediate = true,
+    property = {
+        ResourceChangeListener.PATHS + "=" + PortalSearchResultCache.ASSET_ROOT,
+        ResourceChangeListener.CHANGES + "=ADDED",
+        ResourceChangeListener.CHANGES + "=CHANGED",
+        ResourceChangeListener.CHANGES + "=REMOVED"
+    })
+public class PortalSearchResultCache implements ResourceChangeListener, ExternalResourceChangeListener {
+
+    static final String ASSET_ROOT = "/content/dam/formsanddocuments";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PortalSearchResultCache.class);
+
+    private static final String ANONYMOUS = "anonymous";
+
+    /**
+     * Time-to-live of cached results (30 seconds)
+     */
+    private static final long TTL = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * Maximum number of cached result pages
+     */
+    private static final int MAX_ENTRIES = 1000;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Computes the cache key part identifying the permissions of the user behind the given resolver.
+     *
+     * @param resourceResolver resolver of the current request
+     * @return hash of the effective principals or {@code null} if they cannot be determined, in which case the results
+     *         must not be cached
+     */
+    @Nullable
+    public String getPrincipalsKey(@NotNull ResourceResolver resourceResolver) {
+        String userId = resourceResolver.getUserID();
+        if (ANONYMOUS.equals(userId)) {
+            // most portal traffic, no need to look up the group memberships
+            return ANONYMOUS;
+        }
+        Authorizable authorizable = resourceResolver.adaptTo(Authorizable.class);
+        if (authorizable == null) {
+            return null;
+        }
+        try {
+            TreeSet<String> principals = new TreeSet<>();
+            principals.add(authorizable.getPrincipal().getName());
+            Iterator<Group> groups = authorizable.memberOf();
+            while (groups.hasNext()) {
+                principals.add(groups.next().getPrincipal().getName());
+            }
+            return digest(String.join("\n", principals));
+        } catch (RepositoryException e) {
+            LOGGER.warn("[FP] Could not resolve principals of {}, not caching search results", userId, e);
+            return null;
+        }
+    }
+
+    /**
+     * @param key cache key
+     * @return the cached result or {@code null} if there is none or it expired
+     */
+    @Nullable
+    public List<PortalLister.Item> get(@NotNull String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.items;
+    }
+
+    /**
+     * Caches a search result.
+     *
+     * @param key cache key
+     * @param items result, which is shared as an unmodifiable list between requests
+     * @return the cached list
+     */
+    public List<PortalLister.Item> put(@NotNull String key, @NotNull List<PortalLister.Item> items) {
+        List<PortalLister.Item> shared = Collections.unmodifiableList(new ArrayList<>(items));
+        long now = System.currentTimeMillis();
+        if (entries.size() >= MAX_ENTRIES) {
+            entries.values().removeIf(entry -> entry.isExpired(now));
+            if (entries.size() >= MAX_ENTRIES) {
+                // still full of live results, start over rather than tracking usage
+                entries.clear();
+            }
+        }
+        entries.put(key, new Entry(shared, now + TTL));
+        return shared;
+    }
+
+    /**
+     * Drops all cached results.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public void onChange(@NotNull List<ResourceChange> changes) {
+        if (!changes.isEmpty()) {
+            clear();
+        }
+    }
+
+    private static String digest(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is mandatory for every JRE
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Entry {
+        private final List<PortalLister.Item> items;
+        private final long expiresAt;
+
+        private Entry(List<PortalLister.Item> items, long expiresAt) {
+            this.items = items;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now > expiresAt;
+        }
+    }
+}
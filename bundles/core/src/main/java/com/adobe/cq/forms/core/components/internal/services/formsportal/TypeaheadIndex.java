@@ -0,0 +1,338 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.services.formsportal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * In-memory typeahead index over the titles, descriptions and tags of forms.
+ *
+ * Words are kept in a prefix trie, whose nodes know every form having a word with that prefix, and in a trigram inverted
+ * index for matches inside words. Both are maintained incrementally: indexing a form replaces its previous entry.
+ */
+public class TypeaheadIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private final TrieNode root = new TrieNode();
+
+    private final Map<String, Set<Entry>> grams = new HashMap<>();
+
+    /**
+     * A suggestion, i.e. an indexed form
+     */
+    public static final class Entry {
+        private final String path;
+        private final String title;
+        private final String normalizedTitle;
+        private final Set<String> words;
+
+        Entry(String path, String title, Set<String> words) {
+            this.path = path;
+            this.title = title;
+            this.normalizedTitle = normalize(title);
+            this.words = words;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+    }
+
+    private static final class TrieNode {
+        private final Map<Character, TrieNode> children = new HashMap<>();
+        // all forms having a word which starts with the prefix of this node
+        private final Set<Entry> entries = new HashSet<>();
+    }
+
+    /**
+     * Adds or replaces a form.
+     *
+     * @param path path of the form asset
+     * @param title title of the form
+     * @param description description of the form
+     * @param tags tags of the form
+     */
+    public void index(@NotNull String path, @Nullable String title, @Nullable String description, @Nullable Collection<String> tags) {
+        Set<String> words = new LinkedHashSet<>();
+        addWords(words, title);
+        addWords(words, description);
+        if (tags != null) {
+            for (String tag : tags) {
+                // namespace:path/to/tag, the last segment is the meaningful part
+                addWords(words, StringUtils.substringAfterLast("/" + StringUtils.substringAfter(tag, ":"), "/"));
+            }
+        }
+        Entry entry = new Entry(path, StringUtils.defaultIfBlank(title, StringUtils.substringAfterLast(path, "/")), words);
+        lock.writeLock().lock();
+        try {
+            removeEntry(entries.get(path));
+            entries.put(path, entry);
+            for (String word : words) {
+                TrieNode node = root;
+                for (int i = 0; i < word.length(); i++) {
+                    node = node.children.computeIfAbsent(word.charAt(i), c -> new TrieNode());
+                    node.entries.add(entry);
+                }
+                for (String gram : grams(word)) {
+                    grams.computeIfAbsent(gram, g -> new HashSet<>()).add(entry);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a form and every form below the given path.
+     *
+     * @param path path of the form asset or of a folder
+     */
+    public void remove(@NotNull String path) {
+        lock.writeLock().lock();
+        try {
+            String prefix = path + "/";
+            List<Entry> removed = new ArrayList<>();
+            for (Entry entry : entries.values()) {
+                if (entry.path.equals(path) || entry.path.startsWith(prefix)) {
+                    removed.add(entry);
+                }
+            }
+            for (Entry entry : removed) {
+                entries.remove(entry.path);
+                removeEntry(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all forms.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            root.children.clear();
+            grams.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of indexed forms
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Suggests forms for the given text. Forms whose title starts with the text rank first, followed by forms with any
+     * word starting with it and finally by forms containing it inside a word.
+     *
+     * @param text text typed so far
+     * @param limit maximum number of suggestions
+     * @param filter filter applied before a suggestion counts against the limit, e.g. for access control
+     * @return the suggestions
+     */
+    public List<Entry> suggest(@Nullable String text, int limit, @NotNull Predicate<Entry> filter) {
+        String query = normalize(text);
+        Set<String> tokens = new LinkedHashSet<>();
+        addWords(tokens, query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        List<Entry> prefixMatches;
+        List<Entry> infixMatches = Collections.emptyList();
+        lock.readLock().lock();
+        try {
+            // every typed word has to be the prefix of some word of the form
+            Set<Entry> candidates = null;
+            for (String token : tokens) {
+                TrieNode node = root;
+                for (int i = 0; i < token.length() && node != null; i++) {
+                    node = node.children.get(token.charAt(i));
+                }
+                if (node == null) {
+                    candidates = Collections.emptySet();
+                    break;
+                }
+                if (candidates == null) {
+                    candidates = new HashSet<>(node.entries);
+                } else {
+                    candidates.retainAll(node.entries);
+                }
+            }
+            prefixMatches = new ArrayList<>(candidates);
+            String token = tokens.iterator().next();
+            if (tokens.size() == 1 && token.length() >= GRAM_LENGTH) {
+                infixMatches = findInfixMatches(token);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        prefixMatches.sort(Comparator.comparing((Entry entry) -> !entry.normalizedTitle.startsWith(query))
+            .thenComparing(entry -> entry.normalizedTitle));
+        infixMatches.sort(Comparator.comparing(entry -> entry.normalizedTitle));
+
+        Set<Entry> suggestions = new LinkedHashSet<>();
+        collect(prefixMatches, suggestions, limit, filter);
+        collect(infixMatches, suggestions, limit, filter);
+        return new ArrayList<>(suggestions);
+    }
+
+    private List<Entry> findInfixMatches(String query) {
+        Set<Entry> candidates = null;
+        for (String gram : grams(query)) {
+            Set<Entry> posting = grams.get(gram);
+            if (posting == null) {
+                return new ArrayList<>();
+            }
+            if (candidates == null) {
+                candidates = new HashSet<>(posting);
+            } else {
+                candidates.retainAll(posting);
+            }
+            if (candidates.isEmpty()) {
+                return new ArrayList<>();
+            }
+        }
+        List<Entry> matches = new ArrayList<>();
+        if (candidates != null) {
+            for (Entry candidate : candidates) {
+                // the grams are only a necessary condition, verify the actual match
+                for (String word : candidate.words) {
+                    if (word.contains(query)) {
+                        matches.add(candidate);
+                        break;
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static void collect(List<Entry> matches, Set<Entry> suggestions, int limit, Predicate<Entry> filter) {
+        for (Entry entry : matches) {
+            if (suggestions.size() >= limit) {
+                return;
+            }
+            if (!suggestions.contains(entry) && filter.test(entry)) {
+                suggestions.add(entry);
+            }
+        }
+    }
+
+    private void removeEntry(@Nullable Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        for (String word : entry.words) {
+            removeFromTrie(root, word, 0, entry);
+            for (String gram : grams(word)) {
+                Set<Entry> posting = grams.get(gram);
+                if (posting != null) {
+                    posting.remove(entry);
+                    if (posting.isEmpty()) {
+                        grams.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void removeFromTrie(TrieNode node, String word, int index, Entry entry) {
+        if (index == word.length()) {
+            return;
+        }
+        char c = word.charAt(index);
+        TrieNode child = node.children.get(c);
+        if (child == null) {
+            return;
+        }
+        child.entries.remove(entry);
+        removeFromTrie(child, word, index + 1, entry);
+        if (child.entries.isEmpty()) {
+            // no form has a word with this prefix anymore
+            node.children.remove(c);
+        }
+    }
+
+    private static List<String> grams(String word) {
+        if (word.length() < GRAM_LENGTH) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>(word.length() - GRAM_LENGTH + 1);
+        for (int i = 0; i + GRAM_LENGTH <= word.length(); i++) {
+            result.add(word.substring(i, i + GRAM_LENGTH));
+        }
+        return result;
+    }
+
+    private static void addWords(Set<String> words, @Nullable String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean letterOrDigit = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                words.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+    }
+
+    private static String normalize(@Nullable String text) {
+        return text == null ? "" : StringUtils.stripAccents(text).toLowerCase(Locale.ROOT).trim();
+    }
+}
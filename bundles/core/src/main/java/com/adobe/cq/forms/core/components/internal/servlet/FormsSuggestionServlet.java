@@ -0,0 +1,97 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.servlet;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import javax.servlet.Servlet;
+import javax.servlet.ServletException;
+
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.SlingHttpServletResponse;
+import org.apache.sling.api.servlets.HttpConstants;
+import org.apache.sling.api.servlets.ServletResolverConstants;
+import org.apache.sling.api.servlets.SlingSafeMethodsServlet;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+import com.adobe.cq.forms.core.components.internal.models.v1.formsportal.SearchAndListerImpl;
+import com.adobe.cq.forms.core.components.internal.services.formsportal.FormsTypeaheadService;
+import com.adobe.cq.forms.core.components.internal.services.formsportal.TypeaheadIndex;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Serves search-as-you-type suggestions for the search and lister component from the in-memory typeahead index,
+ * without querying the repository. Only forms visible to the requesting user are suggested.
+ */
+@Component(
+    service = { Servlet.class },
+    property = {
+        ServletResolverConstants.SLING_SERVLET_RESOURCE_TYPES + "=" + SearchAndListerImpl.RESOURCE_TYPE,
+        ServletResolverConstants.SLING_SERVLET_METHODS + "=" + HttpConstants.METHOD_GET,
+        ServletResolverConstants.SLING_SERVLET_SELECTORS + "=" + FormsSuggestionServlet.SUGGESTION_SELECTOR,
+        ServletResolverConstants.SLING_SERVLET_EXTENSIONS + "=" + FormsSuggestionServlet.EXTENSION
+    })
+public class FormsSuggestionServlet extends SlingSafeMethodsServlet {
+
+    static final String SUGGESTION_SELECTOR = "fp";
+    static final String EXTENSION = "suggestions";
+    static final String QUERY_PARAM = "q";
+    static final String LIMIT_PARAM = "limit";
+    static final int DEFAULT_LIMIT = 10;
+    static final int MAX_LIMIT = 50;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Reference
+    private transient FormsTypeaheadService typeaheadService;
+
+    @Override
+    protected void doGet(SlingHttpServletRequest request, SlingHttpServletResponse response) throws ServletException, IOException {
+        List<TypeaheadIndex.Entry> suggestions = typeaheadService.suggest(request.getParameter(QUERY_PARAM),
+            getLimit(request.getParameter(LIMIT_PARAM)),
+            request.getResourceResolver());
+
+        response.setContentType("application/json");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        // suggestions depend on the permissions of the user
+        response.setHeader("Cache-Control", "private, no-cache");
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(response.getWriter())) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("suggestions");
+            for (TypeaheadIndex.Entry suggestion : suggestions) {
+                generator.writeStartObject();
+                generator.writeStringField("title", suggestion.getTitle());
+                generator.writeStringField("path", suggestion.getPath());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Parses the requested number of suggestions, falling back to the default for missing, malformed or out of range values
+     */
+    static int getLimit(String limitParam) {
+        int limit = NumberUtils.toInt(limitParam, DEFAULT_LIMIT);
+        return limit > 0 ? Math.min(limit, MAX_LIMIT) : DEFAULT_LIMIT;
+    }
+}
@@ -17,6 +17,10 @@ package com.adobe.cq.forms.core.components.internal.servlet;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -24,11 +28,12 @@ import javax.servlet.Servlet;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletResponse;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.sling.api.SlingHttpServletRequest;
 import org.apache.sling.api.SlingHttpServletResponse;
 import org.apache.sling.api.servlets.HttpConstants;
 import org.apache.sling.api.servlets.ServletResolverConstants;
-import org.apache.sling.api.servlets.SlingSafeMethodsServlet;
+import org.apache.sling.api.servlets.SlingAllMethodsServlet;
 import org.apache.sling.models.factory.ModelFactory;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
@@ -39,23 +44,45 @@ import com.adobe.cq.forms.core.components.internal.models.v1.formsportal.DraftsA
 import com.adobe.cq.forms.core.components.models.formsportal.DraftsAndSubmissions;
 import com.adobe.cq.forms.core.components.models.services.formsportal.Operation;
 import com.adobe.cq.forms.core.components.models.services.formsportal.OperationManager;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+/**
+ * Executes drafts and submissions operations.
+ *
+ * A GET request executes the single operation named by the {@value Operation#OPERATION_KEY} parameter. A POST request
+ * executes a batch of operations, given as a JSON array of objects with the {@value Operation#OPERATION_KEY} and
+ * {@value Operation#OPERATION_MODEL_ID} properties. The items are executed one after the other on the request thread, with
+ * the session of the requesting user, and the result of each item is streamed back as a line of newline delimited JSON
+ * as soon as it completes.
+ */
 @Component(
     service = { Servlet.class },
     property = {
         ServletResolverConstants.SLING_SERVLET_RESOURCE_TYPES + "=" + DraftsAndSubmissionsImpl.RESOURCE_TYPE,
         ServletResolverConstants.SLING_SERVLET_METHODS + "=" + HttpConstants.METHOD_GET,
+        ServletResolverConstants.SLING_SERVLET_METHODS + "=" + HttpConstants.METHOD_POST,
         ServletResolverConstants.SLING_SERVLET_SELECTORS + "=" + OperationServlet.OPERATION_SELECTOR,
         ServletResolverConstants.SLING_SERVLET_EXTENSIONS + "=" + OperationServlet.EXTENSTION
     })
-public class OperationServlet extends SlingSafeMethodsServlet {
+public class OperationServlet extends SlingAllMethodsServlet {
 
     static final String OPERATION_SELECTOR = "fp";
     static final String EXTENSTION = "operation";
 
+    /**
+     * Maximum number of operations accepted in a single batch
+     */
+    static final int MAX_BATCH_SIZE = 500;
+
+    private static final String BATCH_CONTENT_TYPE = "application/x-ndjson";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(OperationServlet.class);
 
+    private static final ObjectMapper MAPPER = new ObjectMapper(new JsonFactory().setRootValueSeparator("\n"));
+
     @Reference
     private transient ModelFactory modelFactory;
 
@@ -69,25 +96,118 @@ public class OperationServlet extends SlingSafeMethodsServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding(StandardCharsets.UTF_8.name());
         try {
-            new ObjectMapper().writer().writeValue(response.getOutputStream(), execute(opName, request));
+            Map<String, Object> inputMap = request.getParameterMap()
+                .entrySet()
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            Operation op = getOperation(opName, modelFactory.createModel(request, DraftsAndSubmissions.class));
+            MAPPER.writeValue(response.getOutputStream(), op.execute(inputMap));
         } catch (Exception ex) {
             LOGGER.error("[FP] [Operation] Could not execute operation {}", opName, ex);
             response.sendError(HttpServletResponse.SC_BAD_REQUEST);
         }
     }
 
-    private Operation.OperationResult execute(String opName, SlingHttpServletRequest request) {
-        Map<String, Object> inputMap = request.getParameterMap()
-            .entrySet()
-            .stream()
-            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    @Override
+    protected void doPost(SlingHttpServletRequest request, SlingHttpServletResponse response) throws ServletException, IOException {
+        List<BatchItem> items;
+        try {
+            items = readBatch(request);
+        } catch (IOException | IllegalArgumentException ex) {
+            LOGGER.error("[FP] [Operation] Invalid batch of operations", ex);
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        // the component is the same for every item, resolve and validate against it only once
         DraftsAndSubmissions componentModel = modelFactory.createModel(request, DraftsAndSubmissions.class);
+        Map<String, Operation> operations = new HashMap<>();
+
+        response.setContentType(BATCH_CONTENT_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        // operations act on behalf of the requesting user, so they run on the request thread with its session
+        try (JsonGenerator generator = MAPPER.getFactory().createGenerator(response.getOutputStream())) {
+            for (BatchItem item : items) {
+                Operation op;
+                try {
+                    op = operations.computeIfAbsent(item.operation, name -> getOperation(name, componentModel));
+                } catch (RuntimeException ex) {
+                    LOGGER.error("[FP] [Operation] Could not execute operation {}", item.operation, ex);
+                    writeLine(generator, item.toResult(null, ex.getMessage()));
+                    continue;
+                }
+                writeLine(generator, execute(op, item));
+            }
+        }
+    }
+
+    private Operation getOperation(String opName, DraftsAndSubmissions componentModel) {
         Operation op = operationManager.getOperation(opName);
         if (op == null) {
             throw new UnsupportedOperationException("Could not find operation " + opName);
         } else if (op.getType() != DraftsAndSubmissions.TypeEnum.valueOf(componentModel.getType())) {
             throw new IllegalArgumentException("Illegal operation " + opName + " on component type " + componentModel.getType());
         }
-        return op.execute(inputMap);
+        return op;
+    }
+
+    private static Map<String, Object> execute(Operation op, BatchItem item) {
+        Map<String, Object> inputMap = new HashMap<>();
+        inputMap.put(Operation.OPERATION_KEY, new String[] { item.operation });
+        inputMap.put(Operation.OPERATION_MODEL_ID, new String[] { item.modelId });
+        try {
+            return item.toResult(op.execute(inputMap).getResult(), null);
+        } catch (RuntimeException ex) {
+            LOGGER.error("[FP] [Operation] Could not execute operation {} on {}", item.operation, item.modelId, ex);
+            return item.toResult(null, ex.getMessage());
+        }
+    }
+
+    private static void writeLine(JsonGenerator generator, Map<String, Object> result) throws IOException {
+        generator.writeObject(result);
+        // let the client follow the progress
+        generator.flush();
+    }
+
+    private static List<BatchItem> readBatch(SlingHttpServletRequest request) throws IOException {
+        JsonNode batch = MAPPER.readTree(request.getReader());
+        if (batch == null || !batch.isArray()) {
+            throw new IllegalArgumentException("Expected an array of operations");
+        }
+        if (batch.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " operations are allowed, got " + batch.size());
+        }
+        List<BatchItem> items = new ArrayList<>(batch.size());
+        for (JsonNode node : batch) {
+            String operation = node.path(Operation.OPERATION_KEY).asText(null);
+            String modelId = node.path(Operation.OPERATION_MODEL_ID).asText(null);
+            if (StringUtils.isAnyBlank(operation, modelId)) {
+                throw new IllegalArgumentException("Every item requires " + Operation.OPERATION_KEY + " and "
+                    + Operation.OPERATION_MODEL_ID);
+            }
+            items.add(new BatchItem(operation, modelId));
+        }
+        return items;
+    }
+
+    private static final class BatchItem {
+        private final String operation;
+        private final String modelId;
+
+        private BatchItem(String operation, String modelId) {
+            this.operation = operation;
+            this.modelId = modelId;
+        }
+
+        private Map<String, Object> toResult(Map<String, Object> result, String error) {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put(Operation.OPERATION_KEY, operation);
+            line.put(Operation.OPERATION_MODEL_ID, modelId);
+            if (error != null) {
+                line.put("error", error);
+            } else {
+                line.put("result", result);
+            }
+            return line;
+        }
     }
 }
@@ -0,0 +1,103 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.servlet;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.Servlet;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.SlingHttpServletResponse;
+import org.apache.sling.api.servlets.HttpConstants;
+import org.apache.sling.api.servlets.ServletResolverConstants;
+import org.apache.sling.api.servlets.SlingSafeMethodsServlet;
+import org.apache.sling.models.factory.ModelFactory;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.adobe.cq.forms.core.components.internal.models.v1.formsportal.PortalListingCursor;
+import com.adobe.cq.forms.core.components.internal.models.v1.formsportal.SearchAndListerImpl;
+import com.adobe.cq.forms.core.components.models.formsportal.SearchAndLister;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Streams the forms of a search and lister component as newline delimited JSON, one item per line, followed by a line
+ * holding the cursor of the next page. Pages are addressed by opaque keyset cursors instead of offsets.
+ */
+@Component(
+    service = { Servlet.class },
+    property = {
+        ServletResolverConstants.SLING_SERVLET_RESOURCE_TYPES + "=" + SearchAndListerImpl.RESOURCE_TYPE,
+        ServletResolverConstants.SLING_SERVLET_METHODS + "=" + HttpConstants.METHOD_GET,
+        ServletResolverConstants.SLING_SERVLET_SELECTORS + "=" + PortalListingServlet.LISTING_SELECTOR,
+        ServletResolverConstants.SLING_SERVLET_EXTENSIONS + "=" + PortalListingServlet.EXTENSION
+    })
+public class PortalListingServlet extends SlingSafeMethodsServlet {
+
+    static final String LISTING_SELECTOR = "fp";
+    static final String EXTENSION = "ndjson";
+    static final String CURSOR_PARAM = "cursor";
+    static final String CONTENT_TYPE = "application/x-ndjson";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PortalListingServlet.class);
+
+    // every root level value goes on its own line
+    private static final ObjectMapper MAPPER = new ObjectMapper(new JsonFactory().setRootValueSeparator("\n"))
+        .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+
+    @Reference
+    private transient ModelFactory modelFactory;
+
+    @Override
+    protected void doGet(SlingHttpServletRequest request, SlingHttpServletResponse response) throws ServletException, IOException {
+        String token = request.getParameter(CURSOR_PARAM);
+        PortalListingCursor cursor = PortalListingCursor.decode(token);
+        if (cursor == null && StringUtils.isNotBlank(token)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        SearchAndLister model = modelFactory.createModel(request, SearchAndLister.class);
+        if (!(model instanceof SearchAndListerImpl)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        response.setContentType(CONTENT_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        try (JsonGenerator generator = MAPPER.getFactory().createGenerator(response.getWriter())) {
+            PortalListingCursor next = ((SearchAndListerImpl) model).writeItems(cursor, item -> {
+                generator.writeObject(item);
+                // hand every item to the container right away instead of buffering the page
+                generator.flush();
+            });
+            generator.writeStartObject();
+            generator.writeStringField(CURSOR_PARAM, next != null ? next.encode() : null);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException ex) {
+            LOGGER.error("[FP] Could not stream portal listing for {}", request.getResource().getPath(), ex);
+            throw ex;
+        }
+    }
+}
@@ -19,6 +19,9 @@ package com.adobe.cq.forms.core.components.internal.models.v1.formsportal.drafts
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.resource.ValueMap;
@@ -176,6 +179,29 @@ public class DraftsAndSubmissionsImplTest {
         Assert.assertEquals(2, component.getElements().size());
     }
 
+    @Test
+    public void testFormMetadataResolvedOncePerForm() throws FormsPortalException {
+        Mockito.when(draftModel.getLastModifiedTime()).thenReturn(new Calendar.Builder().setInstant(12345678)
+            .build());
+        Mockito.when(draftModel.getFormPath()).thenReturn(SAMPLE_FORM);
+        Resource afDamRes = context.resourceResolver().getResource(SAMPLE_FORM);
+        AdaptiveFormAsset mockAsset = getMockAFAssetOf(afDamRes);
+        AtomicInteger adaptations = new AtomicInteger();
+        context.registerAdapter(Resource.class, AdaptiveFormAsset.class, (Function<Resource, AdaptiveFormAsset>) resource -> {
+            adaptations.incrementAndGet();
+            return mockAsset;
+        });
+        // eight drafts of the same form fill the page
+        Mockito.when(draftService.getAllDraft(Mockito.any())).thenReturn(Collections.nCopies(8, draftModel));
+
+        DraftsAndSubmissions component = getInstanceUnderTest(DRAFT_COMPONENT_PATH);
+        Map<String, Object> elements = component.getElements();
+        Assertions.assertEquals(8, ((List<?>) elements.get("data")).size());
+        Assertions.assertEquals(1, adaptations.get());
+        // a full page offers the next one
+        Assertions.assertEquals(8, ((Map<?, ?>) elements.get("pagination")).get("nextOffset"));
+    }
+
     private DraftsAndSubmissions getInstanceUnderTest(String resourcePath) {
         MockSlingHttpServletRequest mockRequest = context.request();
         mockRequest.setResource(context.currentResource(resourcePath));
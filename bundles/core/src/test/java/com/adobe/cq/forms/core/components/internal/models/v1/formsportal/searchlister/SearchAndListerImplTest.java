@@ -17,11 +17,20 @@
 package com.adobe.cq.forms.core.components.internal.models.v1.formsportal.searchlister;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.jcr.Node;
+import javax.jcr.Session;
+
+import org.apache.commons.lang3.StringUtils;
 import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.testing.mock.jcr.MockJcr;
+import org.apache.sling.testing.mock.jcr.MockQueryResult;
 import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletRequest;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -34,6 +43,10 @@ import com.adobe.aem.formsndocuments.assets.models.FDAsset;
 import com.adobe.aem.formsndocuments.assets.models.FMSearchCriteria;
 import com.adobe.aem.formsndocuments.assets.service.FMAssetSearch;
 import com.adobe.cq.forms.core.Utils;
+import com.adobe.cq.forms.core.components.internal.models.v1.formsportal.PortalListingCursor;
+import com.adobe.cq.forms.core.components.internal.models.v1.formsportal.SearchAndListerImpl;
+import com.adobe.cq.forms.core.components.internal.services.formsportal.PortalSearchResultCache;
+import com.adobe.cq.forms.core.components.models.formsportal.PortalLister;
 import com.adobe.cq.forms.core.components.models.formsportal.SearchAndLister;
 import com.adobe.cq.forms.core.context.FormsCoreComponentTestContext;
 import io.wcm.testing.mock.aem.junit5.AemContext;
@@ -148,6 +161,90 @@ public class SearchAndListerImplTest {
         Utils.testJSONExport(component, TEST_BASE + "/searchlister-v1-withResults.json");
     }
 
+    @Test
+    public void testCachedSearchResults() {
+        PortalSearchResultCache resultCache = Mockito.spy(new PortalSearchResultCache());
+        Mockito.doReturn("principals").when(resultCache).getPrincipalsKey(Mockito.any());
+        context.registerService(PortalSearchResultCache.class, resultCache);
+
+        Map<String, Object> requestParams = new HashMap<>();
+        requestParams.put("searchText", "Search Text");
+        context.request().setParameterMap(requestParams);
+
+        getInstanceUnderTest(CONFIGURED_COMPONENT_V1_PATH).getElements();
+        getInstanceUnderTest(CONFIGURED_COMPONENT_V1_PATH).getElements();
+        Mockito.verify(searchAPI, Mockito.times(1)).searchForms(Mockito.any(), Mockito.any());
+
+        // a different query is not served from the cache
+        requestParams.put("searchText", "Other Text");
+        context.request().setParameterMap(requestParams);
+        getInstanceUnderTest(CONFIGURED_COMPONENT_V1_PATH).getElements();
+        Mockito.verify(searchAPI, Mockito.times(2)).searchForms(Mockito.any(), Mockito.any());
+
+        // asset changes drop the cached results
+        resultCache.onChange(Collections.singletonList(new ResourceChange(ResourceChange.ChangeType.CHANGED, SAMPLE_FORM, false)));
+        getInstanceUnderTest(CONFIGURED_COMPONENT_V1_PATH).getElements();
+        Mockito.verify(searchAPI, Mockito.times(3)).searchForms(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void testKeysetListing() throws Exception {
+        SearchAndListerImpl component = (SearchAndListerImpl) getInstanceUnderTest(CONFIGURED_COMPONENT_V1_PATH);
+        AdaptiveFormAsset mockAsset = Mockito.mock(AdaptiveFormAsset.class);
+        Mockito.when(mockAsset.getTitle()).thenReturn("Sample Form");
+        Mockito.when(mockAsset.getRenderLink()).thenReturn("/content/dam/formsanddocuments/sample-form/jcr:content?wcmmode=disabled");
+        context.registerAdapter(Resource.class, AdaptiveFormAsset.class, mockAsset);
+
+        Session session = context.resourceResolver().adaptTo(Session.class);
+        Node sampleForm = session.getNode(SAMPLE_FORM);
+        List<String> statements = new ArrayList<>();
+        MockJcr.addQueryResultHandler(session, query -> {
+            statements.add(query.getStatement());
+            return new MockQueryResult(Arrays.asList(sampleForm, sampleForm));
+        });
+
+        List<PortalLister.Item> items = new ArrayList<>();
+        PortalListingCursor next = component.writeItems(null, items::add);
+        // limit of the component is 1, the second asset yields the cursor
+        Assertions.assertEquals(1, items.size());
+        Assertions.assertEquals("Sample Form", items.get(0).getTitle());
+        Assertions.assertNotNull(next);
+        Assertions.assertEquals(SAMPLE_FORM, next.getPath());
+        Assertions.assertEquals("SELECT * FROM [dam:Asset] AS s WHERE (ISDESCENDANTNODE(s, '/content/dam/projects') OR "
+            + "ISDESCENDANTNODE(s, '/content/dam/formsanddocuments')) AND s.[jcr:content/type] = 'guide' ORDER BY s.[jcr:created] ASC, s.[jcr:path] ASC",
+            statements.get(0));
+
+        // resuming seeks behind the cursor
+        PortalListingCursor decoded = PortalListingCursor.decode(next.encode());
+        items.clear();
+        component.writeItems(decoded, items::add);
+        Assertions.assertTrue(statements.get(1).contains("s.[jcr:path] > '" + SAMPLE_FORM + "'"));
+
+        // full-text syntax of the user is not passed to the query
+        context.request().setQueryString("searchText=%22tax+-form+OR");
+        component.writeItems(null, items::add);
+        Assertions.assertTrue(statements.get(2).contains("CONTAINS(s.*, 'tax form or')"));
+        context.request().setQueryString("searchText=It%27s%5C&searchText=%22-");
+        component.writeItems(null, items::add);
+        Assertions.assertTrue(statements.get(3).contains("CONTAINS(s.*, 'it s')"));
+        Assertions.assertEquals(1, StringUtils.countMatches(statements.get(3), "CONTAINS"));
+    }
+
+    @Test
+    public void testListingCursor() {
+        PortalListingCursor cursor = new PortalListingCursor("It's a title", "/content/dam/formsanddocuments/a");
+        PortalListingCursor decoded = PortalListingCursor.decode(cursor.encode());
+        Assertions.assertEquals("It's a title", decoded.getSortKey());
+        Assertions.assertEquals("/content/dam/formsanddocuments/a", decoded.getPath());
+
+        decoded = PortalListingCursor.decode(new PortalListingCursor(null, "/a").encode());
+        Assertions.assertNull(decoded.getSortKey());
+        Assertions.assertEquals("/a", decoded.getPath());
+
+        Assertions.assertNull(PortalListingCursor.decode(null));
+        Assertions.assertNull(PortalListingCursor.decode("not a cursor"));
+    }
+
     @Test
     public void testMainInterface() {
         SearchAndLister component = Mockito.mock(SearchAndLister.class);
@@ -15,12 +15,14 @@
  ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
 package com.adobe.cq.forms.core.components.internal.models.v2.aemform;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
+import org.apache.sling.api.resource.observation.ResourceChange;
 import org.apache.sling.i18n.ResourceBundleProvider;
 import org.apache.sling.testing.mock.sling.MockResourceBundle;
 import org.apache.sling.testing.mock.sling.MockResourceBundleProvider;
@@ -32,6 +34,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 
 import com.adobe.aemds.guide.service.GuideLocalizationService;
+import com.adobe.cq.forms.core.components.internal.services.aemform.EmbeddedFormMetadataCache;
 import com.adobe.cq.forms.core.components.models.aemform.AEMForm;
 import com.adobe.cq.forms.core.context.FormsCoreComponentTestContext;
 import com.adobe.cq.wcm.core.components.models.HtmlPageItem;
@@ -130,6 +133,34 @@ public class AEMFormImplTest {
 
     }
 
+    @Test
+    void testCachedMetadata() throws Exception {
+        EmbeddedFormMetadataCache metadataCache = context.registerInjectActivateService(new EmbeddedFormMetadataCache());
+        AEMForm aemform = getAEMFormUnderTest(PATH_FORM_2);
+        List<HtmlPageItem> htmlPageItems = aemform.getHtmlPageItems();
+        assertEquals(AEMForm.FormType.ADAPTIVE_FORM, aemform.getFormType());
+        assertEquals("2.1", aemform.getFormVersion());
+
+        EmbeddedFormMetadataCache.FormMetadata metadata = metadataCache.getForm("/content/dam/formsanddocuments/test",
+            EmbeddedFormMetadataCache.getLastModified(context.resourceResolver().getResource("/content/forms/af/test")));
+        Assertions.assertNotNull(metadata);
+        assertEquals(AEMForm.FormType.ADAPTIVE_FORM, metadata.getFormType());
+        assertEquals("2.1", metadata.getFormVersion());
+        assertEquals(htmlPageItems, metadata.getHtmlPageItems());
+
+        // a second embed of the same form reuses the page items
+        List<HtmlPageItem> cachedItems = getAEMFormUnderTest(PATH_FORM_2).getHtmlPageItems();
+        Assertions.assertSame(htmlPageItems.get(0), cachedItems.get(0));
+        cachedItems.forEach(this::validatePageItem);
+
+        // changes to the form page invalidate the metadata of the asset
+        metadataCache.onChange(Collections.singletonList(new ResourceChange(ResourceChange.ChangeType.CHANGED,
+            "/content/forms/af/test/jcr:content/guideContainer", false)));
+        Assertions.assertNull(metadataCache.getForm("/content/dam/formsanddocuments/test", EmbeddedFormMetadataCache
+            .getLastModified(context.resourceResolver().getResource("/content/forms/af/test"))));
+        Assertions.assertNotSame(htmlPageItems.get(0), getAEMFormUnderTest(PATH_FORM_2).getHtmlPageItems().get(0));
+    }
+
     @Test
     void testGetFormVersion() throws Exception {
         AEMForm aemform = getAEMFormUnderTest(PATH_FORM_2);
@@ -0,0 +1,132 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.services.formsportal;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.apache.sling.api.resource.LoginException;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.ResourceResolverFactory;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.osgi.framework.Constants;
+
+import com.adobe.cq.forms.core.context.FormsCoreComponentTestContext;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+import io.wcm.testing.mock.aem.junit5.AemContextExtension;
+
+@ExtendWith(AemContextExtension.class)
+public class FormsTypeaheadServiceTest {
+
+    private static final String CONTACT = FormsTypeaheadService.ASSET_ROOT + "/contact";
+    private static final String LOAN = FormsTypeaheadService.ASSET_ROOT + "/loan";
+
+    private final AemContext context = FormsCoreComponentTestContext.newAemContext();
+
+    private ResourceResolver serviceResolver;
+
+    private ResourceResolverFactory resourceResolverFactory;
+
+    private FormsTypeaheadService service;
+
+    @BeforeEach
+    void setUp() throws LoginException {
+        createAsset(CONTACT, "Contact Us");
+        serviceResolver = Mockito.mock(ResourceResolver.class);
+        Mockito.when(serviceResolver.getResource(Mockito.anyString()))
+            .thenAnswer(invocation -> context.resourceResolver().getResource((String) invocation.getArgument(0)));
+        Mockito.when(serviceResolver.findResources(Mockito.anyString(), Mockito.anyString()))
+            .thenAnswer(invocation -> Collections.singletonList(context.resourceResolver().getResource(CONTACT)).iterator());
+        resourceResolverFactory = Mockito.mock(ResourceResolverFactory.class);
+        Mockito.when(resourceResolverFactory.getServiceResourceResolver(Mockito.any())).thenReturn(serviceResolver);
+        context.registerService(ResourceResolverFactory.class, resourceResolverFactory, Constants.SERVICE_RANKING, Integer.MAX_VALUE);
+        service = context.registerInjectActivateService(new FormsTypeaheadService());
+    }
+
+    @Test
+    void testSuggest() {
+        Assertions.assertEquals(Collections.singletonList("Contact Us"), suggest("con"));
+        Assertions.assertTrue(suggest(" ").isEmpty());
+        // the index is warmed once
+        suggest("us");
+        Mockito.verify(serviceResolver, Mockito.times(1)).findResources(Mockito.anyString(), Mockito.anyString());
+    }
+
+    @Test
+    void testChanges() {
+        Assertions.assertEquals(Collections.singletonList("Contact Us"), suggest("con"));
+        createAsset(LOAN, "Loan Contract");
+        service.onChange(Collections.singletonList(new ResourceChange(ResourceChange.ChangeType.ADDED, LOAN, false)));
+        Assertions.assertEquals(Arrays.asList("Contact Us", "Loan Contract"), suggest("con"));
+
+        service.onChange(Collections.singletonList(new ResourceChange(ResourceChange.ChangeType.REMOVED, CONTACT, false)));
+        Assertions.assertEquals(Collections.singletonList("Loan Contract"), suggest("con"));
+    }
+
+    @Test
+    void testChangesDuringWarmUpAreApplied() {
+        createAsset(LOAN, "Loan Contract");
+        Mockito.when(serviceResolver.findResources(Mockito.anyString(), Mockito.anyString())).thenAnswer(invocation -> {
+            // reported while the query runs, but not part of its result
+            service.onChange(Collections.singletonList(new ResourceChange(ResourceChange.ChangeType.ADDED, LOAN, false)));
+            return Collections.singletonList(context.resourceResolver().getResource(CONTACT)).iterator();
+        });
+        Assertions.assertEquals(Arrays.asList("Contact Us", "Loan Contract"), suggest("con"));
+    }
+
+    @Test
+    void testChangesBeforeWarmUpAreIgnored() {
+        service.onChange(Collections.singletonList(new ResourceChange(ResourceChange.ChangeType.REMOVED, CONTACT, false)));
+        Mockito.verifyNoInteractions(resourceResolverFactory);
+        // the warm up query picks up the current state
+        Assertions.assertEquals(Collections.singletonList("Contact Us"), suggest("con"));
+    }
+
+    @Test
+    void testFailedWarmUpIsRetried() throws Exception {
+        Mockito.when(resourceResolverFactory.getServiceResourceResolver(Mockito.any()))
+            .thenThrow(new LoginException("no service user"))
+            .thenReturn(serviceResolver);
+        Assertions.assertTrue(suggest("con").isEmpty());
+        // not on every keystroke
+        Assertions.assertTrue(suggest("cont").isEmpty());
+        Mockito.verify(resourceResolverFactory, Mockito.times(1)).getServiceResourceResolver(Mockito.any());
+
+        // but after the retry interval
+        FieldUtils.writeField(service, "nextWarmUp", 0L, true);
+        Assertions.assertEquals(Collections.singletonList("Contact Us"), suggest("con"));
+    }
+
+    private List<String> suggest(String text) {
+        return service.suggest(text, 10, context.resourceResolver()).stream()
+            .map(TypeaheadIndex.Entry::getTitle)
+            .collect(Collectors.toList());
+    }
+
+    private void createAsset(String path, String title) {
+        context.create().resource(path, "jcr:primaryType", "dam:Asset");
+        context.create().resource(path + "/jcr:content", "jcr:primaryType", "nt:unstructured");
+        context.create().resource(path + "/jcr:content/metadata", "jcr:primaryType", "nt:unstructured", "title", title);
+    }
+}
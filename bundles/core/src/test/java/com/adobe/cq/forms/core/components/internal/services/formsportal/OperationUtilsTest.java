@@ -0,0 +1,53 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.services.formsportal;
+
+import java.net.URISyntaxException;
+
+import org.apache.http.client.utils.URIBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.adobe.cq.forms.core.components.models.services.formsportal.Operation;
+
+class OperationUtilsTest {
+
+    private static final String REQUEST_URI = "/content/forms/portal/jcr:content/root/draftsandsubmissions.model.json";
+
+    @Test
+    void testActionURL() {
+        Assertions.assertEquals("/content/forms/portal/jcr:content/root/draftsandsubmissions.fp.operation"
+            + "?operation=discardDraft&operation_model_id=abc123", OperationUtils.generateActionURL("abc123", "discardDraft",
+                REQUEST_URI));
+        // served from the cached template
+        Assertions.assertEquals("/content/forms/portal/jcr:content/root/draftsandsubmissions.fp.operation"
+            + "?operation=discardDraft&operation_model_id=DEF-456_7.8", OperationUtils.generateActionURL("DEF-456_7.8",
+                "discardDraft", REQUEST_URI));
+    }
+
+    @Test
+    void testTemplateMatchesFullBuild() throws URISyntaxException {
+        OperationUtils.ActionURLTemplate template = new OperationUtils.ActionURLTemplate("openDraft", REQUEST_URI);
+        for (String modelID : new String[] { "abc123", "a b&c=d", "id/with/slashes", "\u00fcml\u00e4ut", "" }) {
+            String expected = new URIBuilder("/content/forms/portal/jcr:content/root/draftsandsubmissions.fp.operation")
+                .setParameter(Operation.OPERATION_KEY, "openDraft")
+                .setParameter(Operation.OPERATION_MODEL_ID, modelID)
+                .build()
+                .toString();
+            Assertions.assertEquals(expected, template.stamp(modelID));
+        }
+    }
+}
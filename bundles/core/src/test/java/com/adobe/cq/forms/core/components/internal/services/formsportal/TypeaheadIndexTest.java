@@ -0,0 +1,99 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.services.formsportal;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TypeaheadIndexTest {
+
+    private static final String ROOT = "/content/dam/formsanddocuments";
+
+    private TypeaheadIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TypeaheadIndex();
+        index.index(ROOT + "/contact", "Contact Us", "Reach out to our support team", null);
+        index.index(ROOT + "/loan/application", "Loan Application", "Apply for a personal loan",
+            Collections.singletonList("forms:finance/loans"));
+        index.index(ROOT + "/loan/contract", "Rental Contract", "R\u00e9sum\u00e9 of the rental terms", null);
+    }
+
+    @Test
+    void testTitlePrefixRanksFirst() {
+        Assertions.assertEquals(Arrays.asList("Contact Us", "Rental Contract"), titles(index.suggest("con", 10, entry -> true)));
+    }
+
+    @Test
+    void testPrefixOfAnyWord() {
+        Assertions.assertEquals(Collections.singletonList("Loan Application"), titles(index.suggest("pers", 10, entry -> true)));
+        // tags are indexed by their last segment
+        Assertions.assertEquals(Collections.singletonList("Loan Application"), titles(index.suggest("loans", 10, entry -> true)));
+        // accents and case are ignored
+        Assertions.assertEquals(Collections.singletonList("Rental Contract"), titles(index.suggest("RESUME", 10, entry -> true)));
+    }
+
+    @Test
+    void testMultipleWords() {
+        Assertions.assertEquals(Collections.singletonList("Loan Application"), titles(index.suggest("loan app", 10, entry -> true)));
+        Assertions.assertTrue(index.suggest("loan contact", 10, entry -> true).isEmpty());
+    }
+
+    @Test
+    void testInfixMatch() {
+        Assertions.assertEquals(Collections.singletonList("Loan Application"), titles(index.suggest("plica", 10, entry -> true)));
+    }
+
+    @Test
+    void testFilterAndLimit() {
+        Assertions.assertEquals(Collections.singletonList("Rental Contract"),
+            titles(index.suggest("con", 10, entry -> !entry.getPath().endsWith("/contact"))));
+        Assertions.assertEquals(1, index.suggest("con", 1, entry -> true).size());
+        Assertions.assertTrue(index.suggest(" ", 10, entry -> true).isEmpty());
+    }
+
+    @Test
+    void testUpdateAndRemove() {
+        index.index(ROOT + "/contact", "Feedback", null, null);
+        Assertions.assertEquals(Collections.singletonList("Rental Contract"), titles(index.suggest("con", 10, entry -> true)));
+        Assertions.assertEquals(Collections.singletonList("Feedback"), titles(index.suggest("feed", 10, entry -> true)));
+        Assertions.assertEquals(3, index.size());
+
+        // removing a folder removes everything below it
+        index.remove(ROOT + "/loan");
+        Assertions.assertEquals(1, index.size());
+        Assertions.assertTrue(index.suggest("loan", 10, entry -> true).isEmpty());
+        Assertions.assertTrue(index.suggest("plica", 10, entry -> true).isEmpty());
+    }
+
+    @Test
+    void testAssetPath() {
+        Assertions.assertEquals(ROOT + "/contact", FormsTypeaheadService.getAssetPath(ROOT + "/contact/jcr:content/metadata"));
+        Assertions.assertEquals(ROOT + "/contact", FormsTypeaheadService.getAssetPath(ROOT + "/contact/jcr:content"));
+        Assertions.assertEquals(ROOT + "/contact", FormsTypeaheadService.getAssetPath(ROOT + "/contact"));
+    }
+
+    private static List<String> titles(List<TypeaheadIndex.Entry> entries) {
+        return entries.stream().map(TypeaheadIndex.Entry::getTitle).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,94 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.servlet;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import javax.servlet.ServletException;
+
+import org.apache.http.HttpStatus;
+import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletRequest;
+import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.adobe.cq.forms.core.components.internal.services.formsportal.FormsTypeaheadService;
+import com.adobe.cq.forms.core.components.internal.services.formsportal.TypeaheadIndex;
+import com.adobe.cq.forms.core.context.FormsCoreComponentTestContext;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+
+class FormsSuggestionServletTest {
+
+    public final AemContext context = FormsCoreComponentTestContext.newAemContext();
+
+    private FormsTypeaheadService typeaheadService;
+
+    private FormsSuggestionServlet servlet;
+
+    @BeforeEach
+    void setUp() {
+        TypeaheadIndex index = new TypeaheadIndex();
+        index.index("/content/dam/formsanddocuments/contact", "Contact Us", null, null);
+        typeaheadService = Mockito.mock(FormsTypeaheadService.class);
+        Mockito.when(typeaheadService.suggest(Mockito.anyString(), Mockito.anyInt(), Mockito.any()))
+            .thenAnswer(invocation -> index.suggest(invocation.getArgument(0), invocation.getArgument(1), entry -> true));
+        context.registerService(FormsTypeaheadService.class, typeaheadService);
+        servlet = context.registerInjectActivateService(new FormsSuggestionServlet());
+    }
+
+    @Test
+    void testSuggestions() throws ServletException, IOException {
+        MockSlingHttpServletRequest request = context.request();
+        request.setQueryString("q=con");
+        MockSlingHttpServletResponse response = context.response();
+        servlet.doGet(request, response);
+        Assertions.assertEquals(HttpStatus.SC_OK, response.getStatus());
+        Assertions.assertEquals("{\"suggestions\":[{\"title\":\"Contact Us\",\"path\":\"/content/dam/formsanddocuments/contact\"}]}",
+            response.getOutputAsString());
+        Mockito.verify(typeaheadService).suggest("con", FormsSuggestionServlet.DEFAULT_LIMIT, request.getResourceResolver());
+    }
+
+    @Test
+    void testInvalidLimit() throws ServletException, IOException {
+        MockSlingHttpServletRequest request = context.request();
+        request.setQueryString("q=con&limit=99999999999");
+        MockSlingHttpServletResponse response = context.response();
+        servlet.doGet(request, response);
+        Assertions.assertEquals(HttpStatus.SC_OK, response.getStatus());
+        Mockito.verify(typeaheadService).suggest("con", FormsSuggestionServlet.DEFAULT_LIMIT, request.getResourceResolver());
+    }
+
+    @Test
+    void testGetLimit() {
+        Assertions.assertEquals(5, FormsSuggestionServlet.getLimit("5"));
+        Assertions.assertEquals(FormsSuggestionServlet.MAX_LIMIT, FormsSuggestionServlet.getLimit("500"));
+        Assertions.assertEquals(FormsSuggestionServlet.DEFAULT_LIMIT, FormsSuggestionServlet.getLimit(null));
+        Assertions.assertEquals(FormsSuggestionServlet.DEFAULT_LIMIT, FormsSuggestionServlet.getLimit("ten"));
+        Assertions.assertEquals(FormsSuggestionServlet.DEFAULT_LIMIT, FormsSuggestionServlet.getLimit("0"));
+        Assertions.assertEquals(FormsSuggestionServlet.DEFAULT_LIMIT, FormsSuggestionServlet.getLimit("-3"));
+    }
+
+    @Test
+    void testNoSuggestions() throws ServletException, IOException {
+        Mockito.when(typeaheadService.suggest(Mockito.any(), Mockito.anyInt(), Mockito.any())).thenReturn(Collections.emptyList());
+        MockSlingHttpServletResponse response = context.response();
+        servlet.doGet(context.request(), response);
+        Assertions.assertEquals("{\"suggestions\":[]}", response.getOutputAsString());
+    }
+}
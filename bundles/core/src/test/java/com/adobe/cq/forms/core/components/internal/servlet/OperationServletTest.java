@@ -18,9 +18,12 @@ package com.adobe.cq.forms.core.components.internal.servlet;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 
 import javax.json.Json;
+import javax.json.JsonObject;
 import javax.json.JsonReader;
 import javax.servlet.ServletException;
 
@@ -130,6 +133,49 @@ class OperationServletTest {
         Assertions.assertEquals(HttpStatus.SC_BAD_REQUEST, response.getStatus());
     }
 
+    @Test
+    void testBatch() throws ServletException, IOException {
+        MockSlingHttpServletResponse response = context.response();
+        MockSlingHttpServletRequest request = context.request();
+        request.setMethod("POST");
+        request.setContent(("[{\"operation\":\"openDraft\",\"operation_model_id\":\"abc123\"},"
+            + "{\"operation\":\"openDraft\",\"operation_model_id\":\"unknown\"},"
+            + "{\"operation\":\"openDraftNonExistant\",\"operation_model_id\":\"abc123\"}]").getBytes(StandardCharsets.UTF_8));
+        servlet.doPost(request, response);
+        Assertions.assertEquals(HttpStatus.SC_OK, response.getStatus());
+        Assertions.assertEquals("application/x-ndjson", response.getContentType().split(";")[0]);
+
+        // results are streamed in the order of the batch
+        String[] lines = response.getOutputAsString().split("\n");
+        Assertions.assertEquals(3, lines.length);
+        JsonObject opened = Json.createReader(new StringReader(lines[0])).readObject();
+        Assertions.assertEquals("abc123", opened.getString("operation_model_id"));
+        Assertions.assertEquals("success", opened.getJsonObject("result").getString("status"));
+        Assertions.assertEquals("/content/forms/af/fakepath.html?dataRef=service://FP/draft/abc123",
+            opened.getJsonObject("result").getString("formLink"));
+        JsonObject unknown = Json.createReader(new StringReader(lines[1])).readObject();
+        Assertions.assertEquals("unknown", unknown.getString("operation_model_id"));
+        Assertions.assertTrue(unknown.containsKey("error"));
+        JsonObject nonExistant = Json.createReader(new StringReader(lines[2])).readObject();
+        Assertions.assertEquals("openDraftNonExistant", nonExistant.getString("operation"));
+        Assertions.assertTrue(nonExistant.containsKey("error"));
+    }
+
+    @Test
+    void testInvalidBatch() throws ServletException, IOException {
+        MockSlingHttpServletResponse response = context.response();
+        MockSlingHttpServletRequest request = context.request();
+        request.setMethod("POST");
+        request.setContent("[{\"operation\":\"openDraft\"}]".getBytes(StandardCharsets.UTF_8));
+        servlet.doPost(request, response);
+        Assertions.assertEquals(HttpStatus.SC_BAD_REQUEST, response.getStatus());
+
+        response = new MockSlingHttpServletResponse();
+        request.setContent("{\"operation\":\"openDraft\"}".getBytes(StandardCharsets.UTF_8));
+        servlet.doPost(request, response);
+        Assertions.assertEquals(HttpStatus.SC_BAD_REQUEST, response.getStatus());
+    }
+
     public class CustomOp extends DiscardDraftOperation {
         @Override
         public String getName() {
@@ -0,0 +1,95 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.internal.servlet;
+
+import java.io.IOException;
+
+import javax.servlet.ServletException;
+
+import org.apache.http.HttpStatus;
+import org.apache.sling.models.factory.ModelFactory;
+import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletRequest;
+import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.adobe.cq.forms.core.components.internal.models.v1.formsportal.PortalListerImpl;
+import com.adobe.cq.forms.core.components.internal.models.v1.formsportal.PortalListingCursor;
+import com.adobe.cq.forms.core.components.internal.models.v1.formsportal.SearchAndListerImpl;
+import com.adobe.cq.forms.core.components.models.formsportal.SearchAndLister;
+import com.adobe.cq.forms.core.context.FormsCoreComponentTestContext;
+import io.wcm.testing.mock.aem.junit5.AemContext;
+
+class PortalListingServletTest {
+
+    public final AemContext context = FormsCoreComponentTestContext.newAemContext();
+
+    private PortalListingServlet servlet;
+
+    private SearchAndListerImpl lister;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ModelFactory modelFactory = Mockito.mock(ModelFactory.class);
+        lister = Mockito.mock(SearchAndListerImpl.class);
+        Mockito.when(modelFactory.createModel(Mockito.any(), Mockito.eq(SearchAndLister.class))).thenReturn(lister);
+        Mockito.when(lister.writeItems(Mockito.any(), Mockito.any())).then(invocation -> {
+            SearchAndListerImpl.ItemWriter writer = invocation.getArgument(1);
+            writer.write(new PortalListerImpl.Item("First", "First form", "Open", "/first.html", null, null));
+            writer.write(new PortalListerImpl.Item("Second", "Second form", "Open", "/second.html", null, null));
+            return invocation.getArgument(0) == null ? new PortalListingCursor(null, "/content/dam/formsanddocuments/second") : null;
+        });
+        servlet = new PortalListingServlet();
+        context.registerService(ModelFactory.class, modelFactory);
+        context.registerInjectActivateService(servlet);
+    }
+
+    @Test
+    void testFirstPage() throws ServletException, IOException {
+        MockSlingHttpServletResponse response = context.response();
+        servlet.doGet(context.request(), response);
+        Assertions.assertEquals(HttpStatus.SC_OK, response.getStatus());
+        Assertions.assertEquals(PortalListingServlet.CONTENT_TYPE, response.getContentType().split(";")[0]);
+
+        String[] lines = response.getOutputAsString().split("\n");
+        Assertions.assertEquals(3, lines.length);
+        Assertions.assertTrue(lines[0].contains("\"title\":\"First\""));
+        Assertions.assertTrue(lines[1].contains("\"title\":\"Second\""));
+        String token = new PortalListingCursor(null, "/content/dam/formsanddocuments/second").encode();
+        Assertions.assertEquals("{\"cursor\":\"" + token + "\"}", lines[2]);
+    }
+
+    @Test
+    void testLastPage() throws ServletException, IOException {
+        MockSlingHttpServletRequest request = context.request();
+        request.setQueryString("cursor=" + new PortalListingCursor("First", "/content/dam/formsanddocuments/first").encode());
+        MockSlingHttpServletResponse response = context.response();
+        servlet.doGet(request, response);
+        Assertions.assertEquals(HttpStatus.SC_OK, response.getStatus());
+        Assertions.assertTrue(response.getOutputAsString().endsWith("{\"cursor\":null}\n"));
+    }
+
+    @Test
+    void testInvalidCursor() throws ServletException, IOException {
+        MockSlingHttpServletRequest request = context.request();
+        request.setQueryString("cursor=not%20a%20cursor");
+        MockSlingHttpServletResponse response = context.response();
+        servlet.doGet(request, response);
+        Assertions.assertEquals(HttpStatus.SC_BAD_REQUEST, response.getStatus());
+    }
+}
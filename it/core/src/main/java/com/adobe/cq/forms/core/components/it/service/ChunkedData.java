@@ -0,0 +1,190 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.it.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable content kept as a list of fixed-size chunks.
+ *
+ * Large payloads never need one contiguous array, neither when they are stored nor when they are read: every
+ * {@link #openStream()} returns a new stream reading the chunks in place.
+ */
+public final class ChunkedData implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    static final int CHUNK_SIZE = 64 * 1024;
+
+    private final byte[][] chunks;
+    private final long size;
+
+    private ChunkedData(byte[][] chunks, long size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    /**
+     * Encodes text chunk by chunk, without an intermediate array of the whole content.
+     *
+     * @param text text to store
+     * @return the chunked UTF-8 bytes of the text
+     */
+    public static ChunkedData of(String text) {
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer in = CharBuffer.wrap(text);
+        List<byte[]> chunks = new ArrayList<>();
+        long size = 0;
+        ByteBuffer out = ByteBuffer.allocate(CHUNK_SIZE);
+        boolean flushing = false;
+        while (true) {
+            CoderResult result = flushing ? encoder.flush(out) : encoder.encode(in, out, true);
+            if (result.isOverflow()) {
+                // a chunk may end a few bytes short if a multi-byte character does not fit anymore
+                size += out.position();
+                chunks.add(out.position() == CHUNK_SIZE ? out.array() : Arrays.copyOf(out.array(), out.position()));
+                out = ByteBuffer.allocate(CHUNK_SIZE);
+            } else if (!flushing) {
+                flushing = true;
+            } else {
+                break;
+            }
+        }
+        if (out.position() > 0) {
+            size += out.position();
+            chunks.add(Arrays.copyOf(out.array(), out.position()));
+        }
+        return new ChunkedData(chunks.toArray(new byte[0][]), size);
+    }
+
+    /**
+     * Reads a stream chunk by chunk.
+     *
+     * @param stream stream to read, not closed
+     * @return the chunked content of the stream
+     * @throws IOException if reading fails
+     */
+    public static ChunkedData of(InputStream stream) throws IOException {
+        return of(stream, Long.MAX_VALUE);
+    }
+
+    /**
+     * Reads a stream chunk by chunk, up to the given number of bytes.
+     *
+     * @param stream stream to read, not closed
+     * @param limit maximum number of bytes to read
+     * @return the chunked content read from the stream, shorter than the limit only if the stream ended
+     * @throws IOException if reading fails
+     */
+    public static ChunkedData of(InputStream stream, long limit) throws IOException {
+        List<byte[]> chunks = new ArrayList<>();
+        long size = 0;
+        while (size < limit) {
+            int length = (int) Math.min(CHUNK_SIZE, limit - size);
+            byte[] chunk = new byte[length];
+            int filled = 0;
+            int read;
+            while (filled < length && (read = stream.read(chunk, filled, length - filled)) > 0) {
+                filled += read;
+            }
+            if (filled > 0) {
+                chunks.add(filled == length ? chunk : Arrays.copyOf(chunk, filled));
+                size += filled;
+            }
+            if (filled < length) {
+                break;
+            }
+        }
+        return new ChunkedData(chunks.toArray(new byte[0][]), size);
+    }
+
+    /**
+     * @return the number of bytes
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return a new stream over the content, reading the chunks in place
+     */
+    public InputStream openStream() {
+        return new ChunkStream();
+    }
+
+    private final class ChunkStream extends InputStream {
+        private int chunk;
+        private int offset;
+
+        @Override
+        public int read() {
+            if (!advance()) {
+                return -1;
+            }
+            return chunks[chunk][offset++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!advance()) {
+                return -1;
+            }
+            int count = Math.min(len, chunks[chunk].length - offset);
+            System.arraycopy(chunks[chunk], offset, b, off, count);
+            offset += count;
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skipped = 0;
+            while (skipped < n && advance()) {
+                int count = (int) Math.min(n - skipped, chunks[chunk].length - offset);
+                offset += count;
+                skipped += count;
+            }
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return advance() ? chunks[chunk].length - offset : 0;
+        }
+
+        private boolean advance() {
+            while (chunk < chunks.length && offset >= chunks[chunk].length) {
+                chunk++;
+                offset = 0;
+            }
+            return chunk < chunks.length;
+        }
+    }
+}
@@ -27,9 +27,8 @@ import com.google.gson.Gson;
 import com.google.common.reflect.TypeToken;
 import java.lang.reflect.Type;
 
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
-import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -42,6 +41,9 @@ public class CustomAFPrefillService implements DataProvider {
     @Reference
     private DataManager dataManager;
 
+    @Reference
+    private SubmissionJournal submissionJournal;
+
     private Logger logger = LoggerFactory.getLogger(CustomAFPrefillService.class);
 
     /* (non-Javadoc)
@@ -71,33 +73,47 @@ public class CustomAFPrefillService implements DataProvider {
         InputStream dataInputStream = null;
         ContentType contentType = dataOptions.getContentType();
         Map<String, Object> extras = dataOptions.getExtras();
-        String data = null;
+        ChunkedData data = null;
         List<FileAttachmentWrapper> fileAttachmentWrappers = null;
         PrefillData prefillData = null;
         Map<String, String> customContext = null;
         if(extras != null && extras.containsKey(DataManager.UNIQUE_ID) && dataManager != null) {
             String dataKey = extras.get(DataManager.UNIQUE_ID).toString();
-            if(dataManager.get(dataKey) != null) {
-                data = (String) dataManager.get(dataKey);
-                fileAttachmentWrappers = (List<FileAttachmentWrapper>) dataManager.get(DataManager.getFileAttachmentMapKey(dataKey));
+            Object storedData = dataManager.get(dataKey);
+            if(storedData != null) {
+                data = storedData instanceof ChunkedData ? (ChunkedData) storedData : ChunkedData.of(storedData.toString());
+                fileAttachmentWrappers = getFileAttachments(dataManager.get(DataManager.getFileAttachmentMapKey(dataKey)));
+            } else if (submissionJournal != null) {
+                // evicted from memory or submitted before a restart, attachments are not journaled
+                data = submissionJournal.read(dataKey);
             }
             customContext = dataManager.getCustomContext(dataKey);
         }
-        if(StringUtils.isNotBlank(data)) {
-            dataInputStream = getDataInputStream(data);
+        if(data != null && data.size() > 0) {
+            // the stream reads the stored chunks in place
+            dataInputStream = data.openStream();
             prefillData = new PrefillData(dataInputStream, contentType, fileAttachmentWrappers, customContext);
         }
         return prefillData;
     }
 
 
-    private InputStream getDataInputStream(String data) {
-        InputStream dataInputStream = null;
-        try {
-            dataInputStream = new ByteArrayInputStream(data.getBytes("UTF-8"));
-        } catch (UnsupportedEncodingException e) {
-            logger.error("[Custom AF Prefill] Exception in custom af prefill service", e);
+    /**
+     * Resolves the attachments of a submission, which are referenced by uuid
+     */
+    private List<FileAttachmentWrapper> getFileAttachments(Object handles) {
+        if (!(handles instanceof List)) {
+            return null;
+        }
+        List<FileAttachmentWrapper> fileAttachmentWrappers = new ArrayList<>();
+        for (Object handle : (List<?>) handles) {
+            Object fileAttachment = handle instanceof String ? dataManager.get((String) handle) : handle;
+            if (fileAttachment instanceof StoredAttachment) {
+                fileAttachmentWrappers.add(((StoredAttachment) fileAttachment).getAttachment());
+            } else {
+                logger.warn("[Custom AF Prefill] Attachment {} is not available anymore", handle);
+            }
         }
-        return dataInputStream;
+        return fileAttachmentWrappers;
     }
-}
\ No newline at end of file
+}
@@ -28,10 +28,15 @@ import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Component(
         service=FormSubmitActionService.class,
@@ -40,10 +45,14 @@ import java.util.UUID;
 public class CustomAFSubmitService implements FormSubmitActionService {
     private static final String serviceName = "Core Custom AF Submit";
     private static Logger logger = LoggerFactory.getLogger(CustomAFSubmitService.class);
+    private static final long JOURNAL_TIMEOUT = 30;
 
     @Reference
     DataManager dataManager;
 
+    @Reference
+    SubmissionJournal submissionJournal;
+
     @Override
     public String getServiceName() {
         return serviceName;
@@ -69,15 +78,29 @@ public class CustomAFSubmitService implements FormSubmitActionService {
                             String originalFileName = StringUtils.substringAfterLast(fileAttachment.getFileName(), "/");
                             String fileUrl = formSubmitInfo.getFormContainerPath() + "." + FileAttachmentServlet.SELECTOR + "/" + fileAttachmentUuid + "/" + originalFileName;
                             fileAttachment.setUri(fileUrl);
-                            dataManager.put(fileAttachmentUuid, fileAttachment); // used by file attachment servlet
+                            // read once, the file attachment servlet serves the stored content
+                            dataManager.putAttachment(fileAttachmentUuid, fileAttachment);
                         }
                     }
                 }
             }
+            if (data != null) {
+                journal(uniqueID, data);
+            }
             if(dataManager != null) {
-                dataManager.put(uniqueID, data);
+                if (data != null) {
+                    // kept as chunks, prefill streams them without copying the whole payload
+                    dataManager.put(uniqueID, ChunkedData.of(data));
+                }
                 if (formSubmitInfo.getFileAttachments() != null && formSubmitInfo.getFileAttachments().size() > 0) {
-                    dataManager.put(DataManager.getFileAttachmentMapKey(uniqueID), formSubmitInfo.getFileAttachments());
+                    // attachments are stored on their own, the submission only refers to them by uuid
+                    List<String> fileAttachmentUuids = new ArrayList<>();
+                    for (FileAttachmentWrapper fileAttachment : formSubmitInfo.getFileAttachments()) {
+                        if (fileAttachment.getUuid() != null) {
+                            fileAttachmentUuids.add(fileAttachment.getUuid());
+                        }
+                    }
+                    dataManager.put(DataManager.getFileAttachmentMapKey(uniqueID), fileAttachmentUuids);
                 }
             }
             logger.info("AF Submission successful using custom submit service for: {}", guideContainerPath);
@@ -99,4 +122,22 @@ public class CustomAFSubmitService implements FormSubmitActionService {
         return result;
     }
 
+    /**
+     * The data manager only keeps recent submissions in memory, the journal keeps them across restarts. Without it the
+     * submission still succeeds, it is just not available for prefill after a restart.
+     */
+    private void journal(String uniqueID, String data) {
+        if (submissionJournal == null || !submissionJournal.isAvailable()) {
+            logger.debug("Submission journal is not available, not journaling submission {}", uniqueID);
+            return;
+        }
+        try {
+            submissionJournal.append(uniqueID, data).get(JOURNAL_TIMEOUT, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while journaling submission {}", uniqueID);
+        } catch (ExecutionException | TimeoutException ex) {
+            logger.warn("Could not journal submission {}, it is only kept in memory", uniqueID, ex);
+        }
+    }
 }
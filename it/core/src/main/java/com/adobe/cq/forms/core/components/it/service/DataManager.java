@@ -18,58 +18,140 @@ package com.adobe.cq.forms.core.components.it.service;
 
 
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.osgi.framework.BundleContext;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
-import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.Deactivate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import com.adobe.forms.common.service.FileAttachmentWrapper;
 
+/**
+ * In-memory store shared by the test services, bounded by the estimated size of its values rather than by their number.
+ *
+ * Keys are spread over independently locked segments, so concurrent submits and prefills rarely wait for each other,
+ * but all segments share a single byte budget: once it is exceeded, the least recently used values of all segments are
+ * evicted, so a large value is only evicted when the whole store is full. Values evicted from memory can optionally be
+ * spilled to the bundle data area (system property {@value #SPILL_PROPERTY}) and are read back from there on the next
+ * access. Large attachments are kept in the bundle data area right away, see {@link #putAttachment}.
+ */
 @Component(
         service=DataManager.class,
         immediate = true
 )
 public class DataManager {
-    private static int MAX_ENTRIES = 10000;
-    private static int INITIAL_CAPACITY = 100;
+    private static final Logger logger = LoggerFactory.getLogger(DataManager.class);
+
+    // 128 MB of estimated value size
+    private static long MAX_BYTES = 128L * 1024 * 1024;
+    private static int SEGMENTS = 16;
+    private static int INITIAL_CAPACITY = 16;
+    // weight of values whose size cannot be estimated
+    private static int DEFAULT_WEIGHT = 1024;
+    static final String SPILL_PROPERTY = "com.adobe.cq.forms.core.components.it.datamanager.spill";
     public final static String UNIQUE_ID = "prefillId";
 
     public static String getFileAttachmentMapKey(String uuid) {
         return uuid + "fileAttachmentMap";
     }
 
-    private Map<Object, Object> cache;
-
-    protected void activate() {
-        cache = Collections.synchronizedMap(new LinkedHashMap<Object, Object>(INITIAL_CAPACITY + 1, 1.0f, true) {
-            /**
-             * Returns <tt>true</tt> if this <code>GuideCache</code> has more entries than the maximum specified when it was
-             * created.
-             *
-             * <p>
-             * This method <em>does not</em> modify the underlying <code>Map</code>; it relies on the implementation of
-             * <code>LinkedHashMap</code> to do that, but that behavior is documented in the JavaDoc for
-             * <code>LinkedHashMap</code>.
-             * </p>
-             *
-             * @param eldest
-             *            the <code>Entry</code> in question; this implementation doesn't care what it is, since the
-             *            implementation is only dependent on the size of the cache
-             * @return <tt>true</tt> if the oldest
-             * @see java.util.LinkedHashMap#removeEldestEntry(java.util.Map.Entry)
-             */
-            protected boolean removeEldestEntry(final Map.Entry eldest) {
-                return size() > MAX_ENTRIES;
+    private final long maxBytes;
+    private Segment[] segments;
+    private File spillDirectory;
+    private File attachmentDirectory;
+
+    // estimated size of the values held in memory, over all segments
+    private final AtomicLong weight = new AtomicLong();
+    // access clock, the entry with the oldest tick is evicted first
+    private final AtomicLong clock = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder spills = new LongAdder();
+
+    public DataManager() {
+        this(MAX_BYTES);
+    }
+
+    DataManager(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    @Activate
+    protected void activate(BundleContext bundleContext) {
+        segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+        if (bundleContext != null) {
+            attachmentDirectory = bundleContext.getDataFile("datamanager-attachments");
+            // attachments of a previous activation are not referenced anymore
+            FileUtils.deleteQuietly(attachmentDirectory);
+            if (attachmentDirectory != null && !attachmentDirectory.mkdirs()) {
+                logger.warn("Could not create attachment directory {}, attachments are kept in memory", attachmentDirectory);
+                attachmentDirectory = null;
             }
-        });
+        }
+        if (Boolean.getBoolean(SPILL_PROPERTY) && bundleContext != null) {
+            spillDirectory = bundleContext.getDataFile("datamanager-spill");
+            if (spillDirectory != null && !spillDirectory.isDirectory() && !spillDirectory.mkdirs()) {
+                logger.warn("Could not create spill directory {}, evicted values are dropped", spillDirectory);
+                spillDirectory = null;
+            }
+        }
     }
 
+    @Deactivate
+    protected void deactivate() {
+        logger.info("DataManager statistics: {} hits, {} misses, {} evictions, {} spilled, {} bytes in memory",
+                getHitCount(), getMissCount(), getEvictionCount(), getSpillCount(), getWeight());
+        if (spillDirectory != null) {
+            FileUtils.deleteQuietly(spillDirectory);
+        }
+        if (attachmentDirectory != null) {
+            FileUtils.deleteQuietly(attachmentDirectory);
+        }
+    }
 
     public Object get(String key) {
-        Object value = null;
-        if (cache.containsKey(key)) {
-            value = cache.get(key);
+        Segment segment = segmentFor(key);
+        Object value;
+        synchronized (segment) {
+            Entry entry = segment.entries.get(key);
+            if (entry != null) {
+                entry.tick = clock.incrementAndGet();
+            }
+            value = entry != null ? entry.value : null;
+        }
+        if (value == null && spillDirectory != null) {
+            value = readSpilled(key);
+            if (value != null) {
+                // back to memory, it is likely to be read again
+                put(key, value);
+            }
+        }
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
         }
         return value;
     }
@@ -79,7 +161,226 @@ public class DataManager {
         customContext.put(UNIQUE_ID, id);
         return customContext;
     }
+
+    /**
+     * Stores a value, evicting the least recently used values of all segments if the byte budget is exceeded.
+     *
+     * @return the value previously stored under the key; an attachment replaced this way is discarded
+     */
     public Object put(String key, Object value) {
-        return cache.put(key, value);
+        Segment segment = segmentFor(key);
+        Entry entry = new Entry(value, weigh(value), clock.incrementAndGet());
+        Entry previous;
+        synchronized (segment) {
+            previous = segment.entries.put(key, entry);
+            weight.addAndGet(entry.weight - (previous != null ? previous.weight : 0));
+        }
+        if (spillDirectory != null) {
+            deleteSpilled(key);
+        }
+        if (previous != null && previous.value != value) {
+            discard(previous.value);
+        }
+        evict(key);
+        return previous != null ? previous.value : null;
+    }
+
+    /**
+     * Stores a submitted attachment. Its content is read once; large attachments are written to the bundle data area
+     * and only their small content is kept in memory.
+     *
+     * @param key key of the attachment
+     * @param attachment the submitted attachment
+     * @return the stored attachment
+     * @throws IOException if the content cannot be read or written
+     */
+    public StoredAttachment putAttachment(String key, FileAttachmentWrapper attachment) throws IOException {
+        StoredAttachment stored = StoredAttachment.of(attachment, attachmentDirectory);
+        put(key, stored);
+        return stored;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getSpillCount() {
+        return spills.sum();
+    }
+
+    /**
+     * @return the estimated size in bytes of the values held in memory
+     */
+    public long getWeight() {
+        return weight.get();
+    }
+
+    /**
+     * Evicts the least recently used values until the store fits its budget again. Segments are locked one at a time:
+     * the eldest entries of all segments are compared and the oldest one is removed, unless it changed meanwhile.
+     *
+     * @param retainedKey key of the value just stored, kept even if it exceeds the budget on its own
+     */
+    private void evict(String retainedKey) {
+        while (weight.get() > maxBytes) {
+            Segment oldest = null;
+            String oldestKey = null;
+            long oldestTick = Long.MAX_VALUE;
+            for (Segment segment : segments) {
+                synchronized (segment) {
+                    Map.Entry<String, Entry> eldest = segment.eldest(retainedKey);
+                    if (eldest != null && eldest.getValue().tick < oldestTick) {
+                        oldest = segment;
+                        oldestKey = eldest.getKey();
+                        oldestTick = eldest.getValue().tick;
+                    }
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            Entry evicted = null;
+            synchronized (oldest) {
+                Entry candidate = oldest.entries.get(oldestKey);
+                // not accessed since, otherwise look again
+                if (candidate != null && candidate.tick == oldestTick) {
+                    oldest.entries.remove(oldestKey);
+                    weight.addAndGet(-candidate.weight);
+                    evicted = candidate;
+                }
+            }
+            if (evicted != null) {
+                evictions.increment();
+                if (spillDirectory != null && evicted.value instanceof Serializable) {
+                    spill(oldestKey, evicted.value);
+                } else {
+                    discard(evicted.value);
+                }
+            }
+        }
+    }
+
+    private static void discard(Object value) {
+        if (value instanceof StoredAttachment) {
+            ((StoredAttachment) value).discard();
+        }
+    }
+
+    private Segment segmentFor(String key) {
+        int hash = key.hashCode();
+        // spread the high bits, segment counts are powers of two
+        hash ^= (hash >>> 16);
+        return segments[hash & (SEGMENTS - 1)];
+    }
+
+    /**
+     * Estimates the size of a value from the types the test services store, without serializing it: this runs on
+     * every put
+     */
+    static long weigh(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String) {
+            return ((String) value).getBytes(StandardCharsets.UTF_8).length;
+        }
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+        if (value instanceof ChunkedData) {
+            return ((ChunkedData) value).size();
+        }
+        if (value instanceof StoredAttachment) {
+            // the content of large attachments is kept on disk, only their bookkeeping in memory
+            long memorySize = ((StoredAttachment) value).getMemorySize();
+            return memorySize > 0 ? memorySize : DEFAULT_WEIGHT;
+        }
+        if (value instanceof Collection) {
+            long weight = 0;
+            for (Object element : (Collection<?>) value) {
+                weight += weigh(element);
+            }
+            return weight;
+        }
+        return DEFAULT_WEIGHT;
+    }
+
+    private void spill(String key, Object value) {
+        if (!(value instanceof Serializable)) {
+            return;
+        }
+        Path target = spillFile(key);
+        try {
+            Path temp = Files.createTempFile(spillDirectory.toPath(), "spill", ".tmp");
+            try (ObjectOutputStream out = new ObjectOutputStream(Files.newOutputStream(temp))) {
+                out.writeObject(value);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            spills.increment();
+        } catch (IOException | RuntimeException ex) {
+            logger.warn("Could not spill value of {}, dropping it", key, ex);
+        }
+    }
+
+    private Object readSpilled(String key) {
+        Path file = spillFile(key);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(file); ObjectInputStream objectIn = new ObjectInputStream(in)) {
+            return objectIn.readObject();
+        } catch (IOException | ClassNotFoundException ex) {
+            logger.warn("Could not read spilled value of {}", key, ex);
+            return null;
+        }
+    }
+
+    private void deleteSpilled(String key) {
+        try {
+            Files.deleteIfExists(spillFile(key));
+        } catch (IOException ex) {
+            logger.warn("Could not delete spilled value of {}", key, ex);
+        }
+    }
+
+    private Path spillFile(String key) {
+        return spillDirectory.toPath().resolve(DigestUtils.sha256Hex(key));
+    }
+
+    private static final class Segment {
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(INITIAL_CAPACITY, 0.75f, true);
+
+        /**
+         * @return the least recently used entry other than the retained one, callers hold the lock of the segment
+         */
+        private Map.Entry<String, Entry> eldest(String retainedKey) {
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                if (!entry.getKey().equals(retainedKey)) {
+                    return entry;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long weight;
+        // guarded by the lock of the segment
+        private long tick;
+
+        private Entry(Object value, long weight, long tick) {
+            this.value = value;
+            this.weight = weight;
+            this.tick = tick;
+        }
     }
-}
\ No newline at end of file
+}
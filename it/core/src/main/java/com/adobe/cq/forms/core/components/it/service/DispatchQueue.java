@@ -0,0 +1,256 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.it.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Bounded buffer drained in batches by background workers.
+ *
+ * A worker hands a batch to the sink as soon as it holds {@code batchSize} items or {@code flushInterval} milliseconds
+ * after it took the first one, whichever comes first. When the buffer is full, {@link OverflowPolicy} decides whether
+ * the producer waits for room or the item is dropped. Items stay visible to {@link #findPending(Predicate)} until the
+ * sink returns, including while they wait in a worker's batch.
+ *
+ * @param <T> type of the dispatched items
+ */
+public class DispatchQueue<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(DispatchQueue.class);
+
+    // how often an idle or waiting worker checks whether the queue is closed
+    private static final long POLL_INTERVAL = 100;
+
+    /**
+     * What to do with an item when the buffer is full
+     */
+    public enum OverflowPolicy {
+        /**
+         * wait for room up to the offer timeout, then reject the item
+         */
+        BLOCK,
+        /**
+         * reject the item right away
+         */
+        DROP
+    }
+
+    private final BlockingQueue<T> buffer;
+    // accepted items the sink has not returned from yet, whether buffered or in a batch
+    private final Queue<T> undelivered = new ConcurrentLinkedQueue<>();
+    private final Consumer<List<T>> sink;
+    private final int batchSize;
+    private final long flushInterval;
+    private final OverflowPolicy overflowPolicy;
+    private final long offerTimeout;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    /**
+     * @param name           prefix of the worker thread names
+     * @param sink           receives the batches, called concurrently if there are several workers
+     * @param capacity       maximum number of buffered items
+     * @param batchSize      maximum number of items per batch
+     * @param flushInterval  maximum time in milliseconds an item waits for its batch to fill up
+     * @param workerCount    number of worker threads
+     * @param overflowPolicy what to do when the buffer is full
+     * @param offerTimeout   maximum time in milliseconds a producer waits for room with {@link OverflowPolicy#BLOCK}
+     */
+    public DispatchQueue(String name, Consumer<List<T>> sink, int capacity, int batchSize, long flushInterval,
+                         int workerCount, OverflowPolicy overflowPolicy, long offerTimeout) {
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.sink = sink;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushInterval = flushInterval;
+        this.overflowPolicy = overflowPolicy;
+        this.offerTimeout = offerTimeout;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::drain, name + "-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Buffers an item for dispatch.
+     *
+     * @param item item to dispatch
+     * @return whether the item was accepted, otherwise it was dropped
+     */
+    public boolean offer(T item) {
+        boolean accepted = false;
+        if (running) {
+            // visible before a worker can take it
+            undelivered.add(item);
+            try {
+                accepted = overflowPolicy == OverflowPolicy.BLOCK
+                        ? buffer.offer(item, offerTimeout, TimeUnit.MILLISECONDS)
+                        : buffer.offer(item);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            if (!accepted) {
+                undelivered.remove(item);
+            }
+        }
+        if (accepted) {
+            enqueued.increment();
+        } else {
+            dropped.increment();
+        }
+        return accepted;
+    }
+
+    /**
+     * Looks for an item which is not dispatched yet. An item is pending until the sink returns, so one which is not
+     * found anymore has been handed to the sink.
+     *
+     * @param predicate condition for the item
+     * @return the first pending item matching, or null
+     */
+    public T findPending(Predicate<T> predicate) {
+        for (T item : undelivered) {
+            if (predicate.test(item)) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Looks for the most recently offered item which is not dispatched yet.
+     *
+     * @param predicate condition for the item
+     * @return the last pending item matching, or null
+     */
+    public T findLastPending(Predicate<T> predicate) {
+        T last = null;
+        for (T item : undelivered) {
+            if (predicate.test(item)) {
+                last = item;
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Stops accepting items, dispatches the buffered ones and waits for the workers to finish.
+     *
+     * @param timeout maximum time in milliseconds to wait
+     */
+    public void close(long timeout) {
+        running = false;
+        long deadline = System.currentTimeMillis() + timeout;
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        if (!buffer.isEmpty()) {
+            logger.warn("{} items were not dispatched in time", buffer.size());
+        }
+    }
+
+    public long getEnqueuedCount() {
+        return enqueued.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getDeliveredCount() {
+        return delivered.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    private void drain() {
+        List<T> batch = new ArrayList<>(batchSize);
+        boolean interrupted = false;
+        while (!interrupted && (running || !buffer.isEmpty())) {
+            try {
+                T first = buffer.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long flushAt = System.currentTimeMillis() + flushInterval;
+                while (batch.size() < batchSize) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long wait = flushAt - System.currentTimeMillis();
+                    if (batch.size() >= batchSize || wait <= 0 || !running) {
+                        break;
+                    }
+                    T next = buffer.poll(Math.min(wait, POLL_INTERVAL), TimeUnit.MILLISECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                interrupted = true;
+            }
+            if (!batch.isEmpty()) {
+                dispatch(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void dispatch(List<T> batch) {
+        batches.increment();
+        try {
+            sink.accept(batch);
+            delivered.add(batch.size());
+        } catch (RuntimeException ex) {
+            failed.add(batch.size());
+            logger.error("Failed to dispatch {} items", batch.size(), ex);
+        } finally {
+            for (T item : batch) {
+                undelivered.remove(item);
+            }
+        }
+    }
+}
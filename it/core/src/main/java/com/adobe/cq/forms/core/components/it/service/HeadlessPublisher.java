@@ -0,0 +1,325 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.it.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.StringWriter;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Publishes form definitions to a headless endpoint.
+ *
+ * Paths are split into batches which are handed to a bounded pool of workers. A worker generates the definitions of
+ * its batch, drops those whose SHA-256 hash matches the one last delivered for the same path and uploads the rest,
+ * either all at once as a JSON array if the endpoint accepts batches, or one request per definition. When the queue of
+ * pending batches is full, the calling thread uploads the batch itself.
+ *
+ * Publishing and deleting return only once every batch is done, and fail if any batch failed, so that the replication
+ * queue retries the item. The paths of a call are locked until it returns, so the requests for one path are sent in
+ * the order the calls were made.
+ */
+public class HeadlessPublisher implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HeadlessPublisher.class);
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    // number of locks the paths are spread over
+    private static final int LOCK_STRIPES = 64;
+
+    private final CloseableHttpClient httpClient;
+    private final OAuth2Client oauth2Client;
+    private final String endpoint;
+    private final boolean batchSupported;
+    private final int batchSize;
+    private final ThreadPoolExecutor executor;
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    // hash of the definition last delivered per path
+    private final Map<String, String> delivered = new ConcurrentHashMap<>();
+
+    /**
+     * Generates the definitions of a batch of paths.
+     */
+    @FunctionalInterface
+    public interface Generator {
+
+        /**
+         * @param paths paths of the batch
+         * @return the definitions keyed by path, paths without a definition are left out
+         * @throws Exception if the definitions cannot be generated
+         */
+        Map<String, String> generate(List<String> paths) throws Exception;
+    }
+
+    private interface BatchTask {
+        void run(List<String> batch) throws Exception;
+    }
+
+    /**
+     * @param httpClient     shared client, owned by the caller
+     * @param oauth2Client   client used for authenticating the uploads, or null if the endpoint is not protected
+     * @param endpoint       url the definitions are posted to
+     * @param batchSupported whether the endpoint accepts a JSON array of definitions
+     * @param batchSize      maximum number of paths handled by a worker at once
+     * @param workers        maximum number of concurrent uploads
+     * @param queueCapacity  maximum number of pending batches
+     */
+    public HeadlessPublisher(CloseableHttpClient httpClient, OAuth2Client oauth2Client, String endpoint,
+                             boolean batchSupported, int batchSize, int workers, int queueCapacity) {
+        this.httpClient = httpClient;
+        this.oauth2Client = oauth2Client;
+        this.endpoint = endpoint;
+        this.batchSupported = batchSupported;
+        this.batchSize = Math.max(1, batchSize);
+        this.executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "headless-publisher-" + THREAD_COUNT.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, (runnable, pool) -> {
+                    if (pool.isShutdown()) {
+                        // rejected instead of silently dropped, a dropped task would never complete its future
+                        throw new RejectedExecutionException("Publisher is closed");
+                    }
+                    runnable.run();
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Publishes the given paths.
+     *
+     * @param paths     paths to publish
+     * @param generator generates the definitions of a batch of paths
+     * @throws IOException if a batch could not be generated or uploaded
+     */
+    public void publish(List<String> paths, Generator generator) throws IOException {
+        run(paths, batch -> deliver(generator.generate(batch)));
+    }
+
+    /**
+     * Removes the given paths from the endpoint.
+     *
+     * @param paths paths to remove
+     * @throws IOException if a path could not be removed
+     */
+    public void delete(List<String> paths) throws IOException {
+        run(paths, batch -> {
+            for (String path : batch) {
+                send(null, endpoint + "?path=" + URLEncoder.encode(path, StandardCharsets.UTF_8.name()), HttpDelete::new);
+                delivered.remove(path);
+            }
+        });
+    }
+
+    /**
+     * Uploads the changed definitions of a batch.
+     *
+     * @param definitions definitions keyed by path
+     * @throws IOException if the upload fails, in which case the definitions are uploaded again next time
+     */
+    void deliver(Map<String, String> definitions) throws IOException {
+        Map<String, String> changed = new LinkedHashMap<>();
+        Map<String, String> hashes = new LinkedHashMap<>();
+        for (Map.Entry<String, String> definition : definitions.entrySet()) {
+            String hash = hash(definition.getValue());
+            if (hash.equals(delivered.get(definition.getKey()))) {
+                LOG.debug("[HeadlessPublisher] Definition of {} did not change. Skipping", definition.getKey());
+                continue;
+            }
+            changed.put(definition.getKey(), definition.getValue());
+            hashes.put(definition.getKey(), hash);
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        if (batchSupported) {
+            send(toBatch(changed), endpoint, HttpPost::new);
+            delivered.putAll(hashes);
+        } else {
+            for (Map.Entry<String, String> definition : changed.entrySet()) {
+                send(definition.getValue(), endpoint, HttpPost::new);
+                delivered.put(definition.getKey(), hashes.get(definition.getKey()));
+            }
+        }
+        LOG.info("[HeadlessPublisher] Published {} of {} definitions", changed.size(), definitions.size());
+    }
+
+    /**
+     * Waits for the pending uploads to finish.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                LOG.warn("[HeadlessPublisher] Pending uploads did not finish in time, dropping them");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs the task for every batch of the given paths on the workers and waits for all of them.
+     */
+    private void run(List<String> paths, BatchTask task) throws IOException {
+        List<ReentrantLock> held = lock(paths);
+        try {
+            List<Callable<Void>> batches = new ArrayList<>();
+            for (List<String> batch : partition(paths)) {
+                batches.add(() -> {
+                    task.run(batch);
+                    return null;
+                });
+            }
+            IOException failure = null;
+            for (Future<Void> result : executor.invokeAll(batches)) {
+                try {
+                    result.get();
+                } catch (ExecutionException ex) {
+                    IOException cause = ex.getCause() instanceof IOException ? (IOException) ex.getCause()
+                            : new IOException(ex.getCause());
+                    if (failure == null) {
+                        failure = cause;
+                    } else {
+                        failure.addSuppressed(cause);
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while publishing " + paths);
+        } catch (RejectedExecutionException ex) {
+            throw new IOException("Could not publish " + paths, ex);
+        } finally {
+            held.forEach(ReentrantLock::unlock);
+        }
+    }
+
+    /**
+     * Locks the stripes of the given paths, always in the same order so that concurrent calls cannot deadlock.
+     */
+    private List<ReentrantLock> lock(List<String> paths) {
+        TreeSet<Integer> stripes = new TreeSet<>();
+        for (String path : paths) {
+            stripes.add(Math.floorMod(path.hashCode(), LOCK_STRIPES));
+        }
+        List<ReentrantLock> held = new ArrayList<>(stripes.size());
+        for (int stripe : stripes) {
+            locks[stripe].lock();
+            held.add(locks[stripe]);
+        }
+        return held;
+    }
+
+    private void send(String body, String uri, Function<String, HttpRequestBase> requestSupplier) throws IOException {
+        if (oauth2Client != null) {
+            oauth2Client.publishOrDeleteFormModelJson(body, uri, requestSupplier);
+            return;
+        }
+        HttpRequestBase request = requestSupplier.apply(uri);
+        if (body != null && request instanceof HttpPost) {
+            ((HttpPost) request).setEntity(new StringEntity(body, ContentType.APPLICATION_JSON));
+        }
+        try (CloseableHttpResponse response = httpClient.execute(request)) {
+            int status = response.getStatusLine().getStatusCode();
+            if (status < 200 || status >= 300) {
+                throw new IOException("status code = " + status);
+            }
+        }
+    }
+
+    private List<List<String>> partition(List<String> paths) {
+        List<List<String>> batches = new ArrayList<>();
+        for (int i = 0; i < paths.size(); i += batchSize) {
+            batches.add(new ArrayList<>(paths.subList(i, Math.min(i + batchSize, paths.size()))));
+        }
+        return batches;
+    }
+
+    private static String toBatch(Map<String, String> definitions) throws IOException {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            generator.writeStartArray();
+            for (Map.Entry<String, String> definition : definitions.entrySet()) {
+                generator.writeStartObject();
+                generator.writeStringField("path", definition.getKey());
+                generator.writeFieldName("definition");
+                // the definition is JSON already
+                generator.writeRawValue(definition.getValue());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+        return writer.toString();
+    }
+
+    static String hash(String definition) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(definition.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is mandatory for every JRE
+            throw new IllegalStateException(e);
+        }
+    }
+}
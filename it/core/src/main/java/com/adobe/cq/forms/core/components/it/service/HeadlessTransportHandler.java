@@ -27,9 +27,6 @@ import com.day.cq.replication.TransportHandler;
 import com.day.cq.wcm.api.NameConstants;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.client.config.RequestConfig;
-import org.apache.http.client.methods.HttpDelete;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.osgi.services.HttpClientBuilderFactory;
@@ -37,22 +34,33 @@ import org.apache.sling.api.resource.LoginException;
 import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.resource.ResourceResolver;
 import org.apache.sling.api.resource.ResourceResolverFactory;
+import org.apache.sling.api.resource.ValueMap;
 import org.apache.sling.serviceusermapping.ServiceUserMapped;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.AttributeType;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Agent needs to be configured as per this, https://medium.com/@toimrank/aem-transporthandler-e761accaec51
  * https://blog.developer.adobe.com/reimagining-replication-agents-on-aem-as-a-cloud-service-a4437b7eeb60
+ *
+ * The definitions are uploaded before an item is reported as delivered, a failed upload fails the item so that the
+ * replication queue retries it. The OAuth2 client credentials are read from the configuration of this handler.
  */
 
 @Component(
@@ -61,14 +69,36 @@ import java.util.function.Function;
                 "service.ranking:Integer=1000"
         }
 )
+@Designate(ocd = HeadlessTransportHandler.Config.class)
 public class HeadlessTransportHandler implements TransportHandler {
 
-    // todo: embedding credentials in source code risks unauthorized access
-    private static final String CLIENT_ID = "your_client_id";
-    private static final String CLIENT_SECRET = "your_client_secret";
+    @ObjectClassDefinition(name = "Core Components IT Headless Transport Handler",
+            description = "Publishes form definitions to the headless endpoint of a replication agent")
+    public @interface Config {
+
+        @AttributeDefinition(name = "Client id", description = "OAuth2 client id, required by agents with a token endpoint")
+        String clientId() default "";
+
+        @AttributeDefinition(name = "Client secret", type = AttributeType.PASSWORD,
+                description = "Base64 encoded PKCS#8 private key signing the client assertion, "
+                        + "required by agents with a token endpoint")
+        String clientSecret() default "";
+    }
 
     private static final Logger LOG = LoggerFactory.getLogger(HeadlessTransportHandler.class);
     private static final Map<String, Object> AUTH;
+
+    // agent properties configuring the external system, nothing is published if the endpoint is missing
+    private static final String PN_ENDPOINT = "headlessEndpoint";
+    private static final String PN_BATCH_SUPPORTED = "headlessBatchSupported";
+    private static final String PN_BATCH_SIZE = "headlessBatchSize";
+    private static final String PN_TOKEN_ENDPOINT = "headlessTokenEndpoint";
+    private static final String PN_CERTIFICATE_THUMBPRINT = "headlessCertificateThumbprint";
+    private static final String PN_RESOURCE = "headlessResource";
+
+    private static final int DEFAULT_BATCH_SIZE = 20;
+    private static final int DEFAULT_WORKERS = 4;
+    private static final int DEFAULT_QUEUE_CAPACITY = 100;
     private final static String URI = "corecomponentsitheadless";
     /**
      * The Sling ServiceUserMapper service allows for mapping Service IDs comprised of the Service
@@ -91,8 +121,15 @@ public class HeadlessTransportHandler implements TransportHandler {
 
     private CloseableHttpClient httpClient;
 
+    private final Map<String, HeadlessPublisher> publishers = new ConcurrentHashMap<>();
+
+    private String clientId;
+    private String clientSecret;
+
     @Activate
-    protected void activate() {
+    protected void activate(Config config) {
+        clientId = config.clientId();
+        clientSecret = config.clientSecret();
         PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
         connectionManager.setDefaultMaxPerRoute(100);
         connectionManager.setMaxTotal(100);
@@ -109,6 +146,8 @@ public class HeadlessTransportHandler implements TransportHandler {
 
     @Deactivate
     protected void deactivate() {
+        publishers.values().forEach(HeadlessPublisher::close);
+        publishers.clear();
         try {
             httpClient.close();
         } catch (IOException ex) {
@@ -129,35 +168,85 @@ public class HeadlessTransportHandler implements TransportHandler {
     public ReplicationResult deliver(TransportContext transportContext, ReplicationTransaction replicationTransaction)
             throws ReplicationException {
         ReplicationAction action = replicationTransaction.getAction();
-        Function<String, HttpRequestBase> requestSupplier;
+        List<String> paths = Arrays.asList(action.getPaths());
+        AgentConfig agentConfig = transportContext.getConfig();
+        HeadlessPublisher publisher = getPublisher(agentConfig);
 
         switch (action.getType()) {
             case ACTIVATE:
-                requestSupplier = HttpPost::new;
-                break;
+                if (publisher != null) {
+                    try {
+                        publisher.publish(paths, this::getFormDefinitions);
+                    } catch (IOException ex) {
+                        throw new ReplicationException("Failed to publish form definitions of " + paths, ex);
+                    }
+                } else {
+                    // without an endpoint the definitions are only logged
+                    try {
+                        getFormDefinitions(paths).forEach((path, formModelJson) ->
+                                LOG.info("[HeadlessTransportHandler] Form Model JSON: {}", formModelJson));
+                    } catch (LoginException ex) {
+                        throw new ReplicationException("Failed to get service resource resolver for " + paths, ex);
+                    }
+                }
+                return ReplicationResult.OK;
             case DEACTIVATE:
             case DELETE:
-                requestSupplier = HttpDelete::new;
-                break;
+                if (publisher != null) {
+                    try {
+                        publisher.delete(paths);
+                    } catch (IOException ex) {
+                        throw new ReplicationException("Failed to delete form definitions of " + paths, ex);
+                    }
+                }
+                return ReplicationResult.OK;
             default:
                 LOG.debug("[HeadlessTransportHandler] Unsupported replication action type: {}", action);
                 return new ReplicationResult(true, 405, "Method Not Allowed");
         }
+    }
 
-        AgentConfig agentConfig = transportContext.getConfig();
-        /*
-        String transportUri = agentConfig.getTransportURI();
-        String transportAuth = agentConfig.getTransportUser() + ':' + agentConfig.getTransportPassword();
-        byte[] encodedAuth = Base64.encodeBase64(transportAuth.getBytes(StandardCharsets.ISO_8859_1));
-        Header authHeader = new BasicHeader(HttpHeaders.AUTHORIZATION, "Basic " + new String(encodedAuth));
-        Function<String, HttpRequestBase> authenticatedRequestSupplier = uri -> {
-            HttpRequestBase request = requestSupplier.apply(uri);
-            request.addHeader(authHeader);
-            return request;
-        }; */
+    /**
+     * Returns the publisher of the given agent, which is kept for the lifetime of this handler so that the hashes of the
+     * delivered definitions and the token of the endpoint are reused across replications.
+     *
+     * @throws ReplicationException if the agent requires OAuth2 but the client credentials are not configured
+     */
+    private HeadlessPublisher getPublisher(AgentConfig agentConfig) throws ReplicationException {
+        ValueMap properties = agentConfig.getProperties();
+        String endpoint = properties.get(PN_ENDPOINT, String.class);
+        if (StringUtils.isEmpty(endpoint)) {
+            return null;
+        }
+        String tokenEndpoint = properties.get(PN_TOKEN_ENDPOINT, String.class);
+        if (StringUtils.isNotEmpty(tokenEndpoint) && StringUtils.isAnyBlank(clientId, clientSecret)) {
+            throw new ReplicationException("Client id and secret of the headless transport handler are not configured, agent "
+                    + agentConfig.getId() + " requires them for " + tokenEndpoint);
+        }
+        return publishers.computeIfAbsent(agentConfig.getId() + "\n" + endpoint, key -> {
+            OAuth2Client oauth2Client = StringUtils.isEmpty(tokenEndpoint) ? null : new OAuth2Client(
+                    tokenEndpoint,
+                    clientId,
+                    clientSecret,
+                    properties.get(PN_CERTIFICATE_THUMBPRINT, String.class),
+                    properties.get(PN_RESOURCE, String.class),
+                    httpClient);
+            return new HeadlessPublisher(httpClient, oauth2Client, endpoint,
+                    properties.get(PN_BATCH_SUPPORTED, false),
+                    properties.get(PN_BATCH_SIZE, DEFAULT_BATCH_SIZE),
+                    DEFAULT_WORKERS, DEFAULT_QUEUE_CAPACITY);
+        });
+    }
 
+    /**
+     * Generates the form definitions of the given pages, keyed by page path. Pages without a form are left out.
+     *
+     * @throws LoginException if the service resource resolver is not available
+     */
+    private Map<String, String> getFormDefinitions(List<String> paths) throws LoginException {
+        Map<String, String> definitions = new LinkedHashMap<>();
         try (ResourceResolver resourceResolver = resourceResolverFactory.getServiceResourceResolver(AUTH)) {
-            for (String path : action.getPaths()) {
+            for (String path : paths) {
                 Resource resource = resourceResolver.getResource(path);
                 if (resource == null || (!resource.isResourceType(NameConstants.NT_PAGE))) {
                     LOG.info("[HeadlessTransportHandler] Resource not found or not a cq:Page {}. Skipping", path);
@@ -166,41 +255,13 @@ public class HeadlessTransportHandler implements TransportHandler {
                 // get the model json from the resource
                 FormStructureParser parser = getFormStructureParserFromPage(resource);
                 if (parser != null) {
-                    String formModelJson = parser.getFormDefinition();
-                    // todo: publish this form model json to the external system
-                    LOG.info("[HeadlessTransportHandler] Form Model JSON: {}", formModelJson);
-                    /**
-                     PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
-                     connectionManager.setDefaultMaxPerRoute(100);
-                     connectionManager.setMaxTotal(100);
-
-                     CloseableHttpClient httpClient = HttpClients.custom()
-                     .setConnectionManager(connectionManager)
-                     .setDefaultRequestConfig(RequestConfig.custom()
-                     .setConnectTimeout(30000)
-                     .setSocketTimeout(30000)
-                     .setConnectionRequestTimeout(30000)
-                     .build())
-                     .build();
-
-                     OAuth2Client oauth2Client = new OAuth2Client(
-                     "https://example.com/oauth2/token",
-                     "your_client_id",
-                     "your_private_key",
-                     "your_certificate_thumbprint",
-                     "your_resource_uri",
-                     httpClient
-                     );
-                     oauth2Client.publishOrDeleteFormModelJson(formModelJson, "https://example.com/api/publish", HttpPost::new);
-                     **/
+                    definitions.put(path, parser.getFormDefinition());
                 } else {
                     LOG.info("[HeadlessTransportHandler] No adaptive form container found for resource {}. Skipping", resource.getPath());
                 }
             }
-            return ReplicationResult.OK;
-        } catch (LoginException /*| IOException */  ex) {
-            throw new ReplicationException("Failed to get delivery url for: " + action, ex);
         }
+        return definitions;
     }
 
     private static FormStructureParser getFormStructureParserFromPage(Resource resource) {
@@ -19,11 +19,15 @@ import com.day.cq.mailer.MailService;
 import com.day.cq.mailer.MailingException;
 import org.apache.commons.mail.Email;
 import org.apache.commons.mail.EmailException;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+
 /**
  * This class serves as a mock implementation of {@link MailService} for testing purposes.
  * It uses a {@link DataManager} to store and retrieve email objects based on their subject.
@@ -39,11 +43,33 @@ public class MockMailServiceImpl implements MailService {
 
     private static final Logger logger = LoggerFactory.getLogger(MockMailServiceImpl.class);
 
+    private static final int QUEUE_CAPACITY = 1000;
+    private static final int BATCH_SIZE = 50;
+    private static final long FLUSH_INTERVAL = 50;
+    private static final int WORKERS = 2;
+    private static final long OFFER_TIMEOUT = 1000;
+
+    private DispatchQueue<Email> dispatchQueue;
+
+    @Activate
+    protected void activate() {
+        dispatchQueue = new DispatchQueue<>("mock-mail-dispatch", this::store, QUEUE_CAPACITY, BATCH_SIZE, FLUSH_INTERVAL,
+                WORKERS, DispatchQueue.OverflowPolicy.BLOCK, OFFER_TIMEOUT);
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        dispatchQueue.close(10000);
+        logger.info("Mail dispatch statistics: {} queued, {} dropped, {} stored in {} batches, {} failed",
+                dispatchQueue.getEnqueuedCount(), dispatchQueue.getDroppedCount(), dispatchQueue.getDeliveredCount(),
+                dispatchQueue.getBatchCount(), dispatchQueue.getFailedCount());
+    }
+
     /**
-     * Stores the email object in the data manager.
+     * Queues the email object for storing in the data manager, so that the submitting thread does not wait for it.
      *
      * @param email an instance of {@link Email}
-     * @throws EmailException if the email cannot be stored
+     * @throws EmailException if the email cannot be queued
      */
     @Override
     public void sendEmail(Email email) throws EmailException {
@@ -51,7 +77,19 @@ public class MockMailServiceImpl implements MailService {
             logger.error("DataManager is not available.");
             throw new EmailException("DataManager is not available.");
         }
-        if (email != null) {
+        if (email != null && !dispatchQueue.offer(email)) {
+            logger.error("Mail dispatch queue is full, dropping email with subject: {}", email.getSubject());
+            throw new EmailException("Mail dispatch queue is full.");
+        }
+    }
+
+    /**
+     * Stores a batch of emails in the data manager.
+     *
+     * @param emails emails taken from the dispatch queue
+     */
+    private void store(List<Email> emails) {
+        for (Email email : emails) {
             logger.info("Storing email with subject: {}", email.getSubject());
             dataManager.put(email.getSubject(), email);
         }
@@ -97,6 +135,12 @@ public class MockMailServiceImpl implements MailService {
             return null;
         }
         logger.info("Retrieving email with subject: {}", subject);
-        return (Email) dataManager.get(subject);
+        // an email sent but not stored yet is newer than the one stored under the same subject
+        Email email = dispatchQueue.findLastPending(pending -> subject != null && subject.equals(pending.getSubject()));
+        if (email == null) {
+            // no pending email, or it was stored in the meantime
+            email = (Email) dataManager.get(subject);
+        }
+        return email;
     }
 }
\ No newline at end of file
@@ -21,11 +21,19 @@ import java.security.PrivateKey;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.util.Base64;
 import java.util.Date;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.util.EntityUtils;
@@ -52,6 +60,9 @@ import io.jsonwebtoken.SignatureAlgorithm;
  *
  * Uses a signed JWT (client assertion) with a private key and certificate thumbprint.
  * Provides enhanced security by using certificate-based authentication and a signed JWT.
+ *
+ * The access token is shared by all callers and read without locking. It is refreshed in the background shortly before
+ * it expires, with at most one refresh in flight at a time; failed token requests are retried with backoff.
  */
 public class OAuth2Client {
     private static final Logger LOG = LoggerFactory.getLogger(OAuth2Client.class);
@@ -63,9 +74,28 @@ public class OAuth2Client {
     private final String resource;
     private final CloseableHttpClient httpClient;
 
-    private String accessToken;
-    private long tokenExpirationTime;
-    private final ReentrantLock lock = new ReentrantLock();
+    // refreshes are started this long before the token expires, plus a random jitter
+    private static final long REFRESH_AHEAD = TimeUnit.MINUTES.toMillis(1);
+    private static final long REFRESH_JITTER = TimeUnit.SECONDS.toMillis(30);
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long INITIAL_BACKOFF = 200;
+
+    // shared by all clients, refreshes are rare and short
+    private static final ThreadPoolExecutor REFRESH_EXECUTOR = new ThreadPoolExecutor(2, 2, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "oauth2-token-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    static {
+        REFRESH_EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    // read without locking, replaced as a whole on refresh
+    private volatile Token token;
+    // the refresh in progress, if any, which every caller needing a new token joins
+    private final AtomicReference<CompletableFuture<Token>> refresh = new AtomicReference<>();
 
     public OAuth2Client(String tokenEndpoint, String clientId, String privateKey, String certificateThumbprint, String resource, CloseableHttpClient httpClient) {
         this.tokenEndpoint = tokenEndpoint;
@@ -77,43 +107,139 @@ public class OAuth2Client {
     }
 
     public void publishOrDeleteFormModelJson(String formModelJson, String apiEndpoint, Function<String, HttpRequestBase> requestSupplier) throws IOException {
-        String token = getValidToken();
+        Token token = getValidToken();
         HttpRequestBase request = requestSupplier.apply(apiEndpoint);
-        request.setHeader("Authorization", "Bearer " + token);
-        request.setHeader("Content-Type", "application/json");
-        if (request instanceof HttpPost) {
-            ((HttpPost) request).setEntity(new StringEntity(formModelJson));
+        request.setHeader("Authorization", "Bearer " + token.value);
+        if (formModelJson != null && request instanceof HttpPost) {
+            ((HttpPost) request).setEntity(new StringEntity(formModelJson, ContentType.APPLICATION_JSON));
         }
 
         try (CloseableHttpResponse response = httpClient.execute(request)) {
             if (response.getStatusLine().getStatusCode() == 401) {
-                // Token expired, refresh and retry
-                token = refreshOAuth2Token();
-                request.setHeader("Authorization", "Bearer " + token);
+                // Token expired or revoked, refresh and retry
+                token = refreshOAuth2Token(token);
+                request.setHeader("Authorization", "Bearer " + token.value);
                 try (CloseableHttpResponse retryResponse = httpClient.execute(request)) {
-                    if (retryResponse.getStatusLine().getStatusCode() != 200) {
+                    if (!isSuccess(retryResponse.getStatusLine().getStatusCode())) {
                         throw new NotOk(retryResponse.getStatusLine().getStatusCode());
                     }
                 }
-            } else if (response.getStatusLine().getStatusCode() != 200) {
+            } else if (!isSuccess(response.getStatusLine().getStatusCode())) {
                 throw new NotOk(response.getStatusLine().getStatusCode());
             }
         }
     }
 
-    private String getValidToken() throws IOException {
-        lock.lock();
+    private static boolean isSuccess(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    /**
+     * Returns the cached token without locking. Once the token is due for refresh, a single background refresh is
+     * started while the current token keeps being used; only callers finding no valid token wait for a refresh.
+     */
+    private Token getValidToken() throws IOException {
+        Token current = token;
+        long now = System.currentTimeMillis();
+        if (current != null && now < current.expiresAt) {
+            if (now >= current.refreshAt && refresh.get() == null) {
+                startRefresh(true);
+            }
+            return current;
+        }
+        return await(startRefresh(false));
+    }
+
+    /**
+     * Replaces a token rejected by the endpoint, unless another caller did so already.
+     */
+    private Token refreshOAuth2Token(Token rejected) throws IOException {
+        Token current = token;
+        if (current != null && current != rejected) {
+            return current;
+        }
+        CompletableFuture<Token> pending = refresh.get();
+        return await(pending != null ? pending : startRefresh(false));
+    }
+
+    /**
+     * Starts a refresh unless one is in progress already, in which case that one is returned.
+     *
+     * @param background whether to fetch the token on the refresh executor instead of the calling thread
+     */
+    private CompletableFuture<Token> startRefresh(boolean background) {
+        CompletableFuture<Token> pending = refresh.get();
+        if (pending != null) {
+            return pending;
+        }
+        CompletableFuture<Token> created = new CompletableFuture<>();
+        if (!refresh.compareAndSet(null, created)) {
+            CompletableFuture<Token> other = refresh.get();
+            return other != null ? other : startRefresh(background);
+        }
+        Runnable fetch = () -> {
+            try {
+                Token fetched = fetchWithRetry();
+                token = fetched;
+                created.complete(fetched);
+            } catch (IOException | RuntimeException ex) {
+                created.completeExceptionally(ex);
+            } finally {
+                refresh.compareAndSet(created, null);
+            }
+        };
+        if (background) {
+            try {
+                REFRESH_EXECUTOR.execute(fetch);
+            } catch (RejectedExecutionException ex) {
+                fetch.run();
+            }
+        } else {
+            fetch.run();
+        }
+        return created;
+    }
+
+    private static Token await(CompletableFuture<Token> future) throws IOException {
         try {
-            if (accessToken == null || System.currentTimeMillis() >= tokenExpirationTime) {
-                accessToken = fetchOAuth2Token();
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the access token", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException) {
+                throw (IOException) ex.getCause();
             }
-            return accessToken;
-        } finally {
-            lock.unlock();
+            throw new IOException("Failed to get the access token", ex.getCause());
         }
     }
 
-    private String fetchOAuth2Token() throws IOException {
+    /**
+     * Fetches a token, retrying server errors and failed connections with exponential backoff.
+     */
+    private Token fetchWithRetry() throws IOException {
+        long backoff = INITIAL_BACKOFF;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return fetchOAuth2Token();
+            } catch (IOException ex) {
+                boolean retryable = !(ex instanceof NotOk) || ((NotOk) ex).status >= 500 || ((NotOk) ex).status == 429;
+                if (!retryable || attempt >= MAX_ATTEMPTS) {
+                    throw ex;
+                }
+                LOG.warn("Failed to fetch OAuth2 token (attempt {} of {}): {}", attempt, MAX_ATTEMPTS, ex.getMessage());
+                try {
+                    Thread.sleep(backoff + ThreadLocalRandom.current().nextLong(backoff));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw ex;
+                }
+                backoff *= 2;
+            }
+        }
+    }
+
+    private Token fetchOAuth2Token() throws IOException {
         HttpPost post = new HttpPost(tokenEndpoint);
         post.setHeader("Content-Type", "application/x-www-form-urlencoded");
 
@@ -133,16 +259,14 @@ public class OAuth2Client {
         }
     }
 
-    private String refreshOAuth2Token() throws IOException {
-        return fetchOAuth2Token(); // Assuming the same flow for refresh token
-    }
-
-    private String parseToken(String responseBody) {
+    private static Token parseToken(String responseBody) {
         try (JsonReader jsonReader = Json.createReader(new StringReader(responseBody))) {
             JsonObject jsonObject = jsonReader.readObject();
-            long expiresIn = jsonObject.getJsonNumber("expires_in").longValue();
-            tokenExpirationTime = System.currentTimeMillis() + (expiresIn * 1000) - 60000; // 1 minute buffer
-            return jsonObject.getString("access_token");
+            long lifetime = jsonObject.getJsonNumber("expires_in").longValue() * 1000;
+            long now = System.currentTimeMillis();
+            // never refresh later than half way through the lifetime of short lived tokens
+            long refreshAhead = Math.min(REFRESH_AHEAD + ThreadLocalRandom.current().nextLong(REFRESH_JITTER), lifetime / 2);
+            return new Token(jsonObject.getString("access_token"), now + lifetime - refreshAhead, now + lifetime);
         }
     }
 
@@ -186,9 +310,24 @@ public class OAuth2Client {
         }
     }
 
+    private static final class Token {
+        private final String value;
+        private final long refreshAt;
+        private final long expiresAt;
+
+        private Token(String value, long refreshAt, long expiresAt) {
+            this.value = value;
+            this.refreshAt = refreshAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+
     private static class NotOk extends IOException {
+        private final int status;
+
         NotOk(int status) {
             super("status code = " + status);
+            this.status = status;
         }
     }
 }
\ No newline at end of file
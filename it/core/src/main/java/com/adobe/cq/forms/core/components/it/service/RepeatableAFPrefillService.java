@@ -22,9 +22,7 @@ import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
-import java.io.UnsupportedEncodingException;
 import java.util.List;
 import java.util.Map;
 
@@ -36,6 +34,9 @@ import java.util.Map;
 public class RepeatableAFPrefillService implements DataProvider {
     private Logger logger = LoggerFactory.getLogger(RepeatableAFPrefillService.class);
 
+    // encoded once, every prefill streams the same bytes
+    private static final ChunkedData DATA = ChunkedData.of("{\"aPanel\":null}");
+
     /* (non-Javadoc)
      * @see com.adobe.forms.common.service.DataProviderBase#getServiceDescription()
      */
@@ -63,23 +64,11 @@ public class RepeatableAFPrefillService implements DataProvider {
         InputStream dataInputStream = null;
         ContentType contentType = dataOptions.getContentType();
         Map<String, Object> extras = dataOptions.getExtras();
-        String data = "{\"aPanel\":null}";
         List<FileAttachmentWrapper> fileAttachmentWrappers = null;
         PrefillData prefillData = null;
         Map<String, String> customContext = null;
-        dataInputStream = getDataInputStream(data);
+        dataInputStream = DATA.openStream();
         prefillData = new PrefillData(dataInputStream, contentType, fileAttachmentWrappers, customContext);
         return prefillData;
     }
-
-
-    private InputStream getDataInputStream(String data) {
-        InputStream dataInputStream = null;
-        try {
-            dataInputStream = new ByteArrayInputStream(data.getBytes("UTF-8"));
-        } catch (UnsupportedEncodingException e) {
-            logger.error("[Repeatable AF Prefill] Exception in custom af prefill service", e);
-        }
-        return dataInputStream;
-    }
-}
\ No newline at end of file
+}
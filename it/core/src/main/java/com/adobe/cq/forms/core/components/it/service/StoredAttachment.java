@@ -0,0 +1,134 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.it.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.adobe.forms.common.service.FileAttachmentWrapper;
+
+/**
+ * A submitted attachment, read once when it is stored.
+ *
+ * The submitted stream is not guaranteed to be readable twice, the stored content is: downloads read it as often as
+ * needed. Small attachments are buffered in memory; larger ones are written to a file in the bundle data area, so the
+ * {@link DataManager} weighs only what is actually kept in memory.
+ */
+public final class StoredAttachment {
+    private static final Logger logger = LoggerFactory.getLogger(StoredAttachment.class);
+
+    // attachments up to this size are kept in memory
+    static final int IN_MEMORY_LIMIT = 256 * 1024;
+
+    private final FileAttachmentWrapper attachment;
+    private final ChunkedData content;
+    private final File file;
+    private final long size;
+
+    StoredAttachment(FileAttachmentWrapper attachment, ChunkedData content) {
+        this.attachment = attachment;
+        this.content = content;
+        this.file = null;
+        this.size = content.size();
+    }
+
+    private StoredAttachment(FileAttachmentWrapper attachment, File file, long size) {
+        this.attachment = attachment;
+        this.content = null;
+        this.file = file;
+        this.size = size;
+    }
+
+    /**
+     * Reads the content of a submitted attachment.
+     *
+     * @param attachment the submitted attachment
+     * @param directory directory for attachments larger than {@value #IN_MEMORY_LIMIT} bytes, {@code null} to keep
+     *                  them in memory as well
+     * @return the attachment with its stored content
+     * @throws IOException if the content cannot be read or written
+     */
+    public static StoredAttachment of(FileAttachmentWrapper attachment, File directory) throws IOException {
+        try (InputStream in = attachment.getInputStream()) {
+            ChunkedData head = ChunkedData.of(in, IN_MEMORY_LIMIT);
+            if (head.size() < IN_MEMORY_LIMIT) {
+                return new StoredAttachment(attachment, head);
+            }
+            if (directory == null) {
+                return new StoredAttachment(attachment, ChunkedData.of(new SequenceInputStream(head.openStream(), in)));
+            }
+            Path file = Files.createTempFile(directory.toPath(), "attachment", ".bin");
+            try (OutputStream out = Files.newOutputStream(file)) {
+                long size = IOUtils.copyLarge(head.openStream(), out) + IOUtils.copyLarge(in, out);
+                return new StoredAttachment(attachment, file.toFile(), size);
+            } catch (IOException | RuntimeException ex) {
+                Files.deleteIfExists(file);
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * @return the submitted attachment, its name, type and uri are handed back on prefill
+     */
+    public FileAttachmentWrapper getAttachment() {
+        return attachment;
+    }
+
+    public String getContentType() {
+        return attachment != null ? attachment.getContentType() : null;
+    }
+
+    /**
+     * @return a new stream over the stored content
+     * @throws IOException if the content was written to a file which cannot be read anymore
+     */
+    public InputStream openStream() throws IOException {
+        return content != null ? content.openStream() : Files.newInputStream(file.toPath());
+    }
+
+    /**
+     * @return the size of the content in bytes
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return the number of content bytes kept in memory, zero if the content was written to a file
+     */
+    public long getMemorySize() {
+        return content != null ? content.size() : 0;
+    }
+
+    /**
+     * Deletes the file of the content, if any. Streams opened before keep reading it where the platform allows.
+     */
+    void discard() {
+        if (file != null && !file.delete() && file.exists()) {
+            logger.warn("Could not delete attachment {}", file);
+        }
+    }
+}
@@ -0,0 +1,460 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.it.service;
+
+import org.osgi.framework.BundleContext;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of submitted data, kept in the bundle data area so that submissions survive restarts.
+ *
+ * Each record is written as its length, a CRC32 checksum and the payload (submission id and data). Records are appended
+ * by a single writer thread, which takes everything queued so far and syncs it to disk at once, so concurrent
+ * submissions share one fsync. Submitting threads wait on a bounded queue when the writer falls behind. The journal is
+ * split into segments of {@value #SEGMENT_SIZE} bytes, of which the latest {@value #MAX_SEGMENTS} are kept; the position
+ * of every record is held in memory and rebuilt from the segments on activation. A torn record at the end of the last
+ * segment, e.g. after a crash, is cut off.
+ */
+@Component(
+        service = SubmissionJournal.class,
+        immediate = true
+)
+public class SubmissionJournal {
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionJournal.class);
+
+    static final long SEGMENT_SIZE = 64L * 1024 * 1024;
+    static final int MAX_SEGMENTS = 16;
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final int MAX_BATCH = 256;
+    private static final long ENQUEUE_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+    // record length and checksum
+    private static final int HEADER_SIZE = 8;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final Map<Long, FileChannel> readers = new ConcurrentHashMap<>();
+    private final BlockingQueue<Pending> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    // segment ids in ascending order, only touched by activation and the writer
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+
+    private Path directory;
+    private FileChannel current;
+    private long currentId;
+    private long currentSize;
+    private Thread writer;
+    private volatile boolean running;
+
+    @Activate
+    protected void activate(BundleContext bundleContext) {
+        File dataFile = bundleContext.getDataFile("submission-journal");
+        if (dataFile == null) {
+            logger.warn("No persistent storage available, submissions are not journaled");
+            return;
+        }
+        try {
+            directory = dataFile.toPath();
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException ex) {
+            logger.error("Could not open submission journal in {}, submissions are not journaled", dataFile, ex);
+            return;
+        }
+        running = true;
+        writer = new Thread(this::write, "submission-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        running = false;
+        if (writer != null) {
+            try {
+                // the writer flushes what is queued before it stops
+                writer.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // nothing completes what is still queued once the writer is gone
+        failQueued();
+        closeQuietly(current);
+        readers.values().forEach(SubmissionJournal::closeQuietly);
+        readers.clear();
+    }
+
+    /**
+     * @return whether the journal accepts submissions, it does not if there is no persistent storage or it could not
+     *         be opened
+     */
+    public boolean isAvailable() {
+        return running;
+    }
+
+    /**
+     * Queues the data of a submission for the journal.
+     *
+     * @param id   submission id
+     * @param data submitted data
+     * @return completes once the record is synced to disk, or fails if it could not be written
+     */
+    public CompletableFuture<Void> append(String id, String data) {
+        CompletableFuture<Void> written = new CompletableFuture<>();
+        if (!running) {
+            written.completeExceptionally(new IOException("Submission journal is not available"));
+            return written;
+        }
+        try {
+            Pending pending = new Pending(id, encode(id, data), written);
+            if (!queue.offer(pending, ENQUEUE_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                written.completeExceptionally(new IOException("Submission journal is overloaded"));
+            } else if (!running && queue.remove(pending)) {
+                // closed while queuing, after the writer took its last records
+                written.completeExceptionally(new IOException("Submission journal is closed"));
+            }
+        } catch (IOException ex) {
+            written.completeExceptionally(ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            written.completeExceptionally(ex);
+        }
+        return written;
+    }
+
+    /**
+     * Reads the data of a submission from the journal.
+     *
+     * @param id submission id
+     * @return the submitted data, or null if the submission is unknown
+     */
+    public ChunkedData read(String id) {
+        Location location = index.get(id);
+        if (location == null) {
+            return null;
+        }
+        try {
+            FileChannel channel = readers.computeIfAbsent(location.segment, segment -> {
+                try {
+                    return FileChannel.open(segmentPath(segment), StandardOpenOption.READ);
+                } catch (IOException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            });
+            ByteBuffer payload = ByteBuffer.allocate(location.length);
+            readFully(channel, payload, location.offset);
+            return decode(payload.array()).data;
+        } catch (IOException | RuntimeException ex) {
+            // e.g. the segment was dropped in the meantime
+            logger.warn("Could not read submission {} from the journal", id, ex);
+            return null;
+        }
+    }
+
+    private void write() {
+        List<Pending> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                writeBatch(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (IOException | RuntimeException ex) {
+                logger.error("Could not write {} submissions to the journal", batch.size(), ex);
+                for (Pending pending : batch) {
+                    pending.written.completeExceptionally(ex);
+                }
+            }
+            batch.clear();
+        }
+        // refuse what is still queued after an interrupt
+        failQueued();
+    }
+
+    private void failQueued() {
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            pending.written.completeExceptionally(new IOException("Submission journal is closed"));
+        }
+    }
+
+    private void writeBatch(List<Pending> batch) throws IOException {
+        List<Location> locations = new ArrayList<>(batch.size());
+        long batchSegment = currentId;
+        long batchStart = currentSize;
+        try {
+            for (Pending pending : batch) {
+                int size = pending.record.remaining();
+                if (currentSize > 0 && currentSize + size > SEGMENT_SIZE) {
+                    roll();
+                }
+                long offset = currentSize;
+                while (pending.record.hasRemaining()) {
+                    current.write(pending.record);
+                }
+                currentSize += size;
+                locations.add(new Location(currentId, offset + HEADER_SIZE, size - HEADER_SIZE));
+            }
+            // group commit, one sync for the whole batch
+            current.force(false);
+        } catch (IOException | RuntimeException ex) {
+            // the whole batch fails, so none of it may stay in front of the records of the next batch
+            discard(currentId == batchSegment ? batchStart : 0);
+            throw ex;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            Pending pending = batch.get(i);
+            index.put(pending.id, locations.get(i));
+            pending.written.complete(null);
+        }
+    }
+
+    /**
+     * Cuts the current segment back to the given size, or continues in a new segment if that fails, so that
+     * {@link #currentSize} is the position of the next record again
+     */
+    private void discard(long size) {
+        try {
+            current.truncate(size);
+            current.position(size);
+            currentSize = size;
+        } catch (IOException | RuntimeException ex) {
+            logger.warn("Could not cut off failed records of journal segment {}, starting a new one", currentId, ex);
+            closeQuietly(current);
+            try {
+                openSegment(currentId + 1);
+            } catch (IOException | RuntimeException rollEx) {
+                // the next batch fails the same way and tries again
+                logger.error("Could not start a new journal segment", rollEx);
+            }
+        }
+    }
+
+    private void roll() throws IOException {
+        current.force(false);
+        current.close();
+        openSegment(currentId + 1);
+        while (segments.size() > MAX_SEGMENTS) {
+            Map.Entry<Long, Path> oldest = segments.pollFirstEntry();
+            long segment = oldest.getKey();
+            index.values().removeIf(location -> location.segment == segment);
+            FileChannel reader = readers.remove(segment);
+            closeQuietly(reader);
+            Files.deleteIfExists(oldest.getValue());
+            logger.info("Dropped submission journal segment {}", oldest.getValue());
+        }
+    }
+
+    private void openSegment(long id) throws IOException {
+        Path path = segmentPath(id);
+        current = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        currentId = id;
+        currentSize = current.size();
+        current.position(currentSize);
+        segments.put(id, path);
+    }
+
+    /**
+     * Rebuilds the index from the segments on disk and reopens the last one for writing
+     */
+    private void recover() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    try {
+                        segments.put(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())), file);
+                    } catch (NumberFormatException ex) {
+                        logger.warn("Ignoring unexpected file {} in the submission journal", file);
+                    }
+                }
+            });
+        }
+        long start = System.currentTimeMillis();
+        for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+            try (FileChannel channel = FileChannel.open(segment.getValue(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long end = scan(segment.getKey(), channel);
+                if (end < channel.size()) {
+                    if (segment.getKey().equals(segments.lastKey())) {
+                        logger.warn("Cutting off torn record at {} of {}", end, segment.getValue());
+                        channel.truncate(end);
+                    } else {
+                        logger.warn("Ignoring corrupt record at {} of {}", end, segment.getValue());
+                    }
+                }
+            }
+        }
+        openSegment(segments.isEmpty() ? 0 : segments.lastKey());
+        logger.info("Recovered {} submissions from {} journal segments in {} ms", index.size(), segments.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Indexes the records of a segment
+     *
+     * @return the position after the last intact record
+     */
+    private long scan(long segment, FileChannel channel) throws IOException {
+        long size = channel.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (position + HEADER_SIZE <= size) {
+            header.clear();
+            readFully(channel, header, position);
+            header.flip();
+            int length = header.getInt();
+            int checksum = header.getInt();
+            if (length < 0 || position + HEADER_SIZE + length > size) {
+                return position;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(channel, payload, position + HEADER_SIZE);
+            if (checksum(payload.array()) != checksum) {
+                return position;
+            }
+            index.put(decodeId(payload.array()), new Location(segment, position + HEADER_SIZE, length));
+            position += HEADER_SIZE + length;
+        }
+        return position;
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+    }
+
+    private static ByteBuffer encode(String id, String data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(id);
+            out.write(data.getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] payload = bytes.toByteArray();
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+        record.putInt(payload.length);
+        record.putInt(checksum(payload));
+        record.put(payload);
+        record.flip();
+        return record;
+    }
+
+    private static Record decode(byte[] payload) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            String id = in.readUTF();
+            int offset = payload.length - in.available();
+            return new Record(id, ChunkedData.of(new ByteArrayInputStream(payload, offset, payload.length - offset)));
+        }
+    }
+
+    private static String decodeId(byte[] payload) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            return in.readUTF();
+        }
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        return (int) crc.getValue();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of segment");
+            }
+            position += read;
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                logger.debug("Could not close journal segment", ex);
+            }
+        }
+    }
+
+    private static final class Pending {
+        private final String id;
+        private final ByteBuffer record;
+        private final CompletableFuture<Void> written;
+
+        private Pending(String id, ByteBuffer record, CompletableFuture<Void> written) {
+            this.id = id;
+            this.record = record;
+            this.written = written;
+        }
+    }
+
+    private static final class Location {
+        private final long segment;
+        private final long offset;
+        private final int length;
+
+        private Location(long segment, long offset, int length) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    private static final class Record {
+        private final String id;
+        private final ChunkedData data;
+
+        private Record(String id, ChunkedData data) {
+            this.id = id;
+            this.data = data;
+        }
+    }
+}
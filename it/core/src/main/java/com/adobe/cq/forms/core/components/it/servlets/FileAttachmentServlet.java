@@ -15,25 +15,24 @@
  ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
 package com.adobe.cq.forms.core.components.it.servlets;
 
-import com.day.cq.commons.jcr.JcrConstants;
 import com.adobe.cq.forms.core.components.it.service.DataManager;
+import com.adobe.cq.forms.core.components.it.service.StoredAttachment;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.sling.api.SlingHttpServletRequest;
 import org.apache.sling.api.SlingHttpServletResponse;
-import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.servlets.HttpConstants;
 import org.apache.sling.api.servlets.SlingAllMethodsServlet;
 import org.apache.sling.api.servlets.SlingSafeMethodsServlet;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.propertytypes.ServiceDescription;
-import com.adobe.forms.common.service.ContentType;
-import com.adobe.forms.common.service.FileAttachmentWrapper;
 import org.apache.commons.io.IOUtils;
 
 import javax.servlet.Servlet;
 import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 
 /**
@@ -53,6 +52,8 @@ public class FileAttachmentServlet extends SlingSafeMethodsServlet {
 
     public static final String SELECTOR = "file.get";
     private static final long serialVersionUID = 1L;
+    private static final int BUFFER_SIZE = 8192;
+    private static final long[] UNSATISFIABLE = new long[0];
 
     @Reference
     DataManager dataManager;
@@ -60,23 +61,116 @@ public class FileAttachmentServlet extends SlingSafeMethodsServlet {
     @Override
     protected void doGet(final SlingHttpServletRequest req,
                          final SlingHttpServletResponse resp) throws ServletException, IOException {
-        final Resource resource = req.getResource();
         // /content/forms/af/abc/jcr:content/guideContainer.file.get/fileAttachmentUuid/fileName
         String suffix         = req.getRequestPathInfo().getSuffix();
-        byte[] responseObj    = null;
         String[] suffixParts  = StringUtils.split(suffix,"/");
         if (suffixParts != null && suffixParts.length > 1 && StringUtils.isNotBlank(suffixParts[0]) && dataManager != null) {
             String fileUuid = suffixParts[0];
-            FileAttachmentWrapper attachment = (FileAttachmentWrapper) dataManager.get(fileUuid);
-            String contentType               = attachment.getContentType();
-            responseObj                      = IOUtils.toByteArray(attachment.getInputStream());
+            Object stored = dataManager.get(fileUuid);
+            if (!(stored instanceof StoredAttachment)) {
+                resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            StoredAttachment attachment = (StoredAttachment) stored;
+            // stored when it was submitted, the size is known without reading the content
+            long length = attachment.size();
+            // attachments are stored under a random uuid and never change afterwards
+            String etag = "\"" + fileUuid + "-" + length + "\"";
+            resp.setHeader("ETag", etag);
+            resp.setHeader("Accept-Ranges", "bytes");
+            if (matches(req.getHeader("If-None-Match"), etag)) {
+                resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+            String contentType = attachment.getContentType();
             if(contentType != null && !contentType.trim().isEmpty()){
                 resp.setContentType(contentType);
             }
-            OutputStream os;
-            os = resp.getOutputStream();
-            os.write(responseObj);
-            os.close();
+
+            long offset = 0;
+            long count = length;
+            String range = req.getHeader("Range");
+            String ifRange = req.getHeader("If-Range");
+            // a stale If-Range asks for the whole attachment instead of the range
+            if (range != null && (ifRange == null || ifRange.equals(etag))) {
+                long[] bounds = parseRange(range, length);
+                if (bounds == UNSATISFIABLE) {
+                    resp.setHeader("Content-Range", "bytes */" + length);
+                    resp.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                if (bounds != null) {
+                    offset = bounds[0];
+                    count = bounds[1] - bounds[0] + 1;
+                    resp.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    resp.setHeader("Content-Range", "bytes " + bounds[0] + "-" + bounds[1] + "/" + length);
+                }
+            }
+            resp.setContentLengthLong(count);
+            try (InputStream is = attachment.openStream()) {
+                OutputStream os = resp.getOutputStream();
+                IOUtils.copyLarge(is, os, offset, count, new byte[BUFFER_SIZE]);
+                os.flush();
+            }
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : StringUtils.split(ifNoneMatch, ',')) {
+            String trimmed = StringUtils.removeStart(candidate.trim(), "W/");
+            if ("*".equals(trimmed) || etag.equals(trimmed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses a single byte range.
+     *
+     * @return the first and last byte position, null if the header is to be ignored, e.g. because it asks for several
+     *         ranges, or {@link #UNSATISFIABLE}
+     */
+    static long[] parseRange(String range, long length) {
+        if (!range.startsWith("bytes=") || range.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = range.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // suffix range, the last n bytes
+                long suffixLength = Long.parseLong(last);
+                if (suffixLength <= 0 || length == 0) {
+                    return UNSATISFIABLE;
+                }
+                start = Math.max(0, length - suffixLength);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? length - 1 : Long.parseLong(last);
+                if (end < start) {
+                    // syntactically invalid, ignored as per RFC 7233
+                    return null;
+                }
+                if (start >= length) {
+                    return UNSATISFIABLE;
+                }
+                end = Math.min(end, length - 1);
+            }
+            return new long[] { start, end };
+        } catch (NumberFormatException ex) {
+            return null;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,229 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.it.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.osgi.framework.BundleContext;
+
+import com.adobe.forms.common.service.FileAttachmentWrapper;
+
+public class DataManagerTest {
+
+    private static final int KB = 1024;
+
+    @Test
+    void testWeigh() throws IOException {
+        Assertions.assertEquals(0, DataManager.weigh(null));
+        Assertions.assertEquals(4, DataManager.weigh("dät"));
+        Assertions.assertEquals(3, DataManager.weigh(new byte[3]));
+        Assertions.assertEquals(5, DataManager.weigh(ChunkedData.of("hello")));
+        Assertions.assertEquals(8, DataManager.weigh(Arrays.asList("abc", "hello")));
+    }
+
+    @Test
+    void testAttachmentsAreWeighedByTheirSize() throws IOException {
+        int size = 3 * ChunkedData.CHUNK_SIZE + 7;
+        Assertions.assertEquals(size, DataManager.weigh(attachment(size)));
+    }
+
+    @Test
+    void testOtherValuesAreNotSerialized() {
+        CountingValue value = new CountingValue();
+        DataManager dataManager = newDataManager(64 * KB);
+        dataManager.put("key", value);
+        Assertions.assertSame(value, dataManager.get("key"));
+        Assertions.assertEquals(0, value.writes);
+        Assertions.assertEquals(DataManager.weigh(new Object()), dataManager.getWeight());
+    }
+
+    @Test
+    void testLargeValueIsNotEvictedBySmallerOnes() throws IOException {
+        // far more than the sixteenth of the budget a segment would have on its own
+        DataManager dataManager = newDataManager(1024 * KB);
+        String key = "attachment";
+        dataManager.put(key, attachment(300 * KB));
+        // including values in the same segment as the large one
+        String other = sameSegment(key);
+        for (int i = 0; i < 20; i++) {
+            dataManager.put(i % 2 == 0 ? other + i : "key" + i, attachment(10 * KB));
+        }
+        Assertions.assertNotNull(dataManager.get(key));
+        Assertions.assertEquals(0, dataManager.getEvictionCount());
+        Assertions.assertEquals(500 * KB, dataManager.getWeight());
+    }
+
+    @Test
+    void testLeastRecentlyUsedValueOfAllSegmentsIsEvicted() throws IOException {
+        DataManager dataManager = newDataManager(100 * KB);
+        String first = "first";
+        String second = differentSegment(first);
+        dataManager.put(first, attachment(40 * KB));
+        dataManager.put(second, attachment(40 * KB));
+        Assertions.assertNotNull(dataManager.get(first));
+        // lands in the segment of the first value, but the second value was used least recently
+        dataManager.put(sameSegment(first), attachment(40 * KB));
+        Assertions.assertNotNull(dataManager.get(first));
+        Assertions.assertNull(dataManager.get(second));
+        Assertions.assertEquals(1, dataManager.getEvictionCount());
+        Assertions.assertEquals(80 * KB, dataManager.getWeight());
+    }
+
+    @Test
+    void testValueLargerThanTheBudgetIsKept() throws IOException {
+        DataManager dataManager = newDataManager(64 * KB);
+        dataManager.put("small", attachment(KB));
+        dataManager.put("large", attachment(100 * KB));
+        Assertions.assertNull(dataManager.get("small"));
+        Assertions.assertNotNull(dataManager.get("large"));
+        // until the next value is stored
+        dataManager.put("next", attachment(KB));
+        Assertions.assertNull(dataManager.get("large"));
+        Assertions.assertEquals(KB, dataManager.getWeight());
+    }
+
+    @Test
+    void testLargeAttachmentsAreKeptOnDisk() throws IOException {
+        File directory = Files.createTempDirectory("datamanager").toFile();
+        try {
+            BundleContext bundleContext = Mockito.mock(BundleContext.class);
+            Mockito.when(bundleContext.getDataFile(Mockito.anyString()))
+                .thenAnswer(invocation -> new File(directory, invocation.getArgument(0)));
+            DataManager dataManager = new DataManager(64 * KB);
+            dataManager.activate(bundleContext);
+
+            int size = StoredAttachment.IN_MEMORY_LIMIT + 10;
+            StoredAttachment large = dataManager.putAttachment("large", submitted(size));
+            Assertions.assertEquals(size, large.size());
+            Assertions.assertEquals(0, large.getMemorySize());
+            try (InputStream in = large.openStream()) {
+                Assertions.assertArrayEquals(content(size), IOUtils.toByteArray(in));
+            }
+            StoredAttachment small = dataManager.putAttachment("small", submitted(KB));
+            Assertions.assertEquals(KB, small.getMemorySize());
+            Assertions.assertEquals(KB + DataManager.weigh(large), dataManager.getWeight());
+            File attachments = new File(directory, "datamanager-attachments");
+            Assertions.assertEquals(1, attachments.list().length);
+
+            // the file is deleted together with the attachment
+            dataManager.put("large", "replaced");
+            Assertions.assertEquals(0, attachments.list().length);
+            dataManager.deactivate();
+            Assertions.assertFalse(attachments.exists());
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    @Test
+    void testLargeAttachmentsAreKeptInMemoryWithoutDataArea() throws IOException {
+        DataManager dataManager = newDataManager(1024 * KB);
+        int size = StoredAttachment.IN_MEMORY_LIMIT + 10;
+        StoredAttachment large = dataManager.putAttachment("large", submitted(size));
+        Assertions.assertEquals(size, large.getMemorySize());
+        try (InputStream in = large.openStream()) {
+            Assertions.assertArrayEquals(content(size), IOUtils.toByteArray(in));
+        }
+    }
+
+    @Test
+    void testReplacedValueIsNotCounted() throws IOException {
+        DataManager dataManager = newDataManager(64 * KB);
+        dataManager.put("key", attachment(2 * KB));
+        Assertions.assertNotNull(dataManager.put("key", attachment(KB)));
+        Assertions.assertEquals(KB, dataManager.getWeight());
+    }
+
+    @Test
+    void testStoredAttachmentCanBeReadRepeatedly() throws IOException {
+        StoredAttachment attachment = attachment(100);
+        Assertions.assertEquals(100, attachment.openStream().skip(1000));
+        Assertions.assertEquals(100, attachment.openStream().skip(1000));
+    }
+
+    private static DataManager newDataManager(long maxBytes) {
+        DataManager dataManager = new DataManager(maxBytes);
+        dataManager.activate(null);
+        return dataManager;
+    }
+
+    private static StoredAttachment attachment(int size) throws IOException {
+        return new StoredAttachment(null, ChunkedData.of(new ByteArrayInputStream(new byte[size])));
+    }
+
+    private static FileAttachmentWrapper submitted(int size) throws IOException {
+        FileAttachmentWrapper attachment = Mockito.mock(FileAttachmentWrapper.class);
+        Mockito.when(attachment.getInputStream()).thenReturn(new ByteArrayInputStream(content(size)));
+        return attachment;
+    }
+
+    private static byte[] content(int size) {
+        byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) i;
+        }
+        return content;
+    }
+
+    private static String differentSegment(String key) {
+        int segment = segmentOf(key);
+        for (int i = 0; ; i++) {
+            String candidate = key + i;
+            if (segmentOf(candidate) != segment) {
+                return candidate;
+            }
+        }
+    }
+
+    private static String sameSegment(String key) {
+        int segment = segmentOf(key);
+        for (int i = 0; ; i++) {
+            String candidate = key + i;
+            if (segmentOf(candidate) == segment) {
+                return candidate;
+            }
+        }
+    }
+
+    private static int segmentOf(String key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return hash & 15;
+    }
+
+    private static final class CountingValue implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private transient int writes;
+
+        private void writeObject(ObjectOutputStream out) throws IOException {
+            writes++;
+            out.defaultWriteObject();
+        }
+    }
+}
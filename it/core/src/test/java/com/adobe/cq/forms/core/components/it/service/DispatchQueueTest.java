@@ -0,0 +1,165 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.it.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class DispatchQueueTest {
+
+    private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(5);
+
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+    private final CountDownLatch sinkEntered = new CountDownLatch(1);
+
+    private final CountDownLatch sinkReleased = new CountDownLatch(1);
+
+    private DispatchQueue<String> queue;
+
+    @AfterEach
+    void tearDown() {
+        sinkReleased.countDown();
+        if (queue != null) {
+            queue.close(TIMEOUT);
+        }
+    }
+
+    @Test
+    void testBatchSize() {
+        queue = newQueue(this::collect, 1000, 10, TimeUnit.SECONDS.toMillis(1), 1, DispatchQueue.OverflowPolicy.BLOCK);
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertTrue(queue.offer("item" + i));
+        }
+        awaitUntil(() -> queue.getDeliveredCount() == 100);
+        List<String> delivered = new ArrayList<>();
+        for (List<String> batch : batches) {
+            Assertions.assertTrue(batch.size() <= 10);
+            delivered.addAll(batch);
+        }
+        Assertions.assertEquals("item0", delivered.get(0));
+        Assertions.assertEquals("item99", delivered.get(99));
+        Assertions.assertEquals(100, queue.getEnqueuedCount());
+        Assertions.assertEquals(batches.size(), queue.getBatchCount());
+    }
+
+    @Test
+    void testFlushInterval() {
+        queue = newQueue(this::collect, 1000, 10, 20, 1, DispatchQueue.OverflowPolicy.BLOCK);
+        queue.offer("item");
+        // a single item does not wait for its batch to fill up
+        awaitUntil(() -> queue.getDeliveredCount() == 1);
+        Assertions.assertEquals(1, batches.get(0).size());
+    }
+
+    @Test
+    void testDropWhenFull() throws InterruptedException {
+        queue = newQueue(this::block, 1, 1, 0, 1, DispatchQueue.OverflowPolicy.DROP);
+        Assertions.assertTrue(queue.offer("taken"));
+        Assertions.assertTrue(sinkEntered.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        Assertions.assertTrue(queue.offer("buffered"));
+        Assertions.assertFalse(queue.offer("dropped"));
+        Assertions.assertEquals(1, queue.getDroppedCount());
+        Assertions.assertNull(queue.findPending("dropped"::equals));
+    }
+
+    @Test
+    void testBlockUntilTimeout() throws InterruptedException {
+        queue = new DispatchQueue<>("test", this::block, 1, 1, 0, 1, DispatchQueue.OverflowPolicy.BLOCK, 50);
+        Assertions.assertTrue(queue.offer("taken"));
+        Assertions.assertTrue(sinkEntered.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        Assertions.assertTrue(queue.offer("buffered"));
+        long start = System.currentTimeMillis();
+        Assertions.assertFalse(queue.offer("rejected"));
+        Assertions.assertTrue(System.currentTimeMillis() - start >= 40);
+        Assertions.assertEquals(1, queue.getDroppedCount());
+    }
+
+    @Test
+    void testPendingUntilDelivered() throws InterruptedException {
+        queue = newQueue(this::block, 10, 10, 0, 1, DispatchQueue.OverflowPolicy.BLOCK);
+        queue.offer("item");
+        Assertions.assertTrue(sinkEntered.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        // taken from the buffer by the worker, but the sink is not done with it yet
+        Assertions.assertEquals("item", queue.findPending("item"::equals));
+        sinkReleased.countDown();
+        awaitUntil(() -> queue.getDeliveredCount() == 1);
+        Assertions.assertNull(queue.findPending("item"::equals));
+    }
+
+    @Test
+    void testFailedBatch() {
+        queue = newQueue(batch -> {
+            throw new IllegalStateException("sink failed");
+        }, 10, 10, 0, 1, DispatchQueue.OverflowPolicy.BLOCK);
+        queue.offer("item");
+        awaitUntil(() -> queue.getFailedCount() == 1);
+        Assertions.assertEquals(0, queue.getDeliveredCount());
+        Assertions.assertNull(queue.findPending("item"::equals));
+    }
+
+    @Test
+    void testCloseDispatchesBuffered() {
+        queue = newQueue(this::collect, 1000, 10, TimeUnit.SECONDS.toMillis(10), 2, DispatchQueue.OverflowPolicy.BLOCK);
+        for (int i = 0; i < 25; i++) {
+            queue.offer("item" + i);
+        }
+        queue.close(TIMEOUT);
+        Assertions.assertEquals(25, queue.getDeliveredCount());
+        Assertions.assertFalse(queue.offer("late"));
+    }
+
+    private static DispatchQueue<String> newQueue(Consumer<List<String>> sink, int capacity, int batchSize, long flushInterval,
+        int workers, DispatchQueue.OverflowPolicy overflowPolicy) {
+        return new DispatchQueue<>("test", sink, capacity, batchSize, flushInterval, workers, overflowPolicy, 1000);
+    }
+
+    private void collect(List<String> batch) {
+        batches.add(new ArrayList<>(batch));
+    }
+
+    private void block(List<String> batch) {
+        sinkEntered.countDown();
+        try {
+            sinkReleased.await(TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        collect(batch);
+    }
+
+    static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (!condition.getAsBoolean()) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "condition not met in time");
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                Assertions.fail(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.it.service;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+class HeadlessPublisherTest {
+
+    private static final String FORM = "/content/forms/af/form";
+    private static final String OTHER_FORM = "/content/forms/af/other";
+
+    private StandInServer server;
+    private CloseableHttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new StandInServer();
+        httpClient = HttpClients.createDefault();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        server.close();
+    }
+
+    @Test
+    void testPublishUploadsChangedDefinitions() throws IOException {
+        try (HeadlessPublisher publisher = newPublisher(false)) {
+            publisher.publish(Arrays.asList(FORM, OTHER_FORM), definitions("{\"v\":1}"));
+            // uploaded before publish returns
+            Assertions.assertEquals(2, server.getRequests().size());
+            Assertions.assertEquals("POST", server.getRequests().get(0).method);
+
+            server.clearRequests();
+            publisher.publish(Arrays.asList(FORM, OTHER_FORM), definitions("{\"v\":1}"));
+            Assertions.assertTrue(server.getRequests().isEmpty());
+
+            publisher.publish(Collections.singletonList(FORM), definitions("{\"v\":2}"));
+            Assertions.assertEquals(1, server.getRequests().size());
+            Assertions.assertEquals("{\"v\":2}", server.getRequests().get(0).body);
+        }
+    }
+
+    @Test
+    void testPublishBatch() throws IOException {
+        try (HeadlessPublisher publisher = newPublisher(true)) {
+            publisher.publish(Arrays.asList(FORM, OTHER_FORM), definitions("{\"v\":1}"));
+            Assertions.assertEquals(1, server.getRequests().size());
+            Assertions.assertEquals("[{\"path\":\"" + FORM + "\",\"definition\":{\"v\":1}},{\"path\":\"" + OTHER_FORM
+                    + "\",\"definition\":{\"v\":1}}]", server.getRequests().get(0).body);
+        }
+    }
+
+    @Test
+    void testFailedUploadFailsAndIsRepeated() throws IOException {
+        try (HeadlessPublisher publisher = newPublisher(false)) {
+            server.setHandler(request -> new StandInServer.Response(503, ""));
+            Assertions.assertThrows(IOException.class, () -> publisher.publish(Collections.singletonList(FORM), definitions("{}")));
+
+            server.clearRequests();
+            server.setHandler(request -> new StandInServer.Response(200, ""));
+            publisher.publish(Collections.singletonList(FORM), definitions("{}"));
+            Assertions.assertEquals(1, server.getRequests().size());
+        }
+    }
+
+    @Test
+    void testFailedGenerationFails() {
+        try (HeadlessPublisher publisher = newPublisher(false)) {
+            IOException ex = Assertions.assertThrows(IOException.class, () -> publisher.publish(Collections.singletonList(FORM),
+                    paths -> {
+                        throw new IllegalStateException("no resolver");
+                    }));
+            Assertions.assertEquals("no resolver", ex.getCause().getMessage());
+            Assertions.assertTrue(server.getRequests().isEmpty());
+        }
+    }
+
+    @Test
+    void testDelete() throws IOException {
+        try (HeadlessPublisher publisher = newPublisher(false)) {
+            publisher.publish(Collections.singletonList(FORM), definitions("{}"));
+            publisher.delete(Collections.singletonList(FORM));
+            Assertions.assertEquals("DELETE /?path=%2Fcontent%2Fforms%2Faf%2Fform", server.getRequests().get(1).toString());
+
+            // the definition is uploaded again after it was deleted
+            server.clearRequests();
+            publisher.publish(Collections.singletonList(FORM), definitions("{}"));
+            Assertions.assertEquals(1, server.getRequests().size());
+
+            server.setHandler(request -> new StandInServer.Response(500, ""));
+            Assertions.assertThrows(IOException.class, () -> publisher.delete(Collections.singletonList(FORM)));
+        }
+    }
+
+    @Test
+    void testRequestsOfOnePathKeepTheirOrder() throws Exception {
+        CountDownLatch posted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        server.setHandler(request -> {
+            if ("POST".equals(request.method)) {
+                posted.countDown();
+                release.await(10, TimeUnit.SECONDS);
+            }
+            return new StandInServer.Response(200, "");
+        });
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try (HeadlessPublisher publisher = newPublisher(false)) {
+            Future<?> publish = callers.submit(() -> {
+                publisher.publish(Collections.singletonList(FORM), definitions("{}"));
+                return null;
+            });
+            Assertions.assertTrue(posted.await(10, TimeUnit.SECONDS));
+            Future<?> delete = callers.submit(() -> {
+                publisher.delete(Collections.singletonList(FORM));
+                return null;
+            });
+            // the delete waits for the publish of the same path
+            Thread.sleep(200);
+            Assertions.assertEquals(1, server.getRequests().size());
+            release.countDown();
+            publish.get(10, TimeUnit.SECONDS);
+            delete.get(10, TimeUnit.SECONDS);
+            Assertions.assertEquals(Arrays.asList("POST", "DELETE"),
+                    server.getRequests().stream().map(request -> request.method).collect(Collectors.toList()));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void testClosedPublisherFails() {
+        HeadlessPublisher publisher = newPublisher(false);
+        publisher.close();
+        Assertions.assertThrows(IOException.class, () -> publisher.publish(Collections.singletonList(FORM), definitions("{}")));
+    }
+
+    private HeadlessPublisher newPublisher(boolean batchSupported) {
+        return new HeadlessPublisher(httpClient, null, server.url("/"), batchSupported, 20, 2, 10);
+    }
+
+    private static HeadlessPublisher.Generator definitions(String definition) {
+        return paths -> {
+            Map<String, String> definitions = new LinkedHashMap<>();
+            for (String path : paths) {
+                definitions.put(path, definition);
+            }
+            return definitions;
+        };
+    }
+}
@@ -0,0 +1,173 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.it.service;
+
+import com.adobe.cq.forms.core.components.models.form.FormStructureParser;
+import com.day.cq.replication.AgentConfig;
+import com.day.cq.replication.ReplicationAction;
+import com.day.cq.replication.ReplicationActionType;
+import com.day.cq.replication.ReplicationException;
+import com.day.cq.replication.ReplicationResult;
+import com.day.cq.replication.ReplicationTransaction;
+import com.day.cq.replication.TransportContext;
+import com.day.cq.wcm.api.NameConstants;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.osgi.services.HttpClientBuilderFactory;
+import org.apache.sling.api.resource.LoginException;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.ResourceResolverFactory;
+import org.apache.sling.api.wrappers.ValueMapDecorator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+class HeadlessTransportHandlerTest {
+
+    private static final String PAGE = "/content/forms/af/form";
+    private static final String DEFINITION = "{\"fieldType\":\"form\"}";
+
+    private StandInServer server;
+    private ResourceResolverFactory resourceResolverFactory;
+    private ResourceResolver serviceResolver;
+    private HeadlessTransportHandler handler;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StandInServer();
+        serviceResolver = Mockito.mock(ResourceResolver.class);
+        resourceResolverFactory = Mockito.mock(ResourceResolverFactory.class);
+        Mockito.when(resourceResolverFactory.getServiceResourceResolver(Mockito.any())).thenReturn(serviceResolver);
+        mockPage();
+        handler = newHandler("client", "secret");
+    }
+
+    @AfterEach
+    void tearDown() {
+        handler.deactivate();
+        server.close();
+    }
+
+    @Test
+    void testActivateUploadsBeforeReturning() throws ReplicationException {
+        ReplicationResult result = handler.deliver(context(agentProperties()), transaction(ReplicationActionType.ACTIVATE));
+        Assertions.assertTrue(result.isSuccess());
+        Assertions.assertEquals(1, server.getRequests().size());
+        Assertions.assertEquals("POST", server.getRequests().get(0).method);
+        Assertions.assertEquals(DEFINITION, server.getRequests().get(0).body);
+    }
+
+    @Test
+    void testFailedUploadFails() {
+        server.setHandler(request -> new StandInServer.Response(503, ""));
+        Assertions.assertThrows(ReplicationException.class,
+                () -> handler.deliver(context(agentProperties()), transaction(ReplicationActionType.ACTIVATE)));
+        Assertions.assertThrows(ReplicationException.class,
+                () -> handler.deliver(context(agentProperties()), transaction(ReplicationActionType.DELETE)));
+    }
+
+    @Test
+    void testDelete() throws ReplicationException {
+        ReplicationResult result = handler.deliver(context(agentProperties()), transaction(ReplicationActionType.DEACTIVATE));
+        Assertions.assertTrue(result.isSuccess());
+        Assertions.assertEquals("DELETE /?path=%2Fcontent%2Fforms%2Faf%2Fform", server.getRequests().get(0).toString());
+    }
+
+    @Test
+    void testLoginFailureFails() throws LoginException {
+        Mockito.when(resourceResolverFactory.getServiceResourceResolver(Mockito.any())).thenThrow(new LoginException("no mapping"));
+        Assertions.assertThrows(ReplicationException.class,
+                () -> handler.deliver(context(agentProperties()), transaction(ReplicationActionType.ACTIVATE)));
+        // also when the definitions are only logged
+        Assertions.assertThrows(ReplicationException.class,
+                () -> handler.deliver(context(Collections.emptyMap()), transaction(ReplicationActionType.ACTIVATE)));
+        Assertions.assertTrue(server.getRequests().isEmpty());
+    }
+
+    @Test
+    void testMissingCredentialsFail() throws Exception {
+        handler.deactivate();
+        handler = newHandler("", "");
+        Map<String, Object> properties = agentProperties();
+        properties.put("headlessTokenEndpoint", server.url("/token"));
+        ReplicationException ex = Assertions.assertThrows(ReplicationException.class,
+                () -> handler.deliver(context(properties), transaction(ReplicationActionType.ACTIVATE)));
+        Assertions.assertTrue(ex.getMessage().contains("not configured"));
+        Assertions.assertTrue(server.getRequests().isEmpty());
+
+        // agents without a token endpoint do not need them
+        Assertions.assertTrue(handler.deliver(context(agentProperties()), transaction(ReplicationActionType.ACTIVATE)).isSuccess());
+    }
+
+    private HeadlessTransportHandler newHandler(String clientId, String clientSecret) throws IllegalAccessException {
+        HttpClientBuilderFactory clientBuilderFactory = Mockito.mock(HttpClientBuilderFactory.class);
+        Mockito.when(clientBuilderFactory.newBuilder()).thenAnswer(invocation -> HttpClients.custom());
+        HeadlessTransportHandler.Config config = Mockito.mock(HeadlessTransportHandler.Config.class);
+        Mockito.when(config.clientId()).thenReturn(clientId);
+        Mockito.when(config.clientSecret()).thenReturn(clientSecret);
+        HeadlessTransportHandler transportHandler = new HeadlessTransportHandler();
+        FieldUtils.writeField(transportHandler, "clientBuilderFactory", clientBuilderFactory, true);
+        FieldUtils.writeField(transportHandler, "resourceResolverFactory", resourceResolverFactory, true);
+        transportHandler.activate(config);
+        return transportHandler;
+    }
+
+    private void mockPage() {
+        Resource container = Mockito.mock(Resource.class);
+        Mockito.when(container.getPath()).thenReturn(PAGE + "/jcr:content/guideContainer");
+        Map<String, Object> containerProperties = new HashMap<>();
+        containerProperties.put("fieldType", "form");
+        Mockito.when(container.getValueMap()).thenReturn(new ValueMapDecorator(containerProperties));
+        FormStructureParser parser = Mockito.mock(FormStructureParser.class);
+        Mockito.when(parser.getFormDefinition()).thenReturn(DEFINITION);
+        Mockito.when(container.adaptTo(FormStructureParser.class)).thenReturn(parser);
+
+        Resource page = Mockito.mock(Resource.class);
+        Mockito.when(page.getPath()).thenReturn(PAGE);
+        Mockito.when(page.isResourceType(NameConstants.NT_PAGE)).thenReturn(true);
+        Mockito.when(page.getValueMap()).thenReturn(new ValueMapDecorator(new HashMap<>()));
+        Mockito.when(page.getChildren()).thenReturn(Collections.singletonList(container));
+        Mockito.when(serviceResolver.getResource(PAGE)).thenReturn(page);
+    }
+
+    private Map<String, Object> agentProperties() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("headlessEndpoint", server.url("/"));
+        return properties;
+    }
+
+    private static TransportContext context(Map<String, Object> properties) {
+        AgentConfig agentConfig = Mockito.mock(AgentConfig.class);
+        Mockito.when(agentConfig.getId()).thenReturn("headless");
+        Mockito.when(agentConfig.getProperties()).thenReturn(new ValueMapDecorator(properties));
+        TransportContext context = Mockito.mock(TransportContext.class);
+        Mockito.when(context.getConfig()).thenReturn(agentConfig);
+        return context;
+    }
+
+    private static ReplicationTransaction transaction(ReplicationActionType type) {
+        ReplicationTransaction transaction = Mockito.mock(ReplicationTransaction.class);
+        Mockito.when(transaction.getAction()).thenReturn(new ReplicationAction(type, PAGE));
+        return transaction;
+    }
+}
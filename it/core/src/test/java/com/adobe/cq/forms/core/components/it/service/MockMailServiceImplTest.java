@@ -0,0 +1,137 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.it.service;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.apache.commons.mail.Email;
+import org.apache.commons.mail.EmailException;
+import org.apache.commons.mail.SimpleEmail;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MockMailServiceImplTest {
+
+    private final CountDownLatch storeEntered = new CountDownLatch(1);
+
+    private final CountDownLatch storeReleased = new CountDownLatch(1);
+
+    private volatile boolean blockStore;
+
+    private DataManager dataManager;
+
+    private MockMailServiceImpl mailService;
+
+    @BeforeEach
+    void setUp() throws IllegalAccessException {
+        dataManager = new DataManager() {
+            @Override
+            public Object put(String key, Object value) {
+                if (blockStore) {
+                    storeEntered.countDown();
+                    try {
+                        storeReleased.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.put(key, value);
+            }
+        };
+        dataManager.activate(null);
+        mailService = new MockMailServiceImpl();
+        FieldUtils.writeField(mailService, "dataManager", dataManager, true);
+        mailService.activate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        storeReleased.countDown();
+        mailService.deactivate();
+    }
+
+    @Test
+    void testSendAndGet() throws EmailException {
+        Email email = email("Thank you");
+        mailService.sendEmail(email);
+        // found right away, whether it is still queued or already stored
+        Assertions.assertSame(email, mailService.getEmail("Thank you"));
+        DispatchQueueTest.awaitUntil(() -> dataManager.get("Thank you") != null);
+        Assertions.assertSame(email, mailService.getEmail("Thank you"));
+        Assertions.assertNull(mailService.getEmail("unknown"));
+    }
+
+    @Test
+    void testGetWhileStoring() throws EmailException, InterruptedException {
+        blockStore = true;
+        Email email = email("Confirmation");
+        mailService.sendEmail(email);
+        Assertions.assertTrue(storeEntered.await(5, TimeUnit.SECONDS));
+        // taken from the buffer, but not in the data manager yet
+        Assertions.assertNull(dataManager.get("Confirmation"));
+        Assertions.assertSame(email, mailService.getEmail("Confirmation"));
+        storeReleased.countDown();
+        DispatchQueueTest.awaitUntil(() -> dataManager.get("Confirmation") != null);
+        Assertions.assertSame(email, mailService.getEmail("Confirmation"));
+    }
+
+    @Test
+    void testPendingMailWinsOverStoredOne() throws EmailException, InterruptedException {
+        Email first = email("Receipt");
+        mailService.sendEmail(first);
+        DispatchQueueTest.awaitUntil(() -> dataManager.get("Receipt") != null);
+        blockStore = true;
+        Email second = email("Receipt");
+        mailService.sendEmail(second);
+        Assertions.assertTrue(storeEntered.await(5, TimeUnit.SECONDS));
+        // the first one is still stored under the subject, but the second one was sent later
+        Assertions.assertSame(first, dataManager.get("Receipt"));
+        Assertions.assertSame(second, mailService.getEmail("Receipt"));
+        storeReleased.countDown();
+        DispatchQueueTest.awaitUntil(() -> dataManager.get("Receipt") == second);
+        Assertions.assertSame(second, mailService.getEmail("Receipt"));
+    }
+
+    @Test
+    void testManyMails() throws EmailException {
+        for (int i = 0; i < 500; i++) {
+            mailService.sendEmail(email("Mail " + i));
+        }
+        for (int i = 0; i < 500; i++) {
+            Assertions.assertNotNull(mailService.getEmail("Mail " + i), "Mail " + i);
+        }
+        mailService.deactivate();
+        for (int i = 0; i < 500; i++) {
+            Assertions.assertNotNull(dataManager.get("Mail " + i), "Mail " + i);
+        }
+    }
+
+    @Test
+    void testSendWithoutDataManager() throws IllegalAccessException {
+        FieldUtils.writeField(mailService, "dataManager", null, true);
+        Assertions.assertThrows(EmailException.class, () -> mailService.sendEmail(email("Lost")));
+    }
+
+    private static Email email(String subject) {
+        Email email = new SimpleEmail();
+        email.setSubject(subject);
+        return email;
+    }
+}
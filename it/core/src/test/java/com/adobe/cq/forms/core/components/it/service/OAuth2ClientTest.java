@@ -0,0 +1,202 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.it.service;
+
+import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+class OAuth2ClientTest {
+
+    private static final String PRIVATE_KEY;
+
+    static {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            PRIVATE_KEY = Base64.getEncoder().encodeToString(generator.generateKeyPair().getPrivate().getEncoded());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private StandInServer server;
+    private CloseableHttpClient httpClient;
+    private OAuth2Client client;
+
+    // status of the token endpoint, lifetime of the tokens it issues and status of the api
+    private volatile int tokenStatus = 200;
+    private volatile long expiresIn = 3600;
+    private volatile int apiStatus = 200;
+    private final AtomicInteger issued = new AtomicInteger();
+    private final Set<String> revoked = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new StandInServer();
+        server.setHandler(request -> {
+            if (request.uri.startsWith("/token")) {
+                if (tokenStatus != 200) {
+                    return new StandInServer.Response(tokenStatus, "");
+                }
+                return new StandInServer.Response(200, "{\"access_token\":\"token" + issued.incrementAndGet() + "\",\"expires_in\":"
+                        + expiresIn + "}");
+            }
+            if (request.authorization == null || revoked.contains(request.authorization)) {
+                return new StandInServer.Response(401, "");
+            }
+            return new StandInServer.Response(apiStatus, "");
+        });
+        httpClient = HttpClients.createDefault();
+        client = new OAuth2Client(server.url("/token"), "client", PRIVATE_KEY, "thumbprint", "resource", httpClient);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        server.close();
+    }
+
+    @Test
+    void testTokenIsCached() throws IOException {
+        publish();
+        publish();
+        client.publishOrDeleteFormModelJson(null, server.url("/api?path=form"), HttpDelete::new);
+        Assertions.assertEquals(1, tokenRequests().size());
+        Assertions.assertTrue(tokenRequests().get(0).body.startsWith("grant_type=client_credentials&client_id=client&"));
+        Assertions.assertEquals(3, apiRequests().stream().filter(request -> "Bearer token1".equals(request.authorization)).count());
+    }
+
+    @Test
+    void testExpiredTokenIsRefreshed() throws Exception {
+        // refreshed after half of the lifetime, expired after all of it
+        expiresIn = 1;
+        publish();
+        Thread.sleep(1100);
+        publish();
+        Assertions.assertEquals(2, tokenRequests().size());
+        Assertions.assertEquals("Bearer token2", apiRequests().get(1).authorization);
+    }
+
+    @Test
+    void testTokenIsRefreshedAhead() throws Exception {
+        expiresIn = 2;
+        publish();
+        Thread.sleep(1200);
+        // still valid, used while a new one is fetched in the background
+        publish();
+        Assertions.assertEquals("Bearer token1", apiRequests().get(1).authorization);
+        for (int i = 0; i < 50 && !"Bearer token2".equals(lastAuthorization()); i++) {
+            Thread.sleep(20);
+            publish();
+        }
+        Assertions.assertEquals("Bearer token2", lastAuthorization());
+        // a single refresh, however many callers found the token due
+        Assertions.assertEquals(2, tokenRequests().size());
+    }
+
+    @Test
+    void testRejectedTokenIsReplaced() throws IOException {
+        publish();
+        revoked.add("Bearer token1");
+        publish();
+        Assertions.assertEquals(2, tokenRequests().size());
+        List<String> authorizations = apiRequests().stream().map(request -> request.authorization).collect(Collectors.toList());
+        Assertions.assertEquals(Arrays.asList("Bearer token1", "Bearer token1", "Bearer token2"), authorizations);
+
+        revoked.add("Bearer token2");
+        apiStatus = 403;
+        Assertions.assertThrows(IOException.class, this::publish);
+    }
+
+    @Test
+    void testClientErrorIsNotRetried() {
+        tokenStatus = 400;
+        Assertions.assertThrows(IOException.class, this::publish);
+        Assertions.assertEquals(1, tokenRequests().size());
+        Assertions.assertTrue(apiRequests().isEmpty());
+    }
+
+    @Test
+    void testServerErrorIsRetried() {
+        tokenStatus = 503;
+        Assertions.assertThrows(IOException.class, this::publish);
+        Assertions.assertEquals(3, tokenRequests().size());
+        Assertions.assertTrue(apiRequests().isEmpty());
+
+        // the next call tries again
+        tokenStatus = 200;
+        Assertions.assertDoesNotThrow(this::publish);
+    }
+
+    @Test
+    void testAnySuccessStatusIsAccepted() throws IOException {
+        apiStatus = 204;
+        publish();
+        // also when retried with a new token
+        revoked.add("Bearer token1");
+        apiStatus = 201;
+        publish();
+        Assertions.assertEquals("Bearer token2", lastAuthorization());
+    }
+
+    @Test
+    void testBodyIsSentAsUtf8Json() throws IOException {
+        String json = "{\"title\":\"Z\u00fcrich \u2013 \u6771\u4eac\"}";
+        client.publishOrDeleteFormModelJson(json, server.url("/api"), HttpPost::new);
+        Assertions.assertEquals(json, apiRequests().get(0).body);
+    }
+
+    @Test
+    void testFailedRequestFails() {
+        apiStatus = 500;
+        Assertions.assertThrows(IOException.class, this::publish);
+        Assertions.assertEquals(1, apiRequests().size());
+    }
+
+    private void publish() throws IOException {
+        client.publishOrDeleteFormModelJson("{}", server.url("/api"), HttpPost::new);
+    }
+
+    private String lastAuthorization() {
+        List<StandInServer.Request> requests = apiRequests();
+        return requests.get(requests.size() - 1).authorization;
+    }
+
+    private List<StandInServer.Request> tokenRequests() {
+        return server.getRequests().stream().filter(request -> request.uri.startsWith("/token")).collect(Collectors.toList());
+    }
+
+    private List<StandInServer.Request> apiRequests() {
+        return server.getRequests().stream().filter(request -> request.uri.startsWith("/api")).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,134 @@
+/*~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+ ~ Copyright 2025 Adobe
+ ~
+ ~ Licensed under the Apache License, Version 2.0 (the "License");
+ ~ you may not use this file except in compliance with the License.
+ ~ You may obtain a copy of the License at
+ ~
+ ~     http://www.apache.org/licenses/LICENSE-2.0
+ ~
+ ~ Unless required by applicable law or agreed to in writing, software
+ ~ distributed under the License is distributed on an "AS IS" BASIS,
+ ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ ~ See the License for the specific language governing permissions and
+ ~ limitations under the License.
+ ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~*/
+package com.adobe.cq.forms.core.components.it.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.osgi.framework.BundleContext;
+
+public class SubmissionJournalTest {
+
+    private File directory;
+
+    private SubmissionJournal journal;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("submission-journal").toFile();
+        journal = newJournal(directory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.deactivate();
+        FileUtils.deleteQuietly(directory);
+    }
+
+    @Test
+    void testAppendAndRead() throws Exception {
+        journal.append("first", "{\"name\":\"ä\"}").get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals("{\"name\":\"ä\"}", read(journal, "first"));
+        Assertions.assertNull(journal.read("unknown"));
+    }
+
+    @Test
+    void testRecovery() throws Exception {
+        journal.append("first", "one").get(5, TimeUnit.SECONDS);
+        journal.deactivate();
+        journal = newJournal(directory);
+        Assertions.assertEquals("one", read(journal, "first"));
+        // appends continue after the recovered records
+        journal.append("second", "two").get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals("one", read(journal, "first"));
+        Assertions.assertEquals("two", read(journal, "second"));
+    }
+
+    @Test
+    void testNotAvailableWithoutStorage() {
+        SubmissionJournal unavailable = newJournal(null);
+        Assertions.assertFalse(unavailable.isAvailable());
+        Assertions.assertTrue(unavailable.append("first", "one").isCompletedExceptionally());
+        unavailable.deactivate();
+    }
+
+    @Test
+    void testAppendAfterDeactivateFails() {
+        Assertions.assertTrue(journal.isAvailable());
+        journal.deactivate();
+        Assertions.assertFalse(journal.isAvailable());
+        Assertions.assertTrue(journal.append("first", "one").isCompletedExceptionally());
+    }
+
+    @Test
+    void testAppendsRacingDeactivateComplete() throws Exception {
+        List<CompletableFuture<Void>> written = new ArrayList<>();
+        CountDownLatch started = new CountDownLatch(1);
+        Thread appender = new Thread(() -> {
+            for (int i = 0; i < 2000; i++) {
+                CompletableFuture<Void> future = journal.append("id" + i, "data" + i);
+                synchronized (written) {
+                    written.add(future);
+                }
+                started.countDown();
+            }
+        });
+        appender.start();
+        started.await(5, TimeUnit.SECONDS);
+        journal.deactivate();
+        appender.join(TimeUnit.SECONDS.toMillis(30));
+        synchronized (written) {
+            for (CompletableFuture<Void> future : written) {
+                try {
+                    // every append either made it to disk or was refused, none is left hanging
+                    future.get(5, TimeUnit.SECONDS);
+                } catch (ExecutionException ex) {
+                    Assertions.assertTrue(ex.getCause() instanceof IOException);
+                }
+            }
+        }
+    }
+
+    private static SubmissionJournal newJournal(File directory) {
+        BundleContext bundleContext = Mockito.mock(BundleContext.class);
+        Mockito.when(bundleContext.getDataFile("submission-journal")).thenReturn(directory);
+        SubmissionJournal journal = new SubmissionJournal();
+        journal.activate(bundleContext);
+        return journal;
+    }
+
+    private static String read(SubmissionJournal journal, String id) throws IOException {
+        try (InputStream in = journal.read(id).openStream()) {
+            return IOUtils.toString(in, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright 2025 Adobe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+import {TextDecoder} from "util";
+import CborDecoder from "../src/CborDecoder";
+
+global.TextDecoder = global.TextDecoder || TextDecoder;
+
+const decode = (hex) => CborDecoder.decode(new Uint8Array(hex.match(/../g).map(byte => parseInt(byte, 16))).buffer);
+
+test('decode map', () => {
+    expect(decode("d90100a1616101")).toEqual({"a": 1});
+});
+
+test('decode string references', () => {
+    expect(decode("d9010084" + "696669656c6454797065" + "d81900" + "626162" + "626162"))
+        .toEqual(["fieldType", "fieldType", "ab", "ab"]);
+});
+
+test('decode scalars', () => {
+    expect(decode("d9010086" + "20" + "1818" + "fa3fc00000" + "fb3fb999999999999a" + "f5" + "f6"))
+        .toEqual([-1, 24, 1.5, 0.1, true, null]);
+});
+
+test('decode indefinite length and half precision', () => {
+    expect(decode("bf6178f93c00ff")).toEqual({"x": 1});
+});
+
+test('invalid string reference', () => {
+    expect(() => decode("d90100d81900")).toThrow();
+});
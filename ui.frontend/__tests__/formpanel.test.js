@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright 2025 Adobe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+import {Click} from "@aemforms/af-core";
+import {Constants} from "../src/index";
+import FormContainer from "../src/view/FormContainer";
+import FormPanel from "../src/view/FormPanel";
+
+const FORM_PATH = "/content/forms/af/lazy";
+const PANEL_PATH = FORM_PATH + "/guideContainer/wizard/step2";
+
+const formJson = {
+    fieldType: "form",
+    items: [
+        {
+            id: "step1",
+            fieldType: "panel",
+            name: "step1",
+            items: []
+        },
+        {
+            id: "step2",
+            fieldType: "panel",
+            name: "step2",
+            items: [
+                {
+                    id: "city",
+                    fieldType: "text-input",
+                    type: "string",
+                    name: "city",
+                    required: true
+                },
+                {
+                    id: "country",
+                    fieldType: "text-input",
+                    type: "string",
+                    name: "country",
+                    default: "Switzerland"
+                }
+            ]
+        },
+        {
+            id: "submit",
+            fieldType: "button",
+            name: "submit",
+            buttonType: "submit",
+            events: {
+                click: ["submitForm()"]
+            }
+        }
+    ]
+};
+
+/**
+ * A panel view without the markup of a real panel component.
+ */
+class TestPanel extends FormPanel {
+    getWidget() {
+        return null;
+    }
+
+    getDescription() {
+        return null;
+    }
+
+    getLabel() {
+        return null;
+    }
+
+    getErrorDiv() {
+        return null;
+    }
+
+    getTooltipDiv() {
+        return null;
+    }
+
+    getQuestionMarkDiv() {
+        return null;
+    }
+
+    applyState(state) {
+    }
+}
+
+let formContainer;
+let panel;
+
+const render = () => {
+    document.body.innerHTML = `<form data-cmp-path="${FORM_PATH}">
+        <div id="step2" data-cmp-lazy="${PANEL_PATH}" data-cmp-adaptiveformcontainer-path="${FORM_PATH}"></div>
+    </form>`;
+    formContainer = new FormContainer({
+        _formJson: formJson,
+        _prefillData: {},
+        _path: FORM_PATH,
+        _element: document.querySelector("form")
+    });
+    formContainer.subscribe();
+    panel = new TestPanel({element: document.getElementById("step2"), formContainer});
+    panel.setModel(formContainer.getModel("step2"));
+};
+
+const waitFor = async (condition) => {
+    for (let i = 0; i < 100 && !condition(); i++) {
+        await new Promise(resolve => setTimeout(resolve, 10));
+    }
+    expect(condition()).toBe(true);
+};
+
+beforeEach(() => {
+    // the panel is never shown on its own
+    global.IntersectionObserver = jest.fn(() => ({observe: jest.fn(), disconnect: jest.fn()}));
+    global.fetch = jest.fn(async () => ({
+        ok: true,
+        text: async () => `<div id="step2"><div id="city" class="cmp-adaptiveform-textinput"></div></div>`
+    }));
+    render();
+});
+
+afterEach(() => {
+    delete global.IntersectionObserver;
+    delete global.fetch;
+});
+
+test('fields of a lazy panel are part of the form model', () => {
+    expect(document.getElementById("city")).toBeNull();
+    expect(formContainer.getModel("city")).not.toBeNull();
+    expect(formContainer.getModel("country").value).toBe("Switzerland");
+    expect(formContainer.getModel().validate().map(error => error.fieldName)).toEqual(["city"]);
+    expect(global.fetch).not.toHaveBeenCalled();
+});
+
+test('markup of a lazy panel is loaded once', async () => {
+    await Promise.all([panel.loadLazyItems(), panel.loadLazyItems(), formContainer.loadLazyPanels()]);
+    expect(global.fetch).toHaveBeenCalledTimes(1);
+    expect(global.fetch.mock.calls[0][0]).toBe(`${PANEL_PATH}.html?wcmmode=disabled`);
+    expect(document.getElementById("city")).not.toBeNull();
+    expect(panel.element.hasAttribute(Constants.DATA_ATTRIBUTE_LAZY)).toBe(false);
+    await formContainer.loadLazyPanels();
+    expect(global.fetch).toHaveBeenCalledTimes(1);
+});
+
+test('lazy panels are loaded when the submission fails validation', async () => {
+    formContainer.getModel("submit").dispatch(new Click());
+    await waitFor(() => document.getElementById("city") != null);
+    expect(global.fetch.mock.calls[0][0]).toBe(`${PANEL_PATH}.html?wcmmode=disabled`);
+    expect(panel.element.hasAttribute(Constants.DATA_ATTRIBUTE_LAZY)).toBe(false);
+});
+
+test('lazy panels are loaded when the form is validated', async () => {
+    document.dispatchEvent(new CustomEvent(Constants.FORM_CONTAINER_INITIALISED, {"detail": formContainer}));
+    expect(window.guideBridge.validate()).toBe(false);
+    await formContainer.loadLazyPanels();
+    expect(global.fetch).toHaveBeenCalledTimes(1);
+    expect(document.getElementById("city")).not.toBeNull();
+});
+
+test('a panel that could not be loaded is not left pending', async () => {
+    global.fetch = jest.fn(async () => ({ok: false}));
+    await formContainer.loadLazyPanels();
+    expect(panel.element.hasAttribute(Constants.DATA_ATTRIBUTE_LAZY)).toBe(false);
+    await formContainer.loadLazyPanels();
+    expect(global.fetch).toHaveBeenCalledTimes(1);
+});
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright 2025 Adobe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+import {TextDecoder, TextEncoder} from "util";
+import HTTPAPILayer from "../src/HTTPAPILayer";
+import Utils from "../src/utils";
+
+/**
+ * A fetch response streaming the given lines, each in its own chunk.
+ */
+const streamed = (lines) => {
+    const chunks = lines.map(line => new TextEncoder().encode(JSON.stringify(line) + "\n"));
+    return {
+        ok: true,
+        body: {
+            getReader: () => ({
+                read: async () => chunks.length > 0 ? {done: false, value: chunks.shift()} : {done: true}
+            })
+        }
+    };
+};
+
+const parts = (formPath) => [
+    {part: "definition", etag: `"${formPath}"`, body: {id: formPath}},
+    {part: "customFunctions", url: `/ctx/adobe/forms/af/customfunctions/${formPath}`, etag: `"cf-${formPath}"`,
+        body: {customFunction: [formPath]}}
+];
+
+beforeAll(() => {
+    global.TextDecoder = TextDecoder;
+    Utils.setContextPath("/ctx");
+});
+
+beforeEach(() => {
+    window.localStorage.clear();
+    global.XMLHttpRequest = jest.fn(() => {
+        throw new Error("part was requested on its own");
+    });
+});
+
+afterEach(() => {
+    delete global.fetch;
+});
+
+test('bootstrap parts are found with and without context path', async () => {
+    global.fetch = jest.fn(async () => streamed(parts("first")));
+    expect(await HTTPAPILayer.getBootstrap("/content/first", "en")).toEqual({id: "first"});
+    expect(global.fetch.mock.calls[0][0]).toBe("/ctx/content/first.bootstrap.en.json");
+    // the model json holds the URL with context path, as the servlet sends it
+    expect(await HTTPAPILayer.getJson("/ctx/adobe/forms/af/customfunctions/first")).toEqual({customFunction: ["first"]});
+});
+
+test('bootstrap parts are used for the URL without context path', async () => {
+    global.fetch = jest.fn(async () => streamed(parts("second")));
+    await HTTPAPILayer.getBootstrap("/content/second", "en");
+    expect(await HTTPAPILayer.getCustomFunctionConfig("second")).toEqual({customFunction: ["second"]});
+});
+
+test('bootstraps of several forms on a page', async () => {
+    let releaseFirst;
+    const firstReleased = new Promise(resolve => releaseFirst = resolve);
+    global.fetch = jest.fn(async (url) => {
+        if (url.includes("/content/third")) {
+            // the custom functions of the first form arrive after the second form started
+            const response = streamed(parts("third"));
+            const reader = response.body.getReader();
+            let first = true;
+            response.body.getReader = () => ({
+                read: async () => {
+                    if (!first) {
+                        await firstReleased;
+                    }
+                    first = false;
+                    return reader.read();
+                }
+            });
+            return response;
+        }
+        return streamed(parts("fourth"));
+    });
+    expect(await HTTPAPILayer.getBootstrap("/content/third", "en")).toEqual({id: "third"});
+    expect(await HTTPAPILayer.getBootstrap("/content/fourth", "en")).toEqual({id: "fourth"});
+    // the bootstrap of the second form is done by now, the one of the first form is not
+    setTimeout(releaseFirst, 50);
+    expect(await HTTPAPILayer.getJson("/ctx/adobe/forms/af/customfunctions/fourth")).toEqual({customFunction: ["fourth"]});
+    expect(await HTTPAPILayer.getJson("/ctx/adobe/forms/af/customfunctions/third")).toEqual({customFunction: ["third"]});
+});
+
+test('cached parts are shared by all parameters of the page', async () => {
+    global.fetch = jest.fn(async () => streamed(parts("fifth")));
+    window.history.pushState({}, "", "/page.html?utm_source=first");
+    await HTTPAPILayer.getBootstrap("/content/fifth", "en");
+    // one entry per part, the prefill data is not cached
+    expect(window.localStorage.length).toBe(2);
+
+    window.history.pushState({}, "", "/page.html?utm_source=second");
+    global.fetch = jest.fn(async () => streamed([{part: "definition", etag: `"fifth"`, cached: true}]));
+    expect(await HTTPAPILayer.getBootstrap("/content/fifth", "en")).toEqual({id: "fifth"});
+    // the parameters still reach the server, but the cached copies are revalidated
+    expect(global.fetch.mock.calls[0][0]).toBe("/ctx/content/fifth.bootstrap.en.json?utm_source=second");
+    expect(global.fetch.mock.calls[0][1].headers["If-None-Match"]).toBe(`"fifth", "cf-fifth"`);
+    expect(window.localStorage.length).toBe(2);
+    window.history.pushState({}, "", "/");
+});
@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright 2025 Adobe
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+const TAG_POSITIVE_BIGNUM = 2;
+const TAG_NEGATIVE_BIGNUM = 3;
+const TAG_STRINGREF = 25;
+const TAG_STRINGREF_NAMESPACE = 256;
+const BREAK = Symbol("break");
+
+/**
+ * Decodes CBOR (RFC 8949) into the values JSON.parse would return for the same data, including the stringref
+ * extension (tags 256 and 25) used by the server to send repeated strings once.
+ */
+class CborDecoder {
+
+    /**
+     * Decodes a CBOR encoded value.
+     * @param {ArrayBuffer} buffer - The encoded value.
+     * @returns {*} The decoded value.
+     * @throws {Error} If the data is not valid CBOR.
+     */
+    static decode(buffer) {
+        const decoder = new CborDecoder(buffer);
+        const value = decoder.#read();
+        if (decoder.#offset !== decoder.#view.byteLength) {
+            throw new Error("Unexpected data after CBOR value");
+        }
+        return value;
+    }
+
+    #view;
+    #bytes;
+    #offset = 0;
+    #text = new TextDecoder();
+    // string tables of the enclosing stringref namespaces, innermost last
+    #namespaces = [];
+
+    constructor(buffer) {
+        this.#view = new DataView(buffer);
+        this.#bytes = new Uint8Array(buffer);
+    }
+
+    #read() {
+        const initial = this.#view.getUint8(this.#offset++);
+        const major = initial >> 5;
+        const info = initial & 0x1f;
+        if (major === 7) {
+            return this.#readSimple(info);
+        }
+        if (info === 31) {
+            return this.#readIndefinite(major);
+        }
+        const argument = this.#readArgument(info);
+        switch (major) {
+            case 0:
+                return argument;
+            case 1:
+                return -1 - argument;
+            case 2:
+                return this.#addStringRef(this.#bytes.slice(this.#offset, this.#offset += argument), argument);
+            case 3:
+                return this.#addStringRef(this.#text.decode(this.#bytes.subarray(this.#offset, this.#offset += argument)), argument);
+            case 4: {
+                const array = new Array(argument);
+                for (let i = 0; i < argument; i++) {
+                    array[i] = this.#read();
+                }
+                return array;
+            }
+            case 5: {
+                const object = {};
+                for (let i = 0; i < argument; i++) {
+                    const key = this.#read();
+                    object[key] = this.#read();
+                }
+                return object;
+            }
+            default:
+                return this.#readTag(argument);
+        }
+    }
+
+    #readArgument(info) {
+        let value;
+        if (info < 24) {
+            return info;
+        } else if (info === 24) {
+            value = this.#view.getUint8(this.#offset);
+            this.#offset += 1;
+        } else if (info === 25) {
+            value = this.#view.getUint16(this.#offset);
+            this.#offset += 2;
+        } else if (info === 26) {
+            value = this.#view.getUint32(this.#offset);
+            this.#offset += 4;
+        } else if (info === 27) {
+            // precision beyond 2^53 is lost, like for JSON numbers
+            value = this.#view.getUint32(this.#offset) * 0x100000000 + this.#view.getUint32(this.#offset + 4);
+            this.#offset += 8;
+        } else {
+            throw new Error(`Invalid CBOR additional information ${info}`);
+        }
+        return value;
+    }
+
+    #readSimple(info) {
+        let value;
+        switch (info) {
+            case 20:
+                return false;
+            case 21:
+                return true;
+            case 22:
+            case 23:
+                return null;
+            case 25:
+                value = CborDecoder.#toHalf(this.#view.getUint16(this.#offset));
+                this.#offset += 2;
+                return value;
+            case 26:
+                value = this.#view.getFloat32(this.#offset);
+                this.#offset += 4;
+                return value;
+            case 27:
+                value = this.#view.getFloat64(this.#offset);
+                this.#offset += 8;
+                return value;
+            case 31:
+                return BREAK;
+            default:
+                throw new Error(`Unsupported CBOR simple value ${info}`);
+        }
+    }
+
+    #readIndefinite(major) {
+        const items = [];
+        let item;
+        while ((item = this.#read()) !== BREAK) {
+            items.push(item);
+        }
+        switch (major) {
+            case 2: {
+                const bytes = new Uint8Array(items.reduce((length, chunk) => length + chunk.length, 0));
+                items.reduce((offset, chunk) => {
+                    bytes.set(chunk, offset);
+                    return offset + chunk.length;
+                }, 0);
+                return bytes;
+            }
+            case 3:
+                return items.join("");
+            case 4:
+                return items;
+            case 5: {
+                const object = {};
+                for (let i = 0; i < items.length; i += 2) {
+                    object[items[i]] = items[i + 1];
+                }
+                return object;
+            }
+            default:
+                throw new Error(`Invalid indefinite length for CBOR major type ${major}`);
+        }
+    }
+
+    #readTag(tag) {
+        if (tag === TAG_STRINGREF_NAMESPACE) {
+            this.#namespaces.push([]);
+            const value = this.#read();
+            this.#namespaces.pop();
+            return value;
+        }
+        if (tag === TAG_STRINGREF) {
+            const table = this.#namespaces[this.#namespaces.length - 1];
+            const index = this.#read();
+            if (!table || index >= table.length) {
+                throw new Error(`Invalid CBOR string reference ${index}`);
+            }
+            return table[index];
+        }
+        const value = this.#read();
+        if (tag === TAG_POSITIVE_BIGNUM || tag === TAG_NEGATIVE_BIGNUM) {
+            const magnitude = value.reduce((result, byte) => result * 256 + byte, 0);
+            return tag === TAG_POSITIVE_BIGNUM ? magnitude : -1 - magnitude;
+        }
+        // other tags carry no meaning for a form definition
+        return value;
+    }
+
+    #addStringRef(value, length) {
+        const table = this.#namespaces[this.#namespaces.length - 1];
+        if (table) {
+            const index = table.length;
+            const minimumLength = index < 24 ? 3 : index < 0x100 ? 4 : index < 0x10000 ? 5 : index < 0x100000000 ? 7 : 11;
+            // only strings longer than a reference to them are in the table, the length is counted in bytes
+            if (length >= minimumLength) {
+                table.push(value);
+            }
+        }
+        return value;
+    }
+
+    static #toHalf(bits) {
+        const exponent = (bits >> 10) & 0x1f;
+        const fraction = bits & 0x3ff;
+        const sign = bits & 0x8000 ? -1 : 1;
+        if (exponent === 0) {
+            return sign * Math.pow(2, -14) * (fraction / 1024);
+        }
+        if (exponent === 0x1f) {
+            return fraction ? NaN : sign * Infinity;
+        }
+        return sign * Math.pow(2, exponent - 15) * (1 + fraction / 1024);
+    }
+}
+
+export default CborDecoder;
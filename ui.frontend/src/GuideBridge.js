@@ -208,7 +208,12 @@ class GuideBridge {
             throw new Error("formModel is not defined");
         }
         let validationErrors = formModel.validate();
-        return !(validationErrors && validationErrors.length > 0);
+        let valid = !(validationErrors && validationErrors.length > 0);
+        if (!valid) {
+            // show the errors of fields in panels whose items are not rendered yet
+            this.#formContainerViewMap[this.#formContainerPath]?.loadLazyPanels();
+        }
+        return valid;
     }
 
     /**
@@ -15,6 +15,7 @@
  ******************************************************************************/
 import {Constants} from "./constants.js";
 import Utils from "./utils.js";
+import CborDecoder from "./CborDecoder.js";
 
 /**
  * @module FormView
@@ -31,6 +32,29 @@ class HTTPAPILayer {
      */
     static REQ_PARAMETER_DATA_REF = "dataRef";
 
+    /**
+     * Parts of the bootstrap response which are not the same for every request are not cached.
+     * @type {string[]}
+     * @private
+     */
+    static #CACHED_PARTS = ["definition", "customFunctions", "i18n"];
+
+    static #CACHE_PREFIX = `${Constants.NS}-formbootstrap:`;
+
+    /**
+     * Parts of the bootstrap responses, keyed by the path of the URL they replace, without context path.
+     * @type {Map<string, Object>}
+     * @private
+     */
+    static #prefetched = new Map();
+
+    /**
+     * The bootstrap responses being read, keyed by the path of the form container, a page can contain several forms.
+     * @type {Map<string, Promise<void>>}
+     * @private
+     */
+    static #bootstraps = new Map();
+
     /**
      * Retrieves the form model for the specified form container path using the open api
      * @param {string} formContainerPath - The path of the form container.
@@ -59,8 +83,93 @@ class HTTPAPILayer {
      * @returns {Promise<Object>} - A Promise that resolves to the form definition.
      */
     static async getFormDefinition(formContainerPath, pageLang) {
+        return await this.getJson(this.#getFormDefinitionUrl(formContainerPath, pageLang, "json"));
+    }
+
+    /**
+     * Retrieves the form definition encoded as CBOR. It has the same content as the model json, but is smaller and
+     * faster to decode for large forms, since the keys repeated by every field are sent once.
+     * @param {string} formContainerPath - The path of the form container.
+     * @param {string} pageLang - Language of the containing sites page
+     * @returns {Promise<Object|null>} - A Promise that resolves to the form definition, or null if it has to be fetched
+     * with {@link HTTPAPILayer.getFormDefinition}.
+     */
+    static async getBinaryFormDefinition(formContainerPath, pageLang) {
+        if (typeof fetch !== 'function' || typeof TextDecoder === 'undefined') {
+            return null;
+        }
+        const url = `${Utils.getContextPath()}${this.#getFormDefinitionUrl(formContainerPath, pageLang, "cbor")}`;
+        try {
+            const response = await fetch(url, {headers: {"Accept": "application/cbor"}});
+            if (!response.ok) {
+                return null;
+            }
+            return CborDecoder.decode(await response.arrayBuffer());
+        } catch (e) {
+            console.debug("Error in fetching binary form definition of " + formContainerPath, e);
+            return null;
+        }
+    }
+
+    /**
+     * URL of the exported form definition.
+     * @param {string} formContainerPath - The path of the form container.
+     * @param {string} pageLang - Language of the containing sites page
+     * @param {string} extension - json or cbor
+     * @returns {string} - The URL, without context path.
+     * @private
+     */
+    static #getFormDefinitionUrl(formContainerPath, pageLang, extension) {
         const urlSearchParams = new URLSearchParams(window.location.search);
         const params = Object.fromEntries(urlSearchParams.entries());
+        const lang = this.#getLang(params, pageLang);
+        return `${formContainerPath}.model.${lang !== null ? `${lang}.` : ""}${extension}${this.REQ_PARAMETER_DATA_REF in params ? `?${this.REQ_PARAMETER_DATA_REF}=${params[this.REQ_PARAMETER_DATA_REF]}` : ''}`;
+    }
+
+    /**
+     * Retrieves the form definition together with the custom function configuration, the prefill data and the
+     * dictionary of the form language in a single request. The definition is returned as soon as it is received, the
+     * other parts are handed out by {@link HTTPAPILayer.getJson} in place of the requests they replace.
+     *
+     * Definition, custom function configuration and dictionary are kept in the local storage and only sent again by the
+     * server when they changed. There is one entry per part, form and language, whatever the parameters of the page.
+     * @param {string} formContainerPath - The path of the form container.
+     * @param {string} pageLang - Language of the containing sites page
+     * @returns {Promise<Object|null>} - A Promise that resolves to the form definition, or null if it has to be fetched
+     * with {@link HTTPAPILayer.getFormDefinition}.
+     */
+    static async getBootstrap(formContainerPath, pageLang) {
+        if (typeof fetch !== 'function' || typeof TextDecoder === 'undefined') {
+            return null;
+        }
+        const urlSearchParams = new URLSearchParams(window.location.search);
+        const lang = this.#getLang(Object.fromEntries(urlSearchParams.entries()), pageLang);
+        // the page parameters are passed on to the prefill service, like for the data request
+        const url = `${formContainerPath}.bootstrap.${lang !== null ? `${lang}.` : ""}json${window.location.search}`;
+        const cacheKey = `${formContainerPath}${lang !== null ? `.${lang}` : ""}`;
+        const etags = this.#CACHED_PARTS.map(part => this.#readCache(cacheKey, part)?.etag).filter(etag => etag);
+        let resolveDefinition;
+        const definition = new Promise(resolve => resolveDefinition = resolve);
+        const bootstrap = this.#readBootstrap(url, cacheKey, etags, resolveDefinition)
+            .catch(e => console.debug("Error in fetching bootstrap of " + formContainerPath + ", fetching its parts one by one", e))
+            .finally(() => {
+                resolveDefinition(null);
+                if (this.#bootstraps.get(formContainerPath) === bootstrap) {
+                    this.#bootstraps.delete(formContainerPath);
+                }
+            });
+        this.#bootstraps.set(formContainerPath, bootstrap);
+        return await definition;
+    }
+
+    /**
+     * Language of the form, from the afAcceptLang parameter, the selector of the page or the language of the page.
+     * @param {Object} params - The parameters of the page.
+     * @param {string} pageLang - Language of the containing sites page
+     * @returns {string|null} - The language, or null if none is set.
+     * @private
+     */
+    static #getLang(params, pageLang) {
         let lang = null;
         if ('afAcceptLang' in params) {
             lang = `${params['afAcceptLang']}`
@@ -81,7 +190,97 @@ class HTTPAPILayer {
         if (lang === null && pageLang != null) {
             lang = pageLang;
         }
-        return await this.getJson(`${formContainerPath}.model.${lang !== null ? `${lang}.` : ""}json${this.REQ_PARAMETER_DATA_REF in params ? `?${this.REQ_PARAMETER_DATA_REF}=${params[this.REQ_PARAMETER_DATA_REF]}` : ''}`);
+        return lang;
+    }
+
+    /**
+     * Reads the parts of a bootstrap response line by line, as they arrive.
+     * @param {string} url - The URL of the bootstrap request.
+     * @param {string} cacheKey - The form path and language the parts are cached for.
+     * @param {string[]} etags - The ETags of the cached parts.
+     * @param {Function} onDefinition - Receives the form definition.
+     * @returns {Promise<void>}
+     * @private
+     */
+    static async #readBootstrap(url, cacheKey, etags, onDefinition) {
+        const headers = etags.length > 0 ? {'If-None-Match': etags.join(', ')} : {};
+        const response = await fetch(`${Utils.getContextPath()}${url}`, {headers, credentials: 'same-origin'});
+        if (!response.ok || !response.body) {
+            return;
+        }
+        const reader = response.body.getReader();
+        const decoder = new TextDecoder();
+        let buffered = "";
+        let done = false;
+        while (!done) {
+            const chunk = await reader.read();
+            done = chunk.done;
+            buffered += done ? decoder.decode() : decoder.decode(chunk.value, {stream: true});
+            let newline;
+            while ((newline = buffered.indexOf("\n")) !== -1 || (done && buffered.length > 0)) {
+                const line = (newline !== -1 ? buffered.substring(0, newline) : buffered).trim();
+                buffered = newline !== -1 ? buffered.substring(newline + 1) : "";
+                if (line) {
+                    this.#acceptPart(cacheKey, JSON.parse(line), onDefinition);
+                }
+            }
+        }
+    }
+
+    /**
+     * Hands out a part of a bootstrap response.
+     * @param {string} cacheKey - The form path and language the parts are cached for.
+     * @param {Object} part - The part.
+     * @param {Function} onDefinition - Receives the form definition.
+     * @private
+     */
+    static #acceptPart(cacheKey, part, onDefinition) {
+        let body = part.body;
+        if (part.cached) {
+            const cached = this.#readCache(cacheKey, part.part);
+            // the cached copy may have been removed in the meantime, the part is then fetched on its own
+            body = cached?.etag === part.etag ? cached.body : undefined;
+        } else if (this.#CACHED_PARTS.includes(part.part)) {
+            this.#writeCache(cacheKey, part.part, {etag: part.etag, body});
+        }
+        if (body === undefined) {
+            return;
+        }
+        if (part.part === "definition") {
+            onDefinition(body);
+        } else if (part.url) {
+            this.#prefetched.set(this.#getPrefetchKey(part.url), body);
+        }
+    }
+
+    /**
+     * Key of a prefetched part, the same whether the URL is given with or without context path and query.
+     * @param {string} url - The URL the part replaces.
+     * @returns {string} - The path of the URL, without context path.
+     * @private
+     */
+    static #getPrefetchKey(url) {
+        const path = url.split("?")[0];
+        const contextPath = Utils.getContextPath();
+        return contextPath && path.startsWith(`${contextPath}/`) ? path.substring(contextPath.length) : path;
+    }
+
+    static #readCache(cacheKey, part) {
+        try {
+            return JSON.parse(window.localStorage.getItem(`${this.#CACHE_PREFIX}${cacheKey}#${part}`));
+        } catch (e) {
+            return null;
+        }
+    }
+
+    static #writeCache(cacheKey, part, entry) {
+        try {
+            // replaces the copy cached for other page parameters, the ETag tells whether it is still current
+            window.localStorage.setItem(`${this.#CACHE_PREFIX}${cacheKey}#${part}`, JSON.stringify(entry));
+        } catch (e) {
+            // storage is full or disabled, the part is sent again next time
+            console.debug("Could not cache " + part + " of " + cacheKey, e);
+        }
     }
 
     /**
@@ -130,6 +329,17 @@ class HTTPAPILayer {
      * @returns {Promise<Object|null>} - A Promise that resolves to the fetched JSON data or null if there was an error.
      */
     static async getJson(url) {
+        if (this.#bootstraps.size > 0) {
+            // the part may come with the bootstrap of any form on the page
+            await Promise.all(this.#bootstraps.values());
+        }
+        // a part of the bootstrap response is used once, later requests get the current state
+        const prefetchKey = this.#getPrefetchKey(url);
+        if (this.#prefetched.has(prefetchKey)) {
+            const body = this.#prefetched.get(prefetchKey);
+            this.#prefetched.delete(prefetchKey);
+            return body;
+        }
         // prefix context path in url
         let urlWithContextPath = `${Utils.getContextPath()}${url}`
         return new Promise(resolve => {
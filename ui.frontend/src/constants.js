@@ -282,6 +282,13 @@ export const Constants = {
      */
     DATA_ATTRIBUTE_ACTIVE : "data-cmp-active",
 
+    /**
+     * Data attribute to mark a panel whose items are loaded on demand.
+     * The value is the path of the panel.
+     * @type {string}
+     */
+    DATA_ATTRIBUTE_LAZY : "data-cmp-lazy",
+
     /**
      * ARIA attribute to mark the dragged component disabled.
      * @type {string}
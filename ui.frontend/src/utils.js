@@ -320,8 +320,14 @@ class Utils {
                     _formJson.id = id;
                     //window.formJson = _formJson
                     callback = loadXfa(_formJson.formdom, _formJson.xfaRenderContext);
+                } else if (dataset["definitionFormat"] === "cbor") {
+                    // the bootstrap response is JSON, the other parts are fetched on their own
+                    _formJson = await HTTPAPILayer.getBinaryFormDefinition(_path, _pageLang)
+                        || await HTTPAPILayer.getFormDefinition(_path, _pageLang);
                 } else {
-                    _formJson = await HTTPAPILayer.getFormDefinition(_path, _pageLang);
+                    // the parts of the bootstrap response are picked up by the requests below
+                    _formJson = await HTTPAPILayer.getBootstrap(_path, _pageLang)
+                        || await HTTPAPILayer.getFormDefinition(_path, _pageLang);
                 }
                 console.debug("fetched model json", _formJson);
                 await RuleUtils.registerCustomFunctionsV2( _formJson);
@@ -36,6 +36,7 @@ class FormContainer {
         this._deferredParents = {};
         this._element = params._element;
         this._mutationObservers = []; // Store mutation observers for cleanup
+        this._lazyPanels = new Set(); // Panels whose items are not rendered yet
 
         // Prevent default behaviour on form container.
         this.#preventDefaultSubmit();
@@ -93,6 +94,33 @@ class FormContainer {
         this._fields[instanceManager.id] = instanceManager;
     }
 
+    /**
+     * Adds a panel view rendered without the markup of its items.
+     * @param {object} panel - The panel view, which loads its items with loadLazyItems.
+     */
+    addLazyPanel(panel) {
+        this._lazyPanels.add(panel);
+    }
+
+    /**
+     * Removes a panel view once the markup of its items is loaded.
+     * @param {object} panel - The panel view.
+     */
+    removeLazyPanel(panel) {
+        this._lazyPanels.delete(panel);
+    }
+
+    /**
+     * Loads the markup of the items of every panel which was rendered without it, including panels found in the
+     * loaded markup, so that all fields of the form have a view, e.g. to show their errors.
+     * @returns {Promise<void>}
+     */
+    async loadLazyPanels() {
+        while (this._lazyPanels.size > 0) {
+            await Promise.all([...this._lazyPanels].map(panel => panel.loadLazyItems()));
+        }
+    }
+
     /**
      * Returns the form field view with the specified field ID.
      * @param {string} fieldId - The ID of the form field.
@@ -271,7 +299,12 @@ class FormContainer {
 
         this._model.subscribe((action) => {
             if(action.payload.length > 0) {
-                this.#focusOnFirstInvalidField(action.payload)
+                if (this._lazyPanels.size > 0) {
+                    // the invalid fields may be in panels whose items are not rendered yet
+                    this.loadLazyPanels().then(() => this.#focusOnFirstInvalidField(action.payload));
+                } else {
+                    this.#focusOnFirstInvalidField(action.payload)
+                }
             }
         }, 'validationComplete');
     }
@@ -17,6 +17,7 @@
 import {Constants} from "../constants.js";
 import FormFieldBase from "./FormFieldBase.js";
 import InstanceManager from "./InstanceManager.js";
+import Utils from "../utils.js";
 
 /**
  * @module FormView
@@ -36,6 +37,8 @@ class FormPanel extends FormFieldBase {
         this.children = [];
     }
 
+    #lazyItems = null;
+
     /**
      * Instantiates the InstanceManager for the FormPanel.
      * @returns {InstanceManager} The newly instantiated InstanceManager.
@@ -63,6 +66,63 @@ class FormPanel extends FormFieldBase {
             this.setInstanceManager(instanceManager);
             instanceManager.addChild(this);
         }
+        if (this.element.hasAttribute(Constants.DATA_ATTRIBUTE_LAZY)) {
+            this.formContainer.addLazyPanel(this);
+            this.#observeLazyItems();
+        }
+    }
+
+    /**
+     * Loads the markup of the items of the panel once it is shown, if it was left out of the rendering.
+     * @private
+     */
+    #observeLazyItems() {
+        if (typeof IntersectionObserver === "undefined") {
+            this.loadLazyItems();
+            return;
+        }
+        const observer = new IntersectionObserver((entries) => {
+            if (entries.some(entry => entry.isIntersecting)) {
+                observer.disconnect();
+                this.loadLazyItems();
+            }
+        });
+        observer.observe(this.element);
+    }
+
+    /**
+     * Loads the markup of the items of a panel rendered without it. The models of the items are part of the form model
+     * from the start, the views of the items are created for them by the mutation observer of the form container once
+     * the markup is inserted. Calling it again returns the same promise.
+     * @returns {Promise<void>}
+     */
+    loadLazyItems() {
+        if (!this.#lazyItems) {
+            this.#lazyItems = this.#fetchLazyItems();
+        }
+        return this.#lazyItems;
+    }
+
+    async #fetchLazyItems() {
+        const path = this.element.getAttribute(Constants.DATA_ATTRIBUTE_LAZY);
+        try {
+            if (!path) {
+                return;
+            }
+            const response = await fetch(`${Utils.getContextPath()}${path}.html?wcmmode=disabled`);
+            const html = response.ok ? await response.text() : null;
+            const rendered = html != null ? new DOMParser().parseFromString(html, "text/html").getElementById(this.getId()) : null;
+            if (!rendered) {
+                console.error(`Could not load the items of ${path}`);
+                return;
+            }
+            this.element.replaceChildren(...rendered.childNodes);
+        } catch (e) {
+            console.error(`Could not load the items of ${path}`, e);
+        } finally {
+            this.element.removeAttribute(Constants.DATA_ATTRIBUTE_LAZY);
+            this.formContainer.removeLazyPanel(this);
+        }
     }
 
     /**